@@ -25,4 +25,29 @@ public class CallbackContext extends StdCallbackContext {
      * NOTE: We return a success if the resource has not reached terminal state after stabilization retries.
      */
     protected int stabilizationCount;
+    /**
+     * ClientRequestToken of the Create the fields below belong to
+     */
+    protected String clientRequestToken;
+    /**
+     * Used to denote if an attempt of this Create already issued CreateAccessPoint
+     */
+    protected boolean createRequested;
+    /**
+     * Epoch millis just before this Create first issued CreateAccessPoint, an AccessPoint created earlier is not its own
+     */
+    protected Long createStartedAt;
+    /**
+     * ARN of the AccessPoint created by this Create
+     */
+    protected String createdArn;
+    /**
+     * Used to denote if the AccessPoint policy of this Create has been put
+     */
+    protected boolean policyPut;
+    /**
+     * Used to denote if this Create or Update left the AccessPoint without a policy, which the Read it ends with then
+     * does not ask for
+     */
+    protected boolean noPolicy;
 }
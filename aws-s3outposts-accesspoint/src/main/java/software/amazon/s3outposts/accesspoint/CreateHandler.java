@@ -1,13 +1,19 @@
 package software.amazon.s3outposts.accesspoint;
 
 import com.amazonaws.util.StringUtils;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointResponse;
 import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 public class CreateHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -15,8 +21,6 @@ public class CreateHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
         // Expecting the customer to provide 3 parameters: Bucket (arn), Name (AccessPoint name) and VpcConfiguration.
         if (model == null || StringUtils.isNullOrEmpty(model.getBucket())) {
@@ -34,6 +38,20 @@ public class CreateHandler extends BaseHandlerStd {
         logger.log(String.format("%s::CreateHandler called for bucketArn: %s, with name: %s, with Vpc: %s \n",
                 ResourceModel.TYPE_NAME, model.getBucket(), model.getName(), model.getVpcConfiguration().getVpcId()));
 
+        // A Create re-invoked with the CallbackContext of an earlier attempt continues after the stages that attempt
+        // completed. Progress recorded for another ClientRequestToken does not apply to this request.
+        if (!Objects.equals(callbackContext.getClientRequestToken(), request.getClientRequestToken())) {
+            callbackContext.setClientRequestToken(request.getClientRequestToken());
+            callbackContext.setCreateRequested(false);
+            callbackContext.setCreateStartedAt(null);
+            callbackContext.setCreatedArn(null);
+            callbackContext.setStabilized(false);
+            callbackContext.setPropagated(false);
+            callbackContext.setForcedDelayCount(0);
+            callbackContext.setPolicyPut(false);
+            callbackContext.setNoPolicy(false);
+        }
+
         return ProgressEvent.progress(model, callbackContext)
                 .then(progress -> createAccessPoint(proxy, proxyClient, request, progress, logger))
                 .then(progress -> BaseHandlerStd.propagate(progress, logger))
@@ -41,6 +59,11 @@ public class CreateHandler extends BaseHandlerStd {
                 .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
+    }
+
     /**
      * Calls the API createAccessPoint
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/S3ControlClient.html#createAccessPoint-software.amazon.awssdk.services.s3control.model.CreateAccessPointRequest-
@@ -64,6 +87,20 @@ public class CreateHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Create::createAccessPoint for bucket: %s \n", ResourceModel.TYPE_NAME, model.getBucket()));
 
+        if (callbackContext.getCreatedArn() != null) {
+            logger.log(String.format("%s::Create::createAccessPoint - [ClientRequestToken: %s] AccessPoint %s already created \n",
+                    ResourceModel.TYPE_NAME, request.getClientRequestToken(), callbackContext.getCreatedArn()));
+            model.setArn(callbackContext.getCreatedArn());
+            return ProgressEvent.progress(model, callbackContext);
+        }
+
+        // Set by an earlier attempt of this Create whose CreateAccessPoint may have gone through before it failed.
+        final boolean retry = callbackContext.isCreateRequested();
+        if (!retry) {
+            callbackContext.setCreateStartedAt(System.currentTimeMillis());
+        }
+        callbackContext.setCreateRequested(true);
+
         return proxy.initiate("AWS-S3Outposts-AccessPoint::Create::CreateAccessPoint", proxyClient, model, callbackContext)
                 .translateToServiceRequest(resourceModel ->
                         Translator.translateToCreateAPRequest(resourceModel, request.getAwsAccountId()))
@@ -77,16 +114,92 @@ public class CreateHandler extends BaseHandlerStd {
                         logger.log(String.format("%s::Create::createAccessPoint - AccessPoint ARN: %s \n", ResourceModel.TYPE_NAME, accessPointArn));
                         // End: Code Block
                         resourceModel.setArn(accessPointArn);
+                        cbContext.setCreatedArn(accessPointArn);
                         cbContext.setStabilized(true);
                         return true;
                     }
                     return false;
                 })
-                .handleError(this::handleError)
+                .handleError((createAccessPointRequest, exception, s3ControlProxyClient, resourceModel, cbContext) -> {
+                    if (retry && exception instanceof S3ControlException && ((S3ControlException) exception).awsErrorDetails() != null &&
+                            ACCESSPOINT_ALREADY_OWNED_BY_YOU.equals(((S3ControlException) exception).awsErrorDetails().errorCode())) {
+                        final Optional<ProgressEvent<ResourceModel, CallbackContext>> adopted =
+                                adoptAccessPoint(s3ControlProxyClient, request, resourceModel, cbContext, logger);
+                        if (adopted.isPresent()) {
+                            return adopted.get();
+                        }
+                    }
+                    return handleError(createAccessPointRequest, exception, s3ControlProxyClient, resourceModel, cbContext);
+                })
                 .progress();
 
     }
 
+    /**
+     * Picks up the AccessPoint created by the CreateAccessPoint of an earlier attempt of this Create, instead of failing
+     * with AlreadyExists. The AccessPoint has to exist under the ARN derived from the model, on the same bucket, and to
+     * have been created since this Create started: an older AccessPoint of the same name is not the one its lost
+     * CreateAccessPoint made.
+     *
+     * @param proxyClient
+     * @param request
+     * @param resourceModel
+     * @param callbackContext
+     * @param logger
+     * @return Progress with the ARN set, empty if the AccessPoint cannot be read, belongs to another bucket or predates
+     * this Create
+     */
+    private Optional<ProgressEvent<ResourceModel, CallbackContext>> adoptAccessPoint(
+            ProxyClient<S3ControlClient> proxyClient,
+            ResourceHandlerRequest<ResourceModel> request,
+            ResourceModel resourceModel,
+            CallbackContext callbackContext,
+            Logger logger) {
+
+        final BucketArnFields arnFields = BucketArnFields.splitArn(resourceModel.getBucket());
+        final String accessPointArn = String.format("arn:%s:s3-outposts:%s:%s:outpost/%s/accesspoint/%s",
+                StringUtils.isNullOrEmpty(request.getAwsPartition()) ? "aws" : request.getAwsPartition(),
+                arnFields.region, arnFields.accountId, arnFields.outpostId, resourceModel.getName());
+        logger.log(String.format("%s::Create::createAccessPoint - [ClientRequestToken: %s] resuming with AccessPoint %s \n",
+                ResourceModel.TYPE_NAME, request.getClientRequestToken(), accessPointArn));
+
+        final GetAccessPointResponse getAccessPointResponse;
+        try {
+            getAccessPointResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToGetAPRequest(ResourceModel.builder().arn(accessPointArn).build(), request.getAwsAccountId()),
+                    proxyClient.client()::getAccessPoint);
+        } catch (final SdkException e) {
+            logger.log(String.format("%s::Create::createAccessPoint - cannot read AccessPoint %s: %s \n",
+                    ResourceModel.TYPE_NAME, accessPointArn, e.getMessage()));
+            return Optional.empty();
+        }
+        if (!arnFields.bucket.equals(getAccessPointResponse.bucket()) && !resourceModel.getBucket().equals(getAccessPointResponse.bucket())) {
+            logger.log(String.format("%s::Create::createAccessPoint - AccessPoint %s belongs to bucket %s \n",
+                    ResourceModel.TYPE_NAME, accessPointArn, getAccessPointResponse.bucket()));
+            return Optional.empty();
+        }
+        if (!createdSince(getAccessPointResponse.creationDate(), callbackContext.getCreateStartedAt())) {
+            logger.log(String.format("%s::Create::createAccessPoint - AccessPoint %s created at %s, before this Create started at %s \n",
+                    ResourceModel.TYPE_NAME, accessPointArn, getAccessPointResponse.creationDate(), callbackContext.getCreateStartedAt()));
+            return Optional.empty();
+        }
+
+        resourceModel.setArn(accessPointArn);
+        callbackContext.setCreatedArn(accessPointArn);
+        callbackContext.setStabilized(true);
+        return Optional.of(ProgressEvent.progress(resourceModel, callbackContext));
+    }
+
+    /**
+     * @param creationDate CreationDate of the AccessPoint, null if not returned
+     * @param startedAt Epoch millis the Create started at, null if unknown
+     * @return Whether the AccessPoint was created at or after startedAt, to the second CreationDate is given to
+     */
+    private static boolean createdSince(final Instant creationDate, final Long startedAt) {
+        return startedAt != null && creationDate != null
+                && !creationDate.isBefore(Instant.ofEpochMilli(startedAt).truncatedTo(ChronoUnit.SECONDS));
+    }
+
     /**
      * Calls the API putAccessPointPolicy
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/S3ControlClient.html#putAccessPointPolicy-software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyRequest-
@@ -110,6 +223,10 @@ public class CreateHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Create::putAccessPointPolicy for accesspoint: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
 
+        if (callbackContext.isPolicyPut()) {
+            return ProgressEvent.progress(model, callbackContext);
+        }
+
         if (model.getPolicy() != null) {
 
             return proxy.initiate("AWS-S3Outposts-AccessPoint::Create::PutAccessPointPolicy", proxyClient, model, callbackContext)
@@ -118,10 +235,15 @@ public class CreateHandler extends BaseHandlerStd {
                     .makeServiceCall(((putAccessPointPolicyRequest, s3ControlProxyClient) ->
                             s3ControlProxyClient.injectCredentialsAndInvokeV2(putAccessPointPolicyRequest, s3ControlProxyClient.client()::putAccessPointPolicy)))
                     .handleError(this::handleError)
-                    .progress();
+                    .done(putAccessPointPolicyResponse -> {
+                        callbackContext.setPolicyPut(true);
+                        return ProgressEvent.progress(model, callbackContext);
+                    });
 
         } else {
 
+            // A new AccessPoint has no policy until one is put.
+            callbackContext.setNoPolicy(true);
             return ProgressEvent.progress(model, callbackContext);
 
         }
@@ -5,8 +5,9 @@ import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +15,6 @@ public class DeleteHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
         if (callbackContext.getStabilizationCount() == 0) {
             callbackContext.setStabilizationCount(MAX_STABILIZATION_RETRIES);
@@ -33,6 +32,11 @@ public class DeleteHandler extends BaseHandlerStd {
                 .then(progress -> ProgressEvent.defaultSuccessHandler(null));
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
+    }
+
     /**
      * Calls the API deleteAccessPoint
      *
@@ -1,14 +1,33 @@
 package software.amazon.s3outposts.accesspoint;
 
 import com.amazonaws.util.StringUtils;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.AccessPoint;
+import software.amazon.awssdk.services.s3control.model.ListAccessPointsResponse;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.ListHydrator;
+import software.amazon.s3outposts.shared.ListPager;
 
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
 
 public class ListHandler extends BaseHandlerStd {
 
-    private Logger logger;
+    // Ref: https://docs.aws.amazon.com/AmazonS3/latest/API/API_control_ListAccessPoints.html
+    private static final int LIST_ACCESS_POINTS_MAX_RESULTS = 1000;
+
+    private final BooleanSupplier hydrated;
+
+    public ListHandler() {
+        this(ListHydrator::enabled);
+    }
+
+    ListHandler(final BooleanSupplier hydrated) {
+        this.hydrated = hydrated;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -16,33 +35,162 @@ public class ListHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         if (model == null || StringUtils.isNullOrEmpty(model.getBucket())) {
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, "Bucket ARN is required.");
         }
 
+        // Wildcard bucket ARN: the access points of all the buckets on the outpost
+        if (OutpostAccessPoints.isOutpostScoped(model.getBucket())) {
+            return listOutpost(request, callbackContext, proxyClient, logger);
+        }
+
+        // The outpost is the same for every access point of the bucket
+        final String outpostId = BucketArnFields.splitArn(model.getBucket()).outpostId;
+
+        final ListPager<ListAccessPointsResponse, AccessPoint, ResourceModel> listing = new ListPager<>(ResourceModel.TYPE_NAME, "ListAccessPoints",
+                LIST_ACCESS_POINTS_MAX_RESULTS, ListPager.RESPONSE_BUDGET_BYTES,
+                (nextToken, maxResults) -> proxyClient.injectCredentialsAndInvokeV2(
+                        Translator.translateToListRequest(model, request.getAwsAccountId(), nextToken, maxResults),
+                        proxyClient.client()::listAccessPoints),
+                ListAccessPointsResponse::accessPointList,
+                ListAccessPointsResponse::nextToken,
+                accessPoint -> Translator.translateFromAccessPoint(accessPoint, model.getBucket(), outpostId));
+        // Hydrated, every page is completed as it comes in, so the response budget holds the hydrated models.
+        final ListPager<ListAccessPointsResponse, AccessPoint, ResourceModel> pager = hydrated.getAsBoolean()
+                ? listing.hydrating(resourceModels -> hydrate(request, proxyClient, resourceModels, logger))
+                : listing;
+        final int maxResults = pager.firstMaxResults();
+
         return proxy.initiate("AWS-S3Outposts-AccessPoint::List::ListAccessPoints", proxyClient, model, callbackContext)
                 .translateToServiceRequest(resourceModel ->
-                        Translator.translateToListRequest(resourceModel, request.getAwsAccountId(), request.getNextToken()))
+                        Translator.translateToListRequest(resourceModel, request.getAwsAccountId(), request.getNextToken(), maxResults))
                 .makeServiceCall(((listAccessPointsRequest, s3ControlProxyClient) ->
                         s3ControlProxyClient.injectCredentialsAndInvokeV2(listAccessPointsRequest, s3ControlProxyClient.client()::listAccessPoints)))
                 .handleError(this::handleError)
-                .done(listAccessPointsResponse ->
-                        ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                .resourceModels(
-                                        listAccessPointsResponse.accessPointList()
-                                                .stream()
-                                                .map(accessPoint -> Translator.translateFromAccessPoint(accessPoint, model))
-                                                .collect(Collectors.toList())
-                                )
-                                .nextToken(listAccessPointsResponse.nextToken())
-                                .status(OperationStatus.SUCCESS)
-                                .build()
-                );
+                .done(listAccessPointsResponse -> {
+                    // Following pages are fetched while the previous one is translated, up to the response budget.
+                    final ListPager.Result<ResourceModel> result;
+                    try {
+                        result = pager.collect(listAccessPointsResponse, maxResults, logger);
+                    } catch (final SdkException e) {
+                        return failed(request, callbackContext, proxyClient, e);
+                    }
+                    return listed(result.getResourceModels(), result.getNextToken());
+                });
+
+    }
+
+    /**
+     * Lists the access points of all the buckets on an outpost, see {@link OutpostAccessPoints}.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> listOutpost(
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<S3ControlClient> proxyClient,
+            final Logger logger) {
 
+        final ResourceModel model = request.getDesiredResourceState();
+        final String outpostId = BucketArnFields.splitArn(model.getBucket()).outpostId;
+        logger.log(String.format("%s::List::ListAccessPoints - Account: %s, Outpost: %s",
+                ResourceModel.TYPE_NAME, request.getAwsAccountId(), outpostId));
+
+        final OutpostAccessPoints.Result result;
+        try {
+            result = OutpostAccessPoints.list(model.getBucket(), request.getNextToken(),
+                    (nextToken, maxResults) -> proxyClient.injectCredentialsAndInvokeV2(
+                            Translator.translateToListRegionalBucketsRequest(request.getAwsAccountId(), outpostId, nextToken, maxResults),
+                            proxyClient.client()::listRegionalBuckets),
+                    (bucketArn, nextToken) -> proxyClient.injectCredentialsAndInvokeV2(
+                            Translator.translateToListRequest(ResourceModel.builder().bucket(bucketArn).build(),
+                                    request.getAwsAccountId(), nextToken, LIST_ACCESS_POINTS_MAX_RESULTS),
+                            proxyClient.client()::listAccessPoints),
+                    logger);
+        } catch (final IllegalArgumentException e) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, INVALID_NEXT_TOKEN);
+        } catch (final SdkException e) {
+            try {
+                return handleError(null, e, proxyClient, model, callbackContext);
+            } catch (final Exception unmapped) {
+                throw e;
+            }
+        }
+
+        return success(request, callbackContext, proxyClient, result.getResourceModels(), result.getNextToken(), logger);
+    }
+
+    /**
+     * Returns the access points listed across the buckets of an outpost, hydrated first when the hydrated List is
+     * enabled, see {@link ListHydrator}.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> success(
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<S3ControlClient> proxyClient,
+            final List<ResourceModel> resourceModels,
+            final String nextToken,
+            final Logger logger) {
+
+        if (hydrated.getAsBoolean()) {
+            try {
+                hydrate(request, proxyClient, resourceModels, logger);
+            } catch (final SdkException e) {
+                return failed(request, callbackContext, proxyClient, e);
+            }
+        }
+
+        return listed(resourceModels, nextToken);
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> listed(final List<ResourceModel> resourceModels,
+                                                                        final String nextToken) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(resourceModels)
+                .nextToken(nextToken)
+                .status(OperationStatus.SUCCESS)
+                .build();
+    }
+
+    /**
+     * Maps a failed read of the listing or of its hydration as handleError does, or rethrows it if it is not mapped.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> failed(
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<S3ControlClient> proxyClient,
+            final SdkException e) {
+        try {
+            return handleError(null, e, proxyClient, request.getDesiredResourceState(), callbackContext);
+        } catch (final Exception unmapped) {
+            throw e;
+        }
+    }
+
+    private static void hydrate(final ResourceHandlerRequest<ResourceModel> request,
+                                final ProxyClient<S3ControlClient> proxyClient,
+                                final List<ResourceModel> resourceModels,
+                                final Logger logger) {
+        ListHydrator.hydrate(ResourceModel.TYPE_NAME, "ListAccessPoints", resourceModels,
+                Collections.singletonList(resourceModel -> getAccessPointPolicy(proxyClient, request.getAwsAccountId(), resourceModel)),
+                logger);
+    }
+
+    /**
+     * GetAccessPointPolicy, leaving the policy of an access point without any unset, as Read does.
+     */
+    private static void getAccessPointPolicy(final ProxyClient<S3ControlClient> proxyClient,
+                                             final String accountId,
+                                             final ResourceModel resourceModel) {
+        try {
+            Translator.translateFromGetAPPolicyResponse(proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToGetAPPolicyRequest(resourceModel, accountId),
+                    proxyClient.client()::getAccessPointPolicy), resourceModel);
+        } catch (final S3ControlException e) {
+            if (e.awsErrorDetails() == null || !NO_SUCH_ACCESSPOINT_POLICY.equals(e.awsErrorDetails().errorCode())) {
+                throw e;
+            }
+        }
     }
 
 }
@@ -0,0 +1,237 @@
+package software.amazon.s3outposts.accesspoint;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3control.model.AccessPoint;
+import software.amazon.awssdk.services.s3control.model.ListAccessPointsResponse;
+import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsResponse;
+import software.amazon.awssdk.services.s3control.model.RegionalBucket;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Access point listing of a whole outpost, for a List request whose Bucket is the wildcard bucket ARN of an outpost:
+ * arn:aws:s3-outposts:region:account:outpost/op-12345/bucket/*
+ *
+ * Every invocation lists up to {@value #BUCKETS_PER_INVOCATION} buckets of the outpost with ListRegionalBuckets, then
+ * the access points of each of them with ListAccessPoints, concurrently on at most {@value #MAX_PARALLEL_BUCKETS}
+ * threads and at most {@value #CALLS_PER_SECOND} calls per second. The access points are returned in bucket order.
+ * The nextToken returned is a cursor holding the ListRegionalBuckets nextToken and the ListAccessPoints nextToken of
+ * every bucket with more access points, so the next invocation resumes where this one stopped.
+ *
+ * The outpost is split from the wildcard ARN once and the bucket ARNs are built from it, instead of splitting the bucket
+ * ARN again for every access point.
+ */
+final class OutpostAccessPoints {
+
+    static final int BUCKETS_PER_INVOCATION = 100;
+    static final int MAX_PARALLEL_BUCKETS = 8;
+    static final int CALLS_PER_SECOND = 20;
+
+    private static final String ALL_BUCKETS = "/bucket/*";
+    private static final String CURSOR_VERSION = "outpost-accesspoints-v1:";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String TOKEN_SEPARATOR = " ";
+
+    /**
+     * Access points listed, and the cursor to continue from (null when the outpost is listed to the end).
+     */
+    static final class Result {
+        private final List<ResourceModel> resourceModels;
+        private final String nextToken;
+
+        private Result(final List<ResourceModel> resourceModels, final String nextToken) {
+            this.resourceModels = resourceModels;
+            this.nextToken = nextToken;
+        }
+
+        List<ResourceModel> getResourceModels() {
+            return resourceModels;
+        }
+
+        String getNextToken() {
+            return nextToken;
+        }
+    }
+
+    /**
+     * Where a listing stopped: the ListRegionalBuckets nextToken of the buckets not listed yet, and the ListAccessPoints
+     * nextToken of every bucket listed but not to the end, by bucket ARN in bucket order.
+     */
+    static final class Cursor {
+        private final String bucketsToken;
+        private final Map<String, String> accessPointTokens;
+
+        Cursor(final String bucketsToken, final Map<String, String> accessPointTokens) {
+            this.bucketsToken = bucketsToken;
+            this.accessPointTokens = accessPointTokens;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the nextToken is not a cursor of this class
+         */
+        static Cursor decode(final String nextToken) {
+            if (!nextToken.startsWith(CURSOR_VERSION)) {
+                throw new IllegalArgumentException("Not an outpost access point listing cursor");
+            }
+            final String[] lines = new String(Base64.getUrlDecoder().decode(nextToken.substring(CURSOR_VERSION.length())),
+                    StandardCharsets.UTF_8).split(LINE_SEPARATOR, -1);
+            final Map<String, String> accessPointTokens = new LinkedHashMap<>();
+            for (int i = 1; i < lines.length; i++) {
+                final String[] entry = lines[i].split(TOKEN_SEPARATOR);
+                if (entry.length != 2) {
+                    throw new IllegalArgumentException("Malformed outpost access point listing cursor");
+                }
+                accessPointTokens.put(decodeToken(entry[0]), decodeToken(entry[1]));
+            }
+            return new Cursor(lines[0].isEmpty() ? null : decodeToken(lines[0]), accessPointTokens);
+        }
+
+        /**
+         * @return The cursor as nextToken, null if there is nothing left to list
+         */
+        String encode() {
+            if (bucketsToken == null && accessPointTokens.isEmpty()) {
+                return null;
+            }
+            final StringBuilder lines = new StringBuilder(bucketsToken == null ? "" : encodeToken(bucketsToken));
+            accessPointTokens.forEach((bucketArn, token) -> lines.append(LINE_SEPARATOR)
+                    .append(encodeToken(bucketArn)).append(TOKEN_SEPARATOR).append(encodeToken(token)));
+            return CURSOR_VERSION + encodeToken(lines.toString());
+        }
+
+        private static String encodeToken(final String token) {
+            return Base64.getUrlEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String decodeToken(final String token) {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        }
+    }
+
+    private OutpostAccessPoints() {
+    }
+
+    /**
+     * @return Whether the bucket ARN is the wildcard of all the buckets of an outpost
+     */
+    static boolean isOutpostScoped(final String bucketArn) {
+        return bucketArn != null && bucketArn.endsWith(ALL_BUCKETS);
+    }
+
+    /**
+     * Lists the next access points of the outpost.
+     *
+     * @param outpostBucketArn Wildcard bucket ARN of the outpost
+     * @param nextToken        Cursor of the previous invocation, null to start
+     * @param listBuckets      ListRegionalBuckets of the outpost at a nextToken, for at most the given number of buckets
+     * @param listAccessPoints ListAccessPoints of a bucket ARN at a nextToken
+     * @throws IllegalArgumentException if the nextToken is not a cursor of this class
+     * @throws SdkException             the failure of the first bucket, in bucket order, that could not be listed
+     */
+    static Result list(final String outpostBucketArn,
+                       final String nextToken,
+                       final BiFunction<String, Integer, ListRegionalBucketsResponse> listBuckets,
+                       final BiFunction<String, String, ListAccessPointsResponse> listAccessPoints,
+                       final Logger logger) {
+        final long started = System.currentTimeMillis();
+        final String outpostId = BucketArnFields.splitArn(outpostBucketArn).outpostId;
+        final String bucketArnPrefix = outpostBucketArn.substring(0, outpostBucketArn.length() - 1);
+
+        // Buckets with more access points first, then the next buckets of the outpost.
+        final Cursor cursor = nextToken == null ? new Cursor(null, new LinkedHashMap<>()) : Cursor.decode(nextToken);
+        final Map<String, String> pending = new LinkedHashMap<>(cursor.accessPointTokens);
+        String bucketsToken = cursor.bucketsToken;
+        if (nextToken == null || (pending.size() < BUCKETS_PER_INVOCATION && bucketsToken != null)) {
+            final ListRegionalBucketsResponse buckets = listBuckets.apply(bucketsToken, BUCKETS_PER_INVOCATION - pending.size());
+            for (final RegionalBucket regionalBucket : buckets.regionalBucketList()) {
+                pending.put(bucketArnPrefix + regionalBucket.bucket(), null);
+            }
+            bucketsToken = buckets.nextToken();
+        }
+
+        final RateLimit rateLimit = new RateLimit(CALLS_PER_SECOND);
+        final Map<String, Future<ListAccessPointsResponse>> pages = new LinkedHashMap<>();
+        pending.forEach((bucketArn, token) -> pages.put(bucketArn, Workers.EXECUTOR.submit(() -> {
+            rateLimit.acquire();
+            return listAccessPoints.apply(bucketArn, token);
+        })));
+
+        final List<ResourceModel> resourceModels = new ArrayList<>();
+        final Map<String, String> accessPointTokens = new LinkedHashMap<>();
+        try {
+            for (final Map.Entry<String, Future<ListAccessPointsResponse>> page : pages.entrySet()) {
+                final ListAccessPointsResponse response = await(page.getValue());
+                for (final AccessPoint accessPoint : response.accessPointList()) {
+                    resourceModels.add(Translator.translateFromAccessPoint(accessPoint, page.getKey(), outpostId));
+                }
+                if (response.nextToken() != null) {
+                    accessPointTokens.put(page.getKey(), response.nextToken());
+                }
+            }
+        } finally {
+            pages.values().forEach(page -> page.cancel(true));
+        }
+
+        logger.log(String.format("%s::List::ListAccessPoints - outpost %s, %d buckets, %d access points in %d ms",
+                ResourceModel.TYPE_NAME, outpostId, pages.size(), resourceModels.size(),
+                System.currentTimeMillis() - started));
+        return new Result(resourceModels, new Cursor(bucketsToken, accessPointTokens).encode());
+    }
+
+    private static ListAccessPointsResponse await(final Future<ListAccessPointsResponse> page) {
+        try {
+            return page.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Spaces the calls of one listing evenly, at most the given number per second.
+     */
+    private static final class RateLimit {
+        private final long intervalNanos;
+        private long nextCallNanos = System.nanoTime();
+
+        RateLimit(final int callsPerSecond) {
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / callsPerSecond;
+        }
+
+        void acquire() throws InterruptedException {
+            final long waitNanos;
+            synchronized (this) {
+                final long now = System.nanoTime();
+                waitNanos = Math.max(0, nextCallNanos - now);
+                nextCallNanos = Math.max(nextCallNanos, now) + intervalNanos;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(MAX_PARALLEL_BUCKETS, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-accesspoint-outpost-listing");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
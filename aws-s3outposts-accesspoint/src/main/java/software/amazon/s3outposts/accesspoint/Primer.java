@@ -0,0 +1,260 @@
+package software.amazon.s3outposts.accesspoint;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Warms the code paths of the first request before a CRaC checkpoint (Lambda SnapStart) is taken, so restored
+ * invocations do not pay for class loading, static initialisation and interpreted first executions.
+ *
+ * Priming drives every handler through a full Create/Read/Update/Delete/List against an in-memory S3Control stub,
+ * which exercises the request marshallers and response unmarshallers of every access point operation, the Translator
+ * conversions and the policy ObjectMapper in both directions. Delete stabilizes on a NoSuchAccessPoint error response,
+ * which also runs the error unmarshaller, and BaseHandlerStd.handleError is finally run for every error it maps.
+ *
+ * Priming is run by {@link SnapStartHandlerWrapper}, the entry point of a function deployed with SnapStart. It never
+ * opens a socket or touches the shared LambdaWrapper HTTP client, so no connection ends up in the snapshot.
+ */
+final class Primer {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OUTPOST_ID = "op-01234567890123456";
+    private static final String NAME = "primer";
+    private static final String OUTPOST_ARN = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/" + OUTPOST_ID;
+    private static final String BUCKET_ARN = OUTPOST_ARN + "/bucket/" + NAME;
+    private static final String ARN = OUTPOST_ARN + "/accesspoint/" + NAME;
+    private static final String VPC_ID = "vpc-12345678";
+    private static final String POLICY = "{\"Version\":\"2012-10-17\",\"Statement\":[{\"Sid\":\"primer\",\"Effect\":\"Allow\","
+            + "\"Principal\":{\"AWS\":\"arn:aws:iam::" + ACCOUNT_ID + ":root\"},\"Action\":\"s3-outposts:*\","
+            + "\"Resource\":\"" + ARN + "\"}]}";
+
+    private static final String CREATE_ACCESS_POINT = "<CreateAccessPointResult><AccessPointArn>"
+            + "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/ec2/accesspoint/" + NAME
+            + "</AccessPointArn></CreateAccessPointResult>";
+    private static final String GET_ACCESS_POINT = "<GetAccessPointResult><Name>" + NAME + "</Name><Bucket>" + NAME + "</Bucket>"
+            + "<NetworkOrigin>Vpc</NetworkOrigin><VpcConfiguration><VpcId>" + VPC_ID + "</VpcId></VpcConfiguration>"
+            + "<CreationDate>2021-01-01T00:00:00Z</CreationDate></GetAccessPointResult>";
+    private static final String GET_ACCESS_POINT_POLICY = "<GetAccessPointPolicyResult><Policy>"
+            + POLICY.replace("\"", "&quot;") + "</Policy></GetAccessPointPolicyResult>";
+    private static final String LIST_ACCESS_POINTS = "<ListAccessPointsResult><AccessPointList><AccessPoint>"
+            + "<Name>" + NAME + "</Name><NetworkOrigin>Vpc</NetworkOrigin>"
+            + "<VpcConfiguration><VpcId>" + VPC_ID + "</VpcId></VpcConfiguration><Bucket>" + NAME + "</Bucket>"
+            + "<AccessPointArn>" + ARN + "</AccessPointArn></AccessPoint></AccessPointList></ListAccessPointsResult>";
+    private static final String NO_SUCH_ACCESS_POINT = "<ErrorResponse><Error><Code>NoSuchAccessPoint</Code><Message>primer</Message></Error></ErrorResponse>";
+
+    // Enough callbacks to get Create and Delete past the propagation delay.
+    private static final int MAX_INVOCATIONS = 10;
+
+    private Primer() {
+    }
+
+    /**
+     * Runs every priming step. A failing step does not stop the others, priming must never fail the checkpoint.
+     *
+     * @return the steps that failed, empty when everything was exercised
+     */
+    static List<String> prime() {
+        final List<String> failures = new ArrayList<>();
+        final StubHttpClient httpClient = new StubHttpClient();
+        try (S3ControlClient client = S3ControlClient.builder()
+                .httpClient(httpClient)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("primer", "primer")))
+                .build()) {
+            // No log publisher attached, priming is silent.
+            final LoggerProxy logger = new LoggerProxy();
+            // No remaining time: stabilization returns IN_PROGRESS instead of waiting in-process.
+            final AmazonWebServicesClientProxy proxy =
+                    new AmazonWebServicesClientProxy(logger, new Credentials("primer", "primer", "primer"), () -> 0L);
+            final ProxyClient<S3ControlClient> proxyClient = proxy.newProxy(() -> client);
+
+            step(failures, "Create", () -> drive(new CreateHandler(), proxy, proxyClient, logger, request(null, createModel())));
+            step(failures, "Read", () -> drive(new ReadHandler(), proxy, proxyClient, logger, request(null, arnModel())));
+            step(failures, "Update policy", () -> drive(new UpdateHandler(), proxy, proxyClient, logger, request(arnModel(), policyModel())));
+            step(failures, "Delete policy", () -> drive(new UpdateHandler(), proxy, proxyClient, logger, request(policyModel(), arnModel())));
+            step(failures, "Delete", () -> {
+                // Delete stabilizes once GetAccessPoint reports the access point gone.
+                httpClient.failWith(SdkHttpMethod.GET, 404, NO_SUCH_ACCESS_POINT);
+                try {
+                    drive(new DeleteHandler(), proxy, proxyClient, logger, request(null, arnModel()));
+                } finally {
+                    httpClient.failWith(null, 0, null);
+                }
+            });
+            step(failures, "List", () -> drive(new ListHandler(), proxy, proxyClient, logger,
+                    request(null, ResourceModel.builder().bucket(BUCKET_ARN).build())));
+            step(failures, "handleError", () -> {
+                final ReadHandler handler = new ReadHandler();
+                for (final Exception exception : exceptions()) {
+                    handler.handleError(GetAccessPointRequest.builder().build(), exception, proxyClient, arnModel(), new CallbackContext());
+                }
+            });
+        } catch (final RuntimeException e) {
+            failures.add("client: " + e);
+        }
+        return failures;
+    }
+
+    private static void drive(final BaseHandlerStd handler,
+                              final AmazonWebServicesClientProxy proxy,
+                              final ProxyClient<S3ControlClient> proxyClient,
+                              final Logger logger,
+                              final ResourceHandlerRequest<ResourceModel> request) {
+        CallbackContext callbackContext = new CallbackContext();
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+            if (progress.getStatus() != OperationStatus.IN_PROGRESS) {
+                if (progress.getStatus() == OperationStatus.FAILED) {
+                    throw new IllegalStateException(progress.getErrorCode() + ": " + progress.getMessage());
+                }
+                return;
+            }
+            callbackContext = progress.getCallbackContext();
+        }
+    }
+
+    private static void step(final List<String> failures, final String name, final Step step) {
+        try {
+            step.run();
+        } catch (final Exception e) {
+            failures.add(name + ": " + e);
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel previous, final ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(ACCOUNT_ID)
+                .previousResourceState(previous)
+                .desiredResourceState(desired)
+                .build();
+    }
+
+    private static ResourceModel arnModel() {
+        return ResourceModel.builder().arn(ARN).build();
+    }
+
+    private static ResourceModel policyModel() {
+        return ResourceModel.builder().arn(ARN).policy(Translator.convertStringToJsonObject(POLICY)).build();
+    }
+
+    private static ResourceModel createModel() {
+        return ResourceModel.builder()
+                .bucket(BUCKET_ARN)
+                .name(NAME)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                .policy(Translator.convertStringToJsonObject(POLICY))
+                .build();
+    }
+
+    private static List<Exception> exceptions() {
+        final List<Exception> exceptions = new ArrayList<>(Arrays.asList(
+                BadRequestException.builder().message("primer").build(),
+                InvalidRequestException.builder().message("primer").build(),
+                InternalServiceException.builder().message("primer").build(),
+                InvalidNextTokenException.builder().message("primer").build(),
+                NotFoundException.builder().message("primer").build(),
+                TooManyRequestsException.builder().message("primer").build(),
+                SdkClientException.builder().message("primer").build()));
+        for (final String errorCode : Arrays.asList("AccessPointAlreadyOwnedByYou", "InvalidAccessPoint", "NoSuchAccessPoint",
+                "NoSuchAccessPointPolicy", "TooManyAccessPoints", "MalformedPolicy", "AccessDenied", "InternalError")) {
+            exceptions.add(S3ControlException.builder()
+                    .message("primer")
+                    .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).errorMessage("primer").build())
+                    .build());
+        }
+        return exceptions;
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * Answers every request in memory with a canned S3Control response, or with the configured error.
+     */
+    private static final class StubHttpClient implements SdkHttpClient {
+
+        private volatile SdkHttpMethod errorMethod;
+        private volatile int errorStatus;
+        private volatile String errorBody;
+
+        /**
+         * Makes requests with the given method fail with the given status and body, a zero status restores success.
+         */
+        void failWith(final SdkHttpMethod method, final int status, final String body) {
+            errorMethod = method;
+            errorStatus = status;
+            errorBody = body;
+        }
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+            final boolean fail = errorStatus != 0 && request.httpRequest().method() == errorMethod;
+            final int status = fail ? errorStatus : 200;
+            final String body = fail ? errorBody : body(request.httpRequest());
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder().statusCode(status).build())
+                            .responseBody(AbortableInputStream.create(
+                                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        private static String body(final SdkHttpRequest request) {
+            final String path = request.encodedPath();
+            if (request.method() != SdkHttpMethod.GET) {
+                return request.method() == SdkHttpMethod.PUT && !path.endsWith("/policy") ? CREATE_ACCESS_POINT : "";
+            }
+            if (path.endsWith("/policy")) {
+                return GET_ACCESS_POINT_POLICY;
+            }
+            if (path.endsWith("/accesspoint")) {
+                return LIST_ACCESS_POINTS;
+            }
+            return GET_ACCESS_POINT;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
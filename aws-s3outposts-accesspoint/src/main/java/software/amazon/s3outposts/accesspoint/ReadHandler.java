@@ -5,8 +5,9 @@ import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +15,6 @@ public class ReadHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         // Expecting customer to only provide Arn
@@ -31,6 +30,10 @@ public class ReadHandler extends BaseHandlerStd {
 
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
+    }
 
 
     /**
@@ -54,14 +57,17 @@ public class ReadHandler extends BaseHandlerStd {
             Logger logger) {
 
         logger.log(String.format("%s::Read::GetAccessPointPolicy - arn: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
-        return proxy.initiate("AWS-S3Outposts-AccessPoint::Read::GetAccessPointPolicy", proxyClient, model, callbackContext)
-                // Form GetAccessPointPolicyRequest
-                .translateToServiceRequest(resourceModel -> Translator.translateToGetAPPolicyRequest(resourceModel, request.getAwsAccountId()))
-                // Issue call getAccessPoint
-                .makeServiceCall((getAPPolicyRequest, s3ControlProxyClient) -> {
-                    return s3ControlProxyClient.injectCredentialsAndInvokeV2(getAPPolicyRequest, s3ControlProxyClient.client()::getAccessPointPolicy);
-                })
-                .handleError((getAPPolicyRequest, exception, client, resourceModel, cbContext) -> {
+
+        // Left without a policy by the Create or Update this Read ends, the call would answer NoSuchAccessPointPolicy.
+        if (callbackContext.isNoPolicy()) {
+            logger.log(String.format("%s::Read::GetAccessPointPolicy - no policy, not read \n", ResourceModel.TYPE_NAME));
+            return ProgressEvent.progress(model, callbackContext);
+        }
+        return read(proxyClient,
+                Translator.translateToGetAPPolicyRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getAccessPointPolicy,
+                model, callbackContext,
+                (getAPPolicyRequest, exception, client, resourceModel, cbContext) -> {
                     // It is ok to not have an AccessPointPolicy for a CFN AccessPoint resource. We do not have to fail the CFN AccessPoint::Read operation for this.
                     if (exception instanceof S3ControlException && StringUtils.equals(((S3ControlException) exception).awsErrorDetails().errorCode(), NO_SUCH_ACCESSPOINT_POLICY)) {
                         logger.log(String.format("NoSuchAccessPointPolicy, Message: %s \n", exception.getMessage()));
@@ -70,8 +76,8 @@ public class ReadHandler extends BaseHandlerStd {
                         logger.log(String.format("API getAccessPointPolicy failed with exception: %s", exception.getMessage()));
                         return handleError(getAPPolicyRequest, exception, client, resourceModel, cbContext);
                     }
-                })
-                .done(getAPPolicyResponse -> {
+                },
+                getAPPolicyResponse -> {
                     try {
                         final ResourceModel getAPPolicyResponseModel = Translator.translateFromGetAPPolicyResponse(getAPPolicyResponse, model);
                         return ProgressEvent.progress(getAPPolicyResponseModel, callbackContext);
@@ -0,0 +1,61 @@
+package software.amazon.s3outposts.accesspoint;
+
+import software.amazon.s3outposts.shared.IdentifierValidator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-flight validation of the models given to the handlers: a model the service would refuse fails at handler entry
+ * with every violation found, rather than after a round trip, or after the stabilization of a created access point. The
+ * plugin already validates the model of a Create or an Update against the resource schema, so only the limit of the
+ * service the schema does not state, a policy of at most {@value #MAX_POLICY_BYTES} bytes, is checked here. The
+ * identifier of a Read or a Delete is checked against the schema.
+ */
+final class RequestValidator {
+
+    static final String SCHEMA = "/aws-s3outposts-accesspoint.json";
+    static final int MAX_POLICY_BYTES = 20 * 1024;
+
+    private RequestValidator() {
+    }
+
+    /**
+     * @return The violations of a model to create or update, none if it is valid
+     */
+    static List<String> validate(final ResourceModel model) {
+        final List<String> violations = new ArrayList<>();
+        if (model.getPolicy() != null) {
+            final int bytes = Translator.convertJsonObjectToString(model.getPolicy()).getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > MAX_POLICY_BYTES) {
+                violations.add(String.format("/Policy: %d bytes, at most %d are allowed", bytes, MAX_POLICY_BYTES));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * @return The violations of the primary identifier of a model to read or delete, none if it is valid
+     */
+    static List<String> validateIdentifier(final ResourceModel model) {
+        return Identifier.VALIDATOR.validate(model.getArn());
+    }
+
+    /**
+     * @return The message of a request failed on violations
+     */
+    static String message(final List<String> violations) {
+        return String.format("Invalid request: %s.", String.join("; ", violations));
+    }
+
+    /**
+     * The identifier definition, loaded the first time an identifier is validated.
+     */
+    private static final class Identifier {
+
+        private static final IdentifierValidator VALIDATOR = new IdentifierValidator(SCHEMA, "Arn");
+
+    }
+
+}
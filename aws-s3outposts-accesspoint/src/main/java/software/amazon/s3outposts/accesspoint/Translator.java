@@ -17,7 +17,6 @@ import java.util.Map;
  */
 
 public class Translator {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     /**
      * Translate from model to request
@@ -176,15 +175,40 @@ public class Translator {
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/model/ListAccessPointsRequest.html
      *
      * @param nextToken token passed to the aws service list resources request
+     * @param maxResults maximum number of access points in the page
      * @return awsRequest the aws service request to list resources within aws account
      */
     static ListAccessPointsRequest translateToListRequest(final ResourceModel model,
                                                           final String accountId,
-                                                          final String nextToken) {
+                                                          final String nextToken,
+                                                          final int maxResults) {
         return ListAccessPointsRequest.builder()
                 .accountId(accountId)
                 .bucket(model.getBucket())
                 .nextToken(nextToken)
+                .maxResults(maxResults)
+                .build();
+    }
+
+    /**
+     * Request to list the buckets of an outpost, for the access point listing of a whole outpost.
+     * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/model/ListRegionalBucketsRequest.html
+     *
+     * @param accountId
+     * @param outpostId
+     * @param nextToken
+     * @param maxResults
+     * @return
+     */
+    static ListRegionalBucketsRequest translateToListRegionalBucketsRequest(final String accountId,
+                                                                            final String outpostId,
+                                                                            final String nextToken,
+                                                                            final int maxResults) {
+        return ListRegionalBucketsRequest.builder()
+                .accountId(accountId)
+                .outpostId(outpostId)
+                .nextToken(nextToken)
+                .maxResults(maxResults)
                 .build();
     }
 
@@ -199,16 +223,30 @@ public class Translator {
     static ResourceModel translateFromAccessPoint(final AccessPoint accessPoint,
                                                   final ResourceModel model) {
 
-
         // Get outpostId from bucket arn and replace `ec2` with outpostId in accesspoint arn.
         // => Revisit and determine whether we need the next 2 lines of code.
-        final BucketArnFields arnFields = BucketArnFields.splitArn(model.getBucket());
+        return translateFromAccessPoint(accessPoint, model.getBucket(), BucketArnFields.splitArn(model.getBucket()).outpostId);
+    }
+
+    /**
+     * Translates from AccessPoint object to resource model, with the outpostId already split from the bucket ARN.
+     * Used when translating all the access points of a bucket, to split the bucket ARN once.
+     *
+     * @param accessPoint
+     * @param bucketArn
+     * @param outpostId
+     * @return
+     */
+    static ResourceModel translateFromAccessPoint(final AccessPoint accessPoint,
+                                                  final String bucketArn,
+                                                  final String outpostId) {
+
         final String accessPointArn = accessPoint.accessPointArn()
-                .replaceFirst("/ec2/", String.format("/%s/", arnFields.outpostId));
+                .replaceFirst("/ec2/", String.format("/%s/", outpostId));
 
         return ResourceModel.builder()
                 .arn(accessPointArn)
-                .bucket(model.getBucket())
+                .bucket(bucketArn)
                 .name(accessPoint.name())
                 .vpcConfiguration(software.amazon.s3outposts.accesspoint.VpcConfiguration.builder().vpcId(accessPoint.vpcConfiguration().vpcId()).build())
                 .build();
@@ -223,7 +261,7 @@ public class Translator {
      */
     static Map<String, Object> convertStringToJsonObject(final String policy) {
         try {
-            return MAPPER.readValue(policy, new TypeReference<Map<String, Object>>() {
+            return PolicyMapper.INSTANCE.readValue(policy, new TypeReference<Map<String, Object>>() {
             });
         } catch (Exception e) {
             throw new CfnGeneralServiceException(e);
@@ -238,10 +276,20 @@ public class Translator {
      */
     static String convertJsonObjectToString(Map<String, Object> policyDocument) {
         try {
-            return MAPPER.writeValueAsString(policyDocument);
+            return PolicyMapper.INSTANCE.writeValueAsString(policyDocument);
         } catch (Exception e) {
             throw new CfnInvalidRequestException(e);
         }
     }
 
+    /**
+     * Holds the mapper used for policy documents. The mapper is built the first time a policy is converted rather than
+     * when Translator is loaded, which keeps it off the path of requests without a policy.
+     */
+    private static final class PolicyMapper {
+
+        private static final ObjectMapper INSTANCE = new ObjectMapper();
+
+    }
+
 }
@@ -4,10 +4,10 @@ import com.amazonaws.util.StringUtils;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
 import java.util.Objects;
 
 public class UpdateHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -15,8 +15,6 @@ public class UpdateHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel newModel = request.getDesiredResourceState();
         final ResourceModel previousModel = request.getPreviousResourceState();
 
@@ -33,6 +31,11 @@ public class UpdateHandler extends BaseHandlerStd {
 
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
+    }
+
     /**
      * Calls the API putAccessPointPolicy
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/S3ControlClient.html#putAccessPointPolicy-software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyRequest-
@@ -80,7 +83,10 @@ public class UpdateHandler extends BaseHandlerStd {
                     .makeServiceCall(((deleteAPPolicyRequest, s3ControlProxyClient) ->
                             s3ControlProxyClient.injectCredentialsAndInvokeV2(deleteAPPolicyRequest, s3ControlProxyClient.client()::deleteAccessPointPolicy)))
                     .handleError(this::handleError)
-                    .progress();
+                    .done(deleteAPPolicyResponse -> {
+                        callbackContext.setNoPolicy(true);
+                        return ProgressEvent.progress(model, callbackContext);
+                    });
 
         }
 
@@ -0,0 +1,211 @@
+package software.amazon.s3outposts.accesspoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.CallBudget;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * API call-budget regression tests. Each scenario declares the exact sequence of S3Control operations it may issue;
+ * adding, dropping or reordering a call fails the test with a diff of the two sequences.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CallBudgetTest extends AbstractTestBase {
+
+    private AmazonWebServicesClientProxy proxy;
+    private S3ControlClient sdkClient;
+    private CallBudget.RecordingProxyClient<S3ControlClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(S3ControlClient.class);
+        proxyClient = CallBudget.record(MOCK_PROXY(proxy, sdkClient));
+    }
+
+    private CallbackContext propagatedContext() {
+        final CallbackContext context = new CallbackContext();
+        context.setStabilized(true);
+        context.setPropagated(true);
+        context.setForcedDelayCount(4);
+        return context;
+    }
+
+    private void stubGetAccessPoint() {
+        when(sdkClient.getAccessPoint(any(GetAccessPointRequest.class)))
+                .thenReturn(GetAccessPointResponse.builder()
+                        .bucket(BUCKET_NAME)
+                        .name(ACCESSPOINT_NAME)
+                        .vpcConfiguration(software.amazon.awssdk.services.s3control.model.VpcConfiguration.builder().vpcId(VPC_ID).build())
+                        .build());
+    }
+
+    @Test
+    public void create_WithPolicy() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(AP_CREATE_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.createAccessPoint(any(CreateAccessPointRequest.class)))
+                .thenReturn(CreateAccessPointResponse.builder().accessPointArn(ACCESSPOINT_ARN).build());
+        when(sdkClient.putAccessPointPolicy(any(PutAccessPointPolicyRequest.class)))
+                .thenReturn(PutAccessPointPolicyResponse.builder().build());
+        stubGetAccessPoint();
+        when(sdkClient.getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
+                .thenReturn(GetAccessPointPolicyResponse.builder().policy(ACCESSPOINT_POLICY).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, propagatedContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("CreateAccessPoint", "PutAccessPointPolicy", "GetAccessPoint", "GetAccessPointPolicy")
+                .assertSatisfiedBy("Create with policy", proxyClient);
+    }
+
+    @Test
+    public void create_NoPolicy() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(AP_NO_POLICY_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.createAccessPoint(any(CreateAccessPointRequest.class)))
+                .thenReturn(CreateAccessPointResponse.builder().accessPointArn(ACCESSPOINT_ARN).build());
+        stubGetAccessPoint();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, propagatedContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The new AccessPoint has no policy: the Read does not ask for it.
+        CallBudget.of("CreateAccessPoint", "GetAccessPoint")
+                .assertSatisfiedBy("Create without policy", proxyClient);
+    }
+
+    @Test
+    public void read_NoPolicy() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(AP_ONLY_ARN_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        stubGetAccessPoint();
+        when(sdkClient.getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
+                .thenThrow(constructS3ControlException("NoSuchAccessPointPolicy"));
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetAccessPoint", "GetAccessPointPolicy")
+                .assertSatisfiedBy("Read without policy", proxyClient);
+    }
+
+    @Test
+    public void update_PolicyOnly() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(AP_COMPLETE_MODEL)
+                .desiredResourceState(AP_COMPLETE_MODEL2)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.putAccessPointPolicy(any(PutAccessPointPolicyRequest.class)))
+                .thenReturn(PutAccessPointPolicyResponse.builder().build());
+        stubGetAccessPoint();
+        when(sdkClient.getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
+                .thenReturn(GetAccessPointPolicyResponse.builder().policy(ACCESSPOINT_POLICY2).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("PutAccessPointPolicy", "GetAccessPoint", "GetAccessPointPolicy")
+                .assertSatisfiedBy("Update policy only", proxyClient);
+    }
+
+    @Test
+    public void update_RemovePolicy() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(AP_COMPLETE_MODEL)
+                .desiredResourceState(AP_NO_POLICY_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.deleteAccessPointPolicy(any(DeleteAccessPointPolicyRequest.class)))
+                .thenReturn(DeleteAccessPointPolicyResponse.builder().build());
+        stubGetAccessPoint();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel().getPolicy()).isNull();
+        // The policy just deleted is not read back.
+        CallBudget.of("DeleteAccessPointPolicy", "GetAccessPoint")
+                .assertSatisfiedBy("Update removing the policy", proxyClient);
+    }
+
+    @Test
+    public void update_NoChanges() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(AP_COMPLETE_MODEL)
+                .desiredResourceState(AP_COMPLETE_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        stubGetAccessPoint();
+        when(sdkClient.getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
+                .thenReturn(GetAccessPointPolicyResponse.builder().policy(ACCESSPOINT_POLICY).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetAccessPoint", "GetAccessPointPolicy")
+                .assertSatisfiedBy("Update without changes", proxyClient);
+    }
+
+    @Test
+    public void delete() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(AP_ONLY_ARN_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.deleteAccessPoint(any(DeleteAccessPointRequest.class)))
+                .thenReturn(DeleteAccessPointResponse.builder().build());
+        when(sdkClient.getAccessPoint(any(GetAccessPointRequest.class)))
+                .thenThrow(constructS3ControlException(NO_SUCH_ACCESSPOINT));
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        CallBudget.of("DeleteAccessPoint", "GetAccessPoint")
+                .assertSatisfiedBy("Delete (first invocation)", proxyClient);
+    }
+
+    @Test
+    public void list() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_ARN_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.listAccessPoints(any(ListAccessPointsRequest.class)))
+                .thenReturn(ListAccessPointsResponse.builder().accessPointList(Collections.emptyList()).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ListHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("ListAccessPoints")
+                .assertSatisfiedBy("List", proxyClient);
+    }
+
+}
@@ -0,0 +1,82 @@
+package software.amazon.s3outposts.accesspoint;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointRequest;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointResponse;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractCircuitBreakerProxyClientTest;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCESSPOINT_ARN;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCESSPOINT_NAME;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.logger;
+
+public class CircuitBreakerProxyClientTest
+        extends AbstractCircuitBreakerProxyClientTest<S3ControlClient, GetAccessPointRequest, GetAccessPointResponse> {
+
+    private final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+
+    public CircuitBreakerProxyClientTest() {
+        super(ResourceModel.TYPE_NAME, ACCOUNT_ID, REGION, OUTPOST_ID, ACCESSPOINT_ARN);
+    }
+
+    @Override
+    protected GetAccessPointRequest request() {
+        return GetAccessPointRequest.builder().accountId(ACCOUNT_ID).name(ACCESSPOINT_ARN).build();
+    }
+
+    @Override
+    protected GetAccessPointResponse response() {
+        return GetAccessPointResponse.builder().name(ACCESSPOINT_NAME).build();
+    }
+
+    @Override
+    protected AwsServiceException error(final int statusCode, final String errorCode) {
+        return S3ControlException.builder().statusCode(statusCode)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+                .build();
+    }
+
+    @Override
+    protected ProxyClient<S3ControlClient> failingServiceClient() {
+        final S3ControlClient sdkClient = mock(S3ControlClient.class);
+        when(sdkClient.getAccessPoint(any(GetAccessPointRequest.class))).thenAnswer(invocation -> {
+            backendCalls.incrementAndGet();
+            throw error(500, "InternalError");
+        });
+        when(sdkClient.getAccessPointPolicy(any(GetAccessPointPolicyRequest.class))).thenAnswer(invocation -> {
+            backendCalls.incrementAndGet();
+            throw error(500, "InternalError");
+        });
+        return MOCK_PROXY(proxy, sdkClient);
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> read(final ProxyClient<S3ControlClient> proxyClient, final Logger requestLogger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(ACCESSPOINT_ARN).build())
+                .awsAccountId(ACCOUNT_ID)
+                .region(REGION)
+                .build();
+        return new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+    }
+
+}
@@ -0,0 +1,121 @@
+package software.amazon.s3outposts.accesspoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointRequest;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointResponse;
+import software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.VpcConfiguration;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractConcurrentHandlerTest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.BUCKET_NAME;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.VPC_ID;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.getPolicyDocument;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.logger;
+
+/**
+ * Runs Read and Update requests of thousands of access points at once.
+ */
+public class ConcurrentHandlerTest extends AbstractConcurrentHandlerTest {
+
+    private final ReadHandler readHandler = new ReadHandler();
+    private final UpdateHandler updateHandler = new UpdateHandler();
+    // Policies of the access points, by access point ARN.
+    private final Map<String, String> policies = new ConcurrentHashMap<>();
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<S3ControlClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final S3ControlClient sdkClient = mock(S3ControlClient.class);
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+        when(sdkClient.getAccessPoint(any(GetAccessPointRequest.class))).thenAnswer(invocation -> {
+            final String arn = invocation.<GetAccessPointRequest>getArgument(0).name();
+            return GetAccessPointResponse.builder()
+                    .name(name(arn))
+                    .bucket(BUCKET_NAME)
+                    .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                    .build();
+        });
+        when(sdkClient.getAccessPointPolicy(any(GetAccessPointPolicyRequest.class))).thenAnswer(invocation ->
+                GetAccessPointPolicyResponse.builder()
+                        .policy(policies.get(invocation.<GetAccessPointPolicyRequest>getArgument(0).name()))
+                        .build());
+        when(sdkClient.putAccessPointPolicy(any(PutAccessPointPolicyRequest.class))).thenAnswer(invocation -> {
+            final PutAccessPointPolicyRequest putAccessPointPolicyRequest = invocation.getArgument(0);
+            policies.put(putAccessPointPolicyRequest.name(), putAccessPointPolicyRequest.policy());
+            return PutAccessPointPolicyResponse.builder().build();
+        });
+        // The access points of the Reads have a policy, the ones of the Updates get one.
+        for (int i = 0; i < OPERATIONS; i += 2) {
+            policies.put(arn(i), policy(arn(i)));
+        }
+    }
+
+    @Override
+    protected ProgressEvent<?, ?> run(final int operation, final Logger requestLogger) {
+        final String arn = arn(operation);
+        final ResourceHandlerRequest<ResourceModel> request;
+        final ProgressEvent<ResourceModel, CallbackContext> progress;
+        if (operation % 2 == 0) {
+            request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                    .awsAccountId(ACCOUNT_ID)
+                    .build();
+            progress = readHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+        } else {
+            request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(ResourceModel.builder().arn(arn).policy(getPolicyDocument(policy(arn))).build())
+                    .previousResourceState(ResourceModel.builder().arn(arn).build())
+                    .awsAccountId(ACCOUNT_ID)
+                    .build();
+            progress = updateHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+        }
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(progress.getResourceModel().getName()).isEqualTo(name(arn));
+        assertThat(progress.getResourceModel().getPolicy()).isEqualTo(getPolicyDocument(policy(arn)));
+        return progress;
+    }
+
+    @Override
+    protected String arn(final int operation) {
+        return String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/accesspoint/ap-%d", REGION, ACCOUNT_ID, OUTPOST_ID, operation);
+    }
+
+    @Override
+    protected void verifyService() {
+        assertThat(policies).hasSize(OPERATIONS);
+    }
+
+    private static String name(final String arn) {
+        return arn.substring(arn.lastIndexOf('/') + 1);
+    }
+
+    private static String policy(final String arn) {
+        return String.format("{\"Version\":\"2012-10-17\",\"Statement\":[{\"Sid\":\"st1\",\"Effect\":\"Allow\"," +
+                "\"Principal\":{\"AWS\":\"%s\"},\"Action\":\"*\",\"Resource\":\"%s\"}]}", ACCOUNT_ID, arn);
+    }
+
+}
@@ -12,6 +12,7 @@ import software.amazon.awssdk.services.s3control.model.*;
 import software.amazon.cloudformation.proxy.*;
 
 import java.time.Duration;
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -245,9 +246,6 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         when(proxyClient.client().getAccessPoint(any(GetAccessPointRequest.class))).thenReturn(getAccessPointResponse);
 
-        when(proxyClient.client().getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
-                .thenThrow(constructS3ControlException("NoSuchAccessPointPolicy"));
-
         final ProgressEvent<ResourceModel, CallbackContext> progress =
                 handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -326,6 +324,152 @@ public class CreateHandlerTest extends AbstractTestBase {
 
     }
 
+    /**
+     * Happy Path - AccessPointAlreadyOwnedByYou on a retry of a Create whose CreateAccessPoint went through
+     */
+    @Test
+    public void handleRequest_CreateAP_AlreadyOwnedByYou_Retry() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .bucket(BUCKET_ARN)
+                        .name(ACCESSPOINT_NAME)
+                        .vpcConfiguration(AP_CREATE_MODEL.getVpcConfiguration())
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("token")
+                .build();
+
+        CallbackContext context = new CallbackContext();
+        context.setClientRequestToken("token");
+        context.setCreateRequested(true);
+        context.setCreateStartedAt(Instant.parse("2020-01-01T10:00:00.500Z").toEpochMilli());
+        context.setPropagated(true);
+        context.setForcedDelayCount(4);
+
+        when(proxyClient.client().createAccessPoint(any(CreateAccessPointRequest.class)))
+                .thenThrow(constructS3ControlException("AccessPointAlreadyOwnedByYou"));
+        final GetAccessPointResponse getAccessPointResponse = GetAccessPointResponse.builder()
+                .bucket(BUCKET_NAME)
+                .name(ACCESSPOINT_NAME)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                .creationDate(Instant.parse("2020-01-01T10:00:00Z"))
+                .build();
+        when(proxyClient.client().getAccessPoint(any(GetAccessPointRequest.class))).thenReturn(getAccessPointResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(ACCESSPOINT_ARN);
+        assertThat(progress.getErrorCode()).isNull();
+
+        verify(proxyClient.client()).createAccessPoint(any(CreateAccessPointRequest.class));
+        verify(proxyClient.client(), times(2)).getAccessPoint(any(GetAccessPointRequest.class));
+        verify(proxyClient.client(), never()).getAccessPointPolicy(any(GetAccessPointPolicyRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Error - AccessPointAlreadyOwnedByYou on a retry, for an AccessPoint created before this Create started
+     */
+    @Test
+    public void handleRequest_CreateAP_AlreadyOwnedByYou_Retry_OlderAccessPoint() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .bucket(BUCKET_ARN)
+                        .name(ACCESSPOINT_NAME)
+                        .vpcConfiguration(AP_CREATE_MODEL.getVpcConfiguration())
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("token")
+                .build();
+
+        CallbackContext context = new CallbackContext();
+        context.setClientRequestToken("token");
+        context.setCreateRequested(true);
+        context.setCreateStartedAt(Instant.parse("2020-01-01T10:00:00Z").toEpochMilli());
+        context.setPropagated(true);
+        context.setForcedDelayCount(4);
+
+        when(proxyClient.client().createAccessPoint(any(CreateAccessPointRequest.class)))
+                .thenThrow(constructS3ControlException("AccessPointAlreadyOwnedByYou"));
+        final GetAccessPointResponse getAccessPointResponse = GetAccessPointResponse.builder()
+                .bucket(BUCKET_NAME)
+                .name(ACCESSPOINT_NAME)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                .creationDate(Instant.parse("2020-01-01T09:59:59Z"))
+                .build();
+        when(proxyClient.client().getAccessPoint(any(GetAccessPointRequest.class))).thenReturn(getAccessPointResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(progress.getResourceModel().getArn()).isNull();
+
+        verify(proxyClient.client()).createAccessPoint(any(CreateAccessPointRequest.class));
+        verify(proxyClient.client()).getAccessPoint(any(GetAccessPointRequest.class));
+        verify(proxyClient.client(), never()).putAccessPointPolicy(any(PutAccessPointPolicyRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - Re-invocation after CreateAccessPoint and PutAccessPointPolicy completed only reads the AccessPoint
+     */
+    @Test
+    public void handleRequest_ResumeAfterPolicyPut() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .bucket(BUCKET_ARN)
+                        .name(ACCESSPOINT_NAME)
+                        .vpcConfiguration(AP_CREATE_MODEL.getVpcConfiguration())
+                        .policy(getPolicyDocument(ACCESSPOINT_POLICY))
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("token")
+                .build();
+
+        CallbackContext context = new CallbackContext();
+        context.setClientRequestToken("token");
+        context.setCreateRequested(true);
+        context.setCreatedArn(ACCESSPOINT_ARN);
+        context.setStabilized(true);
+        context.setPropagated(true);
+        context.setForcedDelayCount(4);
+        context.setPolicyPut(true);
+
+        final GetAccessPointResponse getAccessPointResponse = GetAccessPointResponse.builder()
+                .bucket(BUCKET_NAME)
+                .name(ACCESSPOINT_NAME)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                .build();
+        when(proxyClient.client().getAccessPoint(any(GetAccessPointRequest.class))).thenReturn(getAccessPointResponse);
+        when(proxyClient.client().getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
+                .thenReturn(GetAccessPointPolicyResponse.builder().policy(ACCESSPOINT_POLICY).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(AP_COMPLETE_MODEL);
+
+        verify(proxyClient.client(), never()).createAccessPoint(any(CreateAccessPointRequest.class));
+        verify(proxyClient.client(), never()).putAccessPointPolicy(any(PutAccessPointPolicyRequest.class));
+        verify(proxyClient.client()).getAccessPoint(any(GetAccessPointRequest.class));
+        verify(proxyClient.client()).getAccessPointPolicy(any(GetAccessPointPolicyRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
     /**
      * AccessPointPolicy creation fails - Invalid Request
      */
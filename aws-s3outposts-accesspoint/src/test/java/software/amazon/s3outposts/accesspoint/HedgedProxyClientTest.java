@@ -0,0 +1,43 @@
+package software.amazon.s3outposts.accesspoint;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointRequest;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointResponse;
+import software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyResponse;
+import software.amazon.s3outposts.shared.AbstractHedgedProxyClientTest;
+
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCESSPOINT_ARN;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCESSPOINT_NAME;
+import static software.amazon.s3outposts.accesspoint.AbstractTestBase.ACCOUNT_ID;
+
+public class HedgedProxyClientTest
+        extends AbstractHedgedProxyClientTest<S3ControlClient, GetAccessPointRequest, GetAccessPointResponse> {
+
+    public HedgedProxyClientTest() {
+        super(ResourceModel.TYPE_NAME, BaseHandlerStd.IDEMPOTENT_READS);
+    }
+
+    @Override
+    protected GetAccessPointRequest request() {
+        return GetAccessPointRequest.builder().accountId(ACCOUNT_ID).name(ACCESSPOINT_ARN).build();
+    }
+
+    @Override
+    protected GetAccessPointResponse response() {
+        return GetAccessPointResponse.builder().name(ACCESSPOINT_NAME).build();
+    }
+
+    @Override
+    protected AwsRequest write() {
+        return PutAccessPointPolicyRequest.builder().accountId(ACCOUNT_ID).name(ACCESSPOINT_ARN).build();
+    }
+
+    @Override
+    protected AwsResponse writeResponse() {
+        return PutAccessPointPolicyResponse.builder().build();
+    }
+
+}
@@ -6,14 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.services.s3control.model.AccessPoint;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointPolicyResponse;
 import software.amazon.awssdk.services.s3control.model.ListAccessPointsRequest;
 import software.amazon.awssdk.services.s3control.model.ListAccessPointsResponse;
+import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsRequest;
+import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsResponse;
+import software.amazon.awssdk.services.s3control.model.RegionalBucket;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.awssdk.services.s3control.model.TooManyRequestsException;
 import software.amazon.awssdk.services.s3control.model.VpcConfiguration;
 import software.amazon.cloudformation.proxy.*;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -162,4 +171,155 @@ public class ListHandlerTest extends AbstractTestBase {
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
+
+    private AccessPoint accessPoint(final String bucketName, final String accessPointName) {
+        return AccessPoint.builder()
+                .accessPointArn(String.format("arn:aws:s3-outposts:%s:%s:outpost/ec2/accesspoint/%s", REGION, ACCOUNT_ID, accessPointName))
+                .bucket(bucketName)
+                .name(accessPointName)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId("vpc-12345").build())
+                .build();
+    }
+
+    @Test
+    public void handleRequest_OutpostScoped_MergesBucketsAndResumes() {
+
+        final String outpostBuckets = String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/bucket/*", REGION, ACCOUNT_ID, OUTPOST_ID);
+        final String bucketArnPrefix = String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/bucket/", REGION, ACCOUNT_ID, OUTPOST_ID);
+
+        when(proxyClient.client().listRegionalBuckets(any(ListRegionalBucketsRequest.class))).thenReturn(
+                ListRegionalBucketsResponse.builder()
+                        .regionalBucketList(RegionalBucket.builder().bucket("bucket1").outpostId(OUTPOST_ID).build(),
+                                RegionalBucket.builder().bucket("bucket2").outpostId(OUTPOST_ID).build())
+                        .build());
+        when(proxyClient.client().listAccessPoints(any(ListAccessPointsRequest.class))).thenAnswer(invocation -> {
+            final ListAccessPointsRequest listRequest = invocation.getArgument(0);
+            if (listRequest.bucket().equals(bucketArnPrefix + "bucket1")) {
+                return listRequest.nextToken() == null ?
+                        ListAccessPointsResponse.builder().accessPointList(accessPoint("bucket1", "ap1")).nextToken("ap-page2").build() :
+                        ListAccessPointsResponse.builder().accessPointList(accessPoint("bucket1", "ap3")).build();
+            }
+            return ListAccessPointsResponse.builder().accessPointList(accessPoint("bucket2", "ap2")).build();
+        });
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().bucket(outpostBuckets).build())
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(first.getResourceModels()).extracting(ResourceModel::getName).containsExactly("ap1", "ap2");
+        assertThat(first.getResourceModels()).extracting(ResourceModel::getBucket)
+                .containsExactly(bucketArnPrefix + "bucket1", bucketArnPrefix + "bucket2");
+        // The outpost of the wildcard ARN replaces `ec2` in the access point ARN.
+        assertThat(first.getResourceModels().get(0).getArn())
+                .isEqualTo(String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/accesspoint/ap1", REGION, ACCOUNT_ID, OUTPOST_ID));
+        assertThat(first.getNextToken()).isNotNull();
+
+        // Only bucket1 has more access points, and there are no more buckets to list.
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().bucket(outpostBuckets).build())
+                .awsAccountId(ACCOUNT_ID)
+                .nextToken(first.getNextToken())
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(second.getResourceModels()).extracting(ResourceModel::getName).containsExactly("ap3");
+        assertThat(second.getNextToken()).isNull();
+
+        verify(proxyClient.client()).listRegionalBuckets(any(ListRegionalBucketsRequest.class));
+        verify(proxyClient.client(), times(3)).listAccessPoints(any(ListAccessPointsRequest.class));
+
+    }
+
+    @Test
+    public void handleRequest_OutpostScoped_InvalidNextToken() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .bucket(String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/bucket/*", REGION, ACCOUNT_ID, OUTPOST_ID))
+                        .build())
+                .nextToken("fakeNextToken")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+
+    }
+
+    /**
+     * Hydrated List: the policy of every access point is read, throttled reads are retried
+     */
+    @Test
+    public void handleRequest_Hydrated_ReadsPolicies() {
+
+        handler = new ListHandler(() -> true);
+        when(proxyClient.client().listAccessPoints(any(ListAccessPointsRequest.class)))
+                .thenReturn(ListAccessPointsResponse.builder().accessPointList(ap1, ap2).build());
+        // ap1 has a policy, ap2 has none, and the first GetAccessPointPolicy is throttled
+        final AtomicInteger policyCalls = new AtomicInteger();
+        when(proxyClient.client().getAccessPointPolicy(any(GetAccessPointPolicyRequest.class))).thenAnswer(invocation -> {
+            final GetAccessPointPolicyRequest policyRequest = invocation.getArgument(0);
+            if (policyCalls.incrementAndGet() == 1) {
+                throw TooManyRequestsException.builder().statusCode(429).build();
+            }
+            if (policyRequest.name().equals(ACCESSPOINT_ARN2)) {
+                throw S3ControlException.builder().statusCode(404)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchAccessPointPolicy").build()).build();
+            }
+            return GetAccessPointPolicyResponse.builder().policy("{\"Version\":\"2012-10-17\"}").build();
+        });
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_ARN_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModels()).extracting(ResourceModel::getName).containsExactly(ACCESSPOINT_NAME1, ACCESSPOINT_NAME2);
+        assertThat(progress.getResourceModels().get(0).getPolicy()).containsEntry("Version", "2012-10-17");
+        assertThat(progress.getResourceModels().get(1).getPolicy()).isNull();
+
+        verify(proxyClient.client()).listAccessPoints(any(ListAccessPointsRequest.class));
+        verify(proxyClient.client(), times(3)).getAccessPointPolicy(any(GetAccessPointPolicyRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+    }
+
+    /**
+     * Hydrated List: a read failing for another reason than throttling fails the List
+     */
+    @Test
+    public void handleRequest_Hydrated_ReadFailure() {
+
+        handler = new ListHandler(() -> true);
+        when(proxyClient.client().listAccessPoints(any(ListAccessPointsRequest.class)))
+                .thenReturn(ListAccessPointsResponse.builder().accessPointList(ap1).build());
+        when(proxyClient.client().getAccessPointPolicy(any(GetAccessPointPolicyRequest.class)))
+                .thenThrow(S3ControlException.builder().statusCode(403)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("AccessDenied").build()).build());
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_ARN_MODEL)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(progress.getResourceModels()).isNull();
+
+        verify(proxyClient.client()).listAccessPoints(any(ListAccessPointsRequest.class));
+        verify(proxyClient.client()).getAccessPointPolicy(any(GetAccessPointPolicyRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+    }
+
 }
@@ -193,8 +193,9 @@ public class ReadHandlerTest extends AbstractTestBase {
                 .build();
         when(proxyClient.client().getAccessPointPolicy(any(GetAccessPointPolicyRequest.class))).thenReturn(getAPPolicyResponse);
 
+        final CallbackContext callbackContext = new CallbackContext();
         final ProgressEvent<ResourceModel, CallbackContext> progress =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
 
         assertThat(progress).isNotNull();
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -204,6 +205,8 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getResourceModels()).isNull();
         assertThat(progress.getMessage()).isNull();
         assertThat(progress.getErrorCode()).isNull();
+        // The policy document is not memoized in the context.
+        assertThat(callbackContext.callGraphs().keySet()).noneMatch(key -> key.contains("GetAccessPointPolicy"));
 
         verify(proxyClient.client()).getAccessPoint(any(GetAccessPointRequest.class));
         verify(proxyClient.client()).getAccessPointPolicy(any(GetAccessPointPolicyRequest.class));
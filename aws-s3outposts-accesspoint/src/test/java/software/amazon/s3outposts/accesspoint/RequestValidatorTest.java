@@ -0,0 +1,84 @@
+package software.amazon.s3outposts.accesspoint;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class RequestValidatorTest extends AbstractTestBase {
+
+    private static final String VALID_ARN =
+            String.format("arn:aws:s3-outposts:%s:123456789012:outpost/%s/accesspoint/%s", REGION, OUTPOST_ID, ACCESSPOINT_NAME);
+    private static final Map<String, Object> OVERSIZED_POLICY =
+            Collections.singletonMap("Padding", new String(new char[RequestValidator.MAX_POLICY_BYTES]).replace('\0', 'x'));
+
+    @Test
+    public void validate_ValidModels() {
+        assertThat(RequestValidator.validate(AP_CREATE_MODEL)).isEmpty();
+        assertThat(RequestValidator.validate(AP_COMPLETE_MODEL)).isEmpty();
+        assertThat(RequestValidator.validate(AP_EMPTY_POLICY_MODEL)).isEmpty();
+        assertThat(RequestValidator.validate(AP_NO_POLICY_MODEL)).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(ResourceModel.builder().arn(VALID_ARN).build())).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(AP_READ_NO_ARN_MODEL)).isEmpty();
+    }
+
+    @Test
+    public void validate_OversizedPolicy() {
+        final ResourceModel model = ResourceModel.builder()
+                .bucket(BUCKET_ARN)
+                .name(ACCESSPOINT_NAME)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                .policy(OVERSIZED_POLICY)
+                .build();
+
+        assertThat(RequestValidator.validate(model)).containsExactly("/Policy: 20494 bytes, at most 20480 are allowed");
+    }
+
+    @Test
+    public void validateIdentifier_MalformedArn() {
+        final ResourceModel model = ResourceModel.builder()
+                .arn(String.format("arn:aws:s3-outposts:%s:123456789012:accesspoint/%s", REGION, ACCESSPOINT_NAME))
+                .build();
+
+        assertThat(RequestValidator.validateIdentifier(model)).isNotEmpty().allMatch(violation -> violation.startsWith("#/Arn: "));
+    }
+
+    @Test
+    public void handleRequest_FailsBeforeAnyCall() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        final ResourceModel invalid = ResourceModel.builder()
+                .bucket(BUCKET_ARN)
+                .name(ACCESSPOINT_NAME)
+                .vpcConfiguration(VpcConfiguration.builder().vpcId(VPC_ID).build())
+                .policy(OVERSIZED_POLICY)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = new CreateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(invalid).awsAccountId(ACCOUNT_ID).build(),
+                null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> deleted = new DeleteHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(ACCESSPOINT_NAME).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build(),
+                null, logger);
+
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(created.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(created.getMessage()).isEqualTo("Invalid request: /Policy: 20494 bytes, at most 20480 are allowed.");
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(deleted.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(deleted.getMessage()).startsWith("Invalid request: #/Arn: ");
+        verifyNoInteractions(proxy);
+    }
+
+}
@@ -0,0 +1,37 @@
+package software.amazon.s3outposts.accesspoint;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BucketArnFields#splitArn(String)}, which ListHandler calls once per returned access point.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BucketArnFieldsBenchmark {
+
+    @Param({
+            "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/bucket/bucket1",
+            "arn:aws-us-gov:s3-outposts:us-gov-west-1:123456789012:outpost/op-01234567890123456/bucket/a-much-longer-bucket-name-for-comparison",
+            "null"
+    })
+    public String arn;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = "null".equals(arn) ? null : arn;
+    }
+
+    @Benchmark
+    public BucketArnFields splitArn() {
+        return BucketArnFields.splitArn(input);
+    }
+
+}
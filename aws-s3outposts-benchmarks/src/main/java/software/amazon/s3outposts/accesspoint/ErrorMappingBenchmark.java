@@ -0,0 +1,72 @@
+package software.amazon.s3outposts.accesspoint;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every branch of {@link BaseHandlerStd#handleError}. The exceptions are built once in setup so only the
+ * dispatch (rethrow, catch and ProgressEvent construction) is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorMappingBenchmark {
+
+    @Param({
+            "BadRequest", "InvalidRequest", "InternalService", "InvalidNextToken", "NotFound", "TooManyRequests",
+            "AccessPointAlreadyOwnedByYou", "InvalidAccessPoint", "NoSuchAccessPoint", "NoSuchAccessPointPolicy",
+            "TooManyAccessPoints", "MalformedPolicy", "AccessDenied", "UnknownErrorCode",
+            "SdkClient"
+    })
+    public String error;
+
+    private BaseHandlerStd handler;
+    private S3ControlRequest request;
+    private Exception exception;
+    private ResourceModel model;
+
+    @Setup
+    public void setup() {
+        handler = new ReadHandler();
+        request = GetAccessPointRequest.builder().accountId("123456789012").name("ap1").build();
+        model = ResourceModel.builder().name("ap1").build();
+        exception = exception(error);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> handleError() throws Exception {
+        return handler.handleError(request, exception, null, model, new CallbackContext());
+    }
+
+    private static Exception exception(final String error) {
+        switch (error) {
+            case "BadRequest":
+                return BadRequestException.builder().message(error).build();
+            case "InvalidRequest":
+                return InvalidRequestException.builder().message(error).build();
+            case "InternalService":
+                return InternalServiceException.builder().message(error).build();
+            case "InvalidNextToken":
+                return InvalidNextTokenException.builder().message(error).build();
+            case "NotFound":
+                return NotFoundException.builder().message(error).build();
+            case "TooManyRequests":
+                return TooManyRequestsException.builder().message(error).build();
+            case "SdkClient":
+                return SdkClientException.builder().message(error).build();
+            default:
+                return S3ControlException.builder()
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode(error).errorMessage(error).build())
+                        .build();
+        }
+    }
+
+}
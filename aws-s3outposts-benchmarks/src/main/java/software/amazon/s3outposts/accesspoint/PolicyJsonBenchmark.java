@@ -0,0 +1,51 @@
+package software.amazon.s3outposts.accesspoint;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.s3outposts.benchmarks.PolicyDocuments;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the access point policy conversion between the JSON string returned by GetAccessPointPolicy and the
+ * JSON object held in the resource model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PolicyJsonBenchmark {
+
+    private static final String ACCESSPOINT_ARN =
+            "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/accesspoint/ap1";
+
+    @Param({"1", "10", "100"})
+    public int statementCount;
+
+    private String policy;
+    private Map<String, Object> policyDocument;
+
+    @Setup
+    public void setup() {
+        policy = PolicyDocuments.policy(ACCESSPOINT_ARN, statementCount);
+        policyDocument = Translator.convertStringToJsonObject(policy);
+    }
+
+    @Benchmark
+    public Map<String, Object> parse() {
+        return Translator.convertStringToJsonObject(policy);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return Translator.convertJsonObjectToString(policyDocument);
+    }
+
+    @Benchmark
+    public String roundTrip() {
+        return Translator.convertJsonObjectToString(Translator.convertStringToJsonObject(policy));
+    }
+
+}
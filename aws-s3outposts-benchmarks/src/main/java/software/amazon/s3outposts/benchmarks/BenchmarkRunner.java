@@ -0,0 +1,40 @@
+package software.amazon.s3outposts.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Accepts the regular JMH command line and always attaches the GC profiler, so every run reports the allocation rate
+ * (gc.alloc.rate.norm is the number of bytes allocated per operation) next to the timing numbers.
+ *
+ * Usage: java -jar target/benchmarks.jar [JMH options] [benchmark regexp]
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!hasGcProfiler(jmhArgs)) {
+            jmhArgs.add("-prof");
+            jmhArgs.add("gc");
+        }
+        Main.main(jmhArgs.toArray(new String[0]));
+    }
+
+    private static boolean hasGcProfiler(final List<String> args) {
+        for (int i = 0; i < args.size() - 1; i++) {
+            if ("-prof".equals(args.get(i)) && args.get(i + 1).startsWith("gc")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
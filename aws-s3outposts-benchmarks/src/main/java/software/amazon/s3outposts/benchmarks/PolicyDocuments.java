@@ -0,0 +1,32 @@
+package software.amazon.s3outposts.benchmarks;
+
+/**
+ * Builds IAM policy documents of a given size for the policy benchmarks of the accesspoint and bucketpolicy modules.
+ */
+public final class PolicyDocuments {
+
+    private PolicyDocuments() {
+    }
+
+    /**
+     * @param resourceArn ARN the statements grant access to
+     * @param statementCount number of statements in the document
+     * @return policy document as a JSON string
+     */
+    public static String policy(final String resourceArn, final int statementCount) {
+        final StringBuilder policy = new StringBuilder("{\"Version\":\"2012-10-17\",\"Statement\":[");
+        for (int i = 0; i < statementCount; i++) {
+            if (i > 0) {
+                policy.append(',');
+            }
+            policy.append("{\"Sid\":\"st").append(i).append("\",")
+                    .append("\"Effect\":\"").append(i % 2 == 0 ? "Allow" : "Deny").append("\",")
+                    .append("\"Principal\":{\"AWS\":[\"arn:aws:iam::123456789012:role/role-").append(i).append("\"]},")
+                    .append("\"Action\":[\"s3-outposts:GetObject\",\"s3-outposts:PutObject\"],")
+                    .append("\"Resource\":\"").append(resourceArn).append("/object/prefix-").append(i).append("/*\",")
+                    .append("\"Condition\":{\"StringEquals\":{\"aws:PrincipalTag/team\":\"team-").append(i).append("\"}}}");
+        }
+        return policy.append("]}").toString();
+    }
+
+}
@@ -0,0 +1,37 @@
+package software.amazon.s3outposts.bucket;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ArnFields#splitArn(String)}, called on every request that carries a bucket ARN.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArnFieldsBenchmark {
+
+    @Param({
+            "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/bucket/bucket1",
+            "arn:aws-us-gov:s3-outposts:us-gov-west-1:123456789012:outpost/op-01234567890123456/bucket/a-much-longer-bucket-name-for-comparison",
+            "null"
+    })
+    public String arn;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = "null".equals(arn) ? null : arn;
+    }
+
+    @Benchmark
+    public ArnFields splitArn() {
+        return ArnFields.splitArn(input);
+    }
+
+}
@@ -0,0 +1,100 @@
+package software.amazon.s3outposts.bucket;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.s3control.model.GetBucketLifecycleConfigurationResponse;
+import software.amazon.awssdk.services.s3control.model.PutBucketLifecycleConfigurationRequest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the LifecycleConfiguration translation in both directions.
+ *
+ * The rules cycle through every shape the schema allows (expiration in days, ISO-8601 date, date-only string that goes
+ * through the Joda fallback, prefix/tag/and-operator filters, abort incomplete multipart upload), so the numbers are not
+ * dominated by a single branch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LifecycleTranslatorBenchmark {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/bucket/bucket1";
+
+    @Param({"1", "10", "100", "1000"})
+    public int ruleCount;
+
+    private ResourceModel model;
+    private GetBucketLifecycleConfigurationResponse response;
+
+    @Setup
+    public void setup() {
+        final Set<Rule> rules = new HashSet<>();
+        for (int i = 0; i < ruleCount; i++) {
+            rules.add(rule(i));
+        }
+        model = ResourceModel.builder()
+                .arn(ARN)
+                .lifecycleConfiguration(LifecycleConfiguration.builder().rules(rules).build())
+                .build();
+        response = GetBucketLifecycleConfigurationResponse.builder()
+                .rules(Translator.translateToSdkPutBucketLifecycleConfigurationRequest(model, ACCOUNT_ID)
+                        .lifecycleConfiguration().rules())
+                .build();
+    }
+
+    @Benchmark
+    public PutBucketLifecycleConfigurationRequest toSdk() {
+        return Translator.translateToSdkPutBucketLifecycleConfigurationRequest(model, ACCOUNT_ID);
+    }
+
+    @Benchmark
+    public ResourceModel fromSdk() {
+        return Translator.translateFromSdkGetBucketLifecycleConfigurationResponse(response,
+                ResourceModel.builder().arn(ARN).build());
+    }
+
+    private static Rule rule(final int i) {
+        final Rule.RuleBuilder rule = Rule.builder().id("rule-" + i).status("Enabled");
+        switch (i % 6) {
+            case 0:
+                return rule.expirationInDays(i + 1)
+                        .filter(Filter.builder().prefix("logs/" + i).build())
+                        .build();
+            case 1:
+                return rule.expirationDate("2030-02-25T00:00:00Z")
+                        .filter(Filter.builder().tag(FilterTag.builder().key("k" + i).value("v" + i).build()).build())
+                        .build();
+            case 2:
+                // Not ISO-8601 with a zone, translated through the Joda fallback.
+                return rule.expirationDate("2030-02-25")
+                        .build();
+            case 3:
+                return rule.abortIncompleteMultipartUpload(AbortIncompleteMultipartUpload.builder().daysAfterInitiation(7).build())
+                        .filter(Filter.builder().prefix("uploads/" + i).build())
+                        .build();
+            case 4:
+                return rule.expirationInDays(30)
+                        .filter(Filter.builder()
+                                .andOperator(FilterAndOperator.builder()
+                                        .prefix("data/" + i)
+                                        .tags(new HashSet<>(Arrays.asList(
+                                                FilterTag.builder().key("a" + i).value("1").build(),
+                                                FilterTag.builder().key("b" + i).value("2").build())))
+                                        .build())
+                                .build())
+                        .build();
+            default:
+                return rule.expirationInDays(365)
+                        .abortIncompleteMultipartUpload(AbortIncompleteMultipartUpload.builder().daysAfterInitiation(1).build())
+                        .build();
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package software.amazon.s3outposts.bucket;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingResponse;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.S3Tag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the bucket tag translation in both directions. The SDK tag set also carries the CloudFormation system
+ * tags, which translateTagsFromSdk has to filter out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagTranslatorBenchmark {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/bucket/bucket1";
+
+    // S3 on Outposts allows up to 50 tags per bucket.
+    @Param({"1", "10", "50"})
+    public int tagCount;
+
+    private ResourceModel model;
+    private Map<String, String> resourceTags;
+    private Map<String, String> systemTags;
+    private List<S3Tag> sdkTags;
+    private GetBucketTaggingResponse response;
+
+    @Setup
+    public void setup() {
+        model = ResourceModel.builder().arn(ARN).build();
+        resourceTags = new HashMap<>();
+        for (int i = 0; i < tagCount; i++) {
+            resourceTags.put("key-" + i, "value-" + i);
+        }
+        systemTags = new HashMap<>();
+        systemTags.put("aws:cloudformation:stack-name", "stack");
+        systemTags.put("aws:cloudformation:logical-id", "Bucket");
+        systemTags.put("aws:cloudformation:stack-id", "arn:aws:cloudformation:us-east-1:123456789012:stack/stack/id");
+        sdkTags = new ArrayList<>(Translator.translateToSdkPutBucketTaggingRequest(model, resourceTags, systemTags, ACCOUNT_ID)
+                .tagging().tagSet());
+        response = GetBucketTaggingResponse.builder().tagSet(sdkTags).build();
+    }
+
+    @Benchmark
+    public PutBucketTaggingRequest toSdk() {
+        return Translator.translateToSdkPutBucketTaggingRequest(model, resourceTags, systemTags, ACCOUNT_ID);
+    }
+
+    @Benchmark
+    public ResourceModel fromSdkResponse() {
+        return Translator.translateFromSdkGetBucketTaggingResponse(response, ResourceModel.builder().arn(ARN).build());
+    }
+
+    @Benchmark
+    public Set<Tag> fromSdkTags() {
+        return Translator.translateTagsFromSdk(sdkTags);
+    }
+
+}
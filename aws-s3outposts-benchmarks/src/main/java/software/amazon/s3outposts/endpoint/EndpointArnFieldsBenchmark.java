@@ -0,0 +1,38 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link EndpointArnFields#splitArn(String)}, including the empty ARN short-circuit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndpointArnFieldsBenchmark {
+
+    @Param({
+            "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/endpoint/12abcd3efghij4kl5m6",
+            "arn:aws:s3-outposts:us-east-1:123456789012:outpost/ec2/endpoint/12abcd3efghij4kl5m6",
+            "",
+            "null"
+    })
+    public String arn;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = "null".equals(arn) ? null : arn;
+    }
+
+    @Benchmark
+    public EndpointArnFields splitArn() {
+        return EndpointArnFields.splitArn(input);
+    }
+
+}
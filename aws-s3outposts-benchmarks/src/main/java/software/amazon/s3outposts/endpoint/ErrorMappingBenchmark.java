@@ -0,0 +1,55 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsRequest;
+import software.amazon.awssdk.services.s3outposts.model.S3OutpostsException;
+import software.amazon.awssdk.services.s3outposts.model.S3OutpostsRequest;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every branch of {@link BaseHandlerStd#handleError}. The exceptions are built once in setup so only the
+ * dispatch (rethrow, catch and ProgressEvent construction) is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorMappingBenchmark {
+
+    @Param({"Status400", "Status403", "Status404", "Status409", "Status500", "Status503", "SdkClient"})
+    public String error;
+
+    private BaseHandlerStd handler;
+    private S3OutpostsRequest request;
+    private Exception exception;
+    private ResourceModel model;
+
+    @Setup
+    public void setup() {
+        handler = new ReadHandler();
+        request = ListEndpointsRequest.builder().build();
+        model = ResourceModel.builder().arn("arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/endpoint/e1").build();
+        exception = exception(error);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> handleError() throws Exception {
+        return handler.handleError(request, exception, null, model, new CallbackContext());
+    }
+
+    private static Exception exception(final String error) {
+        if ("SdkClient".equals(error)) {
+            return SdkClientException.builder().message(error).build();
+        }
+        return S3OutpostsException.builder()
+                .message(error)
+                .statusCode(Integer.parseInt(error.substring("Status".length())))
+                .build();
+    }
+
+}
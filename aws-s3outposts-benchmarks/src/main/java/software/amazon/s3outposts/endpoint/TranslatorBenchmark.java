@@ -0,0 +1,75 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.s3outposts.model.Endpoint;
+import software.amazon.awssdk.services.s3outposts.model.NetworkInterface;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the translation of a ListEndpoints page into resource models, the per-item cost of the ReadHandler and
+ * ListHandler scans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranslatorBenchmark {
+
+    private static final String OUTPOST_ID = "op-01234567890123456";
+
+    @Param({"10", "100", "1000", "10000"})
+    public int endpointCount;
+
+    private List<Endpoint> endpoints;
+    private List<Endpoint> ec2Endpoints;
+
+    @Setup
+    public void setup() {
+        endpoints = new ArrayList<>(endpointCount);
+        ec2Endpoints = new ArrayList<>(endpointCount);
+        for (int i = 0; i < endpointCount; i++) {
+            endpoints.add(endpoint(String.format("arn:aws:s3-outposts:us-east-1:123456789012:outpost/%s/endpoint/%019d", OUTPOST_ID, i), i));
+            ec2Endpoints.add(endpoint(String.format("arn:aws:s3-outposts:us-east-1:123456789012:outpost/ec2/endpoint/%019d", i), i));
+        }
+    }
+
+    @Benchmark
+    public void fromSdkEndpoint(final Blackhole blackhole) {
+        for (final Endpoint endpoint : endpoints) {
+            blackhole.consume(Translator.translateFromSdkEndpoint(endpoint));
+        }
+    }
+
+    @Benchmark
+    public void fromSdkEc2Endpoint(final Blackhole blackhole) {
+        for (final Endpoint endpoint : ec2Endpoints) {
+            blackhole.consume(Translator.translateFromSdkEc2Endpoint(endpoint, OUTPOST_ID));
+        }
+    }
+
+    private static Endpoint endpoint(final String arn, final int i) {
+        return Endpoint.builder()
+                .endpointArn(arn)
+                .outpostsId(OUTPOST_ID)
+                .cidrBlock("172.31.0.0/16")
+                .creationTime(Instant.parse("2020-01-01T10:00:00Z").plusSeconds(i))
+                .status(i % 3 == 0 ? "Pending" : "Available")
+                .accessType(i % 2 == 0 ? "Private" : "CustomerOwnedIp")
+                .customerOwnedIpv4Pool(i % 2 == 0 ? null : "ipv4pool-coip-12345678901234567")
+                .subnetId("subnet-" + i)
+                .securityGroupId("sg-" + i)
+                .networkInterfaces(Arrays.asList(
+                        NetworkInterface.builder().networkInterfaceId("eni-a" + i).build(),
+                        NetworkInterface.builder().networkInterfaceId("eni-b" + i).build()))
+                .build();
+    }
+
+}
@@ -1,17 +1,40 @@
 package software.amazon.s3outposts.bucket;
 
+import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.services.s3control.model.*;
 import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.CircuitBreakerProxyClient;
+import software.amazon.s3outposts.shared.ContextSizePolicy;
+import software.amazon.s3outposts.shared.HedgedProxyClient;
+import software.amazon.s3outposts.shared.Pipeline;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+
+    /**
+     * The idempotent reads of every Read, which a {@link software.amazon.s3outposts.shared.SingleFlightProxyClient} may
+     * share between concurrent invocations and a {@link HedgedProxyClient} may send twice.
+     */
+    public static final Set<Class<? extends AwsRequest>> IDEMPOTENT_READS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(GetBucketRequest.class, GetBucketTaggingRequest.class,
+                    GetBucketLifecycleConfigurationRequest.class)));
+
     // Error messages (returned to customer)
     protected static final String BUCKET_ARN_REQD = "Bucket ARN is required.";
     protected static final String BUCKET_NAME_REQD = "Bucket Name is required.";
     protected static final String OUTPOSTID_REQD = "OutpostId is required.";
+    protected static final String INVALID_NEXT_TOKEN = "NextToken is not a token of this listing.";
     protected static final String BUCKET_DOES_NOT_EXIST = "Bucket does not exist.";
 
     // Error Codes
@@ -28,13 +51,22 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-        return handleRequest(
+        final ResourceModel model = request.getDesiredResourceState();
+        // A model the service would refuse fails here, at the entry point the plugin calls, before any call to the service.
+        final List<String> violations = model != null ? validate(model) : Collections.emptyList();
+        if (!violations.isEmpty()) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, RequestValidator.message(violations));
+        }
+        final String circuit = CircuitBreakerProxyClient.key(request.getAwsAccountId(), request.getRegion(),
+                model != null ? model.getArn() : null, model != null ? model.getOutpostId() : null);
+        return ContextSizePolicy.apply(handleRequest(
                 proxy,
                 request,
                 callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+                HedgedProxyClient.of(CircuitBreakerProxyClient.of(proxy.newProxy(ClientBuilder::getClient),
+                        ResourceModel.TYPE_NAME, circuit, logger), ResourceModel.TYPE_NAME, IDEMPOTENT_READS, logger),
                 logger
-        );
+        ), ResourceModel.TYPE_NAME, logger);
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -44,6 +76,13 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger);
 
+    /**
+     * @return The violations of a model the service would refuse, checked by {@link RequestValidator}; none by default
+     */
+    protected List<String> validate(final ResourceModel model) {
+        return Collections.emptyList();
+    }
+
     /**
      * Common error handling function. It is used by all handlers.
      *
@@ -96,11 +135,59 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 default:
                     return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.GeneralServiceException, e.getMessage());
             }
+        } catch (CircuitBreakerProxyClient.OpenException e) {
+            return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.ServiceInternalError, e.getMessage());
         } catch (SdkException e) {
             return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.GeneralServiceException, e.getMessage());
         }
     }
 
+    /**
+     * Calls a read-only API without a call graph. StdCallbackContext memoizes the response of every call graph and has
+     * no way to evict it, so the tag set and the lifecycle rules read through one would be serialized with the context
+     * on every callback. These reads are cheap to repeat, so they are made on the proxy client directly.
+     *
+     * @param proxyClient
+     * @param serviceRequest
+     * @param serviceCall
+     * @param model
+     * @param callbackContext
+     * @param errorHandler    Same contract as the handleError of a call graph
+     * @param done            Maps the response to the ProgressEvent returned
+     * @return ProgressEvent returned by done, or by the error handler if the call failed
+     */
+    protected static <RequestT extends S3ControlRequest, ResponseT extends S3ControlResponse>
+    ProgressEvent<ResourceModel, CallbackContext> read(
+            final ProxyClient<S3ControlClient> proxyClient,
+            final RequestT serviceRequest,
+            final Function<RequestT, ResponseT> serviceCall,
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final CallChain.ExceptionPropagate<RequestT, Exception, S3ControlClient, ResourceModel, CallbackContext,
+                    ProgressEvent<ResourceModel, CallbackContext>> errorHandler,
+            final Function<ResponseT, ProgressEvent<ResourceModel, CallbackContext>> done) {
+        final ResponseT response;
+        try {
+            response = proxyClient.injectCredentialsAndInvokeV2(serviceRequest, serviceCall);
+        } catch (final RuntimeException e) {
+            try {
+                return errorHandler.invoke(serviceRequest, e, proxyClient, model, callbackContext);
+            } catch (final Exception unmapped) {
+                // Same outcome as an exception rethrown by the handleError of a call graph
+                return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InternalFailure, unmapped.getMessage());
+            }
+        }
+        return done.apply(response);
+    }
+
+    /**
+     * @param name Name of the pipeline, see {@link Pipeline#named}
+     * @return Pipeline of the handlers of this resource type
+     */
+    protected static Pipeline<ResourceModel, CallbackContext> pipeline(final String name) {
+        return Pipeline.named(ResourceModel.TYPE_NAME, name, ResourceModel::new);
+    }
+
     /**
      * Adds a delay of 40s to allow the Bucket state to transition from "Associated" to "Active".
      *
@@ -165,7 +252,8 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     /**
      * Calls the API putBucketTagging
      * While creating a bucket we will call this routine even if the user does not provide any resource tags.
-     * This is because CFN may want to set system tags.
+     * This is because CFN may want to set system tags. It is skipped only if there are no tags at all, and records in the
+     * CallbackContext whether it was.
      *
      * @param proxy
      * @param proxyClient
@@ -186,22 +274,15 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
         logger.log(String.format("%s::Create/Update::putBucketTagging - arn: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
 
-        if (request.getDesiredResourceTags() == null && request.getSystemTags() == null)
+        final Map<String, String> tags =
+                Translator.translateToTagMap(model, request.getDesiredResourceTags(), request.getSystemTags());
+        // Only a bucket no tags were put on answers NoSuchTagSet, the Read ending a Create need not ask for it then.
+        callbackContext.setNoTagSet(tags == null);
+        if (tags == null)
             return ProgressEvent.progress(model, callbackContext);
 
-        if (request.getDesiredResourceTags() != null) {
-            logger.log(String.format("%s::Create/Update::putBucketTagging - Sending resource tags \n", ResourceModel.TYPE_NAME));
-            request.getDesiredResourceTags().entrySet().forEach(entry -> {
-                logger.log(String.format("{Key: %s, Value: %s} ", entry.getKey(), entry.getValue()));
-            });
-        }
-
-        if (request.getSystemTags() != null) {
-            logger.log(String.format("%s::Create/Update::putBucketTagging - Sending system tags \n", ResourceModel.TYPE_NAME));
-            request.getSystemTags().entrySet().forEach(entry -> {
-                logger.log(String.format("{Key: %s, Value: %s}", entry.getKey(), entry.getValue()));
-            });
-        }
+        logger.log(String.format("%s::Create/Update::putBucketTagging - Sending %d tags, %d of them system tags \n",
+                ResourceModel.TYPE_NAME, tags.size(), size(request.getSystemTags())));
 
         return proxy.initiate("AWS-S3Outposts-Bucket::Create/Update::putBucketTagging", proxyClient, model, callbackContext)
                 .translateToServiceRequest(resourceModel ->
@@ -257,4 +338,8 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
     }
 
+    private static int size(final Map<String, String> tags) {
+        return tags == null ? 0 : tags.size();
+    }
+
 }
@@ -1,13 +1,32 @@
 package software.amazon.s3outposts.bucket;
 
 import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.s3outposts.shared.Pipeline;
+
+import java.util.HashSet;
+import java.util.Set;
 
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
-public class CallbackContext extends StdCallbackContext {
+public class CallbackContext extends StdCallbackContext implements Pipeline.Resumable<ResourceModel> {
     protected boolean stabilized;
     protected boolean propagated;
     protected int forcedDelayCount;
+    // Stages of a Pipeline completed in an earlier invocation, and the model fields they wrote.
+    protected Set<String> completedStages = new HashSet<>();
+    protected ResourceModel stageOutputs;
+    // ClientRequestToken of the Create the state above belongs to, and whether it already issued CreateBucket.
+    protected String clientRequestToken;
+    protected boolean createRequested;
+    // Epoch millis just before that Create first issued CreateBucket, a bucket created earlier is not its own.
+    protected Long createStartedAt;
+    // Sub-resources this Create or Update left without a tag set or lifecycle configuration: the Read it ends with
+    // does not ask for them.
+    protected boolean noTagSet;
+    protected boolean noLifecycleConfiguration;
+    // Tags this Update found or wrote on the bucket are the effective tags of its request: the Read it ends with takes
+    // them from the request.
+    protected boolean tagSetOfRequest;
 }
@@ -1,11 +1,19 @@
 package software.amazon.s3outposts.bucket;
 
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3control.model.GetBucketResponse;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
 public class CreateHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -13,8 +21,6 @@ public class CreateHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         // Expecting customer to provide 2 parameters: BucketName and OutpostId.
@@ -33,15 +39,34 @@ public class CreateHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Create bucket name: %s", ResourceModel.TYPE_NAME, model.getBucketName()));
 
-        return ProgressEvent.progress(model, callbackContext)
-                .then(progress -> createBucket(proxy, proxyClient, request, progress, logger))
-                .then(progress -> BaseHandlerStd.propagate(progress, logger))
-                .then(progress -> putBucketTagging(proxy, proxyClient, request, progress, logger))
-                .then(progress -> putLifecycleConfiguration(proxy, proxyClient, request, progress, logger))
-                .then(progress ->
-                        new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger)
-                );
+        // A Create re-invoked with the CallbackContext of an earlier attempt resumes after the stages that attempt
+        // completed. Progress recorded for another ClientRequestToken does not apply to this request.
+        if (!Objects.equals(callbackContext.getClientRequestToken(), request.getClientRequestToken())) {
+            callbackContext.getCompletedStages().clear();
+            callbackContext.setStageOutputs(null);
+            callbackContext.setCreateRequested(false);
+            callbackContext.setCreateStartedAt(null);
+            callbackContext.setClientRequestToken(request.getClientRequestToken());
+        }
+
+        // A new bucket has no lifecycle configuration until the stages below put it. Whether it gets a tag set is recorded
+        // by putBucketTagging: the system tags CloudFormation passes are enough for it to write one.
+        callbackContext.setNoLifecycleConfiguration(model.getLifecycleConfiguration() == null);
 
+        return pipeline("Create")
+                .stage("CreateBucket", progress -> createBucket(proxy, proxyClient, request, progress, logger))
+                .writes(ModelFields.ARN)
+                .stage("Propagate", progress -> BaseHandlerStd.propagate(progress, logger))
+                .stage("PutBucketTagging", progress -> putBucketTagging(proxy, proxyClient, request, progress, logger))
+                .stage("PutBucketLifecycleConfiguration", progress -> putLifecycleConfiguration(proxy, proxyClient, request, progress, logger))
+                .stage("Read", progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger))
+                .run(ProgressEvent.progress(model, callbackContext), null, logger);
+
+    }
+
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
     }
 
     /**
@@ -66,6 +91,13 @@ public class CreateHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Create::CreateBucket - name %s \n", ResourceModel.TYPE_NAME, model.getBucketName()));
 
+        // Set by an earlier attempt of this Create whose CreateBucket may have gone through before it failed.
+        final boolean retry = callbackContext.isCreateRequested();
+        if (!retry) {
+            callbackContext.setCreateStartedAt(System.currentTimeMillis());
+        }
+        callbackContext.setCreateRequested(true);
+
         return proxy.initiate("AWS-S3Outposts-Bucket::Create", proxyClient, model, callbackContext)
                 // Form CreateBucketRequest
                 .translateToServiceRequest(Translator::translateToCreateRequest)
@@ -83,9 +115,72 @@ public class CreateHandler extends BaseHandlerStd {
                     }
                     return false;
                 })
-                .handleError(this::handleError)
+                .handleError((createBucketRequest, exception, s3ControlProxyClient, resourceModel, cbContext) -> {
+                    if (retry && exception instanceof BucketAlreadyOwnedByYouException) {
+                        final Optional<ProgressEvent<ResourceModel, CallbackContext>> adopted =
+                                adoptBucket(s3ControlProxyClient, request, resourceModel, cbContext, logger);
+                        if (adopted.isPresent()) {
+                            return adopted.get();
+                        }
+                    }
+                    return handleError(createBucketRequest, exception, s3ControlProxyClient, resourceModel, cbContext);
+                })
                 .progress();
 
     }
 
+    /**
+     * Picks up the bucket created by the CreateBucket of an earlier attempt of this Create, instead of failing with
+     * AlreadyExists. The bucket has to exist under the ARN derived from the model, and to have been created since this
+     * Create started: an older bucket of the same name is not the one its lost CreateBucket made.
+     *
+     * @param proxyClient
+     * @param request
+     * @param resourceModel
+     * @param callbackContext
+     * @param logger
+     * @return Progress with the ARN set, empty if the bucket cannot be read or predates this Create
+     */
+    private Optional<ProgressEvent<ResourceModel, CallbackContext>> adoptBucket(
+            ProxyClient<S3ControlClient> proxyClient,
+            ResourceHandlerRequest<ResourceModel> request,
+            ResourceModel resourceModel,
+            CallbackContext callbackContext,
+            Logger logger) {
+
+        final String arn = String.format("arn:%s:s3-outposts:%s:%s:outpost/%s/bucket/%s",
+                StringUtils.isEmpty(request.getAwsPartition()) ? "aws" : request.getAwsPartition(),
+                request.getRegion(), request.getAwsAccountId(), resourceModel.getOutpostId(), resourceModel.getBucketName());
+        logger.log(String.format("%s::Create::CreateBucket - [ClientRequestToken: %s] resuming with bucket %s",
+                ResourceModel.TYPE_NAME, request.getClientRequestToken(), arn));
+
+        final ResourceModel adopted = ResourceModel.builder().arn(arn).outpostId(resourceModel.getOutpostId()).build();
+        final GetBucketResponse getBucketResponse;
+        try {
+            getBucketResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToReadRequest(adopted, request.getAwsAccountId()), proxyClient.client()::getBucket);
+        } catch (final SdkException e) {
+            logger.log(String.format("%s::Create::CreateBucket - cannot read bucket %s: %s", ResourceModel.TYPE_NAME, arn, e.getMessage()));
+            return Optional.empty();
+        }
+        if (!createdSince(getBucketResponse.creationDate(), callbackContext.getCreateStartedAt())) {
+            logger.log(String.format("%s::Create::CreateBucket - bucket %s created at %s, before this Create started at %s",
+                    ResourceModel.TYPE_NAME, arn, getBucketResponse.creationDate(), callbackContext.getCreateStartedAt()));
+            return Optional.empty();
+        }
+        resourceModel.setArn(arn);
+        callbackContext.setStabilized(true);
+        return Optional.of(ProgressEvent.progress(resourceModel, callbackContext));
+    }
+
+    /**
+     * @param creationDate CreationDate of the bucket, null if not returned
+     * @param startedAt Epoch millis the Create started at, null if unknown
+     * @return Whether the bucket was created at or after startedAt, to the second CreationDate is given to
+     */
+    private static boolean createdSince(final Instant creationDate, final Long startedAt) {
+        return startedAt != null && creationDate != null
+                && !creationDate.isBefore(Instant.ofEpochMilli(startedAt).truncatedTo(ChronoUnit.SECONDS));
+    }
+
 }
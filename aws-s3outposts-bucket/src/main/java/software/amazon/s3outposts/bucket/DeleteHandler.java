@@ -5,8 +5,9 @@ import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +15,6 @@ public class DeleteHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         // Expecting customer to only provide the Arn
@@ -24,9 +23,15 @@ public class DeleteHandler extends BaseHandlerStd {
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, BUCKET_ARN_REQD);
         }
 
-        return ProgressEvent.progress(model, callbackContext)
-                .then(progress -> deleteBucket(proxy, proxyClient, request, progress, logger));
+        return pipeline("Delete")
+                .stage("DeleteBucket", progress -> deleteBucket(proxy, proxyClient, request, progress, logger))
+                .run(ProgressEvent.progress(model, callbackContext), null, logger);
+
+    }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
     }
 
     /**
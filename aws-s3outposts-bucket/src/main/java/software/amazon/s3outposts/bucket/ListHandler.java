@@ -1,14 +1,41 @@
 package software.amazon.s3outposts.bucket;
 
 import com.amazonaws.util.StringUtils;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsResponse;
+import software.amazon.awssdk.services.s3control.model.RegionalBucket;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.ListHydrator;
+import software.amazon.s3outposts.shared.ListPager;
 
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 public class ListHandler extends BaseHandlerStd {
 
-    private Logger logger;
+    // Ref: https://docs.aws.amazon.com/AmazonS3/latest/API/API_control_ListRegionalBuckets.html
+    private static final int LIST_REGIONAL_BUCKETS_MAX_RESULTS = 1000;
+
+    private final Supplier<List<String>> configuredOutposts;
+    private final BooleanSupplier hydrated;
+
+    public ListHandler() {
+        this(OutpostInventory::configuredOutposts);
+    }
+
+    ListHandler(final Supplier<List<String>> configuredOutposts) {
+        this(configuredOutposts, ListHydrator::enabled);
+    }
+
+    ListHandler(final Supplier<List<String>> configuredOutposts, final BooleanSupplier hydrated) {
+        this.configuredOutposts = configuredOutposts;
+        this.hydrated = hydrated;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -16,34 +43,173 @@ public class ListHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
-        // Expecting customer to only provide the OutpostId
+        // Expecting customer to only provide the OutpostId, or no OutpostId to list the outposts configured for the account
         // Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/S3ControlClient.html#listRegionalBuckets-software.amazon.awssdk.services.s3control.model.ListRegionalBucketsRequest-
         if (StringUtils.isNullOrEmpty(model.getOutpostId())) {
-            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, OUTPOSTID_REQD);
+            final List<String> outpostIds = configuredOutposts.get();
+            if (outpostIds.isEmpty()) {
+                return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, OUTPOSTID_REQD);
+            }
+            return listAccount(request, callbackContext, proxyClient, outpostIds, logger);
         }
 
+        final ListPager<ListRegionalBucketsResponse, RegionalBucket, ResourceModel> listing = new ListPager<>(ResourceModel.TYPE_NAME, "ListRegionalBuckets",
+                LIST_REGIONAL_BUCKETS_MAX_RESULTS, ListPager.RESPONSE_BUDGET_BYTES,
+                (nextToken, maxResults) -> proxyClient.injectCredentialsAndInvokeV2(
+                        Translator.translateToListRequest(model, request.getAwsAccountId(), nextToken, maxResults),
+                        proxyClient.client()::listRegionalBuckets),
+                ListRegionalBucketsResponse::regionalBucketList,
+                ListRegionalBucketsResponse::nextToken,
+                regionalBucket -> Translator.translateFromRegionalBucket(regionalBucket, model));
+        // Hydrated, every page is completed as it comes in, so the response budget holds the hydrated models.
+        final ListPager<ListRegionalBucketsResponse, RegionalBucket, ResourceModel> pager = hydrated.getAsBoolean()
+                ? listing.hydrating(resourceModels -> ListHydrator.hydrate(ResourceModel.TYPE_NAME, "ListRegionalBuckets",
+                        resourceModels, hydrationReads(proxyClient, request.getAwsAccountId()), logger))
+                : listing;
+        final int maxResults = pager.firstMaxResults();
+
         return proxy.initiate("AWS-S3Outposts-Bucket::List::ListRegionalBuckets", proxyClient, model, callbackContext)
                 .translateToServiceRequest(resourceModel ->
-                        Translator.translateToListRequest(resourceModel, request.getAwsAccountId(), request.getNextToken()))
+                        Translator.translateToListRequest(resourceModel, request.getAwsAccountId(), request.getNextToken(), maxResults))
                 .makeServiceCall(((listRegionalBucketsRequest, s3ControlProxyClient) ->
                         s3ControlProxyClient.injectCredentialsAndInvokeV2(listRegionalBucketsRequest, s3ControlProxyClient.client()::listRegionalBuckets)))
                 .handleError(this::handleError)
-                .done(listRegionalBucketsResponse ->
-                        ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                .resourceModels(
-                                        listRegionalBucketsResponse.regionalBucketList()
-                                                .stream()
-                                                .map(regionalBucket -> Translator.translateFromRegionalBucket(regionalBucket, model))
-                                                .collect(Collectors.toList())
-                                )
-                                .nextToken(listRegionalBucketsResponse.nextToken())
-                                .status(OperationStatus.SUCCESS)
-                                .build()
-                );
+                .done(listRegionalBucketsResponse -> {
+                    // Following pages are fetched while the previous one is translated, up to the response budget.
+                    final ListPager.Result<ResourceModel> result;
+                    try {
+                        result = pager.collect(listRegionalBucketsResponse, maxResults, logger);
+                    } catch (final SdkException e) {
+                        return failed(request, callbackContext, proxyClient, e);
+                    }
+                    return listed(result.getResourceModels(), result.getNextToken());
+                });
+
+    }
+
+    /**
+     * Lists the buckets of all the given outposts, see {@link OutpostInventory}.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> listAccount(
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<S3ControlClient> proxyClient,
+            final List<String> outpostIds,
+            final Logger logger) {
+
+        final ResourceModel model = request.getDesiredResourceState();
+        final SortedMap<String, String> pending;
+        try {
+            pending = OutpostInventory.pending(outpostIds, request.getNextToken());
+        } catch (final IllegalArgumentException e) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, INVALID_NEXT_TOKEN);
+        }
+        logger.log(String.format("%s::List::ListRegionalBuckets - Account: %s, Outposts: %s",
+                ResourceModel.TYPE_NAME, request.getAwsAccountId(), pending.keySet()));
+
+        // Split the page size between the outposts, so one response holds about as many buckets as a single outpost page,
+        // and at most as many as a hydrated page when they are hydrated.
+        final int pageSize = hydrated.getAsBoolean()
+                ? Math.min(ListPager.MAX_HYDRATED_MODELS, ListPager.configuredMaxResults(LIST_REGIONAL_BUCKETS_MAX_RESULTS))
+                : ListPager.configuredMaxResults(LIST_REGIONAL_BUCKETS_MAX_RESULTS);
+        final int maxResults = Math.max(1, pageSize / Math.max(1, pending.size()));
+        final OutpostInventory.Result result;
+        try {
+            result = OutpostInventory.list(pending,
+                    (outpostId, nextToken) -> proxyClient.injectCredentialsAndInvokeV2(
+                            Translator.translateToListRequest(ResourceModel.builder().outpostId(outpostId).build(),
+                                    request.getAwsAccountId(), nextToken, maxResults),
+                            proxyClient.client()::listRegionalBuckets),
+                    logger);
+        } catch (final SdkException e) {
+            try {
+                return handleError(null, e, proxyClient, model, callbackContext);
+            } catch (final Exception unmapped) {
+                throw e;
+            }
+        }
+
+        return success(request, callbackContext, proxyClient, result.getResourceModels(), result.getNextToken(), logger);
+    }
+
+    /**
+     * Returns the buckets listed across the outposts, hydrated first when the hydrated List is enabled, see
+     * {@link ListHydrator}.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> success(
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<S3ControlClient> proxyClient,
+            final List<ResourceModel> resourceModels,
+            final String nextToken,
+            final Logger logger) {
+
+        if (hydrated.getAsBoolean()) {
+            try {
+                ListHydrator.hydrate(ResourceModel.TYPE_NAME, "ListRegionalBuckets", resourceModels,
+                        hydrationReads(proxyClient, request.getAwsAccountId()), logger);
+            } catch (final SdkException e) {
+                return failed(request, callbackContext, proxyClient, e);
+            }
+        }
+
+        return listed(resourceModels, nextToken);
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> listed(final List<ResourceModel> resourceModels,
+                                                                        final String nextToken) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(resourceModels)
+                .nextToken(nextToken)
+                .status(OperationStatus.SUCCESS)
+                .build();
+    }
+
+    /**
+     * Maps a failed read of the listing or of its hydration as handleError does, or rethrows it if it is not mapped.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> failed(
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<S3ControlClient> proxyClient,
+            final SdkException e) {
+        try {
+            return handleError(null, e, proxyClient, request.getDesiredResourceState(), callbackContext);
+        } catch (final Exception unmapped) {
+            throw e;
+        }
+    }
 
+    /**
+     * GetBucketTagging and GetBucketLifecycleConfiguration, leaving the tags or the lifecycle configuration of a bucket
+     * without any unset, as Read does.
+     */
+    private static List<ListHydrator.Read<ResourceModel>> hydrationReads(final ProxyClient<S3ControlClient> proxyClient,
+                                                          final String accountId) {
+        return Arrays.asList(
+                resourceModel -> {
+                    try {
+                        Translator.translateFromSdkGetBucketTaggingResponse(proxyClient.injectCredentialsAndInvokeV2(
+                                Translator.translateToSdkGetBucketTaggingRequest(resourceModel, accountId),
+                                proxyClient.client()::getBucketTagging), resourceModel);
+                    } catch (final S3ControlException e) {
+                        if (e.awsErrorDetails() == null || !NO_SUCH_TAGSET.equals(e.awsErrorDetails().errorCode())) {
+                            throw e;
+                        }
+                    }
+                },
+                resourceModel -> {
+                    try {
+                        Translator.translateFromSdkGetBucketLifecycleConfigurationResponse(proxyClient.injectCredentialsAndInvokeV2(
+                                Translator.translateToSdkGetBucketLifecycleConfigurationRequest(resourceModel, accountId),
+                                proxyClient.client()::getBucketLifecycleConfiguration), resourceModel);
+                    } catch (final S3ControlException e) {
+                        if (e.statusCode() != 404) {
+                            throw e;
+                        }
+                    }
+                });
     }
 }
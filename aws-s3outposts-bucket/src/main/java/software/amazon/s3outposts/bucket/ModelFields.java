@@ -0,0 +1,20 @@
+package software.amazon.s3outposts.bucket;
+
+import software.amazon.s3outposts.shared.Pipeline.Field;
+
+/**
+ * The fields of the ResourceModel the stages of a {@link software.amazon.s3outposts.shared.Pipeline} read and write.
+ */
+final class ModelFields {
+
+    static final Field<ResourceModel> ARN = Field.of(ResourceModel::getArn, ResourceModel::setArn);
+    static final Field<ResourceModel> BUCKET_NAME = Field.of(ResourceModel::getBucketName, ResourceModel::setBucketName);
+    static final Field<ResourceModel> OUTPOST_ID = Field.of(ResourceModel::getOutpostId, ResourceModel::setOutpostId);
+    static final Field<ResourceModel> TAGS = Field.of(ResourceModel::getTags, ResourceModel::setTags);
+    static final Field<ResourceModel> LIFECYCLE_CONFIGURATION =
+            Field.of(ResourceModel::getLifecycleConfiguration, ResourceModel::setLifecycleConfiguration);
+
+    private ModelFields() {
+    }
+
+}
@@ -0,0 +1,187 @@
+package software.amazon.s3outposts.bucket;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsResponse;
+import software.amazon.awssdk.services.s3control.model.RegionalBucket;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Account-wide bucket listing, for a List request without an OutpostId. ListRegionalBuckets only lists one outpost, so
+ * the buckets of every outpost in {@value #OUTPOST_IDS} (environment, comma separated) are listed and merged.
+ * CloudFormation sets no environment on the handlers it runs, so a registered type never lists account-wide: the
+ * variable is for the handlers run by SAM CLI or deployed by hand, and without it such a List fails as it always did.
+ *
+ * Every invocation asks each outpost that is not listed to the end yet for its next page, concurrently on at most
+ * {@value #MAX_PARALLEL_OUTPOSTS} threads, and returns the buckets in outpost ID order. The nextToken returned is a
+ * cursor holding the nextToken of each of these outposts, so the next invocation resumes every outpost where it
+ * stopped. Outposts added to or removed from {@value #OUTPOST_IDS} during a listing are only seen by the next one.
+ */
+final class OutpostInventory {
+
+    static final String OUTPOST_IDS = "S3OUTPOSTS_OUTPOST_IDS";
+    static final int MAX_PARALLEL_OUTPOSTS = 8;
+
+    private static final String CURSOR_VERSION = "outposts-v1:";
+    private static final String ENTRY_SEPARATOR = ",";
+    private static final String TOKEN_SEPARATOR = "=";
+
+    /**
+     * Buckets of the pages listed, and the cursor of the outposts not listed to the end (null when all are).
+     */
+    static final class Result {
+        private final List<ResourceModel> resourceModels;
+        private final String nextToken;
+
+        private Result(final List<ResourceModel> resourceModels, final String nextToken) {
+            this.resourceModels = resourceModels;
+            this.nextToken = nextToken;
+        }
+
+        List<ResourceModel> getResourceModels() {
+            return resourceModels;
+        }
+
+        String getNextToken() {
+            return nextToken;
+        }
+    }
+
+    private OutpostInventory() {
+    }
+
+    /**
+     * @return Outpost IDs of {@value #OUTPOST_IDS}, sorted, empty when unset
+     */
+    static List<String> configuredOutposts() {
+        final String configured = System.getenv(OUTPOST_IDS);
+        if (configured == null) {
+            return Collections.emptyList();
+        }
+        final TreeSet<String> outpostIds = new TreeSet<>();
+        for (final String outpostId : configured.split(ENTRY_SEPARATOR)) {
+            if (!outpostId.trim().isEmpty()) {
+                outpostIds.add(outpostId.trim());
+            }
+        }
+        return new ArrayList<>(outpostIds);
+    }
+
+    /**
+     * @param nextToken Cursor of the previous invocation, null to start with every outpost
+     * @return nextToken of every outpost to list (null for the first page), by outpost ID
+     * @throws IllegalArgumentException if the nextToken is not a cursor of this class
+     */
+    static SortedMap<String, String> pending(final List<String> outpostIds, final String nextToken) {
+        final SortedMap<String, String> pending = new TreeMap<>();
+        if (nextToken == null) {
+            outpostIds.forEach(outpostId -> pending.put(outpostId, null));
+            return pending;
+        }
+        if (!nextToken.startsWith(CURSOR_VERSION)) {
+            throw new IllegalArgumentException("Not an account-wide bucket listing cursor");
+        }
+        final String entries = new String(Base64.getUrlDecoder().decode(nextToken.substring(CURSOR_VERSION.length())),
+                StandardCharsets.UTF_8);
+        for (final String entry : entries.split(ENTRY_SEPARATOR)) {
+            final int separator = entry.indexOf(TOKEN_SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed account-wide bucket listing cursor");
+            }
+            pending.put(entry.substring(0, separator),
+                    new String(Base64.getUrlDecoder().decode(entry.substring(separator + 1)), StandardCharsets.UTF_8));
+        }
+        return pending;
+    }
+
+    /**
+     * @return Cursor resuming every outpost at its nextToken, null if there is none
+     */
+    static String cursor(final SortedMap<String, String> nextTokens) {
+        if (nextTokens.isEmpty()) {
+            return null;
+        }
+        final List<String> entries = new ArrayList<>(nextTokens.size());
+        nextTokens.forEach((outpostId, token) -> entries.add(outpostId + TOKEN_SEPARATOR
+                + Base64.getUrlEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8))));
+        return CURSOR_VERSION + Base64.getUrlEncoder()
+                .encodeToString(String.join(ENTRY_SEPARATOR, entries).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lists the next page of every pending outpost.
+     *
+     * @param pending nextToken of every outpost to list, by outpost ID
+     * @param call    ListRegionalBuckets of an outpost at a nextToken
+     * @throws SdkException the failure of the first outpost, in outpost ID order, whose page could not be listed
+     */
+    static Result list(final SortedMap<String, String> pending,
+                       final BiFunction<String, String, ListRegionalBucketsResponse> call,
+                       final Logger logger) {
+        final long started = System.currentTimeMillis();
+        final Map<String, Future<ListRegionalBucketsResponse>> pages = new LinkedHashMap<>();
+        pending.forEach((outpostId, nextToken) ->
+                pages.put(outpostId, Workers.EXECUTOR.submit(() -> call.apply(outpostId, nextToken))));
+
+        final List<ResourceModel> resourceModels = new ArrayList<>();
+        final SortedMap<String, String> nextTokens = new TreeMap<>();
+        try {
+            for (final Map.Entry<String, Future<ListRegionalBucketsResponse>> page : pages.entrySet()) {
+                final ListRegionalBucketsResponse response = await(page.getValue());
+                // translateFromRegionalBucket takes the outpost from the model for buckets on EC2 outposts
+                final ResourceModel outpost = ResourceModel.builder().outpostId(page.getKey()).build();
+                for (final RegionalBucket regionalBucket : response.regionalBucketList()) {
+                    resourceModels.add(Translator.translateFromRegionalBucket(regionalBucket, outpost));
+                }
+                if (response.nextToken() != null) {
+                    nextTokens.put(page.getKey(), response.nextToken());
+                }
+            }
+        } finally {
+            pages.values().forEach(page -> page.cancel(true));
+        }
+
+        logger.log(String.format("%s::List::ListRegionalBuckets - %d outposts, %d buckets, %d outposts left in %d ms",
+                ResourceModel.TYPE_NAME, pages.size(), resourceModels.size(), nextTokens.size(),
+                System.currentTimeMillis() - started));
+        return new Result(resourceModels, cursor(nextTokens));
+    }
+
+    private static ListRegionalBucketsResponse await(final Future<ListRegionalBucketsResponse> page) {
+        try {
+            return page.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(MAX_PARALLEL_OUTPOSTS, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-bucket-outpost-inventory");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,290 @@
+package software.amazon.s3outposts.bucket;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Warms the code paths of the first request before a CRaC checkpoint (Lambda SnapStart) is taken, so restored
+ * invocations do not pay for class loading, static initialisation and interpreted first executions.
+ *
+ * Priming drives every handler through a full Create/Read/Update/Delete/List against an in-memory S3Control stub,
+ * which exercises the request marshallers and response unmarshallers of every operation the handlers call, the
+ * Translator conversions (including the Joda-Time date fallback) and the proxy call graph. It then runs an error
+ * response through the error unmarshaller and BaseHandlerStd.handleError for every exception type it maps.
+ *
+ * Priming is run by {@link SnapStartHandlerWrapper}, the entry point of a function deployed with SnapStart. It never
+ * opens a socket or touches the shared LambdaWrapper HTTP client, so no connection ends up in the snapshot. The
+ * UpdateHandler counts its tag writes apart from {@link UpdateHandler.TagWrites#SHARED}, and the logger of priming has no
+ * publisher, so priming neither moves the tag write counts nor publishes their metrics.
+ */
+final class Primer {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OUTPOST_ID = "op-01234567890123456";
+    private static final String BUCKET_NAME = "primer";
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/" + OUTPOST_ID + "/bucket/" + BUCKET_NAME;
+
+    private static final String CREATE_BUCKET = "<CreateBucketResult><Location>/" + BUCKET_NAME + "</Location>"
+            + "<BucketArn>" + ARN + "</BucketArn></CreateBucketResult>";
+    private static final String GET_BUCKET = "<GetBucketResult><Bucket>" + BUCKET_NAME + "</Bucket>"
+            + "<PublicAccessBlockEnabled>true</PublicAccessBlockEnabled>"
+            + "<CreationDate>2021-01-01T00:00:00.000Z</CreationDate></GetBucketResult>";
+    private static final String GET_BUCKET_TAGGING = "<GetBucketTaggingResult><TagSet>"
+            + "<S3Tag><Key>key</Key><Value>value</Value></S3Tag>"
+            + "<S3Tag><Key>aws:cloudformation:stack-name</Key><Value>primer</Value></S3Tag>"
+            + "</TagSet></GetBucketTaggingResult>";
+    private static final String GET_LIFECYCLE_CONFIGURATION = "<GetBucketLifecycleConfigurationResult><Rules>"
+            + "<Rule><ID>days</ID><Status>Enabled</Status><Expiration><Days>30</Days></Expiration>"
+            + "<Filter><Prefix>logs/</Prefix></Filter></Rule>"
+            + "<Rule><ID>date</ID><Status>Enabled</Status><Expiration><Date>2030-01-01T00:00:00Z</Date></Expiration>"
+            + "<Filter><And><Prefix>data/</Prefix><Tags><S3Tag><Key>key</Key><Value>value</Value></S3Tag></Tags></And></Filter>"
+            + "<AbortIncompleteMultipartUpload><DaysAfterInitiation>7</DaysAfterInitiation></AbortIncompleteMultipartUpload>"
+            + "</Rule></Rules></GetBucketLifecycleConfigurationResult>";
+    private static final String LIST_REGIONAL_BUCKETS = "<ListRegionalBucketsResult><RegionalBucketList><RegionalBucket>"
+            + "<Bucket>" + BUCKET_NAME + "</Bucket><BucketArn>" + ARN + "</BucketArn>"
+            + "<PublicAccessBlockEnabled>true</PublicAccessBlockEnabled>"
+            + "<CreationDate>2021-01-01T00:00:00.000Z</CreationDate><OutpostId>" + OUTPOST_ID + "</OutpostId>"
+            + "</RegionalBucket></RegionalBucketList></ListRegionalBucketsResult>";
+    private static final String NO_SUCH_BUCKET = "<ErrorResponse><Error><Code>NoSuchBucket</Code><Message>primer</Message></Error></ErrorResponse>";
+
+    // Enough callbacks to get Create past the propagation delay.
+    private static final int MAX_INVOCATIONS = 10;
+
+    private Primer() {
+    }
+
+    /**
+     * Runs every priming step. A failing step does not stop the others, priming must never fail the checkpoint.
+     *
+     * @return the steps that failed, empty when everything was exercised
+     */
+    static List<String> prime() {
+        final List<String> failures = new ArrayList<>();
+        final StubHttpClient httpClient = new StubHttpClient();
+        try (S3ControlClient client = S3ControlClient.builder()
+                .httpClient(httpClient)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("primer", "primer")))
+                .build()) {
+            // No log publisher attached, priming is silent.
+            final LoggerProxy logger = new LoggerProxy();
+            // No remaining time: stabilization returns IN_PROGRESS instead of waiting in-process.
+            final AmazonWebServicesClientProxy proxy =
+                    new AmazonWebServicesClientProxy(logger, new Credentials("primer", "primer", "primer"), () -> 0L);
+            final ProxyClient<S3ControlClient> proxyClient = proxy.newProxy(() -> client);
+
+            step(failures, "Create", () -> drive(new CreateHandler(), proxy, proxyClient, logger, request(null, createModel())));
+            step(failures, "Read", () -> drive(new ReadHandler(), proxy, proxyClient, logger, request(null, arnModel())));
+            step(failures, "Update", () -> drive(new UpdateHandler(new UpdateHandler.TagWrites()), proxy, proxyClient, logger, request(createModel(), updateModel())));
+            step(failures, "Delete", () -> drive(new DeleteHandler(), proxy, proxyClient, logger, request(null, arnModel())));
+            step(failures, "List", () -> drive(new ListHandler(), proxy, proxyClient, logger,
+                    request(null, ResourceModel.builder().outpostId(OUTPOST_ID).build())));
+            step(failures, "Read error", () -> {
+                httpClient.failWith(SdkHttpMethod.GET, 404, NO_SUCH_BUCKET);
+                try {
+                    new ReadHandler().handleRequest(proxy, request(null, arnModel()), new CallbackContext(), proxyClient, logger);
+                } finally {
+                    httpClient.failWith(null, 0, null);
+                }
+            });
+            step(failures, "handleError", () -> {
+                final ReadHandler handler = new ReadHandler();
+                for (final Exception exception : exceptions()) {
+                    handler.handleError(GetBucketRequest.builder().build(), exception, proxyClient, arnModel(), new CallbackContext());
+                }
+            });
+        } catch (final RuntimeException e) {
+            failures.add("client: " + e);
+        }
+        return failures;
+    }
+
+    private static void drive(final BaseHandlerStd handler,
+                              final AmazonWebServicesClientProxy proxy,
+                              final ProxyClient<S3ControlClient> proxyClient,
+                              final Logger logger,
+                              final ResourceHandlerRequest<ResourceModel> request) {
+        CallbackContext callbackContext = new CallbackContext();
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+            if (progress.getStatus() != OperationStatus.IN_PROGRESS) {
+                if (progress.getStatus() == OperationStatus.FAILED) {
+                    throw new IllegalStateException(progress.getErrorCode() + ": " + progress.getMessage());
+                }
+                return;
+            }
+            callbackContext = progress.getCallbackContext();
+        }
+    }
+
+    private static void step(final List<String> failures, final String name, final Step step) {
+        try {
+            step.run();
+        } catch (final Exception e) {
+            failures.add(name + ": " + e);
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel previous, final ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(ACCOUNT_ID)
+                .previousResourceState(previous)
+                .desiredResourceState(desired)
+                .desiredResourceTags(Collections.singletonMap("key", "value"))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "primer"))
+                .build();
+    }
+
+    private static ResourceModel arnModel() {
+        return ResourceModel.builder().arn(ARN).build();
+    }
+
+    private static ResourceModel createModel() {
+        return ResourceModel.builder()
+                .bucketName(BUCKET_NAME)
+                .outpostId(OUTPOST_ID)
+                .tags(Collections.singleton(Tag.builder().key("key").value("value").build()))
+                .lifecycleConfiguration(software.amazon.s3outposts.bucket.LifecycleConfiguration.builder()
+                        .rules(new HashSet<>(Arrays.asList(
+                                Rule.builder().id("days").status("Enabled").expirationInDays(30)
+                                        .filter(Filter.builder().prefix("logs/").build())
+                                        .build(),
+                                Rule.builder().id("date").status("Enabled").expirationDate("2030-01-01T00:00:00Z")
+                                        .filter(Filter.builder().tag(FilterTag.builder().key("key").value("value").build()).build())
+                                        .build(),
+                                // Date without a zone, translated through the Joda-Time fallback.
+                                Rule.builder().id("local-date").status("Enabled").expirationDate("2030-01-01")
+                                        .abortIncompleteMultipartUpload(software.amazon.s3outposts.bucket.AbortIncompleteMultipartUpload.builder()
+                                                .daysAfterInitiation(7).build())
+                                        .filter(Filter.builder().andOperator(FilterAndOperator.builder()
+                                                .prefix("data/")
+                                                .tags(Collections.singleton(FilterTag.builder().key("key").value("value").build()))
+                                                .build()).build())
+                                        .build())))
+                        .build())
+                .build();
+    }
+
+    private static ResourceModel updateModel() {
+        final ResourceModel model = createModel();
+        model.setArn(ARN);
+        model.setTags(null);
+        model.setLifecycleConfiguration(null);
+        return model;
+    }
+
+    private static List<Exception> exceptions() {
+        final List<Exception> exceptions = new ArrayList<>(Arrays.asList(
+                BadRequestException.builder().message("primer").build(),
+                InvalidRequestException.builder().message("primer").build(),
+                BucketAlreadyExistsException.builder().message("primer").build(),
+                BucketAlreadyOwnedByYouException.builder().message("primer").build(),
+                InternalServiceException.builder().message("primer").build(),
+                InvalidNextTokenException.builder().message("primer").build(),
+                NotFoundException.builder().message("primer").build(),
+                TooManyRequestsException.builder().message("primer").build(),
+                TooManyTagsException.builder().message("primer").build(),
+                SdkClientException.builder().message("primer").build()));
+        for (final int statusCode : new int[]{400, 403, 404, 409, 500, 503, 502}) {
+            exceptions.add(S3ControlException.builder().message("primer").statusCode(statusCode).build());
+        }
+        return exceptions;
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * Answers every request in memory with a canned S3Control response, or with the configured error.
+     */
+    private static final class StubHttpClient implements SdkHttpClient {
+
+        private volatile SdkHttpMethod errorMethod;
+        private volatile int errorStatus;
+        private volatile String errorBody;
+
+        /**
+         * Makes requests with the given method fail with the given status and body, a zero status restores success.
+         */
+        void failWith(final SdkHttpMethod method, final int status, final String body) {
+            errorMethod = method;
+            errorStatus = status;
+            errorBody = body;
+        }
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+            final boolean fail = errorStatus != 0 && request.httpRequest().method() == errorMethod;
+            final int status = fail ? errorStatus : 200;
+            final String body = fail ? errorBody : body(request.httpRequest());
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder().statusCode(status).build())
+                            .responseBody(AbortableInputStream.create(
+                                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        private static String body(final SdkHttpRequest request) {
+            final String path = request.encodedPath();
+            if (request.method() != SdkHttpMethod.GET) {
+                return request.method() == SdkHttpMethod.PUT && path.endsWith("/bucket/" + BUCKET_NAME) ? CREATE_BUCKET : "";
+            }
+            if (path.endsWith("/tagging")) {
+                return GET_BUCKET_TAGGING;
+            }
+            if (path.endsWith("/lifecycleconfiguration")) {
+                return GET_LIFECYCLE_CONFIGURATION;
+            }
+            if (path.endsWith("/bucket")) {
+                return LIST_REGIONAL_BUCKETS;
+            }
+            return GET_BUCKET;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
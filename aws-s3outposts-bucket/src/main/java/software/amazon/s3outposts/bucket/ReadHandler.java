@@ -5,8 +5,9 @@ import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +15,6 @@ public class ReadHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         // Expecting customer to only provide the Arn.
@@ -26,14 +25,30 @@ public class ReadHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::ReadHandler called for arn: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
 
-        return (ProgressEvent.progress(model, callbackContext))
-                .then(progress -> getBucket(proxy, proxyClient, request, progress, logger))
-                .then(progress -> getBucketTagging(proxy, proxyClient, request, progress, logger))
-                .then(progress -> getBucketLifecycleConfiguration(proxy, proxyClient, request, progress, logger))
+        // GetBucket replaces the whole model, tags and lifecycle configuration are then added to it. Both are read
+        // without the call graph and only need the ARN, so the two reads are made at the same time.
+        return pipeline("Read")
+                .stage("GetBucket", progress -> getBucket(proxy, proxyClient, request, progress, logger))
+                .writes(ModelFields.ARN, ModelFields.BUCKET_NAME, ModelFields.OUTPOST_ID, ModelFields.TAGS,
+                        ModelFields.LIFECYCLE_CONFIGURATION)
+                .stage("GetBucketTagging", progress -> getBucketTagging(proxy, proxyClient, request, progress, logger))
+                .reads(ModelFields.ARN)
+                .writes(ModelFields.TAGS)
+                .concurrent()
+                .stage("GetBucketLifecycleConfiguration", progress -> getBucketLifecycleConfiguration(proxy, proxyClient, request, progress, logger))
+                .reads(ModelFields.ARN)
+                .writes(ModelFields.LIFECYCLE_CONFIGURATION)
+                .concurrent()
+                .run(ProgressEvent.progress(model, callbackContext), null, logger)
                 .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
 
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
+    }
+
     /**
      * Calls the API getBucketTagging
      *
@@ -55,14 +70,24 @@ public class ReadHandler extends BaseHandlerStd {
         final CallbackContext callbackContext = progress.getCallbackContext();
         logger.log(String.format("%s::Read::getBucketTagging - arn: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
 
-        return proxy.initiate("AWS-S3Outposts-Bucket::Read::GetBucketTagging", proxyClient, model, callbackContext)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToSdkGetBucketTaggingRequest(resourceModel, request.getAwsAccountId())
-                )
-                .makeServiceCall((getBucketTaggingRequest, s3ControlProxyClient) ->
-                        s3ControlProxyClient.injectCredentialsAndInvokeV2(getBucketTaggingRequest, s3ControlProxyClient.client()::getBucketTagging)
-                )
-                .handleError((getBucketTaggingRequest, exception, client, resourceModel, cbContext) -> {
+        // Left without tags by the Create or Update this Read ends, GetBucketTagging would answer NoSuchTagSet.
+        if (callbackContext.isNoTagSet()) {
+            logger.log(String.format("%s::Read::GetBucketTagging - no tag set, not read \n", ResourceModel.TYPE_NAME));
+            return ProgressEvent.progress(model, callbackContext);
+        }
+        // The Update this Read ends found or wrote the tags of its request, GetBucketTagging would answer them.
+        if (callbackContext.isTagSetOfRequest()) {
+            logger.log(String.format("%s::Read::GetBucketTagging - tags of the request, not read \n", ResourceModel.TYPE_NAME));
+            model.setTags(Translator.translateTagsFromTagMap(Translator.translateToTagMap(
+                    request.getDesiredResourceState(), request.getDesiredResourceTags(), request.getSystemTags())));
+            return ProgressEvent.progress(model, callbackContext);
+        }
+
+        return read(proxyClient,
+                Translator.translateToSdkGetBucketTaggingRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketTagging,
+                model, callbackContext,
+                (getBucketTaggingRequest, exception, client, resourceModel, cbContext) -> {
                     // It is ok for a CFN Bucket Resource to have no tags. We do not have to fail the CFN Bucket::Read operation for this.
                     if (exception instanceof S3ControlException && StringUtils.equals(((S3ControlException) exception).awsErrorDetails().errorCode(), NO_SUCH_TAGSET)) {
                         logger.log(String.format("%s::Read::GetBucketTagging - NoSuchTagSet - Message: %s \n", ResourceModel.TYPE_NAME, exception.getMessage()));
@@ -71,8 +96,8 @@ public class ReadHandler extends BaseHandlerStd {
                         logger.log(String.format("%s::Read::GetBucketTagging failed with exception type: %s", ResourceModel.TYPE_NAME, exception.getClass().getCanonicalName()));
                         return handleError(getBucketTaggingRequest, exception, client, resourceModel, cbContext);
                     }
-                })
-                .done(getBucketTaggingResponse -> {
+                },
+                getBucketTaggingResponse -> {
                     final ResourceModel getBucketTaggingResponseModel = Translator.translateFromSdkGetBucketTaggingResponse(getBucketTaggingResponse, model);
                     return ProgressEvent.progress(getBucketTaggingResponseModel, callbackContext);
                 });
@@ -102,14 +127,17 @@ public class ReadHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Read::getLifecycleConfiguration - arn: %s", ResourceModel.TYPE_NAME, model.getArn()));
 
-        return proxy.initiate("AWS-S3Outposts-Bucket::Read::GetBucketLifecycleConfiguration", proxyClient, model, callbackContext)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToSdkGetBucketLifecycleConfigurationRequest(resourceModel, request.getAwsAccountId())
-                )
-                .makeServiceCall((getBucketLifecycleConfigurationRequest, s3ControlProxyClient) ->
-                        s3ControlProxyClient.injectCredentialsAndInvokeV2(getBucketLifecycleConfigurationRequest, s3ControlProxyClient.client()::getBucketLifecycleConfiguration)
-                )
-                .handleError((getBucketLifecycleConfigurationRequest, exception, client, resourceModel, cbContext) -> {
+        // Left without lifecycle configuration by the Create or Update this Read ends, the call would answer 404.
+        if (callbackContext.isNoLifecycleConfiguration()) {
+            logger.log(String.format("%s::Read::GetBucketLifecycleConfiguration - no lifecycle configuration, not read \n", ResourceModel.TYPE_NAME));
+            return ProgressEvent.progress(model, callbackContext);
+        }
+
+        return read(proxyClient,
+                Translator.translateToSdkGetBucketLifecycleConfigurationRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketLifecycleConfiguration,
+                model, callbackContext,
+                (getBucketLifecycleConfigurationRequest, exception, client, resourceModel, cbContext) -> {
                     // It is ok for a CFN Bucket Resource to have no lifecycle configuration. We do not have to fail the CFN Bucket::Read operation for this.
                     if (exception instanceof S3ControlException && ((S3ControlException) exception).statusCode() == 404) {
                         logger.log(String.format("%s::Read::GetBucketLifecycleConfiguration - NoSuchLifecycleConfiguration - Message: %s \n", ResourceModel.TYPE_NAME, exception.getMessage()));
@@ -118,8 +146,8 @@ public class ReadHandler extends BaseHandlerStd {
                         logger.log(String.format("%s::Read::GetBucketLifecycleConfiguration failed with exception type: %s", ResourceModel.TYPE_NAME, exception.getClass().getCanonicalName()));
                         return handleError(getBucketLifecycleConfigurationRequest, exception, client, resourceModel, cbContext);
                     }
-                })
-                .done(getBucketLifecycleConfigurationResponse -> {
+                },
+                getBucketLifecycleConfigurationResponse -> {
                     final ResourceModel getBucketLifecycleConfigurationResponseModel = Translator.translateFromSdkGetBucketLifecycleConfigurationResponse(getBucketLifecycleConfigurationResponse, model);
                     return ProgressEvent.progress(getBucketLifecycleConfigurationResponseModel, callbackContext);
                 });
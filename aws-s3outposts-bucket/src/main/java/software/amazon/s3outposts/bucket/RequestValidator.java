@@ -0,0 +1,78 @@
+package software.amazon.s3outposts.bucket;
+
+import software.amazon.s3outposts.shared.IdentifierValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pre-flight validation of the models given to the handlers: a model the service would refuse fails at handler entry
+ * with every violation found, rather than after a round trip, or after the propagation delay of a created bucket. The
+ * plugin already validates the model of a Create or an Update against the resource schema, so only the limits of the
+ * service the schema does not state are checked here: at most {@value #MAX_TAGS} tags and {@value #MAX_RULES}
+ * lifecycle rules, no rule expiring on both a date and a number of days, and no AndOperator with a single tag and no
+ * prefix. The identifier of a Read or a Delete is checked against the schema.
+ */
+final class RequestValidator {
+
+    static final String SCHEMA = "/aws-s3outposts-bucket.json";
+    static final int MAX_TAGS = 50;
+    static final int MAX_RULES = 1000;
+
+    private RequestValidator() {
+    }
+
+    /**
+     * @return The violations of a model to create or update, none if it is valid
+     */
+    static List<String> validate(final ResourceModel model) {
+        final List<String> violations = new ArrayList<>();
+        if (model.getTags() != null && model.getTags().size() > MAX_TAGS) {
+            violations.add(String.format("/Tags: %d tags, at most %d are allowed", model.getTags().size(), MAX_TAGS));
+        }
+        if (model.getLifecycleConfiguration() == null || model.getLifecycleConfiguration().getRules() == null) {
+            return violations;
+        }
+        final Set<Rule> rules = model.getLifecycleConfiguration().getRules();
+        if (rules.size() > MAX_RULES) {
+            violations.add(String.format("/LifecycleConfiguration/Rules: %d rules, at most %d are allowed", rules.size(), MAX_RULES));
+        }
+        int index = 0;
+        for (final Rule rule : rules) {
+            final String path = "/LifecycleConfiguration/Rules/" + index++;
+            if (rule.getExpirationDate() != null && rule.getExpirationInDays() != null) {
+                violations.add(path + ": ExpirationDate and ExpirationInDays cannot both be set");
+            }
+            final FilterAndOperator and = rule.getFilter() == null ? null : rule.getFilter().getAndOperator();
+            if (and != null && and.getPrefix() == null && and.getTags() != null && and.getTags().size() == 1) {
+                violations.add(path + "/Filter/AndOperator: needs a Prefix and a tag, or at least 2 tags");
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * @return The violations of the primary identifier of a model to read or delete, none if it is valid
+     */
+    static List<String> validateIdentifier(final ResourceModel model) {
+        return Identifier.VALIDATOR.validate(model.getArn());
+    }
+
+    /**
+     * @return The message of a request failed on violations
+     */
+    static String message(final List<String> violations) {
+        return String.format("Invalid request: %s.", String.join("; ", violations));
+    }
+
+    /**
+     * The identifier definition, loaded the first time an identifier is validated.
+     */
+    private static final class Identifier {
+
+        private static final IdentifierValidator VALIDATOR = new IdentifierValidator(SCHEMA, "Arn");
+
+    }
+
+}
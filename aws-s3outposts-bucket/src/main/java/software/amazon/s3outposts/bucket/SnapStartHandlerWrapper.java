@@ -0,0 +1,14 @@
+package software.amazon.s3outposts.bucket;
+
+import software.amazon.s3outposts.shared.PrimingHandlerWrapper;
+
+/**
+ * Handler of a function deployed with SnapStart, primed by {@link Primer} before the snapshot.
+ */
+public final class SnapStartHandlerWrapper extends PrimingHandlerWrapper {
+
+    public SnapStartHandlerWrapper() {
+        super(new HandlerWrapper(), Primer::prime);
+    }
+
+}
@@ -103,17 +103,20 @@ public class Translator {
      * @param model     resource model
      * @param accountId extracted from the request
      * @param nextToken token passed to the aws service list resources request
+     * @param maxResults maximum number of buckets in the page
      * @return ListRegionalBucketsRequest
      * <p>
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/model/ListRegionalBucketsRequest.html
      */
     static ListRegionalBucketsRequest translateToListRequest(final ResourceModel model,
                                                              final String accountId,
-                                                             final String nextToken) {
+                                                             final String nextToken,
+                                                             final int maxResults) {
         return ListRegionalBucketsRequest.builder()
                 .accountId(accountId)
                 .outpostId(model.getOutpostId())
                 .nextToken(nextToken)
+                .maxResults(maxResults)
                 .build();
     }
 
@@ -159,11 +162,8 @@ public class Translator {
                                                                          final String accountId) {
 
         // Combine resourceTags and systemTags into one tag map
-        Map<String, String> allTags = new HashMap<>();
-        if (resourceTags != null)
-            allTags.putAll(resourceTags);
-        if (systemTags != null)
-            allTags.putAll(systemTags);
+        final Map<String, String> allTags = Optional.ofNullable(translateToTagMap(resourceModel, resourceTags, systemTags))
+                .orElse(Collections.emptyMap());
 
         // Create a List of S3Tag objects from a Map<String, String>
         // Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/model/S3Tag.html
@@ -180,6 +180,33 @@ public class Translator {
 
     }
 
+    /**
+     * The tags PutBucketTagging applies, which UpdateHandler also compares with the tags on the bucket.
+     *
+     * @param resourceModel Resource state the tags are for, whose own tags stand for the resource tags when there are none
+     * @param resourceTags  Resource and stack tags of the request, null if CloudFormation passed none
+     * @param systemTags    System tags of the request, taking precedence
+     * @return The tags of the bucket, null if there are neither resource, model nor system tags to put
+     */
+    static Map<String, String> translateToTagMap(final ResourceModel resourceModel,
+                                                 final Map<String, String> resourceTags,
+                                                 final Map<String, String> systemTags) {
+
+        final Set<software.amazon.s3outposts.bucket.Tag> modelTags = resourceModel == null ? null : resourceModel.getTags();
+        if (resourceTags == null && modelTags == null && systemTags == null)
+            return null;
+
+        final Map<String, String> allTags = new HashMap<>();
+        if (resourceTags != null)
+            allTags.putAll(resourceTags);
+        else if (modelTags != null)
+            modelTags.forEach(tag -> allTags.put(tag.getKey(), tag.getValue()));
+        if (systemTags != null)
+            allTags.putAll(systemTags);
+        return allTags;
+
+    }
+
     /**
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/model/GetBucketTaggingRequest.html
      *
@@ -237,6 +264,22 @@ public class Translator {
 
     }
 
+    /**
+     * The tags of the model for a tag set, as {@link #translateTagsFromSdk} translates it once read from the bucket.
+     *
+     * @param tags Tags of a tag set, as built by {@link #translateToTagMap}, null if there are none
+     * @return
+     */
+    static Set<software.amazon.s3outposts.bucket.Tag> translateTagsFromTagMap(final Map<String, String> tags) {
+
+        return translateTagsFromSdk(Optional.ofNullable(tags).orElse(Collections.emptyMap())
+                .entrySet()
+                .stream()
+                .map(tag -> S3Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                .collect(Collectors.toList()));
+
+    }
+
     /**
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3control/model/DeleteBucketTaggingRequest.html
      *
@@ -554,8 +597,20 @@ public class Translator {
 
         } catch (final DateTimeParseException e) {
 
-            return new DateTime(expirationDate, DateTimeZone.UTC).toDate().toInstant();
+            return JodaDates.toInstant(expirationDate);
+
+        }
+
+    }
+
+    /**
+     * Fallback for dates that are not ISO-8601 instants (e.g. "2021-01-01"). Kept in its own class so Joda-Time is only
+     * loaded the first time such a date is seen, not when Translator is loaded.
+     */
+    private static final class JodaDates {
 
+        private static Instant toInstant(final String date) {
+            return new DateTime(date, DateTimeZone.UTC).toDate().toInstant();
         }
 
     }
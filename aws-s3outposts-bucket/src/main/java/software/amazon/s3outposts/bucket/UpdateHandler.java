@@ -4,11 +4,30 @@ import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.EmbeddedMetrics;
 
-import java.util.Objects;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class UpdateHandler extends BaseHandlerStd {
-    private Logger logger;
+
+    private final TagWrites tagWrites;
+
+    public UpdateHandler() {
+        this(TagWrites.SHARED);
+    }
+
+    /**
+     * @param tagWrites Counts the tag writes of the updates, {@link TagWrites#SHARED} outside of priming
+     */
+    UpdateHandler(final TagWrites tagWrites) {
+        this.tagWrites = tagWrites;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -16,8 +35,6 @@ public class UpdateHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel newModel = request.getDesiredResourceState();
         final ResourceModel previousModel = request.getPreviousResourceState();
 
@@ -28,11 +45,20 @@ public class UpdateHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::UpdateHandler called for arn: %s \n", ResourceModel.TYPE_NAME, newModel.getArn()));
 
-        return ProgressEvent.progress(newModel, callbackContext)
-                .then(progress -> preExistenceCheckForUpdate(proxy, proxyClient, request, progress, logger))
-                .then(progress -> updateTags(proxy, proxyClient, request, progress, logger, previousModel))
-                .then(progress -> updateBucketLifecycleConfiguration(proxy, proxyClient, request, progress, logger, previousModel))
-                .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+        // Tags are only written when they differ from the tags on the bucket, and the lifecycle configuration when it
+        // differs from the previous resource state.
+        return pipeline("Update")
+                .stage("PreExistenceCheck", progress -> preExistenceCheckForUpdate(proxy, proxyClient, request, progress, logger))
+                .stage("UpdateTags", progress -> updateTags(proxy, proxyClient, request, progress, logger))
+                .stage("UpdateBucketLifecycleConfiguration", progress -> updateBucketLifecycleConfiguration(proxy, proxyClient, request, progress, logger))
+                .onlyIfChanged(ModelFields.LIFECYCLE_CONFIGURATION)
+                .stage("Read", progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger))
+                .run(ProgressEvent.progress(newModel, callbackContext), previousModel, logger);
+    }
+
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
     }
 
     /**
@@ -71,12 +97,17 @@ public class UpdateHandler extends BaseHandlerStd {
     }
 
     /**
+     * Reads the tags on the bucket, system tags included, and writes the tags only when the effective tag set, the tags
+     * PutBucketTagging applies as built by {@link Translator#translateToTagMap}, differs from them: an update changing
+     * none of them, or only the order of the tags, makes no write, and tags changed outside of CloudFormation are written
+     * back. An empty set is written with DeleteBucketTagging. The tags read are only compared, not kept: once this stage
+     * is done the tags on the bucket are those of the request, which the Read this Update ends with takes them from.
+     *
      * @param proxy
      * @param proxyClient
      * @param request
      * @param progress
      * @param logger
-     * @param previousModel
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> updateTags(
@@ -84,19 +115,63 @@ public class UpdateHandler extends BaseHandlerStd {
             ProxyClient<S3ControlClient> proxyClient,
             ResourceHandlerRequest<ResourceModel> request,
             ProgressEvent<ResourceModel, CallbackContext> progress,
-            Logger logger,
-            ResourceModel previousModel) {
+            Logger logger) {
 
-        ResourceModel model = progress.getResourceModel();
-        CallbackContext callbackContext = progress.getCallbackContext();
+        final ResourceModel model = progress.getResourceModel();
+        final CallbackContext callbackContext = progress.getCallbackContext();
 
         logger.log(String.format("%s::Update::updateTags - arn: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
 
-        // No change to the tags
-        if (Objects.equals(model.getTags(), previousModel.getTags()))
-            return ProgressEvent.progress(model, callbackContext);
+        final Map<String, String> desiredTags = Optional.ofNullable(
+                Translator.translateToTagMap(model, request.getDesiredResourceTags(), request.getSystemTags()))
+                .orElse(Collections.emptyMap());
+
+        return read(proxyClient,
+                Translator.translateToSdkGetBucketTaggingRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketTagging,
+                model, callbackContext,
+                (getBucketTaggingRequest, exception, client, resourceModel, cbContext) -> {
+                    if (exception instanceof S3ControlException && ((S3ControlException) exception).awsErrorDetails() != null
+                            && StringUtils.equals(((S3ControlException) exception).awsErrorDetails().errorCode(), NO_SUCH_TAGSET)) {
+                        return writeTags(proxy, proxyClient, request, progress, desiredTags, Collections.emptyMap(), logger);
+                    }
+                    logger.log(String.format("%s::Update::updateTags - GetBucketTagging failed with exception type: %s \n",
+                            ResourceModel.TYPE_NAME, exception.getClass().getCanonicalName()));
+                    return handleError(getBucketTaggingRequest, exception, client, resourceModel, cbContext);
+                },
+                getBucketTaggingResponse -> {
+                    final Map<String, String> liveTags = new HashMap<>();
+                    getBucketTaggingResponse.tagSet().forEach(tag -> liveTags.put(tag.key(), tag.value()));
+                    return writeTags(proxy, proxyClient, request, progress, desiredTags, liveTags, logger);
+                });
+    }
 
-        if (model.getTags() == null) {
+    /**
+     * @param desiredTags Effective tags of the request
+     * @param liveTags    Tags on the bucket
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> writeTags(
+            AmazonWebServicesClientProxy proxy,
+            ProxyClient<S3ControlClient> proxyClient,
+            ResourceHandlerRequest<ResourceModel> request,
+            ProgressEvent<ResourceModel, CallbackContext> progress,
+            Map<String, String> desiredTags,
+            Map<String, String> liveTags,
+            Logger logger) {
+
+        final ResourceModel model = progress.getResourceModel();
+        final CallbackContext callbackContext = progress.getCallbackContext();
+
+        if (desiredTags.equals(liveTags)) {
+            tagWrites.count(false, model.getArn(), logger);
+            // A bucket found without tags and left so answers NoSuchTagSet, the Read this Update ends with needs not ask.
+            callbackContext.setNoTagSet(desiredTags.isEmpty());
+            callbackContext.setTagSetOfRequest(!desiredTags.isEmpty());
+            logger.log(String.format("%s::Update::updateTags - %d effective tags unchanged, not written \n",
+                    ResourceModel.TYPE_NAME, desiredTags.size()));
+            return ProgressEvent.progress(model, callbackContext);
+        }
+        if (desiredTags.isEmpty()) {
 
             // Call DeleteBucketTagging
             return proxy.initiate("AWS-S3Outposts-Bucket::Update::DeleteBucketTagging", proxyClient, model, callbackContext)
@@ -108,12 +183,21 @@ public class UpdateHandler extends BaseHandlerStd {
                     )
 
                     .handleError(this::handleError)
-                    .progress();
+                    .done(deleteBucketTaggingResponse -> {
+                        tagWrites.count(true, model.getArn(), logger);
+                        callbackContext.setNoTagSet(true);
+                        return ProgressEvent.progress(model, callbackContext);
+                    });
 
         } else {
 
             // Call PutBucketTagging
-            return putBucketTagging(proxy, proxyClient, request, progress, logger);
+            return putBucketTagging(proxy, proxyClient, request, progress, logger)
+                    .then(written -> {
+                        tagWrites.count(true, model.getArn(), logger);
+                        callbackContext.setTagSetOfRequest(true);
+                        return written;
+                    });
 
         }
 
@@ -125,7 +209,6 @@ public class UpdateHandler extends BaseHandlerStd {
      * @param request
      * @param progress
      * @param logger
-     * @param previousModel
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> updateBucketLifecycleConfiguration(
@@ -133,17 +216,13 @@ public class UpdateHandler extends BaseHandlerStd {
             ProxyClient<S3ControlClient> proxyClient,
             ResourceHandlerRequest<ResourceModel> request,
             ProgressEvent<ResourceModel, CallbackContext> progress,
-            Logger logger,
-            ResourceModel previousModel) {
+            Logger logger) {
 
         ResourceModel model = progress.getResourceModel();
         CallbackContext callbackContext = progress.getCallbackContext();
 
         logger.log(String.format("%s::Update::updateBucketLifecycleConfiguration - arn: %s \n", ResourceModel.TYPE_NAME, model.getArn()));
 
-        if (Objects.equals(model.getLifecycleConfiguration(), previousModel.getLifecycleConfiguration()))
-            return ProgressEvent.progress(model, callbackContext);
-
         if ((model.getLifecycleConfiguration() == null) || (model.getLifecycleConfiguration().getRules() == null) ||
                 (model.getLifecycleConfiguration().getRules().isEmpty())) {
 
@@ -156,7 +235,10 @@ public class UpdateHandler extends BaseHandlerStd {
                             s3ControlProxyClient.injectCredentialsAndInvokeV2(deleteBucketLifecycleConfigurationRequest, s3ControlProxyClient.client()::deleteBucketLifecycleConfiguration)
                     )
                     .handleError(this::handleError)
-                    .progress();
+                    .done(deleteBucketLifecycleConfigurationResponse -> {
+                        callbackContext.setNoLifecycleConfiguration(true);
+                        return ProgressEvent.progress(model, callbackContext);
+                    });
 
         } else {
 
@@ -167,4 +249,39 @@ public class UpdateHandler extends BaseHandlerStd {
 
     }
 
+    /**
+     * Tag writes of the updates run in this container, made and skipped. Every update also publishes the
+     * {@value #WRITTEN} and {@value #SKIPPED} metrics, one of them 1 and the other 0, see {@link EmbeddedMetrics}.
+     */
+    public static final class TagWrites {
+        static final TagWrites SHARED = new TagWrites();
+        static final String WRITTEN = "TagsWritten";
+        static final String SKIPPED = "TagsSkipped";
+
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+
+        private void count(final boolean write, final String arn, final Logger logger) {
+            (write ? written : skipped).incrementAndGet();
+            final Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put(WRITTEN, write ? 1L : 0L);
+            counts.put(SKIPPED, write ? 0L : 1L);
+            EmbeddedMetrics.count(logger, ResourceModel.TYPE_NAME, counts, Collections.singletonMap("Arn", arn));
+        }
+
+        /**
+         * @return Updates whose PutBucketTagging or DeleteBucketTagging succeeded, their effective tags having changed
+         */
+        public long getWritten() {
+            return written.get();
+        }
+
+        /**
+         * @return Updates that made no tag call, their effective tags being unchanged
+         */
+        public long getSkipped() {
+            return skipped.get();
+        }
+    }
+
 }
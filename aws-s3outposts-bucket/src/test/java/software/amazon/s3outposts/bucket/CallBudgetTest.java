@@ -0,0 +1,278 @@
+package software.amazon.s3outposts.bucket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.CallBudget;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * API call-budget regression tests. Each scenario declares the exact sequence of S3Control operations it may issue;
+ * adding, dropping or reordering a call fails the test with a diff of the two sequences.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CallBudgetTest extends AbstractTestBase {
+
+    private AmazonWebServicesClientProxy proxy;
+    private S3ControlClient sdkClient;
+    private CallBudget.RecordingProxyClient<S3ControlClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(S3ControlClient.class);
+        proxyClient = CallBudget.record(MOCK_PROXY(proxy, sdkClient));
+    }
+
+    private CallbackContext propagatedContext() {
+        final CallbackContext context = new CallbackContext();
+        context.setStabilized(true);
+        context.setPropagated(true);
+        context.setForcedDelayCount(2);
+        return context;
+    }
+
+    private void stubRead() {
+        when(sdkClient.getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+        when(sdkClient.getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG_LIST1).build());
+        when(sdkClient.getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenReturn(GetBucketLifecycleConfigurationResponse.builder().rules(LIFECYCLE_RULE_LIST).build());
+    }
+
+    @Test
+    public void create_FirstInvocation() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_BUCKET_COMPLETE_MODEL)
+                .desiredResourceTags(TAG_MAP)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.createBucket(any(CreateBucketRequest.class)))
+                .thenReturn(CreateBucketResponse.builder().bucketArn(ARN).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        CallBudget.of("CreateBucket")
+                .assertSatisfiedBy("Create (first invocation)", proxyClient);
+    }
+
+    @Test
+    public void create_WithTagsAndLifecycle() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_BUCKET_COMPLETE_MODEL)
+                .desiredResourceTags(TAG_MAP)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.createBucket(any(CreateBucketRequest.class)))
+                .thenReturn(CreateBucketResponse.builder().bucketArn(ARN).build());
+        when(sdkClient.putBucketTagging(any(PutBucketTaggingRequest.class)))
+                .thenReturn(PutBucketTaggingResponse.builder().build());
+        when(sdkClient.putBucketLifecycleConfiguration(any(PutBucketLifecycleConfigurationRequest.class)))
+                .thenReturn(PutBucketLifecycleConfigurationResponse.builder().build());
+        stubRead();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, propagatedContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("CreateBucket")
+                .then("PutBucketTagging", "PutBucketLifecycleConfiguration")
+                .then("GetBucket")
+                .thenInAnyOrder("GetBucketTagging", "GetBucketLifecycleConfiguration")
+                .assertSatisfiedBy("Create with tags and lifecycle", proxyClient);
+    }
+
+    @Test
+    public void create_NoTagsNoLifecycle() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_BUCKET_MODEL_NO_TAGS_AND_RULES)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.createBucket(any(CreateBucketRequest.class)))
+                .thenReturn(CreateBucketResponse.builder().bucketArn(ARN).build());
+        when(sdkClient.getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, propagatedContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_NO_TAGS_AND_RULES);
+        // The new bucket has no tag set and no lifecycle configuration: the Read does not ask for them.
+        CallBudget.of("CreateBucket", "GetBucket")
+                .assertSatisfiedBy("Create without tags or lifecycle", proxyClient);
+    }
+
+    @Test
+    public void create_SystemTagsOnly() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_BUCKET_MODEL_NO_TAGS_AND_RULES)
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.createBucket(any(CreateBucketRequest.class)))
+                .thenReturn(CreateBucketResponse.builder().bucketArn(ARN).build());
+        when(sdkClient.putBucketTagging(any(PutBucketTaggingRequest.class)))
+                .thenReturn(PutBucketTaggingResponse.builder().build());
+        when(sdkClient.getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+        when(sdkClient.getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder()
+                        .tagSet(S3Tag.builder().key("aws:cloudformation:stack-name").value("stack").build()).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, propagatedContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // CloudFormation passes system tags with every Create: they are put, so the Read asks for the tag set, and
+        // only the absent lifecycle configuration is known without reading it.
+        CallBudget.of("CreateBucket", "PutBucketTagging", "GetBucket", "GetBucketTagging")
+                .assertSatisfiedBy("Create with system tags only", proxyClient);
+    }
+
+    @Test
+    public void update_TagsOnly() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(BUCKET_MODEL_RULES)
+                .desiredResourceState(BUCKET_COMPLETE_MODEL)
+                .desiredResourceTags(TAG_MAP)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.putBucketTagging(any(PutBucketTaggingRequest.class)))
+                .thenReturn(PutBucketTaggingResponse.builder().build());
+        when(sdkClient.getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+        // The bucket has no tags until the update puts them.
+        when(sdkClient.getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithErrorCode("NoSuchTagSet"));
+        when(sdkClient.getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenReturn(GetBucketLifecycleConfigurationResponse.builder().rules(LIFECYCLE_RULE_LIST).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The tags just put are not read back.
+        CallBudget.of("GetBucket", "GetBucketTagging", "PutBucketTagging", "GetBucket", "GetBucketLifecycleConfiguration")
+                .assertSatisfiedBy("Update tags only", proxyClient);
+    }
+
+    @Test
+    public void update_RemoveTagsAndLifecycle() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(BUCKET_COMPLETE_MODEL)
+                .desiredResourceState(BUCKET_MODEL_NO_TAGS_AND_RULES)
+                .previousResourceTags(TAG_MAP)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+        when(sdkClient.getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG_LIST1).build());
+        when(sdkClient.deleteBucketTagging(any(DeleteBucketTaggingRequest.class)))
+                .thenReturn(DeleteBucketTaggingResponse.builder().build());
+        when(sdkClient.deleteBucketLifecycleConfiguration(any(DeleteBucketLifecycleConfigurationRequest.class)))
+                .thenReturn(DeleteBucketLifecycleConfigurationResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_NO_TAGS_AND_RULES);
+        // What was just deleted is not read back.
+        CallBudget.of("GetBucket", "GetBucketTagging")
+                .then("DeleteBucketTagging", "DeleteBucketLifecycleConfiguration")
+                .then("GetBucket")
+                .assertSatisfiedBy("Update removing tags and lifecycle", proxyClient);
+    }
+
+    @Test
+    public void update_NoChanges() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(BUCKET_COMPLETE_MODEL)
+                .desiredResourceState(BUCKET_COMPLETE_MODEL)
+                .desiredResourceTags(TAG_MAP)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        stubRead();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The tags just compared are not read again.
+        CallBudget.of("GetBucket", "GetBucketTagging", "GetBucket", "GetBucketLifecycleConfiguration")
+                .assertSatisfiedBy("Update without changes", proxyClient);
+    }
+
+    @Test
+    public void read_NoTagsNoLifecycle() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_BUCKET_MODEL_ONLY_ARN)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+        when(sdkClient.getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithErrorCode("NoSuchTagSet"));
+        when(sdkClient.getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetBucket")
+                .thenInAnyOrder("GetBucketTagging", "GetBucketLifecycleConfiguration")
+                .assertSatisfiedBy("Read without tags or lifecycle", proxyClient);
+    }
+
+    @Test
+    public void delete() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_BUCKET_MODEL_ONLY_ARN)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.deleteBucket(any(DeleteBucketRequest.class)))
+                .thenReturn(DeleteBucketResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("DeleteBucket")
+                .assertSatisfiedBy("Delete", proxyClient);
+    }
+
+    @Test
+    public void list() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().outpostId(OUTPOST_ID).build())
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.listRegionalBuckets(any(ListRegionalBucketsRequest.class)))
+                .thenReturn(ListRegionalBucketsResponse.builder().regionalBucketList(Collections.emptyList()).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ListHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("ListRegionalBuckets")
+                .assertSatisfiedBy("List", proxyClient);
+    }
+
+}
@@ -0,0 +1,147 @@
+package software.amazon.s3outposts.bucket;
+
+import org.junit.jupiter.api.BeforeEach;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.DeleteBucketRequest;
+import software.amazon.awssdk.services.s3control.model.DeleteBucketResponse;
+import software.amazon.awssdk.services.s3control.model.GetBucketLifecycleConfigurationRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketResponse;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingResponse;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingResponse;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.awssdk.services.s3control.model.S3Tag;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractConcurrentHandlerTest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.logger;
+
+/**
+ * Runs Read, Update and Delete requests of thousands of buckets at once.
+ */
+public class ConcurrentHandlerTest extends AbstractConcurrentHandlerTest {
+
+    private static final String TAG_KEY = "owner";
+    private static final String UPDATED_KEY = "updated";
+
+    private final ReadHandler readHandler = new ReadHandler();
+    private final UpdateHandler updateHandler = new UpdateHandler();
+    private final DeleteHandler deleteHandler = new DeleteHandler();
+    // PutBucketTagging requests received, by bucket ARN.
+    private final Map<String, PutBucketTaggingRequest> tagged = new ConcurrentHashMap<>();
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<S3ControlClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final S3ControlClient sdkClient = mock(S3ControlClient.class);
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+        when(sdkClient.getBucket(any(GetBucketRequest.class))).thenAnswer(invocation ->
+                GetBucketResponse.builder().bucket(bucketName(invocation.<GetBucketRequest>getArgument(0).bucket())).build());
+        // A bucket has the tags last put on it, or else its owner tag.
+        when(sdkClient.getBucketTagging(any(GetBucketTaggingRequest.class))).thenAnswer(invocation -> {
+            final String bucket = invocation.<GetBucketTaggingRequest>getArgument(0).bucket();
+            return GetBucketTaggingResponse.builder()
+                    .tagSet(tagged.containsKey(bucket)
+                            ? tagged.get(bucket).tagging().tagSet()
+                            : Collections.singletonList(S3Tag.builder().key(TAG_KEY).value(bucket).build()))
+                    .build();
+        });
+        when(sdkClient.getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class))).thenThrow(
+                S3ControlException.builder().statusCode(404)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode(BaseHandlerStd.NO_SUCH_LIFECYCLE_CONFIGURATION).build())
+                        .build());
+        when(sdkClient.putBucketTagging(any(PutBucketTaggingRequest.class))).thenAnswer(invocation -> {
+            final PutBucketTaggingRequest putBucketTaggingRequest = invocation.getArgument(0);
+            tagged.put(putBucketTaggingRequest.bucket(), putBucketTaggingRequest);
+            return PutBucketTaggingResponse.builder().build();
+        });
+        when(sdkClient.deleteBucket(any(DeleteBucketRequest.class))).thenReturn(DeleteBucketResponse.builder().build());
+    }
+
+    @Override
+    protected ProgressEvent<?, ?> run(final int operation, final Logger requestLogger) {
+        final String arn = arn(operation);
+        final ResourceHandlerRequest<ResourceModel> request;
+        final ProgressEvent<ResourceModel, CallbackContext> progress;
+        switch (operation % 3) {
+            case 0:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = readHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel().getArn()).isEqualTo(arn);
+                assertThat(progress.getResourceModel().getBucketName()).isEqualTo(bucketName(arn));
+                assertThat(progress.getResourceModel().getTags()).containsExactly(Tag.builder().key(TAG_KEY).value(arn).build());
+                break;
+            case 1:
+                final Tag tag = Tag.builder().key(TAG_KEY).value(arn).build();
+                final Tag updated = Tag.builder().key(UPDATED_KEY).value("true").build();
+                final Map<String, String> tags = new HashMap<>();
+                tags.put(TAG_KEY, arn);
+                tags.put(UPDATED_KEY, "true");
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(arn).tags(new HashSet<>(Arrays.asList(tag, updated))).build())
+                        .previousResourceState(ResourceModel.builder().arn(arn).tags(Collections.singleton(tag)).build())
+                        .desiredResourceTags(tags)
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = updateHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel().getArn()).isEqualTo(arn);
+                assertThat(progress.getResourceModel().getTags()).containsExactlyInAnyOrder(tag, updated);
+                assertThat(tagged.get(arn).tagging().tagSet()).containsExactlyInAnyOrder(
+                        S3Tag.builder().key(TAG_KEY).value(arn).build(), S3Tag.builder().key(UPDATED_KEY).value("true").build());
+                break;
+            default:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = deleteHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel()).isNull();
+                break;
+        }
+        return progress;
+    }
+
+    @Override
+    protected String arn(final int operation) {
+        return String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/bucket/bucket-%d", REGION, ACCOUNT_ID, OUTPOST_ID, operation);
+    }
+
+    @Override
+    protected void verifyService() {
+        assertThat(tagged).hasSize(OPERATIONS / 3);
+    }
+
+    private static String bucketName(final String arn) {
+        return arn.substring(arn.lastIndexOf('/') + 1);
+    }
+
+}
@@ -12,6 +12,7 @@ import software.amazon.awssdk.services.s3control.model.*;
 import software.amazon.cloudformation.proxy.*;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -165,12 +166,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
-        final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().build();
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
-
-        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
-                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
-
         final ProgressEvent<ResourceModel, CallbackContext> progressEvent =
                 handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -178,7 +173,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(progressEvent.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(progressEvent.getCallbackContext()).isNull();
         assertThat(progressEvent.getCallbackDelaySeconds()).isEqualTo(0);
-        assertThat(progressEvent.getResourceModel()).isEqualTo(BUCKET_MODEL_EMPTY_TAGS);
+        assertThat(progressEvent.getResourceModel()).isEqualTo(BUCKET_MODEL_NO_TAGS_AND_RULES);
         assertThat(progressEvent.getResourceModels()).isNull();
         assertThat(progressEvent.getMessage()).isNull();
         assertThat(progressEvent.getErrorCode()).isNull();
@@ -186,8 +181,8 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
         verify(proxyClient.client(), never()).putBucketTagging(any(PutBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
-        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
-        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -221,9 +216,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().tagSet(Collections.emptyList()).build();
         when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
 
-        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
-                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
-
         final ProgressEvent<ResourceModel, CallbackContext> progressEvent =
                 handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -240,7 +232,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).putBucketTagging(any(PutBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
         verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
-        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -274,9 +266,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().tagSet(S3TAG_LIST1).build();
         when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
 
-        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
-                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
-
         final ProgressEvent<ResourceModel, CallbackContext> progressEvent =
                 handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -293,7 +282,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).putBucketTagging(any(PutBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
         verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
-        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -360,6 +349,154 @@ public class CreateHandlerTest extends AbstractTestBase {
 
     }
 
+    /**
+     * Happy Path - BucketAlreadyOwnedByYou on a retry of a Create whose CreateBucket went through
+     */
+    @Test
+    public void handleRequest_AlreadyOwnedByYou_Retry() {
+
+        final ResourceModel model = ResourceModel.builder().bucketName(BUCKET_NAME).outpostId(OUTPOST_ID).build();
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsAccountId(ACCOUNT_ID)
+                .region(REGION)
+                .clientRequestToken("token")
+                .build();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setClientRequestToken("token");
+        callbackContext.setCreateRequested(true);
+        callbackContext.setCreateStartedAt(Instant.parse("2020-01-01T10:00:00.500Z").toEpochMilli());
+        callbackContext.setPropagated(true);
+
+        when(proxyClient.client().createBucket(any(CreateBucketRequest.class)))
+                .thenThrow(BucketAlreadyOwnedByYouException.class);
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).creationDate(Instant.parse("2020-01-01T10:00:00Z")).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(ARN);
+        assertThat(progress.getErrorCode()).isNull();
+
+        verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
+        verify(proxyClient.client(), times(2)).getBucket(any(GetBucketRequest.class));
+        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Error - BucketAlreadyOwnedByYou on a retry, for a bucket created before this Create started
+     */
+    @Test
+    public void handleRequest_AlreadyOwnedByYou_Retry_OlderBucket() {
+
+        final ResourceModel model = ResourceModel.builder().bucketName(BUCKET_NAME).outpostId(OUTPOST_ID).build();
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsAccountId(ACCOUNT_ID)
+                .region(REGION)
+                .clientRequestToken("token")
+                .build();
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setClientRequestToken("token");
+        callbackContext.setCreateRequested(true);
+        callbackContext.setCreateStartedAt(Instant.parse("2020-01-01T10:00:00Z").toEpochMilli());
+        callbackContext.setPropagated(true);
+
+        when(proxyClient.client().createBucket(any(CreateBucketRequest.class)))
+                .thenThrow(BucketAlreadyOwnedByYouException.class);
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).creationDate(Instant.parse("2020-01-01T09:59:59Z")).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(progress.getResourceModel().getArn()).isNull();
+
+        verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
+        verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - Re-invocation after a completed CreateBucket resumes without calling it again
+     */
+    @Test
+    public void handleRequest_ResumeAfterCreateBucket() {
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setClientRequestToken("token");
+        callbackContext.getCompletedStages().add("Create::CreateBucket");
+        callbackContext.setStageOutputs(ResourceModel.builder().arn(ARN).build());
+        callbackContext.setPropagated(true);
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().bucketName(BUCKET_NAME).outpostId(OUTPOST_ID).build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("token")
+                .build();
+
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class)))
+                .thenReturn(GetBucketResponse.builder().bucket(BUCKET_NAME).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(ARN);
+
+        verify(proxyClient.client(), never()).createBucket(any(CreateBucketRequest.class));
+        verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
+        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - Progress recorded for another ClientRequestToken is discarded
+     */
+    @Test
+    public void handleRequest_OtherClientRequestToken() {
+
+        final CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setClientRequestToken("other");
+        callbackContext.getCompletedStages().add("Create::CreateBucket");
+        callbackContext.setStageOutputs(ResourceModel.builder().arn(ARN).build());
+        callbackContext.setCreateRequested(true);
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().bucketName(BUCKET_NAME).outpostId(OUTPOST_ID).build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("token")
+                .build();
+
+        when(proxyClient.client().createBucket(any(CreateBucketRequest.class)))
+                .thenThrow(BucketAlreadyOwnedByYouException.class);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(progress.getCallbackContext().getClientRequestToken()).isEqualTo("token");
+
+        verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
     /**
      * Error - InvalidRequest - 400
      */
@@ -713,9 +850,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
         when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
 
-        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
-                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
-
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
@@ -737,7 +871,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).putBucketTagging(any(PutBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
         verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
-        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -769,9 +903,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
-                .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
-
         final GetBucketLifecycleConfigurationResponse getBucketLifecycleConfigurationResponse =
                 GetBucketLifecycleConfigurationResponse.builder().rules(Collections.emptyList()).build();
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
@@ -792,7 +923,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
         verify(proxyClient.client()).putBucketLifecycleConfiguration(any(PutBucketLifecycleConfigurationRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
-        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
@@ -825,9 +956,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
-                .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
-
         final GetBucketLifecycleConfigurationResponse getBucketLifecycleConfigurationResponse =
                 GetBucketLifecycleConfigurationResponse.builder().rules(Collections.emptyList()).build();
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
@@ -848,7 +976,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
         verify(proxyClient.client()).putBucketLifecycleConfiguration(any(PutBucketLifecycleConfigurationRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
-        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
@@ -881,9 +1009,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
-                .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
-
         final GetBucketLifecycleConfigurationResponse getBucketLifecycleConfigurationResponse =
                 GetBucketLifecycleConfigurationResponse.builder().rules(LIFECYCLE_RULE_LIST).build();
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
@@ -904,7 +1029,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client()).createBucket(any(CreateBucketRequest.class));
         verify(proxyClient.client()).putBucketLifecycleConfiguration(any(PutBucketLifecycleConfigurationRequest.class));
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
-        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
         verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
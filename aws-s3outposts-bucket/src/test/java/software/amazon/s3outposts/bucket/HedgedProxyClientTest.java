@@ -0,0 +1,43 @@
+package software.amazon.s3outposts.bucket;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetBucketRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketResponse;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingResponse;
+import software.amazon.s3outposts.shared.AbstractHedgedProxyClientTest;
+
+import static software.amazon.s3outposts.bucket.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.ARN;
+import static software.amazon.s3outposts.bucket.AbstractTestBase.BUCKET_NAME;
+
+public class HedgedProxyClientTest
+        extends AbstractHedgedProxyClientTest<S3ControlClient, GetBucketRequest, GetBucketResponse> {
+
+    public HedgedProxyClientTest() {
+        super(ResourceModel.TYPE_NAME, BaseHandlerStd.IDEMPOTENT_READS);
+    }
+
+    @Override
+    protected GetBucketRequest request() {
+        return GetBucketRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build();
+    }
+
+    @Override
+    protected GetBucketResponse response() {
+        return GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+    }
+
+    @Override
+    protected AwsRequest write() {
+        return PutBucketTaggingRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build();
+    }
+
+    @Override
+    protected AwsResponse writeResponse() {
+        return PutBucketTaggingResponse.builder().build();
+    }
+
+}
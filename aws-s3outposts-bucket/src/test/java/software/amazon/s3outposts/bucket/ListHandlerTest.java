@@ -7,15 +7,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetBucketLifecycleConfigurationRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketLifecycleConfigurationResponse;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingResponse;
 import software.amazon.awssdk.services.s3control.model.InternalServiceException;
 import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsRequest;
 import software.amazon.awssdk.services.s3control.model.ListRegionalBucketsResponse;
 import software.amazon.awssdk.services.s3control.model.RegionalBucket;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.awssdk.services.s3control.model.S3Tag;
+import software.amazon.awssdk.services.s3control.model.TooManyRequestsException;
 import software.amazon.cloudformation.proxy.*;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.shared.ListPager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -166,4 +182,246 @@ public class ListHandlerTest extends AbstractTestBase {
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
+
+    private RegionalBucket regionalBucket(final String outpostId, final String bucketName) {
+        return RegionalBucket.builder()
+                .bucket(bucketName)
+                .bucketArn(String.format("arn:aws:s3-outposts:us-east-1:12345789012:outpost/%s/bucket/%s", outpostId, bucketName))
+                .creationDate(Instant.now())
+                .outpostId(outpostId)
+                .publicAccessBlockEnabled(true)
+                .build();
+    }
+
+    @Test
+    public void handleRequest_AccountWide_MergesOutpostsAndResumes() {
+
+        handler = new ListHandler(() -> Arrays.asList("op-22222222222222", "op-11111111111111"));
+        final List<Integer> maxResults = Collections.synchronizedList(new ArrayList<>());
+        when(proxyClient.client().listRegionalBuckets(any(ListRegionalBucketsRequest.class))).thenAnswer(invocation -> {
+            final ListRegionalBucketsRequest listRequest = invocation.getArgument(0);
+            maxResults.add(listRequest.maxResults());
+            if (listRequest.outpostId().equals("op-11111111111111")) {
+                return listRequest.nextToken() == null ?
+                        ListRegionalBucketsResponse.builder()
+                                .regionalBucketList(regionalBucket(listRequest.outpostId(), "bucket1"))
+                                .nextToken("op1-page2")
+                                .build() :
+                        ListRegionalBucketsResponse.builder()
+                                .regionalBucketList(regionalBucket(listRequest.outpostId(), "bucket3"))
+                                .build();
+            }
+            return ListRegionalBucketsResponse.builder()
+                    .regionalBucketList(regionalBucket(listRequest.outpostId(), "bucket2"))
+                    .build();
+        });
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .awsAccountId("12345789012")
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(first.getResourceModels()).extracting(ResourceModel::getBucketName).containsExactly("bucket1", "bucket2");
+        assertThat(first.getResourceModels()).extracting(ResourceModel::getOutpostId)
+                .containsExactly("op-11111111111111", "op-22222222222222");
+        assertThat(first.getNextToken()).isNotNull();
+
+        // Only the outpost with a nextToken is listed again, the ones listed to the end are not.
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .awsAccountId("12345789012")
+                .nextToken(first.getNextToken())
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(second.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(second.getResourceModels()).extracting(ResourceModel::getBucketName).containsExactly("bucket3");
+        assertThat(second.getNextToken()).isNull();
+        // The page size is split between the outposts listed.
+        assertThat(maxResults).containsExactlyInAnyOrder(500, 500, 1000);
+
+        verify(proxyClient.client(), times(3)).listRegionalBuckets(any(ListRegionalBucketsRequest.class));
+
+    }
+
+    @Test
+    public void handleRequest_AccountWide_Exception() {
+
+        handler = new ListHandler(() -> Arrays.asList("op-11111111111111", "op-22222222222222"));
+        when(proxyClient.client().listRegionalBuckets(any(ListRegionalBucketsRequest.class)))
+                .thenReturn(ListRegionalBucketsResponse.builder().build())
+                .thenThrow(InternalServiceException.class);
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(response.getResourceModels()).isNull();
+
+        verify(proxyClient.client(), times(2)).listRegionalBuckets(any(ListRegionalBucketsRequest.class));
+
+    }
+
+    @Test
+    public void handleRequest_AccountWide_InvalidNextToken() {
+
+        handler = new ListHandler(() -> Arrays.asList("op-11111111111111"));
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken("fakeNextToken")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+
+    }
+
+    @Test
+    public void handleRequest_Hydrated_ReadsTagsAndLifecycle() {
+
+        handler = new ListHandler(Collections::emptyList, () -> true);
+        when(proxyClient.client().listRegionalBuckets(any(ListRegionalBucketsRequest.class))).thenReturn(
+                ListRegionalBucketsResponse.builder()
+                        .regionalBucketList(Lists.newArrayList(regionalBucket1, regionalBucket2))
+                        .build());
+        // bucket1 has tags, bucket2 has none
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenAnswer(invocation -> {
+            final GetBucketTaggingRequest taggingRequest = invocation.getArgument(0);
+            if (taggingRequest.bucket().equals(model2.getArn())) {
+                throw S3ControlException.builder().statusCode(404)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build();
+            }
+            return GetBucketTaggingResponse.builder().tagSet(S3Tag.builder().key("k").value("v").build()).build();
+        });
+        // bucket2 has no lifecycle configuration, and GetBucketLifecycleConfiguration is throttled once
+        final AtomicInteger lifecycleCalls = new AtomicInteger();
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class))).thenAnswer(invocation -> {
+            final GetBucketLifecycleConfigurationRequest lifecycleRequest = invocation.getArgument(0);
+            if (lifecycleCalls.incrementAndGet() == 1) {
+                throw TooManyRequestsException.builder().statusCode(429).build();
+            }
+            if (lifecycleRequest.bucket().equals(model2.getArn())) {
+                throw S3ControlException.builder().statusCode(404).build();
+            }
+            return GetBucketLifecycleConfigurationResponse.builder().build();
+        });
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQUEST_MODEL)
+                .awsAccountId("12345789012")
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).extracting(ResourceModel::getBucketName).containsExactly("bucket1", "bucket2");
+        final ResourceModel hydrated1 = response.getResourceModels().get(0);
+        final ResourceModel hydrated2 = response.getResourceModels().get(1);
+        assertThat(hydrated1.getTags()).containsExactly(Tag.builder().key("k").value("v").build());
+        assertThat(hydrated1.getLifecycleConfiguration()).isNotNull();
+        assertThat(hydrated2.getTags()).isNull();
+        assertThat(hydrated2.getLifecycleConfiguration()).isNull();
+
+        verify(proxyClient.client()).listRegionalBuckets(any(ListRegionalBucketsRequest.class));
+        verify(proxyClient.client(), times(2)).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), times(3)).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    @Test
+    public void handleRequest_Hydrated_MultiplePages_StaysWithinTheBudget() throws Exception {
+
+        handler = new ListHandler(Collections::emptyList, () -> true);
+        // Every page is full and has a next one.
+        final List<Integer> maxResults = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger buckets = new AtomicInteger();
+        when(proxyClient.client().listRegionalBuckets(any(ListRegionalBucketsRequest.class))).thenAnswer(invocation -> {
+            final ListRegionalBucketsRequest listRequest = invocation.getArgument(0);
+            maxResults.add(listRequest.maxResults());
+            final List<RegionalBucket> page = new ArrayList<>();
+            for (int i = 0; i < listRequest.maxResults(); i++) {
+                page.add(regionalBucket(OUTPOST_ID, "bucket" + buckets.incrementAndGet()));
+            }
+            return ListRegionalBucketsResponse.builder().regionalBucketList(page).nextToken("page" + maxResults.size()).build();
+        });
+        // Every bucket has 50 tags of 256 characters, so a hydrated model is far larger than a listed one.
+        final char[] value = new char[256];
+        Arrays.fill(value, 'v');
+        final List<S3Tag> tagSet = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tagSet.add(S3Tag.builder().key("key" + i).value(new String(value)).build());
+        }
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(tagSet).build());
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenReturn(GetBucketLifecycleConfigurationResponse.builder().build());
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQUEST_MODEL)
+                .awsAccountId("12345789012")
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNotNull();
+        final List<ResourceModel> resourceModels = response.getResourceModels();
+        assertThat(resourceModels).allMatch(resourceModel -> resourceModel.getTags().size() == 50);
+        assertThat(resourceModels.size()).isGreaterThan(ListPager.FIRST_HYDRATED_PAGE).isLessThanOrEqualTo(ListPager.MAX_HYDRATED_MODELS);
+        assertThat(new Serializer().serialize(resourceModels).getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(ListPager.RESPONSE_BUDGET_BYTES);
+        // The first page is small, and every bucket listed is returned, so no read went to a bucket left out.
+        assertThat(maxResults.get(0)).isEqualTo(ListPager.FIRST_HYDRATED_PAGE);
+        assertThat(maxResults.stream().mapToInt(Integer::intValue).sum()).isEqualTo(resourceModels.size());
+
+        verify(proxyClient.client(), times(maxResults.size())).listRegionalBuckets(any(ListRegionalBucketsRequest.class));
+        verify(proxyClient.client(), times(resourceModels.size())).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), times(resourceModels.size())).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    @Test
+    public void handleRequest_Hydrated_ReadFailure() {
+
+        handler = new ListHandler(Collections::emptyList, () -> true);
+        when(proxyClient.client().listRegionalBuckets(any(ListRegionalBucketsRequest.class))).thenReturn(
+                ListRegionalBucketsResponse.builder()
+                        .regionalBucketList(Lists.newArrayList(regionalBucket1))
+                        .build());
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenThrow(S3ControlException.builder().statusCode(403)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("AccessDenied").build()).build());
+        // The other reads of the page may be cancelled before they run.
+        lenient().when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenReturn(GetBucketLifecycleConfigurationResponse.builder().build());
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQUEST_MODEL)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(response.getResourceModels()).isNull();
+
+        verify(proxyClient.client()).listRegionalBuckets(any(ListRegionalBucketsRequest.class));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), atMost(1)).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
 }
@@ -0,0 +1,25 @@
+package software.amazon.s3outposts.bucket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimerTest {
+
+    @Test
+    public void prime_ExercisesEveryStep() {
+        assertThat(Primer.prime()).isEmpty();
+    }
+
+    @Test
+    public void prime_LeavesSharedTagWritesAlone() {
+        final long written = UpdateHandler.TagWrites.SHARED.getWritten();
+        final long skipped = UpdateHandler.TagWrites.SHARED.getSkipped();
+
+        assertThat(Primer.prime()).isEmpty();
+
+        assertThat(UpdateHandler.TagWrites.SHARED.getWritten()).isEqualTo(written);
+        assertThat(UpdateHandler.TagWrites.SHARED.getSkipped()).isEqualTo(skipped);
+    }
+
+}
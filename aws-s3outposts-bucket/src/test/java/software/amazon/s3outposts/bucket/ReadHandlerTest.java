@@ -257,6 +257,10 @@ public class ReadHandlerTest extends AbstractTestBase {
         when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
                 .thenThrow(TooManyTagsException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("TooManyTags").build()).build());
 
+        // Read at the same time as the tags.
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
         final ProgressEvent<ResourceModel, CallbackContext> progress =
                 handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
@@ -266,9 +270,12 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(progress.getResourceModels()).isNull();
         assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceLimitExceeded);
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(ARN);
+        assertThat(progress.getResourceModel().getBucketName()).isEqualTo(BUCKET_NAME);
 
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
         verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -411,8 +418,9 @@ public class ReadHandlerTest extends AbstractTestBase {
         final GetBucketLifecycleConfigurationResponse getBucketLifecycleConfigurationResponse = GetBucketLifecycleConfigurationResponse.builder().rules(LIFECYCLE_RULE_LIST).build();
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class))).thenReturn(getBucketLifecycleConfigurationResponse);
 
+        final CallbackContext callbackContext = new CallbackContext();
         final ProgressEvent<ResourceModel, CallbackContext> progress =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
 
         assertThat(progress).isNotNull();
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -422,6 +430,9 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getResourceModels()).isNull();
         assertThat(progress.getMessage()).isNull();
         assertThat(progress.getErrorCode()).isNull();
+        // The lifecycle rules and the tag set are not memoized in the context.
+        assertThat(callbackContext.callGraphs().keySet())
+                .noneMatch(key -> key.contains("GetBucketLifecycleConfiguration") || key.contains("GetBucketTagging"));
 
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
         verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
@@ -0,0 +1,113 @@
+package software.amazon.s3outposts.bucket;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class RequestValidatorTest extends AbstractTestBase {
+
+    private static final String VALID_ARN =
+            String.format("arn:aws:s3-outposts:%s:123456789012:outpost/%s/bucket/%s", REGION, OUTPOST_ID, BUCKET_NAME);
+    // Invalid rule: expires both on a date and after a number of days
+    private static final Rule BOTH_EXPIRATIONS = Rule.builder()
+            .expirationDate("2020-02-25T00:00:00Z")
+            .expirationInDays(4)
+            .status("Enabled")
+            .build();
+    // Invalid rule: an AndOperator with a single tag and no prefix
+    private static final Rule ONE_TAG_AND = Rule.builder()
+            .expirationInDays(4)
+            .filter(Filter.builder().andOperator(
+                    FilterAndOperator.builder().tags(new HashSet<>(Arrays.asList(FILTER_TAG1))).build())
+                    .build())
+            .status("Enabled")
+            .build();
+
+    @Test
+    public void validate_ValidModels() {
+        assertThat(RequestValidator.validate(REQ_BUCKET_COMPLETE_MODEL)).isEmpty();
+        assertThat(RequestValidator.validate(BUCKET_COMPLETE_MODEL)).isEmpty();
+        assertThat(RequestValidator.validate(REQ_BUCKET_MODEL_NO_TAGS_AND_RULES)).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(ResourceModel.builder().arn(VALID_ARN).build())).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(REQ_BUCKET_MODEL_NO_ARN)).isEmpty();
+    }
+
+    @Test
+    public void validate_ServiceLimits() {
+        final Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i <= RequestValidator.MAX_TAGS; i++) {
+            tags.add(Tag.builder().key("key" + i).value("value").build());
+        }
+        final ResourceModel model = ResourceModel.builder()
+                .arn(ARN)
+                .tags(tags)
+                .lifecycleConfiguration(LifecycleConfiguration.builder().rules(new HashSet<>(Arrays.asList(ONE_TAG_AND))).build())
+                .build();
+
+        assertThat(RequestValidator.validate(model)).containsExactly(
+                "/Tags: 51 tags, at most 50 are allowed",
+                "/LifecycleConfiguration/Rules/0/Filter/AndOperator: needs a Prefix and a tag, or at least 2 tags");
+    }
+
+    @Test
+    public void validate_BothExpirations() {
+        final ResourceModel model = ResourceModel.builder()
+                .bucketName(BUCKET_NAME)
+                .outpostId(OUTPOST_ID)
+                .lifecycleConfiguration(LifecycleConfiguration.builder().rules(new HashSet<>(Arrays.asList(BOTH_EXPIRATIONS))).build())
+                .build();
+
+        assertThat(RequestValidator.validate(model)).containsExactly(
+                "/LifecycleConfiguration/Rules/0: ExpirationDate and ExpirationInDays cannot both be set");
+    }
+
+    @Test
+    public void validateIdentifier_MalformedArn() {
+        final ResourceModel model = ResourceModel.builder()
+                .arn(String.format("arn:aws:s3-outposts:%s:123456789012:bucket/%s", REGION, BUCKET_NAME))
+                .build();
+
+        assertThat(RequestValidator.validateIdentifier(model)).isNotEmpty().allMatch(violation -> violation.startsWith("#/Arn: "));
+    }
+
+    @Test
+    public void handleRequest_FailsBeforeAnyCall() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        final ResourceModel invalid = ResourceModel.builder()
+                .bucketName(BUCKET_NAME)
+                .outpostId(OUTPOST_ID)
+                .lifecycleConfiguration(LifecycleConfiguration.builder().rules(new HashSet<>(Arrays.asList(BOTH_EXPIRATIONS))).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = new CreateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(invalid).awsAccountId(ACCOUNT_ID).build(),
+                null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> read = new ReadHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(BUCKET_NAME).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build(),
+                null, logger);
+
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(created.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(created.getMessage()).isEqualTo(
+                "Invalid request: /LifecycleConfiguration/Rules/0: ExpirationDate and ExpirationInDays cannot both be set.");
+        assertThat(read.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(read.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(read.getMessage()).startsWith("Invalid request: #/Arn: ");
+        verifyNoInteractions(proxy);
+    }
+
+}
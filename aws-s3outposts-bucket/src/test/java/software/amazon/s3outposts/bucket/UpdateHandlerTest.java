@@ -128,8 +128,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
         when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
 
-        final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().tagSet(S3TAG_LIST1).build();
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
 
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
                 .thenThrow(constructS3ControlExceptionWithStatusCode(404));
@@ -169,12 +169,12 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
+        final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().tagSet(S3TAG_LIST1).build();
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
+
         final DeleteBucketTaggingResponse deleteBucketTaggingResponse = DeleteBucketTaggingResponse.builder().build();
         when(proxyClient.client().deleteBucketTagging(any(DeleteBucketTaggingRequest.class))).thenReturn(deleteBucketTaggingResponse);
 
-        final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().build();
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
-
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
                 .thenThrow(constructS3ControlExceptionWithStatusCode(404));
 
@@ -185,7 +185,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(progress.getCallbackContext()).isNull();
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
-        assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_EMPTY_TAGS);
+        assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_NO_TAGS_AND_RULES);
         assertThat(progress.getResourceModels()).isNull();
         assertThat(progress.getMessage()).isNull();
         assertThat(progress.getErrorCode()).isNull();
@@ -239,6 +239,47 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
     }
 
+    /**
+     * Happy Path - same tags provided, the tags on the bucket were changed outside of CloudFormation and are written back
+     */
+    @Test
+    public void handleRequest_Tagging_LiveTagsChanged() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_MODEL_WITH_TAGS)
+                .previousResourceState(BUCKET_MODEL_WITH_TAGS)
+                .desiredResourceTags(TAG_MAP)
+                .previousResourceTags(TAG_MAP)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
+
+        final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
+        when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
+
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG1).build());
+
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_WITH_TAGS);
+
+        verify(proxyClient.client()).putBucketTagging(argThat((PutBucketTaggingRequest putBucketTaggingRequest) ->
+                new HashSet<>(putBucketTaggingRequest.tagging().tagSet()).equals(S3TAG_LIST1)));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
     /**
      * Happy Path - From no tags to resource tags + system tags
      */
@@ -248,16 +289,12 @@ public class UpdateHandlerTest extends AbstractTestBase {
         Tag sysTag1 = Tag.builder().key("aws:key1").value("value1").build();
         Tag sysTag2 = Tag.builder().key("AWS:key2").value(ARN).build();
 
-        S3Tag sysS3Tag1 = S3Tag.builder().key("aws:key1").value("value1").build();
-        S3Tag sysS3Tag2 = S3Tag.builder().key("AWS:key2").value(ARN).build();
-
         Set<Tag> allTagSet = new HashSet<Tag>() {{
             add(TAG1);
             add(TAG2);
             add(sysTag1);
             add(sysTag2);
         }};
-        List<S3Tag> allS3TagList = Arrays.asList(S3TAG1, S3TAG2, sysS3Tag1, sysS3Tag2);
 
         Map<String, String> sysTagMap = new HashMap<String, String>() {
             {
@@ -287,8 +324,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
         when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
 
-        final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder().tagSet(allS3TagList).build();
-        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG_LIST1).build());
 
         when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
                 .thenThrow(constructS3ControlExceptionWithStatusCode(404));
@@ -313,6 +350,206 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
     }
 
+    /**
+     * Happy Path - tags moved from the resource to the stack, the effective tag set is unchanged
+     */
+    @Test
+    public void handleRequest_Tagging_EffectiveTagsUnchanged() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_MODEL_NO_TAGS_AND_RULES)
+                .previousResourceState(BUCKET_MODEL_WITH_TAGS)
+                .desiredResourceTags(TAG_MAP)
+                .previousResourceTags(TAG_MAP)
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .previousSystemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
+
+        final GetBucketTaggingResponse getBucketTaggingResponse = GetBucketTaggingResponse.builder()
+                .tagSet(S3TAG1, S3TAG2, S3Tag.builder().key("aws:cloudformation:stack-name").value("stack").build()).build();
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class))).thenReturn(getBucketTaggingResponse);
+
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
+        final long skipped = UpdateHandler.TagWrites.SHARED.getSkipped();
+        final long written = UpdateHandler.TagWrites.SHARED.getWritten();
+        final List<String> lines = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, lines::add);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_WITH_TAGS);
+        assertThat(UpdateHandler.TagWrites.SHARED.getSkipped()).isEqualTo(skipped + 1);
+        assertThat(UpdateHandler.TagWrites.SHARED.getWritten()).isEqualTo(written);
+        // Published in the embedded metric format.
+        assertThat(lines).anyMatch(line -> line.startsWith("{\"_aws\"")
+                && line.contains("\"" + UpdateHandler.TagWrites.WRITTEN + "\":0")
+                && line.contains("\"" + UpdateHandler.TagWrites.SKIPPED + "\":1"));
+
+        verify(proxyClient.client(), atLeast(2)).getBucket(any(GetBucketRequest.class));
+        verify(proxyClient.client(), never()).putBucketTagging(any(PutBucketTaggingRequest.class));
+        verify(proxyClient.client(), never()).deleteBucketTagging(any(DeleteBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - same resource tags, changed system tags
+     */
+    @Test
+    public void handleRequest_Tagging_SystemTagsChanged() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_MODEL_WITH_TAGS)
+                .previousResourceState(BUCKET_MODEL_WITH_TAGS)
+                .desiredResourceTags(TAG_MAP)
+                .previousResourceTags(TAG_MAP)
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "renamed"))
+                .previousSystemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
+
+        final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
+        when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
+
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG1, S3TAG2, S3Tag.builder().key("aws:cloudformation:stack-name").value("stack").build()).build());
+
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
+        final long written = UpdateHandler.TagWrites.SHARED.getWritten();
+        final List<String> lines = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, lines::add);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(UpdateHandler.TagWrites.SHARED.getWritten()).isEqualTo(written + 1);
+        assertThat(lines).anyMatch(line -> line.startsWith("{\"_aws\"")
+                && line.contains("\"" + UpdateHandler.TagWrites.WRITTEN + "\":1")
+                && line.contains("\"" + UpdateHandler.TagWrites.SKIPPED + "\":0"));
+
+        verify(proxyClient.client(), atLeast(2)).getBucket(any(GetBucketRequest.class));
+        verify(proxyClient.client()).putBucketTagging(argThat((PutBucketTaggingRequest putBucketTaggingRequest) ->
+                putBucketTaggingRequest.tagging().tagSet().size() == TAG_MAP.size() + 1
+                        && putBucketTaggingRequest.tagging().tagSet().contains(
+                        S3Tag.builder().key("aws:cloudformation:stack-name").value("renamed").build())));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - from tags to no tags, the system tags are written rather than all tags deleted
+     */
+    @Test
+    public void handleRequest_Tagging_TagsToSystemTagsOnly() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_MODEL_NO_TAGS_AND_RULES)
+                .previousResourceState(BUCKET_MODEL_WITH_TAGS)
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .previousSystemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
+
+        final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
+        when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
+
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG1, S3TAG2, S3Tag.builder().key("aws:cloudformation:stack-name").value("stack").build()).build());
+
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        verify(proxyClient.client(), atLeast(2)).getBucket(any(GetBucketRequest.class));
+        verify(proxyClient.client()).putBucketTagging(argThat((PutBucketTaggingRequest putBucketTaggingRequest) ->
+                putBucketTaggingRequest.tagging().tagSet().size() == 1));
+        verify(proxyClient.client(), never()).deleteBucketTagging(any(DeleteBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - no resource tags passed, the tags of the model are written with the system tags and compared as written
+     */
+    @Test
+    public void handleRequest_Tagging_ModelTagsWithSystemTags() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_MODEL_WITH_TAGS)
+                .previousResourceState(BUCKET_MODEL_WITH_TAGS)
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .previousSystemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+        when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
+
+        final PutBucketTaggingResponse putBucketTaggingResponse = PutBucketTaggingResponse.builder().build();
+        when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class))).thenReturn(putBucketTaggingResponse);
+
+        final GetBucketTaggingResponse writtenTags = GetBucketTaggingResponse.builder()
+                .tagSet(S3TAG1, S3TAG2, S3Tag.builder().key("aws:cloudformation:stack-name").value("stack").build()).build();
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenReturn(GetBucketTaggingResponse.builder().tagSet(S3TAG1, S3TAG2).build(), writtenTags);
+
+        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
+                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
+
+        final long written = UpdateHandler.TagWrites.SHARED.getWritten();
+        final long skipped = UpdateHandler.TagWrites.SHARED.getSkipped();
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(UpdateHandler.TagWrites.SHARED.getWritten()).isEqualTo(written + 1);
+
+        verify(proxyClient.client()).putBucketTagging(argThat((PutBucketTaggingRequest putBucketTaggingRequest) ->
+                new HashSet<>(putBucketTaggingRequest.tagging().tagSet()).equals(new HashSet<>(writtenTags.tagSet()))));
+
+        // The same update again finds the tags it wrote and leaves them alone.
+        final ProgressEvent<ResourceModel, CallbackContext> again =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(again.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(UpdateHandler.TagWrites.SHARED.getWritten()).isEqualTo(written + 1);
+        assertThat(UpdateHandler.TagWrites.SHARED.getSkipped()).isEqualTo(skipped + 1);
+
+        verify(proxyClient.client(), atLeast(4)).getBucket(any(GetBucketRequest.class));
+        verify(proxyClient.client()).putBucketTagging(any(PutBucketTaggingRequest.class));
+        verify(proxyClient.client(), times(2)).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client(), times(2)).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
     /**
      * Error Path - No changes, GetBucket returns S3ControlException with a 404 status code
      */
@@ -394,15 +631,21 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
+
         when(proxyClient.client().putBucketTagging(any(PutBucketTaggingRequest.class)))
                 .thenThrow(TooManyTagsException.class);
 
+        final long written = UpdateHandler.TagWrites.SHARED.getWritten();
         final ProgressEvent<ResourceModel, CallbackContext> progress =
                 handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertThat(progress).isNotNull();
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
         assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceLimitExceeded);
+        // A failed write is not counted as written.
+        assertThat(UpdateHandler.TagWrites.SHARED.getWritten()).isEqualTo(written);
         assertThat(progress.getCallbackContext()).isEqualToComparingOnlyGivenFields(new CallbackContext());
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(progress.getResourceModel()).isEqualTo(BUCKET_MODEL_WITH_TAGS);
@@ -410,7 +653,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         verify(proxyClient.client()).getBucket(any(GetBucketRequest.class));
         verify(proxyClient.client()).putBucketTagging(any(PutBucketTaggingRequest.class));
-        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -523,9 +766,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
         when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
                 .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
 
-        when(proxyClient.client().getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class)))
-                .thenThrow(constructS3ControlExceptionWithStatusCode(404));
-
         final ProgressEvent<ResourceModel, CallbackContext> progress =
                 handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
@@ -543,7 +783,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client(), never()).putBucketLifecycleConfiguration(any(PutBucketLifecycleConfigurationRequest.class));
         verify(proxyClient.client()).deleteBucketLifecycleConfiguration(any(DeleteBucketLifecycleConfigurationRequest.class));
         verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
-        verify(proxyClient.client()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
+        verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
@@ -648,6 +888,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final GetBucketResponse getBucketResponse = GetBucketResponse.builder().bucket(BUCKET_NAME).build();
         when(proxyClient.client().getBucket(any(GetBucketRequest.class))).thenReturn(getBucketResponse);
 
+        when(proxyClient.client().getBucketTagging(any(GetBucketTaggingRequest.class)))
+                .thenThrow(S3ControlException.builder().awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchTagSet").build()).build());
+
         when(proxyClient.client().deleteBucketLifecycleConfiguration(any(DeleteBucketLifecycleConfigurationRequest.class)))
                 .thenThrow(InternalServiceException.class);
 
@@ -666,7 +909,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         verify(proxyClient.client(), never()).putBucketTagging(any(PutBucketTaggingRequest.class));
         verify(proxyClient.client(), never()).putBucketLifecycleConfiguration(any(PutBucketLifecycleConfigurationRequest.class));
         verify(proxyClient.client()).deleteBucketLifecycleConfiguration(any(DeleteBucketLifecycleConfigurationRequest.class));
-        verify(proxyClient.client(), never()).getBucketTagging(any(GetBucketTaggingRequest.class));
+        verify(proxyClient.client()).getBucketTagging(any(GetBucketTaggingRequest.class));
         verify(proxyClient.client(), never()).getBucketLifecycleConfiguration(any(GetBucketLifecycleConfigurationRequest.class));
         verify(sdkClient, atLeastOnce()).serviceName();
 
@@ -23,8 +23,6 @@ public class ArnFields {
             return new ArnFields();
         }
 
-        System.out.println(String.format("arn is %s", arn));
-
         // An arn for S3Outposts service looks like:
         // arn:aws:s3-outposts:us-west-2:12345:outpost/op-12345/bucket/my-bucket
 
@@ -1,15 +1,33 @@
 package software.amazon.s3outposts.bucketpolicy;
 
+import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.services.s3control.model.*;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.CircuitBreakerProxyClient;
+import software.amazon.s3outposts.shared.ContextSizePolicy;
+import software.amazon.s3outposts.shared.HedgedProxyClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
+    /**
+     * The idempotent reads of every Read, which a {@link software.amazon.s3outposts.shared.SingleFlightProxyClient} may
+     * share between concurrent invocations and a {@link HedgedProxyClient} may send twice.
+     */
+    public static final Set<Class<? extends AwsRequest>> IDEMPOTENT_READS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(GetBucketPolicyRequest.class)));
+
     // Error Codes
     protected static final String ACCESS_DENIED_ERROR_CODE = "AccessDenied";
     protected static final String NO_SUCH_BUCKET_ERROR_CODE = "NoSuchBucket";
@@ -29,13 +47,22 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-        return handleRequest(
+        final ResourceModel model = request.getDesiredResourceState();
+        // A model the service would refuse fails here, at the entry point the plugin calls, before any call to the service.
+        final List<String> violations = model != null ? validate(model) : Collections.emptyList();
+        if (!violations.isEmpty()) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, RequestValidator.message(violations));
+        }
+        final String circuit = CircuitBreakerProxyClient.key(request.getAwsAccountId(), request.getRegion(),
+                model != null ? model.getBucket() : null);
+        return ContextSizePolicy.apply(handleRequest(
                 proxy,
                 request,
                 callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+                HedgedProxyClient.of(CircuitBreakerProxyClient.of(proxy.newProxy(ClientBuilder::getClient),
+                        ResourceModel.TYPE_NAME, circuit, logger), ResourceModel.TYPE_NAME, IDEMPOTENT_READS, logger),
                 logger
-        );
+        ), ResourceModel.TYPE_NAME, logger);
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -45,6 +72,13 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger);
 
+    /**
+     * @return The violations of a model the service would refuse, checked by {@link RequestValidator}; none by default
+     */
+    protected List<String> validate(final ResourceModel model) {
+        return Collections.emptyList();
+    }
+
     /**
      * Common error handling function. It is used by all handlers.
      *
@@ -84,10 +118,50 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                     ex = new CfnGeneralServiceException(e);
                     return ProgressEvent.failed(resourceModel, callbackContext, ex.getErrorCode(), ex.getMessage());
             }
+        } catch (CircuitBreakerProxyClient.OpenException e) {
+            return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.ServiceInternalError, e.getMessage());
         } catch (Exception e) {
             ex = new CfnGeneralServiceException(e);
             return ProgressEvent.failed(resourceModel, callbackContext, ex.getErrorCode(), ex.getMessage());
         }
     }
 
+    /**
+     * Calls GetBucketPolicy, or another read-only API, without a call graph. StdCallbackContext memoizes the response of
+     * every call graph and has no way to evict it, so the policy document read by the existence checks would stay in the
+     * context for the rest of the handler. The read is cheap to repeat, so it is made on the proxy client directly.
+     *
+     * @param proxyClient
+     * @param serviceRequest
+     * @param serviceCall
+     * @param model
+     * @param callbackContext
+     * @param errorHandler    Same contract as the handleError of a call graph
+     * @param done            Maps the response to the ProgressEvent returned
+     * @return ProgressEvent returned by done, or by the error handler if the call failed
+     */
+    protected static <RequestT extends S3ControlRequest, ResponseT extends S3ControlResponse>
+    ProgressEvent<ResourceModel, CallbackContext> read(
+            final ProxyClient<S3ControlClient> proxyClient,
+            final RequestT serviceRequest,
+            final Function<RequestT, ResponseT> serviceCall,
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final CallChain.ExceptionPropagate<RequestT, Exception, S3ControlClient, ResourceModel, CallbackContext,
+                    ProgressEvent<ResourceModel, CallbackContext>> errorHandler,
+            final Function<ResponseT, ProgressEvent<ResourceModel, CallbackContext>> done) {
+        final ResponseT response;
+        try {
+            response = proxyClient.injectCredentialsAndInvokeV2(serviceRequest, serviceCall);
+        } catch (final RuntimeException e) {
+            try {
+                return errorHandler.invoke(serviceRequest, e, proxyClient, model, callbackContext);
+            } catch (final Exception unmapped) {
+                // Same outcome as an exception rethrown by the handleError of a call graph
+                return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InternalFailure, unmapped.getMessage());
+            }
+        }
+        return done.apply(response);
+    }
+
 }
@@ -6,19 +6,16 @@ import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
 
 public class CreateHandler extends BaseHandlerStd {
 
-    private Logger logger;
-
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         // Verify that the user has provided both the Bucket (ARN) and the PolicyDocument
@@ -33,12 +30,17 @@ public class CreateHandler extends BaseHandlerStd {
         logger.log(String.format("%s::Create - Bucket %s", ResourceModel.TYPE_NAME, model.getBucket()));
 
         return ProgressEvent.progress(model, callbackContext)
-                .then(progress -> preExistenceCheckForCreate(proxy, proxyClient, progress, request))
-                .then(progress -> createBucketPolicy(proxy, proxyClient, progress, request))
+                .then(progress -> preExistenceCheckForCreate(proxy, proxyClient, progress, request, logger))
+                .then(progress -> createBucketPolicy(proxy, proxyClient, progress, request, logger))
                 .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
 
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
+    }
+
     /**
      * For the Create to succeed, there should be no prior bucket policy associated with the bucket.
      *
@@ -46,13 +48,15 @@ public class CreateHandler extends BaseHandlerStd {
      * @param proxyClient
      * @param progressEvent
      * @param request
+     * @param logger
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> preExistenceCheckForCreate(
             AmazonWebServicesClientProxy proxy,
             ProxyClient<S3ControlClient> proxyClient,
             ProgressEvent<ResourceModel, CallbackContext> progressEvent,
-            ResourceHandlerRequest<ResourceModel> request
+            ResourceHandlerRequest<ResourceModel> request,
+            Logger logger
     ) {
 
         final ResourceModel model = progressEvent.getResourceModel();
@@ -60,21 +64,20 @@ public class CreateHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Create::preExistenceCheck - Bucket %s", ResourceModel.TYPE_NAME, model.getBucket()));
 
-        return proxy.initiate("AWS-S3Outposts-BucketPolicy::Create::PreExistenceCheck", proxyClient, model, context)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToReadRequest(resourceModel, request.getAwsAccountId()))
-                .makeServiceCall((getBucketPolicyRequest, s3ControlProxyClient) ->
-                        s3ControlProxyClient.injectCredentialsAndInvokeV2(getBucketPolicyRequest, s3ControlProxyClient.client()::getBucketPolicy))
-                .handleError((getBucketPolicyRequest, exception, client, resourceModel, cbContext) -> {
+        return read(proxyClient,
+                Translator.translateToReadRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketPolicy,
+                model, context,
+                (getBucketPolicyRequest, exception, client, resourceModel, cbContext) -> {
                     if (exception instanceof S3ControlException &&
                             StringUtils.equals(((S3ControlException) exception).awsErrorDetails().errorCode(), NO_SUCH_BUCKET_POLICY_ERROR_CODE)) {
                         return ProgressEvent.progress(model, cbContext);
                     }
                     throw exception;
-                })
-                .done((getBucketPolicyRequest, getBucketPolicyResponse, client, resourceModel, cbContext) -> {
+                },
+                getBucketPolicyResponse -> {
                     if (!StringUtils.isEmpty(getBucketPolicyResponse.policy())) {
-                        return ProgressEvent.failed(resourceModel, cbContext, HandlerErrorCode.AlreadyExists, BUCKET_POLICY_EXISTS);
+                        return ProgressEvent.failed(model, context, HandlerErrorCode.AlreadyExists, BUCKET_POLICY_EXISTS);
                     }
                     return ProgressEvent.progress(model, context);
                 });
@@ -86,14 +89,15 @@ public class CreateHandler extends BaseHandlerStd {
      * @param proxyClient
      * @param progressEvent
      * @param request
+     * @param logger
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> createBucketPolicy(
             final AmazonWebServicesClientProxy proxy,
             final ProxyClient<S3ControlClient> proxyClient,
             final ProgressEvent<ResourceModel, CallbackContext> progressEvent,
-            final ResourceHandlerRequest<ResourceModel> request
-
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger
     ) {
 
         final ResourceModel model = progressEvent.getResourceModel();
@@ -5,8 +5,9 @@ import software.amazon.awssdk.services.s3control.model.S3ControlException;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +15,6 @@ public class DeleteHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         if (model == null || StringUtils.isEmpty(model.getBucket())) {
@@ -23,9 +22,14 @@ public class DeleteHandler extends BaseHandlerStd {
         }
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progress -> preExistenceCheckForDelete(proxy, proxyClient, progress, request))
-                .then(progress -> deleteBucketPolicy(proxy, proxyClient, progress, request));
+                .then(progress -> preExistenceCheckForDelete(proxy, proxyClient, progress, request, logger))
+                .then(progress -> deleteBucketPolicy(proxy, proxyClient, progress, request, logger));
+
+    }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
     }
 
     /**
@@ -35,13 +39,15 @@ public class DeleteHandler extends BaseHandlerStd {
      * @param proxyClient
      * @param progressEvent
      * @param request
+     * @param logger
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> preExistenceCheckForDelete(
             final AmazonWebServicesClientProxy proxy,
             final ProxyClient<S3ControlClient> proxyClient,
             final ProgressEvent<ResourceModel, CallbackContext> progressEvent,
-            final ResourceHandlerRequest<ResourceModel> request
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger
     ) {
 
         ResourceModel model = progressEvent.getResourceModel();
@@ -49,19 +55,18 @@ public class DeleteHandler extends BaseHandlerStd {
 
         logger.log(String.format("%s::Delete::preExistenceCheck - Bucket %s", ResourceModel.TYPE_NAME, model.getBucket()));
 
-        return proxy.initiate("AWS-S3Outposts-BucketPolicy::Delete::PreExistenceCheck", proxyClient, model, context)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToReadRequest(resourceModel, request.getAwsAccountId()))
-                .makeServiceCall((getBucketPolicyRequest, s3ControlProxyClient) ->
-                        s3ControlProxyClient.injectCredentialsAndInvokeV2(getBucketPolicyRequest, s3ControlProxyClient.client()::getBucketPolicy))
-                .handleError((getBucketPolicyRequest, exception, client, resourceModel, cbContext) -> {
+        return read(proxyClient,
+                Translator.translateToReadRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketPolicy,
+                model, context,
+                (getBucketPolicyRequest, exception, client, resourceModel, cbContext) -> {
                     if (exception instanceof S3ControlException &&
                             StringUtils.equals(((S3ControlException) exception).awsErrorDetails().errorCode(), NO_SUCH_BUCKET_POLICY_ERROR_CODE)) {
                         return ProgressEvent.failed(resourceModel, cbContext, HandlerErrorCode.NotFound, BUCKET_POLICY_MISSING);
                     }
                     throw exception;
-                })
-                .progress();
+                },
+                getBucketPolicyResponse -> ProgressEvent.progress(model, context));
 
     }
 
@@ -70,13 +75,15 @@ public class DeleteHandler extends BaseHandlerStd {
      * @param proxyClient
      * @param progressEvent
      * @param request
+     * @param logger
      * @return
      */
     private ProgressEvent<ResourceModel, CallbackContext> deleteBucketPolicy(
             final AmazonWebServicesClientProxy proxy,
             final ProxyClient<S3ControlClient> proxyClient,
             final ProgressEvent<ResourceModel, CallbackContext> progressEvent,
-            final ResourceHandlerRequest<ResourceModel> request
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger
     ) {
 
         final ResourceModel model = progressEvent.getResourceModel();
@@ -0,0 +1,190 @@
+package software.amazon.s3outposts.bucketpolicy;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Warms the code paths of the first request before a CRaC checkpoint (Lambda SnapStart) is taken, so restored
+ * invocations do not pay for class loading, static initialisation and interpreted first executions.
+ *
+ * Priming drives every handler through a full Create/Read/Update/Delete against an in-memory S3Control stub that keeps
+ * the policy like the service would. This exercises the request marshallers and response unmarshallers of every bucket
+ * policy operation, the NoSuchBucketPolicy error response of the Create pre-existence check, the Translator and the
+ * policy ObjectMapper in both directions. BaseHandlerStd.handleError is finally run for every error it maps.
+ *
+ * Priming is run by {@link SnapStartHandlerWrapper}, the entry point of a function deployed with SnapStart. It never
+ * opens a socket or touches the shared LambdaWrapper HTTP client, so no connection ends up in the snapshot.
+ */
+final class Primer {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String BUCKET_ARN = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/op-01234567890123456/bucket/primer";
+    private static final String POLICY = "{\"Version\":\"2012-10-17\",\"Statement\":[{\"Sid\":\"primer\",\"Effect\":\"Allow\","
+            + "\"Principal\":{\"AWS\":\"arn:aws:iam::" + ACCOUNT_ID + ":root\"},\"Action\":\"s3-outposts:*\","
+            + "\"Resource\":\"" + BUCKET_ARN + "\"}]}";
+
+    private static final String GET_BUCKET_POLICY = "<GetBucketPolicyResult><Policy>"
+            + POLICY.replace("\"", "&quot;") + "</Policy></GetBucketPolicyResult>";
+    private static final String NO_SUCH_BUCKET_POLICY = "<ErrorResponse><Error><Code>NoSuchBucketPolicy</Code><Message>primer</Message></Error></ErrorResponse>";
+
+    private Primer() {
+    }
+
+    /**
+     * Runs every priming step. A failing step does not stop the others, priming must never fail the checkpoint.
+     *
+     * @return the steps that failed, empty when everything was exercised
+     */
+    static List<String> prime() {
+        final List<String> failures = new ArrayList<>();
+        try (S3ControlClient client = S3ControlClient.builder()
+                .httpClient(new StubHttpClient())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("primer", "primer")))
+                .build()) {
+            // No log publisher attached, priming is silent.
+            final LoggerProxy logger = new LoggerProxy();
+            final AmazonWebServicesClientProxy proxy =
+                    new AmazonWebServicesClientProxy(logger, new Credentials("primer", "primer", "primer"), () -> 0L);
+            final ProxyClient<S3ControlClient> proxyClient = proxy.newProxy(() -> client);
+
+            step(failures, "Create", () -> run(new CreateHandler(), proxy, proxyClient, logger, request(policyModel())));
+            step(failures, "Read", () -> run(new ReadHandler(), proxy, proxyClient, logger, request(bucketModel())));
+            step(failures, "Update", () -> run(new UpdateHandler(), proxy, proxyClient, logger, request(policyModel())));
+            step(failures, "Delete", () -> run(new DeleteHandler(), proxy, proxyClient, logger, request(bucketModel())));
+            step(failures, "handleError", () -> {
+                final ReadHandler handler = new ReadHandler();
+                for (final Exception exception : exceptions()) {
+                    handler.handleError(GetBucketPolicyRequest.builder().build(), exception, proxyClient, bucketModel(), new CallbackContext());
+                }
+            });
+        } catch (final RuntimeException e) {
+            failures.add("client: " + e);
+        }
+        return failures;
+    }
+
+    /**
+     * Bucket policy handlers complete in a single invocation, there is no stabilization to drive.
+     */
+    private static void run(final BaseHandlerStd handler,
+                            final AmazonWebServicesClientProxy proxy,
+                            final ProxyClient<S3ControlClient> proxyClient,
+                            final Logger logger,
+                            final ResourceHandlerRequest<ResourceModel> request) {
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        if (progress.getStatus() != OperationStatus.SUCCESS) {
+            throw new IllegalStateException(progress.getErrorCode() + ": " + progress.getMessage());
+        }
+    }
+
+    private static void step(final List<String> failures, final String name, final Step step) {
+        try {
+            step.run();
+        } catch (final Exception e) {
+            failures.add(name + ": " + e);
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(ACCOUNT_ID)
+                .desiredResourceState(desired)
+                .build();
+    }
+
+    private static ResourceModel bucketModel() {
+        return ResourceModel.builder().bucket(BUCKET_ARN).build();
+    }
+
+    private static ResourceModel policyModel() {
+        return ResourceModel.builder().bucket(BUCKET_ARN).policyDocument(Translator.convertStringToJsonObject(POLICY)).build();
+    }
+
+    private static List<Exception> exceptions() {
+        final List<Exception> exceptions = new ArrayList<>(Arrays.asList(
+                BadRequestException.builder().message("primer").build(),
+                InvalidRequestException.builder().message("primer").build(),
+                InternalServiceException.builder().message("primer").build(),
+                NotFoundException.builder().message("primer").build(),
+                SdkClientException.builder().message("primer").build()));
+        for (final String errorCode : Arrays.asList("MalformedPolicy", "AccessDenied", "NoSuchBucketPolicy", "NoSuchBucket")) {
+            exceptions.add(S3ControlException.builder()
+                    .message("primer")
+                    .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).errorMessage("primer").build())
+                    .build());
+        }
+        return exceptions;
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * Answers every request in memory like S3Control would: PutBucketPolicy stores the policy, DeleteBucketPolicy
+     * removes it and GetBucketPolicy fails with NoSuchBucketPolicy while there is none.
+     */
+    private static final class StubHttpClient implements SdkHttpClient {
+
+        private volatile boolean hasPolicy;
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+            final SdkHttpMethod method = request.httpRequest().method();
+            if (method == SdkHttpMethod.PUT || method == SdkHttpMethod.DELETE) {
+                hasPolicy = method == SdkHttpMethod.PUT;
+            }
+            final boolean missing = method == SdkHttpMethod.GET && !hasPolicy;
+            final int status = missing ? 404 : 200;
+            final String body = method != SdkHttpMethod.GET ? "" : missing ? NO_SUCH_BUCKET_POLICY : GET_BUCKET_POLICY;
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder().statusCode(status).build())
+                            .responseBody(AbortableInputStream.create(
+                                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
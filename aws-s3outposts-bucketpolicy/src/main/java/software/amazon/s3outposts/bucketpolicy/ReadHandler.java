@@ -4,8 +4,9 @@ import software.amazon.awssdk.services.s3control.S3ControlClient;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class ReadHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -13,8 +14,6 @@ public class ReadHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
         // Bucket ARN is required for getting the BucketPolicy.
@@ -24,14 +23,12 @@ public class ReadHandler extends BaseHandlerStd {
             return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, BUCKET_ARN_REQD);
         }
 
-        return proxy.initiate("AWS-S3Outposts-BucketPolicy::Read", proxyClient, model, callbackContext)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToReadRequest(resourceModel, request.getAwsAccountId()))
-                .makeServiceCall((getBucketPolicyRequest, s3ControlProxyClient) -> {
-                    return s3ControlProxyClient.injectCredentialsAndInvokeV2(getBucketPolicyRequest, s3ControlProxyClient.client()::getBucketPolicy);
-                })
-                .handleError(this::handleError)
-                .done((getBucketPolicyResponse) -> {
+        return read(proxyClient,
+                Translator.translateToReadRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketPolicy,
+                model, callbackContext,
+                this::handleError,
+                getBucketPolicyResponse -> {
                     try {
                         return ProgressEvent.defaultSuccessHandler(Translator.translateFromReadResponse(getBucketPolicyResponse, model));
                     } catch (Exception exception) {
@@ -40,4 +37,9 @@ public class ReadHandler extends BaseHandlerStd {
                 });
 
     }
+
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
+    }
 }
@@ -21,7 +21,6 @@ import static software.amazon.s3outposts.bucketpolicy.ArnFields.splitArn;
  */
 
 public class Translator {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     /**
      * Translate from model to PutBucketPolicyRequest
@@ -83,7 +82,7 @@ public class Translator {
      */
     static Map<String, Object> convertStringToJsonObject(final String policy) {
         try {
-            return MAPPER.readValue(policy, new TypeReference<Map<String, Object>>() {
+            return PolicyMapper.INSTANCE.readValue(policy, new TypeReference<Map<String, Object>>() {
             });
         } catch (Exception e) {
             throw new CfnGeneralServiceException(e);
@@ -98,7 +97,7 @@ public class Translator {
      */
     static String convertJsonObjectToString(Map<String, Object> policyDocument) {
         try {
-            return MAPPER.writeValueAsString(policyDocument);
+            return PolicyMapper.INSTANCE.writeValueAsString(policyDocument);
         } catch (Exception e) {
             throw new CfnInvalidRequestException(e);
         }
@@ -120,4 +119,14 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * Holds the mapper used for policy documents. The mapper is built the first time a policy is converted rather than
+     * when Translator is loaded, which keeps it off the path of requests without a policy.
+     */
+    private static final class PolicyMapper {
+
+        private static final ObjectMapper INSTANCE = new ObjectMapper();
+
+    }
+
 }
@@ -6,8 +6,9 @@ import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class UpdateHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -16,8 +17,6 @@ public class UpdateHandler extends BaseHandlerStd {
             final ProxyClient<S3ControlClient> proxyClient,
             final Logger logger) {
 
-        this.logger = logger;
-
         final ResourceModel newModel = request.getDesiredResourceState();
 
         // Verify that the user has provided both the Bucket (ARN) and the PolicyDocument
@@ -35,6 +34,11 @@ public class UpdateHandler extends BaseHandlerStd {
                 .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
+    }
+
     /**
      * We will update a policy only if there was one before. Else, the customer must call create.
      *
@@ -54,19 +58,19 @@ public class UpdateHandler extends BaseHandlerStd {
         final ResourceModel model = progressEvent.getResourceModel();
         final CallbackContext context = progressEvent.getCallbackContext();
 
-        return proxy.initiate("AWS-S3Outposts-BucketPolicy::Update::PreExistenceCheck", proxyClient, model, context)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToReadRequest(resourceModel, request.getAwsAccountId()))
-                .makeServiceCall((getBucketPolicyRequest, s3ControlProxyClient) ->
-                        s3ControlProxyClient.injectCredentialsAndInvokeV2(getBucketPolicyRequest, s3ControlProxyClient.client()::getBucketPolicy))
-                .handleError((getBucketPolicyRequest, exception, client, resourceModel, cbContext) -> {
+        return read(proxyClient,
+                Translator.translateToReadRequest(model, request.getAwsAccountId()),
+                proxyClient.client()::getBucketPolicy,
+                model, context,
+                (getBucketPolicyRequest, exception, client, resourceModel, cbContext) -> {
                     if (exception instanceof S3ControlException &&
                             StringUtils.equals(((S3ControlException) exception).awsErrorDetails().errorCode(), NO_SUCH_BUCKET_POLICY_ERROR_CODE)) {
                         return ProgressEvent.failed(resourceModel, cbContext, HandlerErrorCode.NotFound, BUCKET_POLICY_MISSING);
                     }
                     return handleError(getBucketPolicyRequest, exception, client, resourceModel, cbContext);
-                })
-                .progress();
+                },
+                getBucketPolicyResponse -> ProgressEvent.progress(model, context));
+
     }
 
     /**
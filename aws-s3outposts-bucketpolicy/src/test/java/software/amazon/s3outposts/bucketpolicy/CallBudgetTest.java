@@ -0,0 +1,112 @@
+package software.amazon.s3outposts.bucketpolicy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.*;
+import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.CallBudget;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * API call-budget regression tests. Each scenario declares the exact sequence of S3Control operations it may issue;
+ * adding, dropping or reordering a call fails the test with a diff of the two sequences.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CallBudgetTest extends AbstractTestBase {
+
+    private AmazonWebServicesClientProxy proxy;
+    private S3ControlClient sdkClient;
+    private CallBudget.RecordingProxyClient<S3ControlClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(S3ControlClient.class);
+        proxyClient = CallBudget.record(MOCK_PROXY(proxy, sdkClient));
+    }
+
+    @Test
+    public void create() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_POLICY_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.getBucketPolicy(any(GetBucketPolicyRequest.class)))
+                .thenThrow(constructS3ControlException("NoSuchBucketPolicy"))
+                .thenReturn(GetBucketPolicyResponse.builder().policy(BUCKET_POLICY).build());
+        when(sdkClient.putBucketPolicy(any(PutBucketPolicyRequest.class)))
+                .thenReturn(PutBucketPolicyResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetBucketPolicy", "PutBucketPolicy", "GetBucketPolicy")
+                .assertSatisfiedBy("Create", proxyClient);
+    }
+
+    @Test
+    public void read() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ONLY_BUCKET_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.getBucketPolicy(any(GetBucketPolicyRequest.class)))
+                .thenReturn(GetBucketPolicyResponse.builder().policy(BUCKET_POLICY).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetBucketPolicy")
+                .assertSatisfiedBy("Read", proxyClient);
+    }
+
+    @Test
+    public void update() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(BUCKET_POLICY_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.getBucketPolicy(any(GetBucketPolicyRequest.class)))
+                .thenReturn(GetBucketPolicyResponse.builder().policy(BUCKET_POLICY).build());
+        when(sdkClient.putBucketPolicy(any(PutBucketPolicyRequest.class)))
+                .thenReturn(PutBucketPolicyResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new UpdateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetBucketPolicy", "PutBucketPolicy", "GetBucketPolicy")
+                .assertSatisfiedBy("Update", proxyClient);
+    }
+
+    @Test
+    public void delete() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ONLY_BUCKET_MODEL)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.getBucketPolicy(any(GetBucketPolicyRequest.class)))
+                .thenReturn(GetBucketPolicyResponse.builder().policy(BUCKET_POLICY).build());
+        when(sdkClient.deleteBucketPolicy(any(DeleteBucketPolicyRequest.class)))
+                .thenReturn(DeleteBucketPolicyResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("GetBucketPolicy", "DeleteBucketPolicy")
+                .assertSatisfiedBy("Delete", proxyClient);
+    }
+
+}
@@ -0,0 +1,77 @@
+package software.amazon.s3outposts.bucketpolicy;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetBucketPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractCircuitBreakerProxyClientTest;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.ARN;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.BUCKET_POLICY;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.logger;
+
+public class CircuitBreakerProxyClientTest
+        extends AbstractCircuitBreakerProxyClientTest<S3ControlClient, GetBucketPolicyRequest, GetBucketPolicyResponse> {
+
+    private final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+
+    public CircuitBreakerProxyClientTest() {
+        super(ResourceModel.TYPE_NAME, ACCOUNT_ID, REGION, OUTPOST_ID, ARN);
+    }
+
+    @Override
+    protected GetBucketPolicyRequest request() {
+        return GetBucketPolicyRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build();
+    }
+
+    @Override
+    protected GetBucketPolicyResponse response() {
+        return GetBucketPolicyResponse.builder().policy(BUCKET_POLICY).build();
+    }
+
+    @Override
+    protected AwsServiceException error(final int statusCode, final String errorCode) {
+        return S3ControlException.builder().statusCode(statusCode)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+                .build();
+    }
+
+    @Override
+    protected ProxyClient<S3ControlClient> failingServiceClient() {
+        final S3ControlClient sdkClient = mock(S3ControlClient.class);
+        when(sdkClient.getBucketPolicy(any(GetBucketPolicyRequest.class))).thenAnswer(invocation -> {
+            backendCalls.incrementAndGet();
+            throw error(500, "InternalError");
+        });
+        return MOCK_PROXY(proxy, sdkClient);
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> read(final ProxyClient<S3ControlClient> proxyClient, final Logger requestLogger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().bucket(ARN).build())
+                .awsAccountId(ACCOUNT_ID)
+                .region(REGION)
+                .build();
+        return new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+    }
+
+}
@@ -0,0 +1,140 @@
+package software.amazon.s3outposts.bucketpolicy;
+
+import org.junit.jupiter.api.BeforeEach;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.DeleteBucketPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.DeleteBucketPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.GetBucketPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.PutBucketPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.PutBucketPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractConcurrentHandlerTest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.getPolicyDocument;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.logger;
+
+/**
+ * Runs Create, Read and Delete requests of the policies of thousands of buckets at once.
+ */
+public class ConcurrentHandlerTest extends AbstractConcurrentHandlerTest {
+
+    private final CreateHandler createHandler = new CreateHandler();
+    private final ReadHandler readHandler = new ReadHandler();
+    private final DeleteHandler deleteHandler = new DeleteHandler();
+    // Policies of the buckets, by bucket ARN.
+    private final Map<String, String> policies = new ConcurrentHashMap<>();
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<S3ControlClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final S3ControlClient sdkClient = mock(S3ControlClient.class);
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+        when(sdkClient.getBucketPolicy(any(GetBucketPolicyRequest.class))).thenAnswer(invocation -> {
+            final String policy = policies.get(invocation.<GetBucketPolicyRequest>getArgument(0).bucket());
+            if (policy == null) {
+                throw S3ControlException.builder().statusCode(404)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode(BaseHandlerStd.NO_SUCH_BUCKET_POLICY_ERROR_CODE).build())
+                        .build();
+            }
+            return GetBucketPolicyResponse.builder().policy(policy).build();
+        });
+        when(sdkClient.putBucketPolicy(any(PutBucketPolicyRequest.class))).thenAnswer(invocation -> {
+            final PutBucketPolicyRequest putBucketPolicyRequest = invocation.getArgument(0);
+            policies.put(putBucketPolicyRequest.bucket(), putBucketPolicyRequest.policy());
+            return PutBucketPolicyResponse.builder().build();
+        });
+        when(sdkClient.deleteBucketPolicy(any(DeleteBucketPolicyRequest.class))).thenAnswer(invocation -> {
+            policies.remove(invocation.<DeleteBucketPolicyRequest>getArgument(0).bucket());
+            return DeleteBucketPolicyResponse.builder().build();
+        });
+        // The buckets of the Reads and Deletes have a policy, the ones of the Creates do not.
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (i % 3 != 0) {
+                policies.put(arn(i), policy(arn(i)));
+            }
+        }
+    }
+
+    @Override
+    protected ProgressEvent<?, ?> run(final int operation, final Logger requestLogger) {
+        final String arn = arn(operation);
+        final ResourceHandlerRequest<ResourceModel> request;
+        final ProgressEvent<ResourceModel, CallbackContext> progress;
+        switch (operation % 3) {
+            case 0:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().bucket(arn).policyDocument(getPolicyDocument(policy(arn))).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = createHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel().getBucket()).isEqualTo(arn);
+                assertThat(progress.getResourceModel().getPolicyDocument()).isEqualTo(getPolicyDocument(policy(arn)));
+                break;
+            case 1:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().bucket(arn).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = readHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel().getBucket()).isEqualTo(arn);
+                assertThat(progress.getResourceModel().getPolicyDocument()).isEqualTo(getPolicyDocument(policy(arn)));
+                break;
+            default:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().bucket(arn).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = deleteHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel()).isNull();
+                break;
+        }
+        return progress;
+    }
+
+    @Override
+    protected String arn(final int operation) {
+        return String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/bucket/bucket-%d", REGION, ACCOUNT_ID, OUTPOST_ID, operation);
+    }
+
+    /**
+     * The Read handler logs nothing, the Create and Delete handlers name the bucket.
+     */
+    @Override
+    protected boolean logsArn(final int operation) {
+        return operation % 3 != 1;
+    }
+
+    @Override
+    protected void verifyService() {
+        // The Creates put a policy, the Deletes removed theirs.
+        assertThat(policies).hasSize(2 * OPERATIONS / 3);
+    }
+
+    private static String policy(final String arn) {
+        return String.format("{\"Version\":\"2012-10-17\",\"Statement\":[{\"Sid\":\"st1\",\"Effect\":\"Allow\"," +
+                "\"Principal\":{\"AWS\":\"%s\"},\"Action\":\"*\",\"Resource\":\"%s\"}]}", ACCOUNT_ID, arn);
+    }
+
+}
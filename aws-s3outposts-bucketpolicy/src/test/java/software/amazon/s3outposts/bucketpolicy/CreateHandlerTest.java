@@ -154,7 +154,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(progress.getResourceModels()).isNull();
 
-        verify(sdkClient, atLeastOnce()).serviceName();
+        verify(proxyClient.client()).getBucketPolicy(any(GetBucketPolicyRequest.class));
 
     }
 
@@ -186,7 +186,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(progress.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(progress.getResourceModels()).isNull();
 
-        verify(sdkClient, atLeastOnce()).serviceName();
+        verify(proxyClient.client()).getBucketPolicy(any(GetBucketPolicyRequest.class));
 
     }
 
@@ -132,7 +132,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(progress.getResourceModels()).isNull();
 
         verify(proxyClient.client()).getBucketPolicy(any(GetBucketPolicyRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
 
@@ -0,0 +1,43 @@
+package software.amazon.s3outposts.bucketpolicy;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetBucketPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketPolicyResponse;
+import software.amazon.awssdk.services.s3control.model.PutBucketPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.PutBucketPolicyResponse;
+import software.amazon.s3outposts.shared.AbstractHedgedProxyClientTest;
+
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.ARN;
+import static software.amazon.s3outposts.bucketpolicy.AbstractTestBase.BUCKET_POLICY;
+
+public class HedgedProxyClientTest
+        extends AbstractHedgedProxyClientTest<S3ControlClient, GetBucketPolicyRequest, GetBucketPolicyResponse> {
+
+    public HedgedProxyClientTest() {
+        super(ResourceModel.TYPE_NAME, BaseHandlerStd.IDEMPOTENT_READS);
+    }
+
+    @Override
+    protected GetBucketPolicyRequest request() {
+        return GetBucketPolicyRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build();
+    }
+
+    @Override
+    protected GetBucketPolicyResponse response() {
+        return GetBucketPolicyResponse.builder().policy(BUCKET_POLICY).build();
+    }
+
+    @Override
+    protected AwsRequest write() {
+        return PutBucketPolicyRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build();
+    }
+
+    @Override
+    protected AwsResponse writeResponse() {
+        return PutBucketPolicyResponse.builder().build();
+    }
+
+}
@@ -95,7 +95,7 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getMessage()).isNull();
         assertThat(progress.getErrorCode()).isNull();
 
-        verify(sdkClient, atLeastOnce()).serviceName();
+        verify(proxyClient.client()).getBucketPolicy(any(GetBucketPolicyRequest.class));
 
     }
 
@@ -121,7 +121,7 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(progress.getResourceModels()).isNull();
 
-        verify(sdkClient, atLeastOnce()).serviceName();
+        verify(proxyClient.client()).getBucketPolicy(any(GetBucketPolicyRequest.class));
 
     }
 
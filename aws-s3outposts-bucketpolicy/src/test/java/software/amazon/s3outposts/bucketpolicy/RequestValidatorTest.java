@@ -0,0 +1,77 @@
+package software.amazon.s3outposts.bucketpolicy;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class RequestValidatorTest extends AbstractTestBase {
+
+    private static final String VALID_ARN =
+            String.format("arn:aws:s3-outposts:%s:123456789012:outpost/%s/bucket/%s", REGION, OUTPOST_ID, BUCKET_NAME);
+    private static final Map<String, Object> OVERSIZED_POLICY =
+            Collections.singletonMap("Padding", new String(new char[RequestValidator.MAX_POLICY_BYTES]).replace('\0', 'x'));
+
+    @Test
+    public void validate_ValidModels() {
+        assertThat(RequestValidator.validate(BUCKET_POLICY_MODEL)).isEmpty();
+        assertThat(RequestValidator.validate(ONLY_BUCKET_MODEL)).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(ResourceModel.builder().bucket(VALID_ARN).build())).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(ONLY_POLICY_MODEL)).isEmpty();
+    }
+
+    @Test
+    public void validate_OversizedPolicy() {
+        final ResourceModel model = ResourceModel.builder()
+                .bucket(ARN)
+                .policyDocument(OVERSIZED_POLICY)
+                .build();
+
+        assertThat(RequestValidator.validate(model)).containsExactly("/PolicyDocument: 20494 bytes, at most 20480 are allowed");
+    }
+
+    @Test
+    public void validateIdentifier_MalformedArn() {
+        final ResourceModel model = ResourceModel.builder()
+                .bucket(String.format("arn:aws:s3-outposts:%s:123456789012:bucket/%s", REGION, BUCKET_NAME))
+                .build();
+
+        assertThat(RequestValidator.validateIdentifier(model)).isNotEmpty().allMatch(violation -> violation.startsWith("#/Bucket: "));
+    }
+
+    @Test
+    public void handleRequest_FailsBeforeAnyCall() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = new CreateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().bucket(ARN).policyDocument(OVERSIZED_POLICY).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build(),
+                null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> read = new ReadHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().bucket(BUCKET_NAME).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build(),
+                null, logger);
+
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(created.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(created.getMessage()).isEqualTo("Invalid request: /PolicyDocument: 20494 bytes, at most 20480 are allowed.");
+        assertThat(read.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(read.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(read.getMessage()).startsWith("Invalid request: #/Bucket: ");
+        verifyNoInteractions(proxy);
+    }
+
+}
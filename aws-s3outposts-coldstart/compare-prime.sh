@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Builds every handler module and runs the cold-start harness with and without priming on init.
+# usage: ./compare-prime.sh [RUNS]
+set -euo pipefail
+
+runs="${1:-10}"
+here="$(cd "$(dirname "$0")" && pwd)"
+out="$here/target/compare-prime"
+modules="bucket accesspoint bucketpolicy endpoint"
+
+rm -rf "$out"
+mkdir -p "$out/jars"
+(cd "$here" && mvn -B -q package)
+
+for m in $modules; do
+    (cd "$here/../aws-s3outposts-$m" && mvn -B -q package -DskipTests)
+    cp "$here/../aws-s3outposts-$m/target/aws-s3outposts-$m-handler-1.0-SNAPSHOT-lambda.jar" "$out/jars/"
+done
+
+echo "== unprimed"
+java -jar "$here/target/coldstart.jar" --runs "$runs" --csv "$out/unprimed.csv" "$out/jars"/*.jar
+echo "== primed"
+java -jar "$here/target/coldstart.jar" --runs "$runs" --csv "$out/primed.csv" --prime "$out/jars"/*.jar
@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Builds every handler module with and without -Pslim and runs the cold-start harness on both sets of jars.
+# usage: ./compare-slim.sh [RUNS]
+set -euo pipefail
+
+runs="${1:-10}"
+here="$(cd "$(dirname "$0")" && pwd)"
+out="$here/target/compare-slim"
+modules="bucket accesspoint bucketpolicy endpoint"
+
+rm -rf "$out"
+mkdir -p "$out/default" "$out/slim"
+(cd "$here" && mvn -B -q package)
+
+for profile in default slim; do
+    args=""
+    if [ "$profile" = slim ]; then
+        args="-Pslim"
+    fi
+    for m in $modules; do
+        (cd "$here/../aws-s3outposts-$m" && mvn -B -q package -DskipTests $args)
+        cp "$here/../aws-s3outposts-$m/target/aws-s3outposts-$m-handler-1.0-SNAPSHOT-lambda.jar" "$out/$profile/"
+    done
+done
+
+for profile in default slim; do
+    echo "== $profile"
+    java -jar "$here/target/coldstart.jar" --runs "$runs" --csv "$out/$profile.csv" "$out/$profile"/*.jar
+done
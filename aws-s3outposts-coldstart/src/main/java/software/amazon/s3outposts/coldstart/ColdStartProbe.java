@@ -0,0 +1,163 @@
+package software.amazon.s3outposts.coldstart;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs inside the fresh JVM launched by {@link ColdStartRunner}, with only the handler jar under test and this probe
+ * on the classpath.
+ *
+ * Invokes the Lambda entry point of the handler, HandlerWrapper::handleRequest, once with a recorded request in the
+ * form Lambda delivers it, and prints a single {@value #RESULT_PREFIX} line with the timings, the number of loaded
+ * classes and the heap usage. handlerInitMs includes the priming of the handler when the runner passes --prime,
+ * firstRequestMs is the handleRequest call alone.
+ */
+public final class ColdStartProbe {
+
+    static final String RESULT_PREFIX = "COLDSTART ";
+
+    private static final Pattern STATUS = Pattern.compile("\"status\"\\s*:\\s*\"([A-Z_]+)\"");
+
+    private ColdStartProbe() {
+    }
+
+    /**
+     * @param args handler class name, payload resource name
+     */
+    public static void main(final String[] args) throws Exception {
+        final long mainEntered = System.currentTimeMillis();
+        final long jvmStarted = ManagementFactory.getRuntimeMXBean().getStartTime();
+        final byte[] payload = readResource(args[1]);
+
+        final RequestStreamHandler handler = (RequestStreamHandler) Class.forName(args[0]).getConstructor().newInstance();
+        final long handlerConstructed = System.currentTimeMillis();
+
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        handler.handleRequest(new ByteArrayInputStream(payload), response, new ProbeContext());
+        final long firstResponse = System.currentTimeMillis();
+
+        final long classesLoaded = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.gc();
+        final MemoryUsage heapAfterGc = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        final String body = new String(response.toByteArray(), StandardCharsets.UTF_8);
+        final Matcher matcher = STATUS.matcher(body);
+        final String status = matcher.find() ? matcher.group(1) : "UNKNOWN";
+        System.out.println(RESULT_PREFIX + String.join(" ",
+                "status=" + status,
+                "responseEpochMs=" + firstResponse,
+                "jvmStartToMainMs=" + (mainEntered - jvmStarted),
+                "handlerInitMs=" + (handlerConstructed - mainEntered),
+                "jvmStartToFirstResponseMs=" + (firstResponse - jvmStarted),
+                "firstRequestMs=" + (firstResponse - handlerConstructed),
+                "classesLoaded=" + classesLoaded,
+                "heapUsedBytes=" + heap.getUsed(),
+                "heapUsedAfterGcBytes=" + heapAfterGc.getUsed(),
+                "heapCommittedBytes=" + heap.getCommitted()));
+        if (!"SUCCESS".equals(status)) {
+            System.out.println(body);
+        }
+    }
+
+    private static byte[] readResource(final String name) throws IOException {
+        try (InputStream in = ColdStartProbe.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Payload not found: " + name);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Minimal Lambda context. Handler logs go to stderr, which the runner only prints when a run fails.
+     */
+    private static final class ProbeContext implements Context {
+
+        private final LambdaLogger logger = new LambdaLogger() {
+            @Override
+            public void log(final String message) {
+                System.err.println(message);
+            }
+
+            @Override
+            public void log(final byte[] message) {
+                System.err.println(new String(message, StandardCharsets.UTF_8));
+            }
+        };
+
+        @Override
+        public String getAwsRequestId() {
+            return "coldstart";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return "coldstart";
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return "coldstart";
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "coldstart";
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return "$LATEST";
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return "arn:aws:lambda:us-east-1:123456789012:function:coldstart";
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return 900_000;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 256;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return logger;
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package software.amazon.s3outposts.coldstart;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cold-start measurement of the packaged handler jars.
+ *
+ * For every jar, launches fresh JVMs with only that jar and the {@link ColdStartProbe} on the classpath, invokes the
+ * Lambda entry point HandlerWrapper::handleRequest with a recorded Read request against {@link FakeS3OutpostsServer}, and
+ * reports process spawn to first response, JVM start to first response, classes loaded and heap usage after the first
+ * request. With --prime the entry point is SnapStartHandlerWrapper instead, which primes the handlers during init (see
+ * the Primer class of each module), which is what a SnapStart snapshot would contain, so firstRequestMs shows what a
+ * restored function pays for its first request.
+ *
+ * Usage: java -jar target/coldstart.jar [--runs N] [--csv FILE] [--prime] [--jvm-arg ARG]... HANDLER_JAR...
+ */
+public final class ColdStartRunner {
+
+    // Read by PrimingHandlerWrapper, the base of the SnapStartHandlerWrapper of every handler module.
+    private static final String PRIME_ON_INIT = "S3OUTPOSTS_PRIME_ON_INIT";
+    private static final Pattern HANDLER_JAR = Pattern.compile("aws-s3outposts-([a-z]+)-handler.*\\.jar");
+    private static final String CSV_HEADER = "module,run,primed,status,spawnToFirstResponseMs,jvmStartToMainMs,handlerInitMs,"
+            + "jvmStartToFirstResponseMs,firstRequestMs,classesLoaded,heapUsedBytes,heapUsedAfterGcBytes,heapCommittedBytes,fakeRequests";
+
+    private ColdStartRunner() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        int runs = 5;
+        String csv = null;
+        boolean prime = false;
+        final List<String> jvmArgs = new ArrayList<>();
+        final List<String> jars = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runs":
+                    runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--csv":
+                    csv = args[++i];
+                    break;
+                case "--prime":
+                    prime = true;
+                    break;
+                case "--jvm-arg":
+                    jvmArgs.add(args[++i]);
+                    break;
+                default:
+                    jars.add(args[i]);
+            }
+        }
+        if (jars.isEmpty()) {
+            System.err.println("Usage: java -jar coldstart.jar [--runs N] [--csv FILE] [--prime] [--jvm-arg ARG]... HANDLER_JAR...");
+            System.exit(2);
+        }
+
+        final List<Map<String, String>> results = new ArrayList<>();
+        boolean failed = false;
+        try (FakeS3OutpostsServer fake = new FakeS3OutpostsServer()) {
+            for (final String jar : jars) {
+                final String module = module(jar);
+                for (int run = 1; run <= runs; run++) {
+                    final Map<String, String> result = launch(jar, module, fake.endpoint(), prime, jvmArgs);
+                    result.put("jar", jar);
+                    result.put("module", module);
+                    result.put("run", Integer.toString(run));
+                    result.put("primed", Boolean.toString(prime));
+                    result.put("fakeRequests", Integer.toString(fake.takeRequestCount()));
+                    results.add(result);
+                    failed |= !"SUCCESS".equals(result.get("status"));
+                }
+            }
+        }
+
+        printSummary(jars, results);
+        if (csv != null) {
+            writeCsv(csv, results);
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static String module(final String jar) {
+        final Matcher matcher = HANDLER_JAR.matcher(new File(jar).getName());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a handler jar: " + jar);
+        }
+        return matcher.group(1);
+    }
+
+    private static Map<String, String> launch(final String jar,
+                                              final String module,
+                                              final String endpoint,
+                                              final boolean prime,
+                                              final List<String> jvmArgs) throws IOException, InterruptedException {
+        final String probe = new File(ColdStartRunner.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-D" + LocalEndpointInterceptor.ENDPOINT_PROPERTY + "=" + endpoint);
+        command.add("-cp");
+        command.add(jar + File.pathSeparator + probe);
+        command.add(ColdStartProbe.class.getName());
+        command.add(String.format("software.amazon.s3outposts.%s.%s", module, prime ? "SnapStartHandlerWrapper" : "HandlerWrapper"));
+        command.add(String.format("/payloads/%s-read.json", module));
+
+        final ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        builder.environment().put("AWS_REGION", "us-east-1");
+        builder.environment().put("AWS_ACCESS_KEY_ID", "coldstart");
+        builder.environment().put("AWS_SECRET_ACCESS_KEY", "coldstart");
+        builder.environment().put("AWS_EC2_METADATA_DISABLED", "true");
+        builder.environment().put(PRIME_ON_INIT, Boolean.toString(prime));
+
+        final long spawned = System.currentTimeMillis();
+        final Process process = builder.start();
+        final List<String> output = new ArrayList<>();
+        final Map<String, String> result = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith(ColdStartProbe.RESULT_PREFIX)) {
+                    for (final String field : line.substring(ColdStartProbe.RESULT_PREFIX.length()).split(" ")) {
+                        final int separator = field.indexOf('=');
+                        result.put(field.substring(0, separator), field.substring(separator + 1));
+                    }
+                } else {
+                    output.add(line);
+                }
+            }
+        }
+        process.waitFor();
+
+        if (result.containsKey("responseEpochMs")) {
+            result.put("spawnToFirstResponseMs", Long.toString(Long.parseLong(result.get("responseEpochMs")) - spawned));
+        }
+        if (!"SUCCESS".equals(result.get("status"))) {
+            result.putIfAbsent("status", "EXIT_" + process.exitValue());
+            System.err.printf("%s run failed with status %s:%n", module, result.get("status"));
+            output.forEach(System.err::println);
+        }
+        return result;
+    }
+
+    private static void printSummary(final List<String> jars, final List<Map<String, String>> results) {
+        System.out.printf("%-12s %8s %6s %28s %24s %16s %10s %14s %14s%n", "module", "jar(MB)", "runs",
+                "spawn->response ms (min/med/max)", "jvm->response ms (med)", "first req ms", "classes", "heap used MB",
+                "after GC MB");
+        for (final String jar : jars) {
+            final String module = module(jar);
+            final List<Map<String, String>> moduleResults = new ArrayList<>();
+            for (final Map<String, String> result : results) {
+                if (jar.equals(result.get("jar")) && "SUCCESS".equals(result.get("status"))) {
+                    moduleResults.add(result);
+                }
+            }
+            if (moduleResults.isEmpty()) {
+                System.out.printf("%-12s %8.1f %6d %28s%n", module, megabytes(new File(jar).length()), 0, "no successful run");
+                continue;
+            }
+            final List<Long> spawn = values(moduleResults, "spawnToFirstResponseMs");
+            System.out.printf("%-12s %8.1f %6d %28s %24d %16d %10d %14.1f %14.1f%n",
+                    module,
+                    megabytes(new File(jar).length()),
+                    moduleResults.size(),
+                    String.format("%d/%d/%d", spawn.get(0), median(spawn), spawn.get(spawn.size() - 1)),
+                    median(values(moduleResults, "jvmStartToFirstResponseMs")),
+                    median(values(moduleResults, "firstRequestMs")),
+                    median(values(moduleResults, "classesLoaded")),
+                    megabytes(median(values(moduleResults, "heapUsedBytes"))),
+                    megabytes(median(values(moduleResults, "heapUsedAfterGcBytes"))));
+        }
+    }
+
+    private static void writeCsv(final String file, final List<Map<String, String>> results) throws IOException {
+        final boolean exists = new File(file).exists();
+        try (Writer writer = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             PrintWriter out = new PrintWriter(writer)) {
+            if (!exists) {
+                out.println(CSV_HEADER);
+            }
+            for (final Map<String, String> result : results) {
+                final List<String> row = new ArrayList<>();
+                for (final String column : CSV_HEADER.split(",")) {
+                    row.add(result.getOrDefault(column, ""));
+                }
+                out.println(String.join(",", row));
+            }
+        }
+    }
+
+    private static List<Long> values(final List<Map<String, String>> results, final String key) {
+        final List<Long> values = new ArrayList<>();
+        for (final Map<String, String> result : results) {
+            values.add(Long.parseLong(result.get(key)));
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+    private static long median(final List<Long> sorted) {
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static double megabytes(final long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+}
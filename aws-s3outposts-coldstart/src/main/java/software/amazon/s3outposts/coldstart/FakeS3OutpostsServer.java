@@ -0,0 +1,120 @@
+package software.amazon.s3outposts.coldstart;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the S3Control and S3Outposts APIs, answering the Read calls of the four handlers with canned
+ * responses from the responses/ resources. Anything else gets a 404 so an unexpected call shows up as a failed run.
+ */
+final class FakeS3OutpostsServer implements AutoCloseable {
+
+    private static final String XML = "application/xml";
+    private static final String JSON = "application/json";
+
+    private final List<Route> routes = new ArrayList<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final HttpServer server;
+
+    FakeS3OutpostsServer() throws IOException {
+        // S3Control (REST-XML)
+        route("GET", ".*/bucket/[^/]+/tagging", XML, "/responses/get-bucket-tagging.xml");
+        route("GET", ".*/bucket/[^/]+/lifecycleconfiguration", XML, "/responses/get-bucket-lifecycle-configuration.xml");
+        route("GET", ".*/bucket/[^/]+/policy", XML, "/responses/get-bucket-policy.xml");
+        route("GET", ".*/bucket/[^/]+", XML, "/responses/get-bucket.xml");
+        route("GET", ".*/accesspoint/[^/]+/policy", XML, "/responses/get-access-point-policy.xml");
+        route("GET", ".*/accesspoint/[^/]+", XML, "/responses/get-access-point.xml");
+        // S3Outposts (REST-JSON)
+        route("GET", "/S3Outposts/ListEndpoints", JSON, "/responses/list-endpoints.json");
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @return base URI the handler under test is redirected to
+     */
+    String endpoint() {
+        return String.format("http://127.0.0.1:%d", server.getAddress().getPort());
+    }
+
+    /**
+     * @return number of requests served since the last call
+     */
+    int takeRequestCount() {
+        return requestCount.getAndSet(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void route(final String method, final String path, final String contentType, final String resource) throws IOException {
+        routes.add(new Route(method, Pattern.compile(path), contentType, readResource(resource)));
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        final String path = exchange.getRequestURI().getPath();
+        Route match = null;
+        for (final Route route : routes) {
+            if (route.method.equals(exchange.getRequestMethod()) && route.path.matcher(path).matches()) {
+                match = route;
+                break;
+            }
+        }
+        if (match == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", match.contentType);
+        exchange.getResponseHeaders().add("x-amz-request-id", "coldstart");
+        exchange.sendResponseHeaders(200, match.body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(match.body);
+        }
+    }
+
+    private static byte[] readResource(final String name) throws IOException {
+        try (InputStream in = FakeS3OutpostsServer.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Response not found: " + name);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static final class Route {
+        private final String method;
+        private final Pattern path;
+        private final String contentType;
+        private final byte[] body;
+
+        private Route(final String method, final Pattern path, final String contentType, final byte[] body) {
+            this.method = method;
+            this.path = path;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package software.amazon.s3outposts.coldstart;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+import java.net.URI;
+
+/**
+ * Redirects every SDK request of the handler under test to the local fake started by {@link ColdStartRunner}.
+ *
+ * Registered as an s3control and s3outposts service interceptor (software/amazon/awssdk/services/.../execution.interceptors),
+ * so the handler's ClientBuilder is used unchanged. The SDK versions the handlers pin collect service interceptors into a
+ * HashMap, so there is no guarantee this one runs after s3control's EndpointAddressInterceptor, which rewrites the host of
+ * outposts ARN requests. The endpoint is therefore also published as a client endpoint override in beforeExecution, which
+ * EndpointAddressInterceptor honours. SdkExecutionAttribute.CLIENT_ENDPOINT only exists from sdk-core 2.16, so it is
+ * looked up reflectively and skipped on older cores. It is a no-op unless {@link #ENDPOINT_PROPERTY} is set.
+ */
+public class LocalEndpointInterceptor implements ExecutionInterceptor {
+
+    static final String ENDPOINT_PROPERTY = "s3outposts.coldstart.endpoint";
+
+    private static final ExecutionAttribute<URI> CLIENT_ENDPOINT = clientEndpointAttribute();
+
+    private final URI endpoint;
+
+    public LocalEndpointInterceptor() {
+        final String value = System.getProperty(ENDPOINT_PROPERTY);
+        endpoint = value == null ? null : URI.create(value);
+    }
+
+    @Override
+    public void beforeExecution(final Context.BeforeExecution context, final ExecutionAttributes executionAttributes) {
+        if (endpoint != null) {
+            executionAttributes.putAttribute(SdkExecutionAttribute.ENDPOINT_OVERRIDDEN, Boolean.TRUE);
+            if (CLIENT_ENDPOINT != null) {
+                executionAttributes.putAttribute(CLIENT_ENDPOINT, endpoint);
+            }
+        }
+    }
+
+    @Override
+    public SdkHttpRequest modifyHttpRequest(final Context.ModifyHttpRequest context,
+                                            final ExecutionAttributes executionAttributes) {
+        if (endpoint == null) {
+            return context.httpRequest();
+        }
+        return context.httpRequest().toBuilder()
+                .protocol(endpoint.getScheme())
+                .host(endpoint.getHost())
+                .port(endpoint.getPort())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ExecutionAttribute<URI> clientEndpointAttribute() {
+        try {
+            return (ExecutionAttribute<URI>) SdkExecutionAttribute.class.getField("CLIENT_ENDPOINT").get(null);
+        } catch (final NoSuchFieldException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+}
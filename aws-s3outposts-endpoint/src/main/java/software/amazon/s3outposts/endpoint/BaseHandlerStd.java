@@ -1,20 +1,40 @@
 package software.amazon.s3outposts.endpoint;
 
+import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.awssdk.services.s3outposts.model.Endpoint;
 import software.amazon.awssdk.services.s3outposts.model.EndpointAccessType;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsRequest;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsResponse;
 import software.amazon.awssdk.services.s3outposts.model.S3OutpostsException;
 import software.amazon.awssdk.services.s3outposts.model.S3OutpostsRequest;
+import software.amazon.awssdk.services.s3outposts.model.S3OutpostsResponse;
 import software.amazon.cloudformation.proxy.*;
 import software.amazon.cloudformation.proxy.delay.Constant;
+import software.amazon.s3outposts.shared.CircuitBreakerProxyClient;
+import software.amazon.s3outposts.shared.ContextSizePolicy;
+import software.amazon.s3outposts.shared.ListPager;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
+    /**
+     * The idempotent reads a {@link software.amazon.s3outposts.shared.SingleFlightProxyClient} may share between
+     * concurrent invocations, those of every Read, the same pages of the same listing.
+     */
+    public static final Set<Class<? extends AwsRequest>> IDEMPOTENT_READS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(ListEndpointsRequest.class)));
+
     // Default Access Type
     protected static final String DEFAULT_ACCESS_TYPE = EndpointAccessType.PRIVATE.toString();
     // Maximum number of retries to stabilize an operation
@@ -25,12 +45,16 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             .timeout(Duration.ofMinutes(30L))
             .delay(Duration.ofSeconds(15L))
             .build();
+    // Largest page ListEndpoints returns
+    // Ref: https://docs.aws.amazon.com/AmazonS3/latest/API/API_s3outposts_ListEndpoints.html
+    protected static final int LIST_ENDPOINTS_MAX_RESULTS = 100;
 
     // Error messages (returned to the customer)
     protected static final String INVALID_INPUT = "OutpostId, SecurityGroupId, SubnetId are required parameters.";
     protected static final String ENDPOINT_ARN_REQD = "Endpoint ARN is required.";
     protected static final String ENDPOINT_ARN_NOT_FOUND = "Endpoint with provided ARN not found.";
     protected static final String INVALID_ACCESS_TYPE = "AccessType is invalid.";
+    protected static final String ENDPOINT_EXISTS = "An endpoint with the same OutpostId, SubnetId, SecurityGroupId and AccessType already exists.";
     protected static final String MAX_RETRY_ATTEMPTS = "Maximum number of Stabilization attempts reached. Returning SUCCESS.";
 
     @Override
@@ -39,13 +63,22 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final Logger logger) {
-        return handleRequest(
+        final ResourceModel model = request.getDesiredResourceState();
+        // A model the service would refuse fails here, at the entry point the plugin calls, before any call to the service.
+        final List<String> violations = model != null ? validate(model) : Collections.emptyList();
+        if (!violations.isEmpty()) {
+            return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InvalidRequest, RequestValidator.message(violations));
+        }
+        final String circuit = CircuitBreakerProxyClient.key(request.getAwsAccountId(), request.getRegion(),
+                model != null ? model.getArn() : null, model != null ? model.getOutpostId() : null);
+        return ContextSizePolicy.apply(handleRequest(
                 proxy,
                 request,
                 callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+                CircuitBreakerProxyClient.of(proxy.newProxy(ClientBuilder::getClient),
+                        ResourceModel.TYPE_NAME, circuit, logger),
                 logger
-        );
+        ), ResourceModel.TYPE_NAME, logger);
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -55,6 +88,13 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             final ProxyClient<S3OutpostsClient> proxyClient,
             final Logger logger);
 
+    /**
+     * @return The violations of a model the service would refuse, checked by {@link RequestValidator}; none by default
+     */
+    protected List<String> validate(final ResourceModel model) {
+        return Collections.emptyList();
+    }
+
 
     /**
      * Common error handling function. Used by all handlers of the Endpoint resource.
@@ -94,6 +134,10 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                     return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.GeneralServiceException, e.getMessage());
             }
 
+        } catch (CircuitBreakerProxyClient.OpenException e) {
+
+            return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.ServiceInternalError, e.getMessage());
+
         } catch (SdkException e) {
 
             return ProgressEvent.failed(resourceModel, callbackContext, HandlerErrorCode.GeneralServiceException, e.getMessage());
@@ -103,109 +147,131 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     }
 
     /**
-     * Calls the API listEndpoints.
+     * Calls a read-only API without a call graph. StdCallbackContext memoizes the response of every call graph and has
+     * no way to evict it, so a ListEndpoints page read through one would be serialized with the context on every
+     * stabilization callback of Create and Delete. The read is cheap to repeat, so it is made on the proxy client directly.
+     *
+     * @param proxyClient
+     * @param serviceRequest
+     * @param serviceCall
+     * @param model
+     * @param callbackContext
+     * @param errorHandler    Same contract as the handleError of a call graph
+     * @param done            Maps the response to the ProgressEvent returned
+     * @return ProgressEvent returned by done, or by the error handler if the call failed
+     */
+    protected static <RequestT extends S3OutpostsRequest, ResponseT extends S3OutpostsResponse>
+    ProgressEvent<ResourceModel, CallbackContext> read(
+            final ProxyClient<S3OutpostsClient> proxyClient,
+            final RequestT serviceRequest,
+            final Function<RequestT, ResponseT> serviceCall,
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final CallChain.ExceptionPropagate<RequestT, Exception, S3OutpostsClient, ResourceModel, CallbackContext,
+                    ProgressEvent<ResourceModel, CallbackContext>> errorHandler,
+            final Function<ResponseT, ProgressEvent<ResourceModel, CallbackContext>> done) {
+        final ResponseT response;
+        try {
+            response = proxyClient.injectCredentialsAndInvokeV2(serviceRequest, serviceCall);
+        } catch (final RuntimeException e) {
+            try {
+                return errorHandler.invoke(serviceRequest, e, proxyClient, model, callbackContext);
+            } catch (final Exception unmapped) {
+                // Same outcome as an exception rethrown by the handleError of a call graph
+                return ProgressEvent.failed(model, callbackContext, HandlerErrorCode.InternalFailure, unmapped.getMessage());
+            }
+        }
+        return done.apply(response);
+    }
+
+    /**
+     * Calls the API listEndpoints, keeping only the endpoints matching the filter. The filter is applied before the
+     * endpoints are translated, see {@link ListPager}.
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3outposts/model/ListEndpointsRequest.html
-     * Gets called from the ListHandler and the ReadHandler.
+     * Gets called from the ListHandler, the only caller that may stop paging early and hand back a nextToken.
      */
     protected ProgressEvent<ResourceModel, CallbackContext> listEndpoints(
             AmazonWebServicesClientProxy proxy,
             ProxyClient<S3OutpostsClient> proxyClient,
             ResourceHandlerRequest<ResourceModel> request,
             ProgressEvent<ResourceModel, CallbackContext> progress,
+            Predicate<Endpoint> filter,
             Logger logger) {
 
         ResourceModel model = progress.getResourceModel();
         CallbackContext callbackContext = progress.getCallbackContext();
-
-        // The ResourceModel contains the NavyId as OutpostId when running on EC2 outposts and not actual Outposts
-        // OutpostId should be set when:
-        //      Create -> stabilizedOnCreate -> List
-        //      ContractTest: Create -> List
-        //      ContractTest: Create -> Read
-
-        final boolean ec2OutpostIdPresent;
-        final String outpostId;
-
-        if (model != null && model.getArn() != null) {
-            logger.log(String.format("%s::Read::listEndpoints, arn: %s", ResourceModel.TYPE_NAME, model.getArn()));
-            outpostId = EndpointArnFields.splitArn(model.getArn()).outpostId;
-            ec2OutpostIdPresent = !outpostId.equals("ec2") && !outpostId.startsWith("op-");
-        } else {
-            outpostId = null;
-            ec2OutpostIdPresent = false;
-        }
+        final String ec2OutpostId = ec2OutpostId(model);
 
         if (request.getNextToken() != null) {
             logger.log(String.format("%s::List::listEndpoints - Account: %s, NextToken: %s",
                     ResourceModel.TYPE_NAME, request.getAwsAccountId(), request.getNextToken()));
         } else {
-            logger.log(String.format("%s::Read/List::listEndpoints - Account: %s",
+            logger.log(String.format("%s::List::listEndpoints - Account: %s",
                     ResourceModel.TYPE_NAME, request.getAwsAccountId()));
         }
 
-        return proxy.initiate("AWS-S3Outposts-Endpoint::Read/List::ListEndpoints", proxyClient, model, callbackContext)
-                .translateToServiceRequest(resourceModel ->
-                        Translator.translateToSdkListEndpointsRequest(request.getNextToken())
-                )
-                .makeServiceCall((listEndpointsRequest, s3ControlProxyClient) ->
-                        s3ControlProxyClient.injectCredentialsAndInvokeV2(listEndpointsRequest,
-                                s3ControlProxyClient.client()::listEndpoints)
-                )
-                .handleError(this::handleError)
-                .done((listEndpointsResponse) ->
-                        ProgressEvent.<ResourceModel, CallbackContext>builder()
-                                // We have to keep the model intact in the ProgressEvent object for the sake of the ReadHandler.
-                                // When a user calls the ReadHandler, they provide the Arn in the model, and we don't want to lose this information.
-                                .resourceModel(model)
-                                .resourceModels(
-                                        listEndpointsResponse.endpoints()
-                                                .stream()
-                                                .map(endpoint -> {
-                                                    if (ec2OutpostIdPresent) {
-                                                        return Translator.translateFromSdkEc2Endpoint(endpoint, outpostId);
-                                                    } else {
-                                                        return Translator.translateFromSdkEndpoint(endpoint);
-                                                    }
-                                                })
-                                                .collect(Collectors.toList())
-                                )
-                                .nextToken(listEndpointsResponse.nextToken())
-                                .status(OperationStatus.IN_PROGRESS)
-                                .build()
-
-                );
+        final ListPager<ListEndpointsResponse, Endpoint, ResourceModel> pager = new ListPager<>(ResourceModel.TYPE_NAME, "ListEndpoints",
+                LIST_ENDPOINTS_MAX_RESULTS, ListPager.RESPONSE_BUDGET_BYTES,
+                (nextToken, maxResults) -> proxyClient.injectCredentialsAndInvokeV2(
+                        Translator.translateToSdkListEndpointsRequest(nextToken, maxResults), proxyClient.client()::listEndpoints),
+                ListEndpointsResponse::endpoints,
+                ListEndpointsResponse::nextToken,
+                filter,
+                endpoint -> translate(endpoint, ec2OutpostId));
+        final int maxResults = pager.firstMaxResults();
+
+        return read(proxyClient,
+                Translator.translateToSdkListEndpointsRequest(request.getNextToken(), maxResults),
+                proxyClient.client()::listEndpoints,
+                model, callbackContext,
+                this::handleError,
+                listEndpointsResponse -> {
+                    // Following pages are fetched while the previous one is translated, up to the response budget.
+                    final ListPager.Result<ResourceModel> result = pager.collect(listEndpointsResponse, maxResults, logger);
+                    return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                            .resourceModel(model)
+                            .resourceModels(result.getResourceModels())
+                            .nextToken(result.getNextToken())
+                            .status(OperationStatus.IN_PROGRESS)
+                            .build();
+                });
 
     }
 
     /**
-     * In this routine, we traverse the List<ResourceModel> returned by calling `listEndpoints`.
-     * While traversing, we search for an Arn match, using the Arn provided by the caller in the model.
-     * Once we get an Arn match, we populate the model and return.
+     * Finds the endpoint with the Arn provided by the caller in the model, and populates the model with it.
+     * ListEndpoints is paged until the endpoint is found or there are no more pages: unlike the List handler, a lookup
+     * by Arn never stops early, so an endpoint it does not find does not exist. A failed page fails the lookup.
      *
      * NOTE: Endpoint resource does not support a GetEndpoint API call. That's the reason why we have to call
      * the ListEndpoints API and use its output to populate the model in the ReadHandler.
      */
     protected ProgressEvent<ResourceModel, CallbackContext> getEndpoint(
+            ProxyClient<S3OutpostsClient> proxyClient,
             ProgressEvent<ResourceModel, CallbackContext> progress,
             Logger logger) {
 
         final ResourceModel requestResourceModel = progress.getResourceModel();
         final String arn = requestResourceModel.getArn();
-        final List<ResourceModel> modelList = progress.getResourceModels();
         final CallbackContext context = progress.getCallbackContext();
+        final String ec2OutpostId = ec2OutpostId(requestResourceModel);
 
         logger.log(String.format("%s::Read::getEndpoint - Finding endpoint with ARN: %s", ResourceModel.TYPE_NAME, arn));
 
-        // Find first element in List<ResourceModel> which contains the provided Arn.
-        // NOTE: Since the Arn is unique, we don't expect more than 1 element in List<ResourceModel> with the Arn.
-        Optional<ResourceModel> modelOpt = modelList.stream()
-                .filter(resourceModel -> resourceModel.getArn().equals(arn))
-                .findFirst();
-
-        // Check if model of type Optional is not empty
-        if (modelOpt.isPresent()) {
-            ResourceModel model = modelOpt.get();
+        final Optional<Endpoint> endpoint;
+        try {
+            endpoint = findEndpoint(proxyClient, listed -> arn.equals(listedArn(listed, ec2OutpostId)), logger);
+        } catch (final RuntimeException e) {
+            try {
+                return handleError(null, e, proxyClient, requestResourceModel, context);
+            } catch (final Exception unmapped) {
+                // Same outcome as an exception rethrown by the handleError of a call graph
+                return ProgressEvent.failed(requestResourceModel, context, HandlerErrorCode.InternalFailure, unmapped.getMessage());
+            }
+        }
 
+        if (endpoint.isPresent()) {
+            final ResourceModel model = translate(endpoint.get(), ec2OutpostId);
             // Update the model in the ProgressEvent object
             progress.setResourceModel(model);
             return ProgressEvent.progress(model, context);
@@ -214,5 +280,57 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         }
     }
 
+    /**
+     * Pages ListEndpoints, at the service maximum page size, until an endpoint matches the filter.
+     *
+     * @return First endpoint matching the filter, empty after the last page
+     */
+    private static Optional<Endpoint> findEndpoint(final ProxyClient<S3OutpostsClient> proxyClient,
+                                                   final Predicate<Endpoint> filter,
+                                                   final Logger logger) {
+        String nextToken = null;
+        int pages = 0;
+        do {
+            final ListEndpointsResponse listEndpointsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToSdkListEndpointsRequest(nextToken, LIST_ENDPOINTS_MAX_RESULTS),
+                    proxyClient.client()::listEndpoints);
+            pages++;
+            final Optional<Endpoint> found = listEndpointsResponse.endpoints().stream().filter(filter).findFirst();
+            if (found.isPresent()) {
+                logger.log(String.format("%s::Read::ListEndpoints - found on page %d", ResourceModel.TYPE_NAME, pages));
+                return found;
+            }
+            nextToken = listEndpointsResponse.nextToken();
+        } while (nextToken != null);
+        logger.log(String.format("%s::Read::ListEndpoints - not found in %d pages", ResourceModel.TYPE_NAME, pages));
+        return Optional.empty();
+    }
+
+    /**
+     * The ResourceModel contains the NavyId as OutpostId when running on EC2 outposts and not actual Outposts.
+     * OutpostId should be set when:
+     *      Create -> stabilizedOnCreate -> List
+     *      ContractTest: Create -> List
+     *      ContractTest: Create -> Read
+     *
+     * @return NavyId in the Arn of the model, null if there is no Arn or it holds an actual OutpostId
+     */
+    private static String ec2OutpostId(final ResourceModel model) {
+        if (model == null || model.getArn() == null) {
+            return null;
+        }
+        final String outpostId = EndpointArnFields.splitArn(model.getArn()).outpostId;
+        return !outpostId.equals("ec2") && !outpostId.startsWith("op-") ? outpostId : null;
+    }
+
+    private static String listedArn(final Endpoint endpoint, final String ec2OutpostId) {
+        return ec2OutpostId != null ?
+                endpoint.endpointArn().replaceFirst("/ec2/", String.format("/%s/", ec2OutpostId)) : endpoint.endpointArn();
+    }
+
+    private static ResourceModel translate(final Endpoint endpoint, final String ec2OutpostId) {
+        return ec2OutpostId != null ?
+                Translator.translateFromSdkEc2Endpoint(endpoint, ec2OutpostId) : Translator.translateFromSdkEndpoint(endpoint);
+    }
 
 }
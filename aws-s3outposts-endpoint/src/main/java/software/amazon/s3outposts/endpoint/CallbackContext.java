@@ -17,4 +17,17 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 public class CallbackContext extends StdCallbackContext {
     protected boolean stabilized;
     protected Integer stabilizationRetriesRemaining;
+    // ClientRequestToken of the Create the state below belongs to
+    protected String clientRequestToken;
+    // Whether an earlier invocation of that Create already issued CreateEndpoint
+    protected boolean createRequested;
+    // Epoch millis just before that Create first issued CreateEndpoint, endpoints created earlier are not its own
+    protected Long createStartedAt;
+    // ARN of the endpoint that Create is waiting on, as returned by CreateEndpoint
+    protected String createdArn;
+
+    public CallbackContext(final boolean stabilized, final Integer stabilizationRetriesRemaining) {
+        this.stabilized = stabilized;
+        this.stabilizationRetriesRemaining = stabilizationRetriesRemaining;
+    }
 }
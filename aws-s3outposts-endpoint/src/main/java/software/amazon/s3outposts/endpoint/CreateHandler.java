@@ -1,15 +1,28 @@
 package software.amazon.s3outposts.endpoint;
 
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
 import software.amazon.awssdk.services.s3outposts.model.CreateEndpointResponse;
+import software.amazon.awssdk.services.s3outposts.model.Endpoint;
 import software.amazon.awssdk.services.s3outposts.model.EndpointAccessType;
+import software.amazon.awssdk.services.s3outposts.model.EndpointStatus;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsResponse;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 public class CreateHandler extends BaseHandlerStd {
 
-    private Logger logger;
+    private static final String CREATE_CALL_GRAPH = "AWS-S3Outposts-Endpoint::Create";
+    // Same as the STABILIZATION_DELAY used while the CreateEndpoint call graph stabilizes
+    private static final int RESUME_CALLBACK_DELAY_SECONDS = 15;
+
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -17,8 +30,6 @@ public class CreateHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3OutpostsClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
         CallbackContext currentContext = callbackContext.stabilizationRetriesRemaining == null ?
                 CallbackContext.builder().stabilizationRetriesRemaining(NUMBER_OF_STABILIZATION_RETRIES).build() :
@@ -41,12 +52,62 @@ public class CreateHandler extends BaseHandlerStd {
             return ProgressEvent.failed(model, currentContext, HandlerErrorCode.InvalidRequest, INVALID_ACCESS_TYPE);
         }
 
+        // A context left behind by another Create (different ClientRequestToken) says nothing about this one.
+        if (!Objects.equals(currentContext.getClientRequestToken(), request.getClientRequestToken())) {
+            currentContext.setClientRequestToken(request.getClientRequestToken());
+            currentContext.setCreateRequested(false);
+            currentContext.setCreateStartedAt(null);
+            currentContext.setCreatedArn(null);
+            currentContext.setStabilized(false);
+        }
+
+        // Retried invocation whose CreateEndpoint response was not memoized: the endpoint may exist already.
+        final boolean retry = currentContext.isCreateRequested();
+        if (!retry) {
+            currentContext.setCreateStartedAt(System.currentTimeMillis());
+        }
+        currentContext.setCreateRequested(true);
+        if (currentContext.response(CREATE_CALL_GRAPH) == null) {
+            if (retry && currentContext.getCreatedArn() == null) {
+                final List<Endpoint> matching;
+                try {
+                    matching = findEndpoints(proxyClient, model);
+                } catch (final SdkException e) {
+                    try {
+                        return handleError(null, e, proxyClient, model, currentContext);
+                    } catch (final Exception unmapped) {
+                        throw e;
+                    }
+                }
+                // Only an endpoint created since this Create started can be the one its lost CreateEndpoint made.
+                final List<Endpoint> created = matching.stream()
+                        .filter(endpoint -> createdSince(endpoint, currentContext.getCreateStartedAt()))
+                        .collect(Collectors.toList());
+                if (created.size() == 1) {
+                    currentContext.setCreatedArn(created.get(0).endpointArn());
+                } else if (!matching.isEmpty()) {
+                    logger.log(String.format("[ClientRequestToken: %s] %s::Create - %d matching endpoints, %d created since %s, none adopted",
+                            request.getClientRequestToken(), ResourceModel.TYPE_NAME, matching.size(), created.size(),
+                            currentContext.getCreateStartedAt()));
+                    return ProgressEvent.failed(model, currentContext, HandlerErrorCode.AlreadyExists, ENDPOINT_EXISTS);
+                }
+            }
+            if (currentContext.getCreatedArn() != null) {
+                return resumeCreate(proxy, proxyClient, request, model, currentContext, logger);
+            }
+        }
+
         return ProgressEvent.progress(model, currentContext)
                 .then(progress -> createEndpoint(proxy, proxyClient, request, progress, logger))
                 .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
 
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validate(model);
+    }
+
     /**
      * Calls the API createEndpoint
      *
@@ -70,7 +131,7 @@ public class CreateHandler extends BaseHandlerStd {
         logger.log(String.format("%s::Create::CreateEndpoint for outpost %s with subnet: %s, securityGroup: %s, accessType: %s, customerOwnedIpv4Pool: %s\n",
                 ResourceModel.TYPE_NAME, model.getOutpostId(), model.getSubnetId(), model.getSecurityGroupId(), model.getAccessType(), model.getCustomerOwnedIpv4Pool()));
 
-        return proxy.initiate("AWS-S3Outposts-Endpoint::Create", proxyClient, model, callbackContext)
+        return proxy.initiate(CREATE_CALL_GRAPH, proxyClient, model, callbackContext)
                 // Translate CFN request to SDK compatible DeleteEndpointRequest
                 .translateToServiceRequest(Translator::translateToSdkCreateEndpointRequest)
                 .backoffDelay(STABILIZATION_DELAY)
@@ -78,12 +139,81 @@ public class CreateHandler extends BaseHandlerStd {
                         s3OutpostsProxyClient.injectCredentialsAndInvokeV2(createEndpointRequest, s3OutpostsProxyClient.client()::createEndpoint)))
                 // Loop over the stabilize method until created endpoint is actually Available
                 .stabilize((createEndpointRequest, createEndpointResponse, s3OutpostsProxyClient, resourceModel, cbContext) ->
-                    stabilizedOnCreate(proxyClient, resourceModel, request, createEndpointResponse, cbContext, proxy)
+                    stabilizedOnCreate(proxyClient, resourceModel, request, createEndpointResponse, cbContext, proxy, logger)
                 )
                 .handleError(this::handleError)
                 .progress();
     }
 
+    /**
+     * Waits for the endpoint an earlier invocation of this Create already created, instead of calling CreateEndpoint again.
+     *
+     * @param proxy AmazonWebServicesClientProxy
+     * @param proxyClient The aws service client to make the call
+     * @param request Request
+     * @param model Resource model
+     * @param callbackContext Callback Context holding the created endpoint ARN
+     * @param logger Logger
+     * @return SUCCESS once the endpoint is Available, IN_PROGRESS otherwise
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> resumeCreate(
+            final AmazonWebServicesClientProxy proxy,
+            final ProxyClient<S3OutpostsClient> proxyClient,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+
+        logger.log(String.format("[ClientRequestToken: %s] %s::Create resuming on Endpoint ARN: %s",
+                request.getClientRequestToken(), ResourceModel.TYPE_NAME, callbackContext.getCreatedArn()));
+        final CreateEndpointResponse createEndpointResponse =
+                CreateEndpointResponse.builder().endpointArn(callbackContext.getCreatedArn()).build();
+        if (stabilizedOnCreate(proxyClient, model, request, createEndpointResponse, callbackContext, proxy, logger)) {
+            return ProgressEvent.defaultSuccessHandler(model);
+        }
+        return ProgressEvent.defaultInProgressHandler(callbackContext, RESUME_CALLBACK_DELAY_SECONDS, model);
+    }
+
+    /**
+     * Looks for the endpoints matching the desired outpost, subnet, security group and access type, among which the one
+     * an earlier CreateEndpoint of this request may have created before the handler lost its response.
+     *
+     * @param proxyClient The aws service client to make the call
+     * @param model Resource model
+     * @return Matching endpoints that are not being deleted
+     */
+    private List<Endpoint> findEndpoints(final ProxyClient<S3OutpostsClient> proxyClient,
+                                         final ResourceModel model) {
+        final List<Endpoint> matching = new ArrayList<>();
+        String nextToken = null;
+        do {
+            final ListEndpointsResponse listEndpointsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToSdkListEndpointsRequest(nextToken, LIST_ENDPOINTS_MAX_RESULTS),
+                    proxyClient.client()::listEndpoints);
+            for (final Endpoint endpoint : listEndpointsResponse.endpoints()) {
+                if (Objects.equals(endpoint.outpostsId(), model.getOutpostId())
+                        && Objects.equals(endpoint.subnetId(), model.getSubnetId())
+                        && Objects.equals(endpoint.securityGroupId(), model.getSecurityGroupId())
+                        && Objects.equals(endpoint.accessTypeAsString(), model.getAccessType())
+                        && endpoint.status() != EndpointStatus.DELETING) {
+                    matching.add(endpoint);
+                }
+            }
+            nextToken = listEndpointsResponse.nextToken();
+        } while (nextToken != null);
+        return matching;
+    }
+
+    /**
+     * @param endpoint Endpoint listed
+     * @param startedAt Epoch millis the Create started at, null if unknown
+     * @return Whether the endpoint was created at or after startedAt
+     */
+    private static boolean createdSince(final Endpoint endpoint, final Long startedAt) {
+        return startedAt != null && endpoint.creationTime() != null
+                && !endpoint.creationTime().isBefore(Instant.ofEpochMilli(startedAt));
+    }
+
     /**
      * Handler stabilize operation to wait till resource reaches terminal state (Available).
      * We do this by calling ListEndpoint -> GetEndpoint -> Check the Endpoint status.
@@ -94,6 +224,7 @@ public class CreateHandler extends BaseHandlerStd {
      * @param createEndpointResponse Response for Create Endpoint Request
      * @param cbContext Callback Context
      * @param proxy AmazonWebServicesClientProxy
+     * @param logger Logger
      * @return boolean state of stabilized or not
      */
     protected boolean stabilizedOnCreate(
@@ -102,7 +233,8 @@ public class CreateHandler extends BaseHandlerStd {
             final ResourceHandlerRequest<ResourceModel> request,
             final CreateEndpointResponse createEndpointResponse,
             final CallbackContext cbContext,
-            final AmazonWebServicesClientProxy proxy) {
+            final AmazonWebServicesClientProxy proxy,
+            final Logger logger) {
 
         String clientRequestToken = request.getClientRequestToken();
 
@@ -126,10 +258,22 @@ public class CreateHandler extends BaseHandlerStd {
             }
 
             resourceModel.setArn(finalEndpointArn);
+            cbContext.setCreatedArn(endpointArn);
             resourceModel.setId(endpointArnFields.endpointId);
-            ProgressEvent<ResourceModel, CallbackContext> readResponse = (ProgressEvent.progress(resourceModel, new CallbackContext()))
-                    .then(progress -> listEndpoints(proxy, proxyClient, request, progress, logger))
-                    .then(progress -> getEndpoint(progress, logger));
+            ProgressEvent<ResourceModel, CallbackContext> readResponse =
+                    getEndpoint(proxyClient, ProgressEvent.progress(resourceModel, new CallbackContext()), logger);
+
+            // ListEndpoints may not list the endpoint yet right after CreateEndpoint: keep waiting for it.
+            if (readResponse.isFailed()) {
+                if (readResponse.getErrorCode() == HandlerErrorCode.NotFound) {
+                    logger.log(String.format("[ClientRequestToken: %s] Endpoint ARN: %s is not listed yet.",
+                            clientRequestToken, finalEndpointArn));
+                    return false;
+                }
+                logger.log(String.format("[ClientRequestToken: %s] Endpoint ARN: %s could not be read: %s.",
+                        clientRequestToken, finalEndpointArn, readResponse.getMessage()));
+                throw new CfnNotStabilizedException(ResourceModel.TYPE_NAME, finalEndpointArn);
+            }
 
             String status = readResponse.getResourceModel().getStatus();
 
@@ -5,8 +5,9 @@ import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+
 public class DeleteHandler extends BaseHandlerStd {
-    private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +15,6 @@ public class DeleteHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3OutpostsClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
         CallbackContext currentContext = callbackContext.stabilizationRetriesRemaining == null ?
                 CallbackContext.builder().stabilizationRetriesRemaining(NUMBER_OF_STABILIZATION_RETRIES).build() :
@@ -36,13 +35,18 @@ public class DeleteHandler extends BaseHandlerStd {
                         s3OutpostsProxyClient.injectCredentialsAndInvokeV2(deleteEndpointRequest, s3OutpostsProxyClient.client()::deleteEndpoint))
                 // Loop over the stabilize method until endpoint is actually deleted
                 .stabilize((deleteEndpointRequest, deleteEndpointResponse, s3OutpostsProxyClient, resourceModel, cbContext) ->
-                        stabilizedOnDelete(proxyClient, resourceModel, request, cbContext, proxy))
+                        stabilizedOnDelete(proxyClient, resourceModel, request, cbContext, proxy, logger))
                 .handleError(this::handleError)
                 .done(deleteEndpointResponse ->
                         ProgressEvent.defaultSuccessHandler(null));
 
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
+    }
+
     /**
      * Handler stabilize operation to wait till resource reaches terminal state (Deleted)
      * We check that by calling ListEndpoints -> GetEndpoints -> check the response status.
@@ -52,6 +56,7 @@ public class DeleteHandler extends BaseHandlerStd {
      * @param request Request
      * @param cbContext Callback Context
      * @param proxy AmazonWebServicesClientProxy
+     * @param logger Logger
      * @return boolean state of stabilized or not
      */
     private boolean stabilizedOnDelete(
@@ -59,7 +64,8 @@ public class DeleteHandler extends BaseHandlerStd {
             ResourceModel resourceModel,
             ResourceHandlerRequest<ResourceModel> request,
             CallbackContext cbContext,
-            AmazonWebServicesClientProxy proxy) {
+            AmazonWebServicesClientProxy proxy,
+            Logger logger) {
 
         String clientRequestToken = request.getClientRequestToken();
         String endpointArn = resourceModel.getArn();
@@ -85,9 +91,8 @@ public class DeleteHandler extends BaseHandlerStd {
             return true;
         }
 
-        ProgressEvent<ResourceModel, CallbackContext> response = (ProgressEvent.progress(resourceModel, new CallbackContext()))
-                .then(progress -> listEndpoints(proxy, proxyClient, request, progress, logger))
-                .then(progress -> getEndpoint(progress, logger));
+        ProgressEvent<ResourceModel, CallbackContext> response =
+                getEndpoint(proxyClient, ProgressEvent.progress(resourceModel, new CallbackContext()), logger);
 
         // Failure with NotFound error denotes that endpoint was actually deleted.
         if (response.isFailed()) {
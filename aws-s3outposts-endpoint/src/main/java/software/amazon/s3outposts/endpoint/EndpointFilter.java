@@ -0,0 +1,144 @@
+package software.amazon.s3outposts.endpoint;
+
+import software.amazon.awssdk.services.s3outposts.model.Endpoint;
+import software.amazon.awssdk.services.s3outposts.model.EndpointAccessType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Filter of a List request: the OutpostId, SubnetId, SecurityGroupId, AccessType and Status set in the desired resource
+ * state, an endpoint being listed only if it matches all of them.
+ *
+ * ListEndpoints has no filter of its own, so the filter is applied to the entries of every page as it comes in, before
+ * they are translated. It only compares the fields of the entry, so an entry filtered out is neither translated nor
+ * copied. Endpoints created before AccessType existed have none, and match the Private access type, its default.
+ *
+ * Outpost IDs are compared in one form on both sides: an Outposts ARN stands for the outpost ID it ends with, and case
+ * is ignored. An endpoint on an EC2 outpost is listed with the outpost ID "ec2", and matches the account ID the model of
+ * such an endpoint holds as OutpostId, as well as "ec2" itself. Only the OutpostId of the model is brought to that form,
+ * once; the outpost ID of an entry is compared where it stands in its field, without copying it.
+ */
+final class EndpointFilter implements Predicate<Endpoint> {
+
+    private static final String EC2_OUTPOST_ID = "ec2";
+    private static final String EC2_ACCOUNT_ID = "\\d{12}";
+    private static final String OUTPOST_SEGMENT = ":outpost/";
+
+    private final String outpostId;
+    private final boolean ec2AccountId;
+    private final String subnetId;
+    private final String securityGroupId;
+    private final String accessType;
+    private final String status;
+
+    private EndpointFilter(final String outpostId,
+                           final String subnetId,
+                           final String securityGroupId,
+                           final String accessType,
+                           final String status) {
+        this.outpostId = outpostId;
+        this.ec2AccountId = outpostId != null && outpostId.matches(EC2_ACCOUNT_ID);
+        this.subnetId = subnetId;
+        this.securityGroupId = securityGroupId;
+        this.accessType = accessType;
+        this.status = status;
+    }
+
+    /**
+     * @return Filter of the fields set in the model, matching every endpoint when there is no model
+     */
+    static EndpointFilter of(final ResourceModel model) {
+        if (model == null) {
+            return new EndpointFilter(null, null, null, null, null);
+        }
+        return new EndpointFilter(normalizedOutpostId(model.getOutpostId()), model.getSubnetId(), model.getSecurityGroupId(),
+                model.getAccessType(), model.getStatus());
+    }
+
+    /**
+     * @return Whether the filter matches every endpoint
+     */
+    boolean isEmpty() {
+        return outpostId == null && subnetId == null && securityGroupId == null && accessType == null && status == null;
+    }
+
+    @Override
+    public boolean test(final Endpoint endpoint) {
+        return matchesOutpost(endpoint)
+                && matches(subnetId, endpoint.subnetId())
+                && matches(securityGroupId, endpoint.securityGroupId())
+                && matches(accessType, endpoint.accessTypeAsString() == null
+                        ? EndpointAccessType.PRIVATE.toString() : endpoint.accessTypeAsString())
+                && matches(status, endpoint.statusAsString());
+    }
+
+    private static boolean matches(final String wanted, final String actual) {
+        return wanted == null || wanted.equals(actual);
+    }
+
+    private boolean matchesOutpost(final Endpoint endpoint) {
+        if (outpostId == null) {
+            return true;
+        }
+        final String field = endpoint.outpostsId() != null ? endpoint.outpostsId() : endpoint.endpointArn();
+        if (field == null) {
+            return false;
+        }
+        return isOutpostId(field, outpostId) || (ec2AccountId && isOutpostId(field, EC2_OUTPOST_ID));
+    }
+
+    /**
+     * @param field  Outpost ID, or ARN naming an outpost: an Outposts ARN, or the ARN of an endpoint on an outpost
+     * @param wanted Outpost ID
+     * @return Whether the field is, or names, the wanted outpost ID, ignoring case
+     */
+    private static boolean isOutpostId(final String field, final String wanted) {
+        final int outpost = field.lastIndexOf(OUTPOST_SEGMENT);
+        // arn:aws:outposts:us-east-1:123456789012:outpost/op-12345678901234567
+        final int start = outpost >= 0 ? outpost + OUTPOST_SEGMENT.length() : 0;
+        final int end = start + wanted.length();
+        return field.regionMatches(true, start, wanted, 0, wanted.length())
+                && (end == field.length() || (outpost >= 0 && field.charAt(end) == '/'));
+    }
+
+    /**
+     * @return Outpost ID of an outpost ID or Outposts ARN, null if there is none
+     */
+    private static String normalizedOutpostId(final String outpostId) {
+        if (outpostId == null || outpostId.trim().isEmpty()) {
+            return null;
+        }
+        final String normalized = outpostId.trim();
+        final int outpost = normalized.lastIndexOf(OUTPOST_SEGMENT);
+        if (outpost < 0) {
+            return normalized;
+        }
+        final int start = outpost + OUTPOST_SEGMENT.length();
+        final int end = normalized.indexOf('/', start);
+        return normalized.substring(start, end < 0 ? normalized.length() : end);
+    }
+
+    @Override
+    public String toString() {
+        final List<String> fields = new ArrayList<>();
+        if (outpostId != null) {
+            fields.add("OutpostId=" + outpostId);
+        }
+        if (subnetId != null) {
+            fields.add("SubnetId=" + subnetId);
+        }
+        if (securityGroupId != null) {
+            fields.add("SecurityGroupId=" + securityGroupId);
+        }
+        if (accessType != null) {
+            fields.add("AccessType=" + accessType);
+        }
+        if (status != null) {
+            fields.add("Status=" + status);
+        }
+        return String.join(", ", fields);
+    }
+
+}
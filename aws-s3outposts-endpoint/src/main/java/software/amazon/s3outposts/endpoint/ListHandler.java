@@ -5,20 +5,22 @@ import software.amazon.cloudformation.proxy.*;
 
 public class ListHandler extends BaseHandlerStd {
 
-    private Logger logger;
-
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
             final CallbackContext callbackContext,
             final ProxyClient<S3OutpostsClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         final ResourceModel model = request.getDesiredResourceState();
 
+        // OutpostId, SubnetId, SecurityGroupId, AccessType and Status of the model filter the endpoints listed
+        final EndpointFilter filter = EndpointFilter.of(model);
+        if (!filter.isEmpty()) {
+            logger.log(String.format("%s::List - Filter: %s", ResourceModel.TYPE_NAME, filter));
+        }
+
         return ProgressEvent.progress(model, callbackContext)
-                .then(progress -> listEndpoints(proxy, proxyClient, request, progress, logger))
+                .then(progress -> listEndpoints(proxy, proxyClient, request, progress, filter, logger))
                 .then(progress -> {
                     progress.setStatus(OperationStatus.SUCCESS);
                     return progress;
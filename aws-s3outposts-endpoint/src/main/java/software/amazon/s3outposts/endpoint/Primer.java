@@ -0,0 +1,232 @@
+package software.amazon.s3outposts.endpoint;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.awssdk.services.s3outposts.model.*;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Warms the code paths of the first request before a CRaC checkpoint (Lambda SnapStart) is taken, so restored
+ * invocations do not pay for class loading, static initialisation and interpreted first executions.
+ *
+ * Priming drives every handler through a full Create/Read/Delete/List against an in-memory S3Outposts stub that keeps
+ * the endpoint like the service would, which exercises the JSON marshallers and unmarshallers of every endpoint
+ * operation, the Translator conversions and the ListEndpoints based stabilization. It then runs an error response
+ * through the error unmarshaller and BaseHandlerStd.handleError for every status code it maps.
+ *
+ * Priming is run by {@link SnapStartHandlerWrapper}, the entry point of a function deployed with SnapStart. It never
+ * opens a socket or touches the shared LambdaWrapper HTTP client, so no connection ends up in the snapshot.
+ */
+final class Primer {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OUTPOST_ID = "op-01234567890123456";
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/" + OUTPOST_ID + "/endpoint/primerendpoint00000";
+
+    private static final String CREATE_ENDPOINT = "{\"EndpointArn\":\"" + ARN.replace(OUTPOST_ID, "ec2") + "\"}";
+    private static final String LIST_ENDPOINTS = "{\"Endpoints\":[{\"EndpointArn\":\"" + ARN + "\",\"OutpostsId\":\"" + OUTPOST_ID + "\","
+            + "\"CidrBlock\":\"172.31.0.0/16\",\"Status\":\"Available\",\"CreationTime\":1609459200,"
+            + "\"NetworkInterfaces\":[{\"NetworkInterfaceId\":\"eni-12345678901234567\"}],\"VpcId\":\"vpc-12345678\","
+            + "\"SubnetId\":\"subnet-12345678\",\"SecurityGroupId\":\"sg-12345678\",\"AccessType\":\"Private\"}]}";
+    private static final String NO_ENDPOINTS = "{\"Endpoints\":[]}";
+    private static final String ACCESS_DENIED = "{\"__type\":\"AccessDeniedException\",\"Message\":\"primer\"}";
+
+    // Enough callbacks to get Create and Delete through stabilization.
+    private static final int MAX_INVOCATIONS = 10;
+
+    private Primer() {
+    }
+
+    /**
+     * Runs every priming step. A failing step does not stop the others, priming must never fail the checkpoint.
+     *
+     * @return the steps that failed, empty when everything was exercised
+     */
+    static List<String> prime() {
+        final List<String> failures = new ArrayList<>();
+        final StubHttpClient httpClient = new StubHttpClient();
+        try (S3OutpostsClient client = S3OutpostsClient.builder()
+                .httpClient(httpClient)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("primer", "primer")))
+                .build()) {
+            // No log publisher attached, priming is silent.
+            final LoggerProxy logger = new LoggerProxy();
+            // No remaining time: stabilization returns IN_PROGRESS instead of waiting in-process.
+            final AmazonWebServicesClientProxy proxy =
+                    new AmazonWebServicesClientProxy(logger, new Credentials("primer", "primer", "primer"), () -> 0L);
+            final ProxyClient<S3OutpostsClient> proxyClient = proxy.newProxy(() -> client);
+
+            step(failures, "Create", () -> drive(new CreateHandler(), proxy, proxyClient, logger, request(createModel())));
+            step(failures, "Read", () -> drive(new ReadHandler(), proxy, proxyClient, logger, request(arnModel())));
+            step(failures, "List", () -> drive(new ListHandler(), proxy, proxyClient, logger, request(ResourceModel.builder().build())));
+            step(failures, "Delete", () -> drive(new DeleteHandler(), proxy, proxyClient, logger, request(arnModel())));
+            step(failures, "Read error", () -> {
+                httpClient.failWith(SdkHttpMethod.GET, 403, ACCESS_DENIED);
+                try {
+                    new ReadHandler().handleRequest(proxy, request(arnModel()), new CallbackContext(), proxyClient, logger);
+                } finally {
+                    httpClient.failWith(null, 0, null);
+                }
+            });
+            step(failures, "handleError", () -> {
+                final ReadHandler handler = new ReadHandler();
+                for (final Exception exception : exceptions()) {
+                    handler.handleError(ListEndpointsRequest.builder().build(), exception, proxyClient, arnModel(), new CallbackContext());
+                }
+            });
+        } catch (final RuntimeException e) {
+            failures.add("client: " + e);
+        }
+        return failures;
+    }
+
+    private static void drive(final BaseHandlerStd handler,
+                              final AmazonWebServicesClientProxy proxy,
+                              final ProxyClient<S3OutpostsClient> proxyClient,
+                              final Logger logger,
+                              final ResourceHandlerRequest<ResourceModel> request) {
+        CallbackContext callbackContext = new CallbackContext();
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+            if (progress.getStatus() != OperationStatus.IN_PROGRESS) {
+                if (progress.getStatus() == OperationStatus.FAILED) {
+                    throw new IllegalStateException(progress.getErrorCode() + ": " + progress.getMessage());
+                }
+                return;
+            }
+            callbackContext = progress.getCallbackContext();
+        }
+    }
+
+    private static void step(final List<String> failures, final String name, final Step step) {
+        try {
+            step.run();
+        } catch (final Exception e) {
+            failures.add(name + ": " + e);
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("primer")
+                .desiredResourceState(desired)
+                .build();
+    }
+
+    private static ResourceModel arnModel() {
+        return ResourceModel.builder().arn(ARN).build();
+    }
+
+    private static ResourceModel createModel() {
+        return ResourceModel.builder()
+                .outpostId(OUTPOST_ID)
+                .securityGroupId("sg-12345678")
+                .subnetId("subnet-12345678")
+                .build();
+    }
+
+    private static List<Exception> exceptions() {
+        final List<Exception> exceptions = new ArrayList<>(Arrays.asList(
+                ValidationException.builder().message("primer").statusCode(400).build(),
+                AccessDeniedException.builder().message("primer").statusCode(403).build(),
+                ResourceNotFoundException.builder().message("primer").statusCode(404).build(),
+                ConflictException.builder().message("primer").statusCode(409).build(),
+                InternalServerException.builder().message("primer").statusCode(500).build(),
+                S3OutpostsException.builder().message("primer").statusCode(503).build(),
+                SdkClientException.builder().message("primer").build()));
+        exceptions.add(SdkException.builder().message("primer").build());
+        return exceptions;
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * Answers every request in memory like S3Outposts would: CreateEndpoint makes ListEndpoints return an Available
+     * endpoint until DeleteEndpoint removes it. Requests with the configured method fail with the configured error.
+     */
+    private static final class StubHttpClient implements SdkHttpClient {
+
+        private volatile boolean exists;
+        private volatile SdkHttpMethod errorMethod;
+        private volatile int errorStatus;
+        private volatile String errorBody;
+
+        /**
+         * Makes requests with the given method fail with the given status and body, a zero status restores success.
+         */
+        void failWith(final SdkHttpMethod method, final int status, final String body) {
+            errorMethod = method;
+            errorStatus = status;
+            errorBody = body;
+        }
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+            final boolean fail = errorStatus != 0 && request.httpRequest().method() == errorMethod;
+            final int status = fail ? errorStatus : 200;
+            final String body = fail ? errorBody : body(request.httpRequest());
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder().statusCode(status).build())
+                            .responseBody(AbortableInputStream.create(
+                                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        private String body(final SdkHttpRequest request) {
+            if (request.method() == SdkHttpMethod.POST) {
+                exists = true;
+                return CREATE_ENDPOINT;
+            }
+            if (request.method() == SdkHttpMethod.DELETE) {
+                exists = false;
+                return "{}";
+            }
+            return exists ? LIST_ENDPOINTS : NO_ENDPOINTS;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -4,9 +4,9 @@ import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.*;
 
-public class ReadHandler extends BaseHandlerStd {
+import java.util.List;
 
-    private Logger logger;
+public class ReadHandler extends BaseHandlerStd {
 
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -14,8 +14,6 @@ public class ReadHandler extends BaseHandlerStd {
             final CallbackContext callbackContext,
             final ProxyClient<S3OutpostsClient> proxyClient,
             final Logger logger) {
-
-        this.logger = logger;
         ResourceModel model = request.getDesiredResourceState();
         // Expecting customer to only provide Arn
         if (model == null || StringUtils.isEmpty(model.getArn())) {
@@ -25,9 +23,13 @@ public class ReadHandler extends BaseHandlerStd {
         logger.log(String.format("%s::Read - ARN: %s", ResourceModel.TYPE_NAME, model.getArn()));
 
         return (ProgressEvent.progress(model, callbackContext))
-                .then(progress -> listEndpoints(proxy, proxyClient, request, progress, logger))
-                .then(progress -> getEndpoint(progress, logger))
+                .then(progress -> getEndpoint(proxyClient, progress, logger))
                 .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
     }
 
+    @Override
+    protected List<String> validate(final ResourceModel model) {
+        return RequestValidator.validateIdentifier(model);
+    }
+
 }
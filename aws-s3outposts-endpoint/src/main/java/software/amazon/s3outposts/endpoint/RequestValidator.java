@@ -0,0 +1,59 @@
+package software.amazon.s3outposts.endpoint;
+
+import software.amazon.awssdk.services.s3outposts.model.EndpointAccessType;
+import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.s3outposts.shared.IdentifierValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-flight validation of the models given to the handlers: a model the service would refuse fails at handler entry
+ * with every violation found, rather than after a round trip, or after the stabilization of a created endpoint. The
+ * plugin already validates the model of a Create against the resource schema, so only the rule of the service the
+ * schema does not state, a CustomerOwnedIpv4Pool for the CustomerOwnedIp access type, is checked here. The identifier
+ * of a Read or a Delete is checked against the schema.
+ */
+final class RequestValidator {
+
+    static final String SCHEMA = "/aws-s3outposts-endpoint.json";
+
+    private RequestValidator() {
+    }
+
+    /**
+     * @return The violations of a model to create, none if it is valid
+     */
+    static List<String> validate(final ResourceModel model) {
+        final List<String> violations = new ArrayList<>();
+        if (EndpointAccessType.CUSTOMER_OWNED_IP.toString().equals(model.getAccessType())
+                && StringUtils.isEmpty(model.getCustomerOwnedIpv4Pool())) {
+            violations.add("/CustomerOwnedIpv4Pool: is required when AccessType is CustomerOwnedIp");
+        }
+        return violations;
+    }
+
+    /**
+     * @return The violations of the primary identifier of a model to read or delete, none if it is valid
+     */
+    static List<String> validateIdentifier(final ResourceModel model) {
+        return Identifier.VALIDATOR.validate(model.getArn());
+    }
+
+    /**
+     * @return The message of a request failed on violations
+     */
+    static String message(final List<String> violations) {
+        return String.format("Invalid request: %s.", String.join("; ", violations));
+    }
+
+    /**
+     * The identifier definition, loaded the first time an identifier is validated.
+     */
+    private static final class Identifier {
+
+        private static final IdentifierValidator VALIDATOR = new IdentifierValidator(SCHEMA, "Arn");
+
+    }
+
+}
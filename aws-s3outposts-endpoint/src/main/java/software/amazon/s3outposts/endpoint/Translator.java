@@ -60,11 +60,12 @@ public class Translator {
      * Ref: https://sdk.amazonaws.com/java/api/latest/software/amazon/awssdk/services/s3outposts/model/ListEndpointsRequest.html
      *
      * @param nextToken
+     * @param maxResults
      * @return
      */
-    static ListEndpointsRequest translateToSdkListEndpointsRequest(String nextToken) {
+    static ListEndpointsRequest translateToSdkListEndpointsRequest(String nextToken, int maxResults) {
 
-        return ListEndpointsRequest.builder().nextToken(nextToken).build();
+        return ListEndpointsRequest.builder().nextToken(nextToken).maxResults(maxResults).build();
 
     }
 
@@ -0,0 +1,116 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.awssdk.services.s3outposts.model.*;
+import software.amazon.cloudformation.proxy.*;
+import software.amazon.s3outposts.shared.CallBudget;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * API call-budget regression tests. Each scenario declares the exact sequence of S3Outposts operations it may issue;
+ * adding, dropping or reordering a call fails the test with a diff of the two sequences.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CallBudgetTest extends AbstractTestBase {
+
+    private AmazonWebServicesClientProxy proxy;
+    private S3OutpostsClient sdkClient;
+    private CallBudget.RecordingProxyClient<S3OutpostsClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sdkClient = mock(S3OutpostsClient.class);
+        proxyClient = CallBudget.record(MOCK_PROXY(proxy, sdkClient));
+    }
+
+    @Test
+    public void create_AvailableOnFirstPoll() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .outpostId(OUTPOST_ID)
+                        .securityGroupId(SECURITY_GROUP_ID)
+                        .subnetId(SUBNET_ID)
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("12345")
+                .build();
+        when(sdkClient.createEndpoint(any(CreateEndpointRequest.class)))
+                .thenReturn(CreateEndpointResponse.builder().endpointArn(ARN1).build());
+        when(sdkClient.listEndpoints(any(ListEndpointsRequest.class)))
+                .thenReturn(ListEndpointsResponse.builder().endpoints(Arrays.asList(endpoint1, endpoint2)).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new CreateHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("CreateEndpoint", "ListEndpoints")
+                .assertSatisfiedBy("Create", proxyClient);
+    }
+
+    @Test
+    public void read() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(ARN1).build())
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.listEndpoints(any(ListEndpointsRequest.class)))
+                .thenReturn(ListEndpointsResponse.builder().endpoints(Arrays.asList(endpoint1, endpoint2)).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("ListEndpoints")
+                .assertSatisfiedBy("Read", proxyClient);
+    }
+
+    @Test
+    public void delete_GoneOnFirstPoll() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(ARN1).build())
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.deleteEndpoint(any(DeleteEndpointRequest.class)))
+                .thenReturn(DeleteEndpointResponse.builder().build());
+        when(sdkClient.listEndpoints(any(ListEndpointsRequest.class)))
+                .thenReturn(ListEndpointsResponse.builder().endpoints(Collections.singletonList(endpoint2)).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("DeleteEndpoint", "ListEndpoints")
+                .assertSatisfiedBy("Delete", proxyClient);
+    }
+
+    @Test
+    public void list() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+        when(sdkClient.listEndpoints(any(ListEndpointsRequest.class)))
+                .thenReturn(ListEndpointsResponse.builder().endpoints(Arrays.asList(endpoint1, endpoint2)).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ListHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        CallBudget.of("ListEndpoints")
+                .assertSatisfiedBy("List", proxyClient);
+    }
+
+}
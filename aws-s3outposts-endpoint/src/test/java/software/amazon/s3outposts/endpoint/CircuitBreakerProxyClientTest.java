@@ -0,0 +1,77 @@
+package software.amazon.s3outposts.endpoint;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.awssdk.services.s3outposts.model.Endpoint;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsRequest;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsResponse;
+import software.amazon.awssdk.services.s3outposts.model.S3OutpostsException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractCircuitBreakerProxyClientTest;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.ARN1;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.logger;
+
+public class CircuitBreakerProxyClientTest
+        extends AbstractCircuitBreakerProxyClientTest<S3OutpostsClient, ListEndpointsRequest, ListEndpointsResponse> {
+
+    private final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+
+    public CircuitBreakerProxyClientTest() {
+        super(ResourceModel.TYPE_NAME, ACCOUNT_ID, REGION, OUTPOST_ID, ARN1);
+    }
+
+    @Override
+    protected ListEndpointsRequest request() {
+        return ListEndpointsRequest.builder().build();
+    }
+
+    @Override
+    protected ListEndpointsResponse response() {
+        return ListEndpointsResponse.builder().endpoints(Endpoint.builder().endpointArn(ARN1).build()).build();
+    }
+
+    @Override
+    protected AwsServiceException error(final int statusCode, final String errorCode) {
+        return S3OutpostsException.builder().statusCode(statusCode)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode(errorCode).build())
+                .build();
+    }
+
+    @Override
+    protected ProxyClient<S3OutpostsClient> failingServiceClient() {
+        final S3OutpostsClient sdkClient = mock(S3OutpostsClient.class);
+        when(sdkClient.listEndpoints(any(ListEndpointsRequest.class))).thenAnswer(invocation -> {
+            backendCalls.incrementAndGet();
+            throw error(500, "InternalServerException");
+        });
+        return MOCK_PROXY(proxy, sdkClient);
+    }
+
+    @Override
+    protected ProgressEvent<ResourceModel, CallbackContext> read(final ProxyClient<S3OutpostsClient> proxyClient, final Logger requestLogger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(ARN1).build())
+                .awsAccountId(ACCOUNT_ID)
+                .region(REGION)
+                .build();
+        return new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+    }
+
+}
@@ -0,0 +1,138 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.awssdk.services.s3outposts.model.CreateEndpointRequest;
+import software.amazon.awssdk.services.s3outposts.model.CreateEndpointResponse;
+import software.amazon.awssdk.services.s3outposts.model.Endpoint;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsRequest;
+import software.amazon.awssdk.services.s3outposts.model.ListEndpointsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.shared.AbstractConcurrentHandlerTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.ACCESS_TYPE1;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.ACCOUNT_ID;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.CIDR_BLOCK1;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.CREATION_TIME1;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.MOCK_CREDENTIALS;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.MOCK_PROXY;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.NETWORK_INTERFACE_LIST1;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.OUTPOST_ID;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.REGION;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.SECURITY_GROUP_ID;
+import static software.amazon.s3outposts.endpoint.AbstractTestBase.logger;
+
+/**
+ * Runs Create, Read and List requests of many endpoints at once.
+ */
+public class ConcurrentHandlerTest extends AbstractConcurrentHandlerTest {
+
+    private static final int ENDPOINTS = 100;
+
+    private final CreateHandler createHandler = new CreateHandler();
+    private final ReadHandler readHandler = new ReadHandler();
+    private final ListHandler listHandler = new ListHandler();
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<S3OutpostsClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final S3OutpostsClient sdkClient = mock(S3OutpostsClient.class);
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, sdkClient);
+        for (int i = 0; i < ENDPOINTS; i++) {
+            endpoints.add(Endpoint.builder()
+                    .endpointArn(endpointArn(i))
+                    .cidrBlock(CIDR_BLOCK1)
+                    .creationTime(Instant.parse(CREATION_TIME1))
+                    .networkInterfaces(NETWORK_INTERFACE_LIST1)
+                    .outpostsId(OUTPOST_ID)
+                    .status("Available")
+                    .accessType(ACCESS_TYPE1)
+                    .subnetId(subnetId(i))
+                    .securityGroupId(SECURITY_GROUP_ID)
+                    .build());
+        }
+        when(sdkClient.listEndpoints(any(ListEndpointsRequest.class))).thenReturn(
+                ListEndpointsResponse.builder().endpoints(endpoints).build());
+        // The endpoint created is the one of the subnet.
+        when(sdkClient.createEndpoint(any(CreateEndpointRequest.class))).thenAnswer(invocation -> {
+            final String subnetId = invocation.<CreateEndpointRequest>getArgument(0).subnetId();
+            return CreateEndpointResponse.builder()
+                    .endpointArn(endpointArn(Integer.parseInt(subnetId.substring(subnetId.lastIndexOf('-') + 1))))
+                    .build();
+        });
+    }
+
+    @Override
+    protected ProgressEvent<?, ?> run(final int operation, final Logger requestLogger) {
+        final int index = operation % ENDPOINTS;
+        final ResourceHandlerRequest<ResourceModel> request;
+        final ProgressEvent<ResourceModel, CallbackContext> progress;
+        switch (operation % 3) {
+            case 0:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder()
+                                .outpostId(OUTPOST_ID)
+                                .subnetId(subnetId(index))
+                                .securityGroupId(SECURITY_GROUP_ID)
+                                .build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .clientRequestToken(Integer.toString(operation))
+                        .build();
+                progress = createHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel().getArn()).isEqualTo(endpointArn(index));
+                assertThat(progress.getResourceModel().getSubnetId()).isEqualTo(subnetId(index));
+                break;
+            case 1:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(endpointArn(index)).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = readHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModel().getArn()).isEqualTo(endpointArn(index));
+                assertThat(progress.getResourceModel().getSubnetId()).isEqualTo(subnetId(index));
+                break;
+            default:
+                request = ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build();
+                progress = listHandler.handleRequest(proxy, request, new CallbackContext(), proxyClient, requestLogger);
+                assertThat(progress.getResourceModels()).hasSize(ENDPOINTS);
+                break;
+        }
+        return progress;
+    }
+
+    /**
+     * @return ARN of the endpoint of a Create or Read, none for a List
+     */
+    @Override
+    protected String arn(final int operation) {
+        return operation % 3 == 2 ? null : endpointArn(operation % ENDPOINTS);
+    }
+
+    private static String endpointArn(final int index) {
+        return String.format("arn:aws:s3-outposts:%s:%s:outpost/%s/endpoint/ep%017d", REGION, ACCOUNT_ID, OUTPOST_ID, index);
+    }
+
+    private static String subnetId(final int index) {
+        return "subnet-" + index;
+    }
+
+}
@@ -15,7 +15,9 @@ import software.amazon.cloudformation.exceptions.CfnNotStabilizedException;
 import software.amazon.cloudformation.proxy.*;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -215,6 +217,42 @@ public class CreateHandlerTest extends AbstractTestBase {
 
     }
 
+    /**
+     * Stabilization: the new endpoint is not listed yet, which keeps stabilizing instead of failing on a missing status.
+     */
+    @Test
+    public void handleRequest_CoipInput_NotListedYet_Success() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_MODEL_COIP_INPUT_CREATE)
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("12345")
+                .build();
+
+        final CreateEndpointResponse createEndpointResponse = CreateEndpointResponse.builder().endpointArn(ARN1).build();
+        when(proxyClient.client().createEndpoint(any(CreateEndpointRequest.class))).thenReturn(createEndpointResponse);
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Collections.singletonList(endpoint2))
+                        .nextToken(null)
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(false, NUMBER_OF_STABILIZATION_RETRIES), proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(RESP_MODEL_COIP_INPUT_CREATE);
+        assertThat(progress.getErrorCode()).isNull();
+
+        verify(proxyClient.client()).createEndpoint(any(CreateEndpointRequest.class));
+        verify(proxyClient.client(), times(NUMBER_OF_STABILIZATION_RETRIES)).listEndpoints(any(ListEndpointsRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
     /**
      * CFNStabilizationException for invalid status returned for read during stabilizing.
      */
@@ -428,4 +466,181 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(sdkClient, atLeastOnce()).serviceName();
 
     }
+
+    /**
+     * Retried invocation after CreateEndpoint was issued but its response was lost: adopt the matching endpoint
+     */
+    @Test
+    public void handleRequest_Retry_AdoptsExistingEndpoint() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .outpostId(OUTPOST_ID)
+                        .securityGroupId(SECURITY_GROUP_ID)
+                        .subnetId(SUBNET_ID)
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("12345")
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint2, endpoint1))
+                        .nextToken(null)
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .stabilizationRetriesRemaining(NUMBER_OF_STABILIZATION_RETRIES)
+                .clientRequestToken("12345")
+                .createRequested(true)
+                .createStartedAt(Instant.parse(CREATION_TIME1).minusSeconds(60).toEpochMilli())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(ARN1);
+        assertThat(progress.getResourceModel().getId()).isEqualTo(ID1);
+        assertThat(callbackContext.getCreatedArn()).isEqualTo(ARN1);
+
+        // One ListEndpoints to find the endpoint, one to stabilize it; no second CreateEndpoint.
+        verify(proxyClient.client(), times(2)).listEndpoints(any(ListEndpointsRequest.class));
+        verify(proxyClient.client(), never()).createEndpoint(any(CreateEndpointRequest.class));
+
+    }
+
+    /**
+     * Retried invocation: a matching endpoint created before this Create started is not adopted
+     */
+    @Test
+    public void handleRequest_Retry_EndpointCreatedBeforeStart_AlreadyExists() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .outpostId(OUTPOST_ID)
+                        .securityGroupId(SECURITY_GROUP_ID)
+                        .subnetId(SUBNET_ID)
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("12345")
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint2, endpoint1))
+                        .nextToken(null)
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .stabilizationRetriesRemaining(NUMBER_OF_STABILIZATION_RETRIES)
+                .clientRequestToken("12345")
+                .createRequested(true)
+                .createStartedAt(Instant.parse(CREATION_TIME1).plusSeconds(60).toEpochMilli())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(callbackContext.getCreatedArn()).isNull();
+
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+        verify(proxyClient.client(), never()).createEndpoint(any(CreateEndpointRequest.class));
+
+    }
+
+    /**
+     * Retried invocation: two matching endpoints created since this Create started cannot tell which one is its own
+     */
+    @Test
+    public void handleRequest_Retry_SeveralCreatedSinceStart_AlreadyExists() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .outpostId(OUTPOST_ID)
+                        .securityGroupId(SECURITY_GROUP_ID)
+                        .subnetId(SUBNET_ID)
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("12345")
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint1, endpoint1.toBuilder().endpointArn(ARN2).build()))
+                        .nextToken(null)
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .stabilizationRetriesRemaining(NUMBER_OF_STABILIZATION_RETRIES)
+                .clientRequestToken("12345")
+                .createRequested(true)
+                .createStartedAt(Instant.parse(CREATION_TIME1).minusSeconds(60).toEpochMilli())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        assertThat(callbackContext.getCreatedArn()).isNull();
+
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+        verify(proxyClient.client(), never()).createEndpoint(any(CreateEndpointRequest.class));
+
+    }
+
+    /**
+     * A context left behind by a different ClientRequestToken is discarded and the endpoint is created
+     */
+    @Test
+    public void handleRequest_OtherClientRequestToken_Creates() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .outpostId(OUTPOST_ID)
+                        .securityGroupId(SECURITY_GROUP_ID)
+                        .subnetId(SUBNET_ID)
+                        .build())
+                .awsAccountId(ACCOUNT_ID)
+                .clientRequestToken("12345")
+                .build();
+
+        final CreateEndpointResponse createEndpointResponse = CreateEndpointResponse.builder().endpointArn(ARN1).build();
+        when(proxyClient.client().createEndpoint(any(CreateEndpointRequest.class))).thenReturn(createEndpointResponse);
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint1, endpoint2))
+                        .nextToken(null)
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .stabilizationRetriesRemaining(NUMBER_OF_STABILIZATION_RETRIES)
+                .clientRequestToken("67890")
+                .createRequested(true)
+                .createdArn(ARN2)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel().getArn()).isEqualTo(ARN1);
+
+        verify(proxyClient.client()).createEndpoint(any(CreateEndpointRequest.class));
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
 }
@@ -78,7 +78,6 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(progress.getNextToken()).isEqualTo("fakeNextToken");
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
 
@@ -115,7 +114,6 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(progress.getNextToken()).isNull();
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
 
@@ -145,7 +143,122 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(progress.getNextToken()).isNull();
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
+
+    /**
+     * Happy Path - the endpoints are filtered by the fields set in the model
+     */
+    @Test
+    public void handleRequest_Filtered() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .outpostId(OUTPOST_ID)
+                        .subnetId(SUBNET_ID)
+                        .accessType(ACCESS_TYPE2)
+                        .status("Available")
+                        .build())
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint1, endpoint2))
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModels()).containsExactly(model2);
+        assertThat(progress.getNextToken()).isNull();
+
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+
+    }
+
+    /**
+     * Happy Path - the OutpostId filter matches an endpoint listed with the ARN of its outpost
+     */
+    @Test
+    public void handleRequest_Filtered_OutpostArn() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().outpostId(OUTPOST_ID.toUpperCase()).build())
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(
+                                endpoint1.toBuilder()
+                                        .outpostsId(String.format("arn:aws:outposts:%s:%s:outpost/%s",
+                                                REGION, ACCOUNT_ID, OUTPOST_ID))
+                                        .build(),
+                                endpoint2.toBuilder().outpostsId("op-01234567890123456").build()))
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModels()).extracting(ResourceModel::getArn).containsExactly(ARN1);
+
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+
+    }
+
+    /**
+     * Happy Path - the OutpostId filter of an EC2 outpost matches the endpoints listed with the "ec2" outpost ID
+     */
+    @Test
+    public void handleRequest_Filtered_Ec2OutpostId() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().outpostId("123456789012").build())
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint1.toBuilder().outpostsId("ec2").build(), endpoint2))
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModels()).extracting(ResourceModel::getArn).containsExactly(ARN1);
+
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+
+    }
+
+    /**
+     * Happy Path - no endpoint matches the filter
+     */
+    @Test
+    public void handleRequest_Filtered_NoMatch() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().status("Pending").build())
+                .build();
+
+        final ListEndpointsResponse listEndpointsResponse =
+                ListEndpointsResponse.builder()
+                        .endpoints(Arrays.asList(endpoint1, endpoint2))
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModels()).isEmpty();
+
+        verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
+
+    }
+
 }
@@ -0,0 +1,14 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimerTest {
+
+    @Test
+    public void prime_ExercisesEveryStep() {
+        assertThat(Primer.prime()).isEmpty();
+    }
+
+}
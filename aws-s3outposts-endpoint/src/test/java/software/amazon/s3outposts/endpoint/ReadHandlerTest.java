@@ -110,8 +110,9 @@ public class ReadHandlerTest extends AbstractTestBase {
                         .build();
         when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(listEndpointsResponse);
 
+        final CallbackContext callbackContext = new CallbackContext();
         final ProgressEvent<ResourceModel, CallbackContext> progress =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
 
         assertThat(progress).isNotNull();
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -122,9 +123,10 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getMessage()).isNull();
         assertThat(progress.getErrorCode()).isNull();
         assertThat(progress.getNextToken()).isNull();
+        // The ListEndpoints page is not memoized in the context.
+        assertThat(callbackContext.callGraphs()).isEmpty();
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
 
@@ -151,7 +153,7 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         assertThat(progress).isNotNull();
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
-        assertThat(progress.getCallbackContext()).isNull();
+        assertThat(progress.getCallbackContext()).isEqualToComparingOnlyGivenFields(new CallbackContext());
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(progress.getResourceModel()).isEqualTo(REQ_MODEL_ARN);
         assertThat(progress.getResourceModels()).isNull();
@@ -160,7 +162,6 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getNextToken()).isNull();
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
 
@@ -191,7 +192,6 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getNextToken()).isNull();
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
 
     }
 
@@ -222,7 +222,7 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         assertThat(progress).isNotNull();
         assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
-        assertThat(progress.getCallbackContext()).isNull();
+        assertThat(progress.getCallbackContext()).isEqualToComparingOnlyGivenFields(new CallbackContext());
         assertThat(progress.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(progress.getResourceModel()).isEqualTo(REQ_MODEL_ARN3);
         assertThat(progress.getResourceModels()).isNull();
@@ -231,7 +231,73 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(progress.getNextToken()).isNull();
 
         verify(proxyClient.client()).listEndpoints(any(ListEndpointsRequest.class));
-        verify(sdkClient, atLeastOnce()).serviceName();
+
+    }
+
+    /**
+     * Happy Path - The endpoint is only listed on a later page, so the lookup keeps paging until it is found.
+     */
+    @Test
+    public void handleRequest_EndpointOnSecondPage_Success() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_MODEL_ARN)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final ListEndpointsResponse firstPage =
+                ListEndpointsResponse.builder()
+                        .endpoints(Collections.singletonList(endpoint2))
+                        .nextToken("token")
+                        .build();
+        final ListEndpointsResponse secondPage =
+                ListEndpointsResponse.builder()
+                        .endpoints(Collections.singletonList(endpoint1))
+                        .nextToken("unused")
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class))).thenReturn(firstPage, secondPage);
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(progress.getResourceModel()).isEqualTo(model1);
+        assertThat(progress.getErrorCode()).isNull();
+
+        verify(proxyClient.client(), times(2)).listEndpoints(any(ListEndpointsRequest.class));
+
+    }
+
+    /**
+     * ErrorPath - A later ListEndpoints page fails, which surfaces as that error rather than as NotFound.
+     */
+    @Test
+    public void handleRequest_Error_SecondPageError() {
+
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(REQ_MODEL_ARN)
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final ListEndpointsResponse firstPage =
+                ListEndpointsResponse.builder()
+                        .endpoints(Collections.singletonList(endpoint2))
+                        .nextToken("token")
+                        .build();
+        when(proxyClient.client().listEndpoints(any(ListEndpointsRequest.class)))
+                .thenReturn(firstPage)
+                .thenThrow(constructS3OutpostsExceptionWithStatusCode(500));
+
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(progress).isNotNull();
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getResourceModel()).isEqualTo(REQ_MODEL_ARN);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+
+        verify(proxyClient.client(), times(2)).listEndpoints(any(ListEndpointsRequest.class));
 
     }
 }
@@ -0,0 +1,70 @@
+package software.amazon.s3outposts.endpoint;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class RequestValidatorTest extends AbstractTestBase {
+
+    private static final String VALID_ARN =
+            String.format("arn:aws:s3-outposts:%s:123456789012:outpost/%s/endpoint/%s", REGION, OUTPOST_ID, ID1);
+
+    @Test
+    public void validate_ValidModels() {
+        assertThat(RequestValidator.validate(REQ_MODEL_MIN_INPUT_CREATE)).isEmpty();
+        assertThat(RequestValidator.validate(REQ_MODEL_COIP_INPUT_CREATE)).isEmpty();
+        assertThat(RequestValidator.validate(RESP_MODEL_COIP_INPUT_CREATE)).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(ResourceModel.builder().arn(VALID_ARN).build())).isEmpty();
+        assertThat(RequestValidator.validateIdentifier(REQ_MODEL_NO_ARN)).isEmpty();
+    }
+
+    @Test
+    public void validate_MissingCoipPool() {
+        assertThat(RequestValidator.validate(REQ_MODEL_INVALID_COIP_CREATE)).containsExactly(
+                "/CustomerOwnedIpv4Pool: is required when AccessType is CustomerOwnedIp");
+    }
+
+    @Test
+    public void validateIdentifier_MalformedArn() {
+        final ResourceModel model = ResourceModel.builder()
+                .arn(VALID_ARN.substring(0, VALID_ARN.lastIndexOf('/')))
+                .build();
+
+        assertThat(RequestValidator.validateIdentifier(model)).isNotEmpty().allMatch(violation -> violation.startsWith("#/Arn: "));
+    }
+
+    @Test
+    public void handleRequest_FailsBeforeAnyCall() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+
+        final ProgressEvent<ResourceModel, CallbackContext> created = new CreateHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(REQ_MODEL_INVALID_COIP_CREATE)
+                        .awsAccountId(ACCOUNT_ID)
+                        .build(),
+                null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> read = new ReadHandler().handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder()
+                        .desiredResourceState(ResourceModel.builder().arn(ID1).build())
+                        .awsAccountId(ACCOUNT_ID)
+                        .build(),
+                null, logger);
+
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(created.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(created.getMessage()).isEqualTo(
+                "Invalid request: /CustomerOwnedIpv4Pool: is required when AccessType is CustomerOwnedIp.");
+        assertThat(read.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(read.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(read.getMessage()).startsWith("Invalid request: #/Arn: ");
+        verifyNoInteractions(proxy);
+    }
+
+}
@@ -0,0 +1,305 @@
+package software.amazon.s3outposts.shared;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ProxyClient decorator failing fast while the service of an outpost is down, rather than every resource of a stack
+ * waiting on its own calls, callbacks and stabilization polls to fail. The calls of the requests of one account, region
+ * and outpost share a circuit, kept by the {@link Circuits} of the container: after a run of {@value #FAILURES} calls
+ * failing with a 5xx other than throttling, or timing out, the circuit opens, and the calls of the next
+ * {@value #OPEN_SECONDS} seconds throw an {@link OpenException}, which the handlers report as ServiceInternalError. The
+ * first call after that is a probe, the others still failing fast until it completes: the circuit closes if the service
+ * answered, even with an error of the caller, and opens again otherwise.
+ *
+ * {@value #FAILURES_ENV} and {@value #OPEN_SECONDS_ENV} change the length of the run and the time open, a run of 0
+ * turning the breaker off. CloudFormation sets no environment variables on the handlers of a registered type, whose
+ * breaker always has the defaults: the variables are for handlers run by SAM CLI or deployed by hand. Openings and closings are logged to the logger of the invocation that caused them, along
+ * with the {@value #OPENED} and {@value #CLOSED} metrics of its resource type, see {@link EmbeddedMetrics}, and counted
+ * by the {@link Circuits}.
+ */
+public final class CircuitBreakerProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+    static final String FAILURES_ENV = "S3OUTPOSTS_CIRCUIT_FAILURES";
+    static final String OPEN_SECONDS_ENV = "S3OUTPOSTS_CIRCUIT_OPEN_SECONDS";
+    static final int FAILURES = 5;
+    static final int OPEN_SECONDS = 30;
+    static final String NO_OUTPOST = "-";
+    static final String OPENED = "CircuitOpened";
+    static final String CLOSED = "CircuitClosed";
+    static final String CIRCUIT = "Circuit";
+
+    private static final Pattern OUTPOST_IN_ARN = Pattern.compile("outpost/([^/]+)");
+
+    private final ProxyClient<ClientT> delegate;
+    private final Circuits circuits;
+    private final String typeName;
+    private final String key;
+    private final Logger logger;
+
+    public CircuitBreakerProxyClient(final ProxyClient<ClientT> delegate, final Circuits circuits, final String typeName,
+                                     final String key, final Logger logger) {
+        this.delegate = delegate;
+        this.circuits = circuits;
+        this.typeName = typeName;
+        this.key = key;
+        this.logger = logger;
+    }
+
+    /**
+     * @return The proxy client of a Lambda invocation, behind the circuit of the key in the {@link Circuits} of the
+     * container, unless {@value #FAILURES_ENV} is 0
+     */
+    public static <ClientT> ProxyClient<ClientT> of(final ProxyClient<ClientT> proxyClient, final String typeName,
+                                                    final String key, final Logger logger) {
+        return Circuits.SHARED.failures > 0
+                ? new CircuitBreakerProxyClient<>(proxyClient, Circuits.SHARED, typeName, key, logger) : proxyClient;
+    }
+
+    /**
+     * @param identifiers ARNs naming an outpost, or outpost ids, null if unknown
+     * @return The key of the circuit of the account, region and first outpost found in the identifiers, the
+     * calls naming no outpost sharing the circuit of the account and region
+     */
+    public static String key(final String account, final String region, final String... identifiers) {
+        String outpost = NO_OUTPOST;
+        for (final String identifier : identifiers) {
+            if (identifier == null) {
+                continue;
+            }
+            final Matcher matcher = OUTPOST_IN_ARN.matcher(identifier);
+            if (matcher.find()) {
+                outpost = matcher.group(1);
+                break;
+            }
+            if (identifier.startsWith("op-")) {
+                outpost = identifier;
+                break;
+            }
+        }
+        return String.join("/", String.valueOf(account), String.valueOf(region), outpost);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        final Circuit circuit = circuits.circuit(key);
+        final boolean probe = circuit.admit(request, typeName, logger);
+        final ResponseT response;
+        try {
+            response = delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+        } catch (final RuntimeException | Error e) {
+            circuit.completed(probe, isOutage(e), typeName, logger);
+            throw e;
+        }
+        circuit.completed(probe, false, typeName, logger);
+        return response;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT injectCredentialsAndInvokeIterableV2(final RequestT request, final Function<RequestT, IterableT> requestFunction) {
+        // The pages are fetched as they are iterated, out of sight: only an open circuit is checked.
+        circuits.circuit(key).checkClosed(request);
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    /**
+     * @return Whether the failure tells the service is down: a 5xx other than throttling, or a timeout. A call
+     * cancelled by its caller, such as the slower call of a hedged read, tells nothing.
+     */
+    static boolean isOutage(final Throwable failure) {
+        if (failure instanceof AbortedException || Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (failure instanceof SdkServiceException) {
+            final SdkServiceException e = (SdkServiceException) failure;
+            return e.statusCode() >= 500 && !e.isThrottlingException();
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiCallTimeoutException || cause instanceof ApiCallAttemptTimeoutException
+                    || cause instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * Circuit of one account, region and outpost.
+     */
+    private static final class Circuit {
+        private final String key;
+        private final Circuits circuits;
+        private State state = State.CLOSED;
+        private int failures;
+        private long openedAt;
+        private boolean probing;
+
+        Circuit(final String key, final Circuits circuits) {
+            this.key = key;
+            this.circuits = circuits;
+        }
+
+        /**
+         * @return Whether the call is the probe of a half-open circuit
+         * @throws OpenException if the circuit is open, or half-open with a probe in flight
+         */
+        synchronized boolean admit(final AwsRequest request, final String typeName, final Logger logger) {
+            if (state == State.OPEN && circuits.clock.getAsLong() - openedAt >= circuits.openNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN && !probing) {
+                probing = true;
+                logger.log(String.format("%s::CircuitBreaker - %s half-open, probing with %s", typeName, key,
+                        request.getClass().getSimpleName()));
+                return true;
+            }
+            checkClosed(request);
+            return false;
+        }
+
+        synchronized void checkClosed(final AwsRequest request) {
+            if (state != State.CLOSED) {
+                circuits.rejected.incrementAndGet();
+                throw new OpenException(String.format("%s not called: the circuit of %s is open after failed calls, next try in %d s.",
+                        request.getClass().getSimpleName(), key, remainingSeconds()));
+            }
+        }
+
+        synchronized void completed(final boolean probe, final boolean outage, final String typeName, final Logger logger) {
+            if (probe) {
+                probing = false;
+            }
+            if (!outage) {
+                failures = 0;
+                if (probe) {
+                    state = State.CLOSED;
+                    circuits.closed.incrementAndGet();
+                    logger.log(String.format("%s::CircuitBreaker - %s closed", typeName, key));
+                    count(CLOSED, typeName, logger);
+                }
+                return;
+            }
+            failures++;
+            if (probe || (state == State.CLOSED && failures >= circuits.failures)) {
+                state = State.OPEN;
+                openedAt = circuits.clock.getAsLong();
+                circuits.opened.incrementAndGet();
+                logger.log(String.format("%s::CircuitBreaker - %s open after %d failed calls, failing fast for %d s",
+                        typeName, key, failures, TimeUnit.NANOSECONDS.toSeconds(circuits.openNanos)));
+                count(OPENED, typeName, logger);
+            }
+        }
+
+        private void count(final String metric, final String typeName, final Logger logger) {
+            EmbeddedMetrics.count(logger, typeName, Collections.singletonMap(metric, 1L), Collections.singletonMap(CIRCUIT, key));
+        }
+
+        private long remainingSeconds() {
+            final long remaining = circuits.openNanos - (circuits.clock.getAsLong() - openedAt);
+            return Math.max(0, TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+
+    /**
+     * Circuits by account, region and outpost, with their configuration and counters.
+     */
+    public static final class Circuits {
+        static final Circuits SHARED = new Circuits(env(FAILURES_ENV, FAILURES), TimeUnit.SECONDS.toNanos(env(OPEN_SECONDS_ENV, OPEN_SECONDS)),
+                System::nanoTime);
+
+        private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+        private final int failures;
+        private final long openNanos;
+        private final LongSupplier clock;
+        private final AtomicLong opened = new AtomicLong();
+        private final AtomicLong closed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        /**
+         * @param failures  Length of the run of failed calls opening a circuit
+         * @param openNanos Time a circuit stays open before a probe
+         * @param clock     Time in nanoseconds, as {@link System#nanoTime()}
+         */
+        public Circuits(final int failures, final long openNanos, final LongSupplier clock) {
+            this.failures = failures;
+            this.openNanos = openNanos;
+            this.clock = clock;
+        }
+
+        private Circuit circuit(final String key) {
+            return circuits.computeIfAbsent(key, k -> new Circuit(k, this));
+        }
+
+        /**
+         * @return Times a circuit opened, or opened again after a failed probe
+         */
+        public long getOpened() {
+            return opened.get();
+        }
+
+        /**
+         * @return Times a circuit closed after a probe
+         */
+        public long getClosed() {
+            return closed.get();
+        }
+
+        /**
+         * @return Calls failed fast by an open circuit
+         */
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        private static int env(final String name, final int defaultValue) {
+            try {
+                final String value = System.getenv(name);
+                return value == null ? defaultValue : Math.max(0, Integer.parseInt(value.trim()));
+            } catch (final NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * A call not made, its circuit being open. The handlers report it as ServiceInternalError, the error of the calls
+     * that opened it.
+     */
+    public static final class OpenException extends SdkClientException {
+
+        private static final long serialVersionUID = 1L;
+
+        OpenException(final String message) {
+            super(SdkClientException.builder().message(message));
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package software.amazon.s3outposts.shared;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the CallbackContext small when a handler returns IN_PROGRESS, i.e. when the context is serialized and handed
+ * back on the next invocation, e.g. while a Create waits for its resource to propagate.
+ *
+ * StdCallbackContext memoizes the request and the response of every call graph. Once a call graph has a response the
+ * request is not needed anymore: on the next invocation the request is rebuilt from the model and the memoized response
+ * is replayed without calling the service. The response is kept, it holds the identifiers (e.g. the ARN of the
+ * resource) that make the resumed call idempotent. Responses cannot be evicted, which is why the handlers make their
+ * large read-only calls (tag sets, lifecycle configurations, policies, listings) outside of a call graph.
+ *
+ * The serialized size of the compacted context is logged on every callback, with a warning above
+ * {@value #CONTEXT_BUDGET_BYTES} bytes.
+ */
+public final class ContextSizePolicy {
+
+    static final int CONTEXT_BUDGET_BYTES = 16 * 1024;
+
+    private static final String REQUEST = ".request";
+    private static final String RESPONSE = ".response";
+
+    private ContextSizePolicy() {
+    }
+
+    /**
+     * @param progress Event a handler returns
+     * @param typeName Resource type, for the log
+     * @param logger   Logger
+     * @return The event, its CallbackContext compacted if IN_PROGRESS
+     */
+    public static <ModelT, CallbackT extends StdCallbackContext> ProgressEvent<ModelT, CallbackT> apply(
+            final ProgressEvent<ModelT, CallbackT> progress, final String typeName, final Logger logger) {
+        final CallbackT callbackContext = progress.getCallbackContext();
+        if (progress.getStatus() != OperationStatus.IN_PROGRESS || callbackContext == null) {
+            return progress;
+        }
+
+        final List<String> evicted = compact(callbackContext);
+        final int size = serializedSize(callbackContext);
+        logger.log(String.format("%s::CallbackContext - %d bytes serialized, %d call graph entries, evicted requests: %s",
+                typeName, size, callbackContext.callGraphs().size(), evicted));
+        if (size > CONTEXT_BUDGET_BYTES) {
+            logger.log(String.format("%s::CallbackContext - %d bytes exceeds the budget of %d bytes",
+                    typeName, size, CONTEXT_BUDGET_BYTES));
+        }
+        return progress;
+    }
+
+    /**
+     * Evicts the memoized requests of the call graphs that have a response.
+     *
+     * @return Names of the call graphs whose request was evicted
+     */
+    static List<String> compact(final StdCallbackContext callbackContext) {
+        final List<String> evicted = new ArrayList<>();
+        for (final String key : new ArrayList<>(callbackContext.callGraphs().keySet())) {
+            if (key.endsWith(REQUEST)) {
+                final String callGraph = key.substring(0, key.length() - REQUEST.length());
+                if (callbackContext.callGraphs().containsKey(callGraph + RESPONSE)) {
+                    callbackContext.evictRequestRecord(callGraph);
+                    evicted.add(callGraph);
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return Size in bytes of the context as serialized by the wrapper, -1 if it cannot be serialized
+     */
+    static int serializedSize(final StdCallbackContext callbackContext) {
+        try {
+            return new Serializer().serialize(callbackContext).getBytes(StandardCharsets.UTF_8).length;
+        } catch (final JsonProcessingException e) {
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package software.amazon.s3outposts.shared;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.Map;
+
+/**
+ * Publishes counts as CloudWatch metrics in the embedded metric format: one JSON line logged to the logger of the
+ * invocation, which CloudWatch Logs extracts as metrics of the {@value #NAMESPACE} namespace with the resource type as
+ * dimension. The properties of the line are not metrics, only searchable with the line in CloudWatch Logs Insights.
+ *
+ * See https://docs.aws.amazon.com/AmazonCloudWatch/latest/monitoring/CloudWatch_Embedded_Metric_Format_Specification.html
+ */
+public final class EmbeddedMetrics {
+
+    static final String NAMESPACE = "S3Outposts/CloudFormation";
+    static final String TYPE_NAME = "TypeName";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private EmbeddedMetrics() {
+    }
+
+    /**
+     * @param typeName   Resource type, the dimension of the metrics
+     * @param counts     Metric names and their counts, in the order of the line
+     * @param properties Context of the counts, not published as metrics
+     */
+    public static void count(final Logger logger,
+                             final String typeName,
+                             final Map<String, Long> counts,
+                             final Map<String, String> properties) {
+        final ObjectNode line = MAPPER.createObjectNode();
+        final ObjectNode directive = line.putObject("_aws")
+                .put("Timestamp", System.currentTimeMillis())
+                .putArray("CloudWatchMetrics")
+                .addObject()
+                .put("Namespace", NAMESPACE);
+        directive.putArray("Dimensions").addArray().add(TYPE_NAME);
+        final ArrayNode metrics = directive.putArray("Metrics");
+        counts.forEach((name, count) -> {
+            metrics.addObject().put("Name", name).put("Unit", "Count");
+            line.put(name, count);
+        });
+        line.put(TYPE_NAME, typeName);
+        properties.forEach(line::put);
+        logger.log(line.toString());
+    }
+
+}
@@ -0,0 +1,309 @@
+package software.amazon.s3outposts.shared;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ProxyClient decorator cutting the tail latency of the idempotent reads of a handler module: a read still in flight
+ * after the {@value #PERCENTILE}th percentile of the latencies of the last {@value #WINDOW} reads of its kind, and at
+ * least {@value #MIN_DELAY_MILLIS} ms, is sent a second time.
+ * The first response wins and the other call is cancelled. A read fails only once every call made for it has failed,
+ * with the exception of the first to fail; a read failing before the delay is not hedged, retries are the SDK's.
+ *
+ * Nothing is hedged before {@value #MIN_SAMPLES} reads of a kind have completed, and a hedge costs
+ * {@value #HEDGE_COST} credits of a budget earning one per read, up to {@value #MAX_CREDITS}: hedges stay under 10% of
+ * the reads, and a slow service gets no more than a burst of them. Every call, hedge or not, is made through the
+ * delegate, so a rate limiter under this decorator accounts for the hedges as for any other call. The latencies, the
+ * budget and the counters are those of a {@link Hedging}, shared by the decorators of the Lambda entry point when
+ * {@value #HEDGE} is {@code true}, so they outlive an invocation. CloudFormation sets no environment variables on the
+ * handlers of a registered type, which never hedge: the switch is for handlers run by SAM CLI or deployed by hand.
+ *
+ * Every hedge made, hedge answering its read, and hedge the budget refused is published to the logger of the invocation
+ * as the {@value #HEDGED}, {@value #HEDGE_WON} and {@value #BUDGET_EXHAUSTED} metrics of its resource type, see
+ * {@link EmbeddedMetrics}, with the read as {@value #READ}.
+ */
+public final class HedgedProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+    public static final String HEDGE = "S3OUTPOSTS_HEDGED_READS";
+    public static final int PERCENTILE = 95;
+    public static final int WINDOW = 128;
+    public static final int MIN_SAMPLES = 20;
+    public static final long MIN_DELAY_MILLIS = 20;
+    public static final int HEDGE_COST = 10;
+    public static final int MAX_CREDITS = 100;
+    static final String HEDGED = "ReadHedged";
+    static final String HEDGE_WON = "HedgeWon";
+    static final String BUDGET_EXHAUSTED = "HedgeBudgetExhausted";
+    static final String READ = "Read";
+
+    private final ProxyClient<ClientT> delegate;
+    private final Hedging hedging;
+    private final String typeName;
+    private final Set<Class<? extends AwsRequest>> hedgedReads;
+    private final Logger logger;
+
+    /**
+     * @param delegate    ProxyClient making the calls
+     * @param hedging     Latencies, budget and counters
+     * @param typeName    Resource type, the dimension of the metrics
+     * @param hedgedReads Requests of the reads to hedge, which must be idempotent, e.g. the IDEMPOTENT_READS of the
+     *                    BaseHandlerStd of each handler module
+     * @param logger      Logger of the invocation, the metrics are published to
+     */
+    public HedgedProxyClient(final ProxyClient<ClientT> delegate, final Hedging hedging, final String typeName,
+                             final Set<Class<? extends AwsRequest>> hedgedReads, final Logger logger) {
+        this.delegate = delegate;
+        this.hedging = hedging;
+        this.typeName = typeName;
+        this.hedgedReads = hedgedReads;
+        this.logger = logger;
+    }
+
+    /**
+     * @return Whether the Lambda entry point hedges its reads
+     */
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getenv(HEDGE));
+    }
+
+    /**
+     * @param proxyClient ProxyClient of a Lambda invocation
+     * @param hedgedReads Requests of the reads to hedge
+     * @return The proxy client, hedged with the {@link Hedging} of the JVM if {@value #HEDGE} is {@code true}
+     */
+    public static <ClientT> ProxyClient<ClientT> of(final ProxyClient<ClientT> proxyClient, final String typeName,
+                                                    final Set<Class<? extends AwsRequest>> hedgedReads,
+                                                    final Logger logger) {
+        return enabled() ? new HedgedProxyClient<>(proxyClient, Hedging.SHARED, typeName, hedgedReads, logger) : proxyClient;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        if (!hedgedReads.contains(request.getClass())) {
+            return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+        }
+
+        final Latencies latencies = hedging.latencies(request.getClass());
+        final long delay = latencies.hedgeDelayMillis();
+        hedging.reads.incrementAndGet();
+        hedging.earn();
+        if (delay < 0) {
+            final long start = System.nanoTime();
+            final ResponseT response = delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            latencies.record(System.nanoTime() - start);
+            return response;
+        }
+
+        final Race<ResponseT> race = new Race<>();
+        final Future<?> first = race.start(() -> delegate.injectCredentialsAndInvokeV2(request, requestFunction), latencies, false);
+        Future<?> second = null;
+        try {
+            try {
+                return race.winner.get(delay, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                if (hedging.spend()) {
+                    // Counted once started: a hedge cancelled before, as the first call just answered, makes no call.
+                    second = race.start(() -> {
+                        hedging.hedges.incrementAndGet();
+                        count(HEDGED, request);
+                        return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+                    }, latencies, true);
+                } else {
+                    hedging.budgetExhausted.incrementAndGet();
+                    count(BUDGET_EXHAUSTED, request);
+                }
+            }
+            final ResponseT response = race.winner.get();
+            if (race.hedgeWon) {
+                hedging.hedgeWins.incrementAndGet();
+                count(HEDGE_WON, request);
+            }
+            return response;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + request.getClass().getSimpleName(), e);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT injectCredentialsAndInvokeIterableV2(final RequestT request, final Function<RequestT, IterableT> requestFunction) {
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private void count(final String metric, final AwsRequest request) {
+        EmbeddedMetrics.count(logger, typeName, Collections.singletonMap(metric, 1L),
+                Collections.singletonMap(READ, request.getClass().getSimpleName()));
+    }
+
+    /**
+     * The calls made for one read: the first to succeed completes the winner, the last to fail completes it with the
+     * exception of the first failure.
+     */
+    private static final class Race<ResponseT> {
+        private final CompletableFuture<ResponseT> winner = new CompletableFuture<>();
+        private final AtomicBoolean won = new AtomicBoolean();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean hedgeWon;
+
+        Future<?> start(final Supplier<ResponseT> call, final Latencies latencies, final boolean hedge) {
+            running.incrementAndGet();
+            return Workers.EXECUTOR.submit(() -> {
+                final long start = System.nanoTime();
+                try {
+                    final ResponseT response = call.get();
+                    latencies.record(System.nanoTime() - start);
+                    if (won.compareAndSet(false, true)) {
+                        hedgeWon = hedge;
+                        winner.complete(response);
+                    }
+                } catch (final RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                    if (running.decrementAndGet() == 0) {
+                        winner.completeExceptionally(failure.get());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Latencies of the last {@value #WINDOW} successful calls of one kind of read.
+     */
+    static final class Latencies {
+        private final long[] nanos = new long[WINDOW];
+        private int next;
+        private int size;
+
+        synchronized void record(final long latencyNanos) {
+            nanos[next] = latencyNanos;
+            next = (next + 1) % WINDOW;
+            size = Math.min(size + 1, WINDOW);
+        }
+
+        /**
+         * @return The time to wait for a read before hedging it, or -1 while there are too few latencies to tell
+         */
+        synchronized long hedgeDelayMillis() {
+            if (size < MIN_SAMPLES) {
+                return -1;
+            }
+            final long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            final long percentile = sorted[Math.min(size - 1, (size * PERCENTILE + 99) / 100 - 1)];
+            return Math.max(MIN_DELAY_MILLIS, TimeUnit.NANOSECONDS.toMillis(percentile));
+        }
+    }
+
+    /**
+     * Latencies of the reads, hedge budget and counters, shared by decorators.
+     */
+    public static final class Hedging {
+        static final Hedging SHARED = new Hedging();
+
+        private final Map<Class<?>, Latencies> latencies = new ConcurrentHashMap<>();
+        private final AtomicLong reads = new AtomicLong();
+        private final AtomicLong hedges = new AtomicLong();
+        private final AtomicLong hedgeWins = new AtomicLong();
+        private final AtomicLong budgetExhausted = new AtomicLong();
+        private int credits;
+
+        Latencies latencies(final Class<?> read) {
+            return latencies.computeIfAbsent(read, r -> new Latencies());
+        }
+
+        private synchronized void earn() {
+            credits = Math.min(MAX_CREDITS, credits + 1);
+        }
+
+        private synchronized boolean spend() {
+            if (credits < HEDGE_COST) {
+                return false;
+            }
+            credits -= HEDGE_COST;
+            return true;
+        }
+
+        /**
+         * @return Hedgeable reads made, each counted once however many calls it took
+         */
+        public long getReads() {
+            return reads.get();
+        }
+
+        /**
+         * @return Second calls made for reads slower than their percentile, on top of {@link #getReads()}
+         */
+        public long getHedges() {
+            return hedges.get();
+        }
+
+        /**
+         * @return Reads answered by their second call
+         */
+        public long getHedgeWins() {
+            return hedgeWins.get();
+        }
+
+        /**
+         * @return Reads slower than their percentile not hedged, the budget having too few credits left
+         */
+        public long getBudgetExhausted() {
+            return budgetExhausted.get();
+        }
+    }
+
+    /**
+     * Threads making the calls of hedged reads, created on first use. Daemon threads, so they never keep the JVM alive.
+     */
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-hedge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,65 @@
+package software.amazon.s3outposts.shared;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import software.amazon.cloudformation.resource.Validator;
+import software.amazon.cloudformation.resource.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Checks the primary identifier of a model against its definition in the resource schema packaged with the handlers,
+ * with the schema {@link Validator} of the CloudFormation plugin. The plugin validates the whole model of a Create or
+ * an Update before calling the handler, but not the identifier given to a Read or a Delete.
+ */
+public final class IdentifierValidator {
+
+    private final Validator validator = new Validator();
+    private final String property;
+    private final JSONObject definition;
+
+    /**
+     * @param schema   Resource schema on the classpath, e.g. "/aws-s3outposts-bucket.json"
+     * @param property Property of the primary identifier
+     */
+    public IdentifierValidator(final String schema, final String property) {
+        this.property = property;
+        try (InputStream in = IdentifierValidator.class.getResourceAsStream(schema)) {
+            if (in == null) {
+                throw new IllegalStateException("Schema not found on the classpath: " + schema);
+            }
+            final JSONObject properties = new JSONObject(new JSONTokener(in)).getJSONObject("properties");
+            this.definition = new JSONObject()
+                    .put("type", "object")
+                    .put("properties", new JSONObject().put(property, properties.getJSONObject(property)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return The violations of the identifier, none if it is valid or not set, the handler reporting a missing identifier itself
+     */
+    public List<String> validate(final String identifier) {
+        if (identifier == null || identifier.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            validator.validateObject(new JSONObject().put(property, identifier), definition);
+            return Collections.emptyList();
+        } catch (final ValidationException e) {
+            if (e.getCausingExceptions().isEmpty()) {
+                return Collections.singletonList(e.getMessage());
+            }
+            final List<String> violations = new ArrayList<>();
+            e.getCausingExceptions().forEach(cause -> violations.add(cause.getMessage()));
+            return violations;
+        }
+    }
+
+}
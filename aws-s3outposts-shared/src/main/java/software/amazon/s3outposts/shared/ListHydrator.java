@@ -0,0 +1,138 @@
+package software.amazon.s3outposts.shared;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hydrated List, enabled with {@value #HYDRATE} (environment, or else system property) set to true. The list operations
+ * only return the identifiers of a resource, e.g. ListRegionalBuckets the name, ARN and outpost of a bucket, so the
+ * models of each List response are completed with what Read adds to them, e.g. the tags and the lifecycle configuration
+ * of a bucket. CloudFormation sets neither on the handlers of a registered type, whose List responses are never
+ * hydrated: the switch is for the tools, and for handlers run by SAM CLI or deployed by hand.
+ *
+ * Every read of every model is a task of its own, run on at most {@value #MAX_CONCURRENT_READS} threads shared by all
+ * the List invocations of the handler. A read failing with throttling is retried up to {@value #MAX_ATTEMPTS} attempts
+ * in all, after an exponential backoff with full jitter from {@value #BASE_BACKOFF_MILLIS} ms up to
+ * {@value #MAX_BACKOFF_MILLIS} ms. Any other failure, or throttling on the last attempt, fails the List invocation.
+ */
+public final class ListHydrator {
+
+    public static final String HYDRATE = "S3OUTPOSTS_LIST_HYDRATE";
+    static final int MAX_CONCURRENT_READS = 8;
+    static final int MAX_ATTEMPTS = 5;
+    static final long BASE_BACKOFF_MILLIS = 100;
+    static final long MAX_BACKOFF_MILLIS = 2000;
+
+    /**
+     * Completes the model in place with the response of one service call.
+     */
+    public interface Read<ModelT> {
+        void read(ModelT model);
+    }
+
+    private ListHydrator() {
+    }
+
+    /**
+     * @return Whether {@value #HYDRATE} is set to true in the environment, or else as a system property, which is how the
+     *         tools hydrate the listings they make through the handlers
+     */
+    public static boolean enabled() {
+        final String hydrate = System.getenv(HYDRATE);
+        return Boolean.parseBoolean(hydrate != null ? hydrate : System.getProperty(HYDRATE));
+    }
+
+    /**
+     * Runs every read on every model, concurrently, and waits for all of them.
+     *
+     * @param typeName Resource type, for the log
+     * @param name     Name of the listing, for the log
+     * @throws SdkException the failure of the first read, in model order, that did not succeed
+     */
+    public static <ModelT> void hydrate(final String typeName, final String name, final List<ModelT> resourceModels,
+                                        final List<Read<ModelT>> reads, final Logger logger) {
+        final long started = System.currentTimeMillis();
+        final AtomicInteger retries = new AtomicInteger();
+        final List<Future<?>> tasks = new ArrayList<>(resourceModels.size() * reads.size());
+        for (final ModelT resourceModel : resourceModels) {
+            for (final Read<ModelT> read : reads) {
+                tasks.add(Workers.EXECUTOR.submit(() -> {
+                    readWithBackoff(read, resourceModel, retries);
+                    return null;
+                }));
+            }
+        }
+
+        try {
+            for (final Future<?> task : tasks) {
+                await(task);
+            }
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        logger.log(String.format("%s::List::%s::Hydrate - %d models, %d reads, %d retried after throttling in %d ms",
+                typeName, name, resourceModels.size(), tasks.size(), retries.get(),
+                System.currentTimeMillis() - started));
+    }
+
+    private static <ModelT> void readWithBackoff(final Read<ModelT> read, final ModelT resourceModel,
+                                                 final AtomicInteger retries) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                read.read(resourceModel);
+                return;
+            } catch (final SdkException e) {
+                if (attempt >= MAX_ATTEMPTS || !isThrottling(e)) {
+                    throw e;
+                }
+            }
+            retries.incrementAndGet();
+            final long backoff = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+        }
+    }
+
+    /**
+     * @return Whether the failure is the service throttling the caller: a throttling error code such as
+     * TooManyRequestsException, which handleError maps to Throttling, a 429, or a 503
+     */
+    static boolean isThrottling(final SdkException e) {
+        return e instanceof AwsServiceException
+                && (((AwsServiceException) e).isThrottlingException() || ((AwsServiceException) e).statusCode() == 503);
+    }
+
+    private static void await(final Future<?> task) {
+        try {
+            task.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(MAX_CONCURRENT_READS, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-list-hydrate");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,308 @@
+package software.amazon.s3outposts.shared;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Answers one List invocation with as many service pages as fit in the handler response, instead of one page of the
+ * service default size, e.g. the pages of ListRegionalBuckets for the bucket.
+ *
+ * The first page asks for {@value #MAX_RESULTS} (environment) results, the service maximum when unset. While a page is
+ * translated the next one is already being fetched. Its size is adapted to what is left of the
+ * {@value #RESPONSE_BUDGET_BYTES} bytes budget, from the average serialized size of the models translated so far.
+ *
+ * A List request may filter the entries: the filter is applied to the entries of each page as it comes in, and only the
+ * entries kept are translated. The model size used to size the next page is then averaged over all the entries
+ * scanned, so a filter keeping few entries gets larger pages. Every page logs how many entries it scanned and kept.
+ *
+ * Paging stops, and the response carries the nextToken to continue from, when the budget is used up, after
+ * {@value #MAX_PAGES} pages, when the service returns a page shorter than asked for, or when a prefetch fails. The next
+ * page is not fetched once the pages collected leave less than one more page of the same size in the budget: it would
+ * mostly be cancelled. Only the second page, asked for before any model size is known, may still be. A failed prefetch
+ * is logged with the nextToken of the page that failed, and the response carries that nextToken, so the next List
+ * invocation resumes from the page that failed.
+ *
+ * A hydrating pager (see {@link #hydrating}) completes the models of every page, e.g. with {@link ListHydrator}, while
+ * the next page is fetched, and measures them once completed, so the budget holds the models as they are returned. As
+ * every model returned then costs service calls of its own, the first page asks for at most
+ * {@value #FIRST_HYDRATED_PAGE} results, and no page for more than what is left of {@value #MAX_HYDRATED_MODELS}
+ * models per response.
+ */
+public final class ListPager<ResponseT, ItemT, ModelT> {
+
+    static final String MAX_RESULTS = "S3OUTPOSTS_LIST_MAX_RESULTS";
+    public static final int RESPONSE_BUDGET_BYTES = 1024 * 1024;
+    static final int MAX_PAGES = 20;
+    public static final int FIRST_HYDRATED_PAGE = 10;
+    public static final int MAX_HYDRATED_MODELS = 100;
+
+    /**
+     * Fetches the page starting at nextToken, with at most maxResults results.
+     */
+    public interface PageCall<ResponseT> {
+        ResponseT page(String nextToken, int maxResults);
+    }
+
+    /**
+     * Completes the models of one page in place.
+     */
+    public interface Hydration<ModelT> {
+        void hydrate(List<ModelT> resourceModels);
+    }
+
+    /**
+     * Models of the pages collected, and the nextToken of the first page not collected (null after the last page).
+     */
+    public static final class Result<ModelT> {
+        private final List<ModelT> resourceModels;
+        private final String nextToken;
+
+        private Result(final List<ModelT> resourceModels, final String nextToken) {
+            this.resourceModels = resourceModels;
+            this.nextToken = nextToken;
+        }
+
+        public List<ModelT> getResourceModels() {
+            return resourceModels;
+        }
+
+        public String getNextToken() {
+            return nextToken;
+        }
+    }
+
+    private final String typeName;
+    private final String name;
+    private final int serviceMaxResults;
+    private final int budgetBytes;
+    private final PageCall<ResponseT> call;
+    private final Function<ResponseT, List<ItemT>> items;
+    private final Function<ResponseT, String> nextToken;
+    private final Predicate<ItemT> filter;
+    private final Function<ItemT, ModelT> translate;
+    private final Hydration<ModelT> hydration;
+    private final int firstPage;
+    private final int maxModels;
+
+    /**
+     * @param typeName          Resource type, for the log
+     * @param name              Name of the list operation, for the log
+     * @param serviceMaxResults Largest maxResults the service accepts
+     * @param budgetBytes       Serialized size of the models one response may hold, {@link #RESPONSE_BUDGET_BYTES}
+     *                          outside of tests
+     */
+    public ListPager(final String typeName,
+                     final String name,
+                     final int serviceMaxResults,
+                     final int budgetBytes,
+                     final PageCall<ResponseT> call,
+                     final Function<ResponseT, List<ItemT>> items,
+                     final Function<ResponseT, String> nextToken,
+                     final Function<ItemT, ModelT> translate) {
+        this(typeName, name, serviceMaxResults, budgetBytes, call, items, nextToken, item -> true, translate);
+    }
+
+    public ListPager(final String typeName,
+                     final String name,
+                     final int serviceMaxResults,
+                     final int budgetBytes,
+                     final PageCall<ResponseT> call,
+                     final Function<ResponseT, List<ItemT>> items,
+                     final Function<ResponseT, String> nextToken,
+                     final Predicate<ItemT> filter,
+                     final Function<ItemT, ModelT> translate) {
+        this.typeName = typeName;
+        this.name = name;
+        this.serviceMaxResults = serviceMaxResults;
+        this.budgetBytes = budgetBytes;
+        this.call = call;
+        this.items = items;
+        this.nextToken = nextToken;
+        this.filter = filter;
+        this.translate = translate;
+        this.hydration = null;
+        this.firstPage = serviceMaxResults;
+        this.maxModels = Integer.MAX_VALUE;
+    }
+
+    private ListPager(final ListPager<ResponseT, ItemT, ModelT> pager,
+                      final Hydration<ModelT> hydration,
+                      final int firstPage,
+                      final int maxModels) {
+        this.typeName = pager.typeName;
+        this.name = pager.name;
+        this.serviceMaxResults = pager.serviceMaxResults;
+        this.budgetBytes = pager.budgetBytes;
+        this.call = pager.call;
+        this.items = pager.items;
+        this.nextToken = pager.nextToken;
+        this.filter = pager.filter;
+        this.translate = pager.translate;
+        this.hydration = hydration;
+        this.firstPage = firstPage;
+        this.maxModels = maxModels;
+    }
+
+    /**
+     * @return This pager, completing the models of every page with the hydration before they are measured, and
+     *         returning at most {@value #MAX_HYDRATED_MODELS} models
+     */
+    public ListPager<ResponseT, ItemT, ModelT> hydrating(final Hydration<ModelT> hydration) {
+        return hydrating(hydration, FIRST_HYDRATED_PAGE, MAX_HYDRATED_MODELS);
+    }
+
+    ListPager<ResponseT, ItemT, ModelT> hydrating(final Hydration<ModelT> hydration, final int firstPage, final int maxModels) {
+        return new ListPager<>(this, hydration, firstPage, maxModels);
+    }
+
+    /**
+     * @return maxResults of the first page: {@value #MAX_RESULTS} if set, capped at the service maximum, and at
+     *         {@value #FIRST_HYDRATED_PAGE} when hydrating
+     */
+    public int firstMaxResults() {
+        return Math.min(Math.min(firstPage, maxModels), configuredMaxResults(serviceMaxResults));
+    }
+
+    /**
+     * @return {@value #MAX_RESULTS} if set, capped at the service maximum, the service maximum otherwise
+     */
+    public static int configuredMaxResults(final int serviceMaxResults) {
+        final String configured = System.getenv(MAX_RESULTS);
+        if (configured == null) {
+            return serviceMaxResults;
+        }
+        try {
+            return Math.max(1, Math.min(serviceMaxResults, Integer.parseInt(configured.trim())));
+        } catch (final NumberFormatException e) {
+            return serviceMaxResults;
+        }
+    }
+
+    /**
+     * Translates the first page, which the handler fetched itself, and as many of the following pages as fit.
+     *
+     * @param first           First page
+     * @param firstMaxResults maxResults the first page was asked for
+     */
+    public Result<ModelT> collect(final ResponseT first, final int firstMaxResults, final Logger logger) {
+        final long started = System.currentTimeMillis();
+        final List<ModelT> resourceModels = new ArrayList<>();
+        ResponseT page = first;
+        int maxResults = firstMaxResults;
+        int pages = 0;
+        int scanned = 0;
+        long usedBytes = 0;
+
+        while (true) {
+            pages++;
+            final List<ItemT> pageItems = items.apply(page);
+            final String token = nextToken.apply(page);
+            final double averageBytes = scanned == 0 ? 0 : (double) usedBytes / scanned;
+
+            // Decide on the next page before translating this one, so the two overlap.
+            final long pageBytes = (long) Math.ceil(averageBytes * pageItems.size());
+            final long remainingBytes = budgetBytes - usedBytes - pageBytes;
+            // Every entry of the page may be kept, so the next page asks for no more than the models left after it.
+            final int nextMaxResults = (int) Math.min(nextMaxResults(maxResults, averageBytes, remainingBytes),
+                    (long) maxModels - resourceModels.size() - pageItems.size());
+            final Future<ResponseT> prefetch = token != null && pageItems.size() >= maxResults
+                    && pages < MAX_PAGES && nextMaxResults > 0 && remainingBytes >= pageBytes
+                    ? Workers.EXECUTOR.submit(() -> call.page(token, nextMaxResults)) : null;
+
+            final List<ModelT> translated = new ArrayList<>();
+            for (final ItemT item : pageItems) {
+                if (filter.test(item)) {
+                    translated.add(translate.apply(item));
+                }
+            }
+            if (hydration != null) {
+                try {
+                    hydration.hydrate(translated);
+                } catch (final RuntimeException e) {
+                    if (prefetch != null) {
+                        prefetch.cancel(true);
+                    }
+                    throw e;
+                }
+            }
+            scanned += pageItems.size();
+            resourceModels.addAll(translated);
+            usedBytes += serializedSize(translated);
+            logger.log(String.format("%s::List::%s - page %d: %d scanned, %d returned",
+                    typeName, name, pages, pageItems.size(), translated.size()));
+
+            if (prefetch == null) {
+                log(logger, pages, scanned, resourceModels.size(), usedBytes, started, token);
+                return new Result<>(resourceModels, token);
+            }
+            if (usedBytes >= budgetBytes) {
+                prefetch.cancel(true);
+                log(logger, pages, scanned, resourceModels.size(), usedBytes, started, token);
+                return new Result<>(resourceModels, token);
+            }
+            try {
+                page = prefetch.get();
+            } catch (final ExecutionException e) {
+                if (!(e.getCause() instanceof SdkException)) {
+                    throw new IllegalStateException(e.getCause());
+                }
+                logger.log(String.format("%s::List::%s - prefetch of the page at nextToken %s failed, returning %d "
+                        + "models and its nextToken: %s", typeName, name, token, resourceModels.size(), e.getCause()));
+                log(logger, pages, scanned, resourceModels.size(), usedBytes, started, token);
+                return new Result<>(resourceModels, token);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.log(String.format("%s::List::%s - interrupted waiting for the page at nextToken %s, returning %d "
+                        + "models and its nextToken", typeName, name, token, resourceModels.size()));
+                return new Result<>(resourceModels, token);
+            }
+            maxResults = nextMaxResults;
+        }
+    }
+
+    /**
+     * @return maxResults that fits the remaining budget at the average size per entry scanned so far, 0 if nothing fits
+     */
+    private int nextMaxResults(final int maxResults, final double averageBytes, final long remainingBytes) {
+        if (averageBytes == 0) {
+            return maxResults;
+        }
+        return (int) Math.max(0, Math.min(serviceMaxResults, (long) (remainingBytes / averageBytes)));
+    }
+
+    private void log(final Logger logger, final int pages, final int scanned, final int models, final long usedBytes,
+                     final long started, final String token) {
+        logger.log(String.format("%s::List::%s - %d pages, %d scanned, %d models, %d bytes in %d ms, more: %s",
+                typeName, name, pages, scanned, models, usedBytes, System.currentTimeMillis() - started,
+                token != null));
+    }
+
+    private static int serializedSize(final List<?> resourceModels) {
+        try {
+            return new Serializer().serialize(resourceModels).getBytes(StandardCharsets.UTF_8).length;
+        } catch (final JsonProcessingException e) {
+            return 0;
+        }
+    }
+
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-list-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
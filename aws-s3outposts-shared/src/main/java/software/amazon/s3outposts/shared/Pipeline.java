@@ -0,0 +1,414 @@
+package software.amazon.s3outposts.shared;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Declarative replacement for the hand-written ProgressEvent.then(...) chains of the handlers.
+ *
+ * The stages run in declaration order, each getting the model and CallbackContext of the stage before, as with
+ * ProgressEvent.then. A stage declared {@link #concurrent} instead declares the model fields it {@link #reads} and
+ * {@link #writes}: it runs on a model holding only those fields, and only the fields it writes are taken from its
+ * result. Consecutive concurrent stages none of which reads or writes a field an earlier one of them writes make their
+ * service calls at the same time, the pipeline waiting for all of them. A stage that calls through the call graph of
+ * the CallbackContext, which is not thread-safe, or changes the CallbackContext, is not concurrent.
+ *
+ * A stage declared {@link #onlyIfChanged} is skipped when the given model fields are equal in the desired and the
+ * previous resource state. Every stage is timed and logged.
+ *
+ * The pipeline stops at the first stage that returns an event which cannot continue: FAILED, SUCCESS, or IN_PROGRESS
+ * with a callback delay. Completed stages are recorded in the CallbackContext together with the model fields they
+ * declare as written, so the next invocation resumes at the stage that stopped instead of running the earlier ones
+ * again.
+ *
+ * @param <ModelT>    ResourceModel of the handlers
+ * @param <CallbackT> CallbackContext of the handlers
+ */
+public final class Pipeline<ModelT, CallbackT extends Pipeline.Resumable<ModelT>> {
+
+    /**
+     * The part of a CallbackContext a pipeline records its progress in, which has to be serialized with it.
+     */
+    public interface Resumable<ModelT> {
+
+        /**
+         * @return Qualified names of the stages completed in earlier invocations, modifiable
+         */
+        Set<String> getCompletedStages();
+
+        /**
+         * @return The model fields written by those stages, null until a stage completed
+         */
+        ModelT getStageOutputs();
+
+        void setStageOutputs(ModelT stageOutputs);
+    }
+
+    /**
+     * A field of the resource model.
+     */
+    public interface Field<ModelT> {
+
+        void copy(ModelT from, ModelT to);
+
+        boolean isEqual(ModelT left, ModelT right);
+
+        static <ModelT, T> Field<ModelT> of(final Function<ModelT, T> getter, final BiConsumer<ModelT, T> setter) {
+            return new Field<ModelT>() {
+                @Override
+                public void copy(final ModelT from, final ModelT to) {
+                    setter.accept(to, getter.apply(from));
+                }
+
+                @Override
+                public boolean isEqual(final ModelT left, final ModelT right) {
+                    final T value = getter.apply(left);
+                    return value == null ? getter.apply(right) == null : value.equals(getter.apply(right));
+                }
+            };
+        }
+    }
+
+    private static final class Stage<ModelT, CallbackT> {
+        private final String name;
+        private final Function<ProgressEvent<ModelT, CallbackT>, ProgressEvent<ModelT, CallbackT>> body;
+        private final List<Field<ModelT>> writes = new ArrayList<>();
+        private final List<Field<ModelT>> reads = new ArrayList<>();
+        private final List<Field<ModelT>> changeInputs = new ArrayList<>();
+        private boolean concurrent;
+
+        private Stage(final String name, final Function<ProgressEvent<ModelT, CallbackT>, ProgressEvent<ModelT, CallbackT>> body) {
+            this.name = name;
+            this.body = body;
+        }
+
+        private boolean isUnchanged(final ModelT desired, final ModelT previous) {
+            if (changeInputs.isEmpty() || desired == null || previous == null) {
+                return false;
+            }
+            for (final Field<ModelT> field : changeInputs) {
+                if (!field.isEqual(desired, previous)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return Whether the stage has to wait for the given earlier stage, reading or writing a field it writes
+         */
+        private boolean dependsOn(final Stage<ModelT, CallbackT> earlier) {
+            return !Collections.disjoint(earlier.writes, reads) || !Collections.disjoint(earlier.writes, writes);
+        }
+    }
+
+    private final String typeName;
+    private final String name;
+    private final Supplier<ModelT> newModel;
+    private final List<Stage<ModelT, CallbackT>> stages = new ArrayList<>();
+
+    private Pipeline(final String typeName, final String name, final Supplier<ModelT> newModel) {
+        this.typeName = typeName;
+        this.name = name;
+        this.newModel = newModel;
+    }
+
+    /**
+     * @param typeName Resource type, for the log
+     * @param name     Prefix of the stage names recorded in the CallbackContext, unique among the pipelines that share a
+     *                 CallbackContext, e.g. Create and the Read it ends with.
+     * @param newModel Constructor of an empty model, to record the fields written by the completed stages in
+     * @return Pipeline
+     */
+    public static <ModelT, CallbackT extends Resumable<ModelT>> Pipeline<ModelT, CallbackT> named(
+            final String typeName, final String name, final Supplier<ModelT> newModel) {
+        return new Pipeline<>(typeName, name, newModel);
+    }
+
+    /**
+     * Declares the next stage, the equivalent of a function passed to ProgressEvent.then.
+     *
+     * @param stageName Name of the stage, unique in the pipeline
+     * @param body      Stage
+     * @return Pipeline
+     */
+    public Pipeline<ModelT, CallbackT> stage(final String stageName,
+                                             final Function<ProgressEvent<ModelT, CallbackT>, ProgressEvent<ModelT, CallbackT>> body) {
+        stages.add(new Stage<>(stageName, body));
+        return this;
+    }
+
+    /**
+     * The model fields the stage declared last sets, restored from the CallbackContext when the pipeline resumes after
+     * it.
+     *
+     * @param fields Fields of the model
+     * @return Pipeline
+     */
+    @SafeVarargs
+    public final Pipeline<ModelT, CallbackT> writes(final Field<ModelT>... fields) {
+        final Stage<ModelT, CallbackT> stage = last();
+        for (final Field<ModelT> field : fields) {
+            stage.writes.add(field);
+        }
+        return this;
+    }
+
+    /**
+     * The model fields the stage declared last uses, which a {@link #concurrent} stage gets in its model.
+     *
+     * @param fields Fields of the model
+     * @return Pipeline
+     */
+    @SafeVarargs
+    public final Pipeline<ModelT, CallbackT> reads(final Field<ModelT>... fields) {
+        final Stage<ModelT, CallbackT> stage = last();
+        for (final Field<ModelT> field : fields) {
+            stage.reads.add(field);
+        }
+        return this;
+    }
+
+    /**
+     * Runs the stage declared last at the same time as the concurrent stages declared next to it it does not depend
+     * on. The stage gets a model with only the fields it {@link #reads} and {@link #writes}, and must neither call
+     * through the call graph of the CallbackContext nor change it.
+     *
+     * @return Pipeline
+     */
+    public Pipeline<ModelT, CallbackT> concurrent() {
+        last().concurrent = true;
+        return this;
+    }
+
+    /**
+     * Skip the stage declared last when all of the given model fields are equal in the desired and the previous
+     * resource state.
+     *
+     * @param fields Fields of the model
+     * @return Pipeline
+     */
+    @SafeVarargs
+    public final Pipeline<ModelT, CallbackT> onlyIfChanged(final Field<ModelT>... fields) {
+        final Stage<ModelT, CallbackT> stage = last();
+        for (final Field<ModelT> field : fields) {
+            stage.changeInputs.add(field);
+        }
+        return this;
+    }
+
+    /**
+     * Runs the stages on the model and CallbackContext of the given event.
+     *
+     * @param start         Event to start from, returned as is if it cannot continue
+     * @param previousModel Previous resource state for {@link #onlyIfChanged}, null outside of Update
+     * @param logger        Logger
+     * @return The event of the stage the pipeline stopped at, or IN_PROGRESS with the model of the last stage if all
+     * completed
+     */
+    public ProgressEvent<ModelT, CallbackT> run(final ProgressEvent<ModelT, CallbackT> start,
+                                                final ModelT previousModel,
+                                                final Logger logger) {
+        if (!start.canContinueProgress()) {
+            return start;
+        }
+        ModelT model = start.getResourceModel();
+        final CallbackT callbackContext = start.getCallbackContext();
+        final long started = System.currentTimeMillis();
+
+        int next = 0;
+        while (next < stages.size()) {
+            final List<Stage<ModelT, CallbackT>> batch = batch(next);
+            next += batch.size();
+
+            final List<Stage<ModelT, CallbackT>> pending = new ArrayList<>();
+            for (final Stage<ModelT, CallbackT> stage : batch) {
+                if (callbackContext.getCompletedStages().contains(qualifiedName(stage))) {
+                    if (callbackContext.getStageOutputs() != null) {
+                        copy(stage.writes, callbackContext.getStageOutputs(), model);
+                    }
+                    log(logger, stage, "resumed", 0);
+                } else if (stage.isUnchanged(model, previousModel)) {
+                    log(logger, stage, "skipped, inputs unchanged", 0);
+                } else {
+                    pending.add(stage);
+                }
+            }
+
+            final List<ProgressEvent<ModelT, CallbackT>> results = apply(pending, model, callbackContext, logger);
+            ProgressEvent<ModelT, CallbackT> stopped = null;
+            for (int i = 0; i < pending.size(); i++) {
+                final Stage<ModelT, CallbackT> stage = pending.get(i);
+                final ProgressEvent<ModelT, CallbackT> result = results.get(i);
+                if (result.getResourceModel() != null) {
+                    if (stage.concurrent) {
+                        copy(stage.writes, result.getResourceModel(), model);
+                    } else {
+                        model = result.getResourceModel();
+                    }
+                }
+                if (!result.canContinueProgress()) {
+                    if (stopped == null) {
+                        stopped = result;
+                    }
+                    continue;
+                }
+                complete(stage, model, callbackContext);
+            }
+            if (stopped != null) {
+                // The model of a concurrent stage only holds some of the fields, CloudFormation has to get all of them.
+                if (stopped.getResourceModel() != null) {
+                    stopped.setResourceModel(model);
+                }
+                logger.log(String.format("%s::%s - stopped with %s after %d ms", typeName, name, stopped.getStatus(),
+                        System.currentTimeMillis() - started));
+                return stopped;
+            }
+        }
+
+        logger.log(String.format("%s::%s - completed in %d ms", typeName, name, System.currentTimeMillis() - started));
+        return ProgressEvent.progress(model, callbackContext);
+    }
+
+    /**
+     * @param from Index of the first stage of the batch
+     * @return The stage at the index, with the concurrent stages after it that do not depend on any stage of the batch
+     * if it is concurrent itself
+     */
+    private List<Stage<ModelT, CallbackT>> batch(final int from) {
+        final List<Stage<ModelT, CallbackT>> batch = new ArrayList<>();
+        batch.add(stages.get(from));
+        if (!stages.get(from).concurrent) {
+            return batch;
+        }
+        for (int i = from + 1; i < stages.size(); i++) {
+            final Stage<ModelT, CallbackT> stage = stages.get(i);
+            if (!stage.concurrent || batch.stream().anyMatch(stage::dependsOn)) {
+                break;
+            }
+            batch.add(stage);
+        }
+        return batch;
+    }
+
+    /**
+     * Runs the stages, all but the first on {@link Workers#EXECUTOR} if there are several.
+     *
+     * @return The events of the stages, in the order of the stages
+     */
+    private List<ProgressEvent<ModelT, CallbackT>> apply(final List<Stage<ModelT, CallbackT>> pending,
+                                                         final ModelT model,
+                                                         final CallbackT callbackContext,
+                                                         final Logger logger) {
+        final List<Future<ProgressEvent<ModelT, CallbackT>>> others = new ArrayList<>();
+        for (int i = 1; i < pending.size(); i++) {
+            final Stage<ModelT, CallbackT> stage = pending.get(i);
+            final ModelT input = input(stage, model);
+            others.add(Workers.EXECUTOR.submit(() -> apply(stage, input, callbackContext, logger)));
+        }
+
+        final List<ProgressEvent<ModelT, CallbackT>> results = new ArrayList<>();
+        try {
+            if (!pending.isEmpty()) {
+                results.add(apply(pending.get(0), input(pending.get(0), model), callbackContext, logger));
+            }
+            for (final Future<ProgressEvent<ModelT, CallbackT>> other : others) {
+                results.add(other.get());
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the stages of " + name, e);
+        } finally {
+            others.forEach(other -> other.cancel(true));
+        }
+        return results;
+    }
+
+    private ProgressEvent<ModelT, CallbackT> apply(final Stage<ModelT, CallbackT> stage,
+                                                   final ModelT input,
+                                                   final CallbackT callbackContext,
+                                                   final Logger logger) {
+        final long stageStarted = System.currentTimeMillis();
+        final ProgressEvent<ModelT, CallbackT> result = stage.body.apply(ProgressEvent.progress(input, callbackContext));
+        log(logger, stage, String.valueOf(result.getStatus()), System.currentTimeMillis() - stageStarted);
+        return result;
+    }
+
+    /**
+     * @return The model of the pipeline for a stage that is not concurrent, otherwise a new model with only the fields
+     * the stage reads and writes, which the concurrent stages do not share
+     */
+    private ModelT input(final Stage<ModelT, CallbackT> stage, final ModelT model) {
+        if (!stage.concurrent) {
+            return model;
+        }
+        final ModelT input = newModel.get();
+        copy(stage.reads, model, input);
+        copy(stage.writes, model, input);
+        return input;
+    }
+
+    private Stage<ModelT, CallbackT> last() {
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("No stage declared yet");
+        }
+        return stages.get(stages.size() - 1);
+    }
+
+    private void complete(final Stage<ModelT, CallbackT> stage, final ModelT model, final CallbackT callbackContext) {
+        if (callbackContext.getStageOutputs() == null) {
+            callbackContext.setStageOutputs(newModel.get());
+        }
+        copy(stage.writes, model, callbackContext.getStageOutputs());
+        callbackContext.getCompletedStages().add(qualifiedName(stage));
+    }
+
+    private static <ModelT> void copy(final List<Field<ModelT>> fields, final ModelT from, final ModelT to) {
+        if (from == to) {
+            return;
+        }
+        for (final Field<ModelT> field : fields) {
+            field.copy(from, to);
+        }
+    }
+
+    private String qualifiedName(final Stage<ModelT, CallbackT> stage) {
+        return name + "::" + stage.name;
+    }
+
+    private void log(final Logger logger, final Stage<ModelT, CallbackT> stage, final String outcome, final long millis) {
+        logger.log(String.format("%s::%s::%s - %s in %d ms", typeName, name, stage.name, outcome, millis));
+    }
+
+    /**
+     * Threads running the concurrent stages, created on first use. Daemon threads, so they never keep the JVM alive.
+     */
+    private static final class Workers {
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
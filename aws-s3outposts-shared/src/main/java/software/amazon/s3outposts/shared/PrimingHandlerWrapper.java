@@ -0,0 +1,68 @@
+package software.amazon.s3outposts.shared;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import org.crac.Core;
+import org.crac.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * Lambda entry point of a handler deployed with SnapStart. Hands every invocation to the generated HandlerWrapper of
+ * the module, and primes the handlers of the module before the snapshot is taken.
+ *
+ * Priming is registered as a CRaC checkpoint hook only when Lambda initializes the function for a snapshot, which it
+ * does on the java11 runtime or later with SnapStart enabled: {@value #INITIALIZATION_TYPE} is then
+ * {@value #SNAP_START}. When {@value #PRIME_ON_INIT} is "true" priming runs during init instead, to measure it on a
+ * JVM without CRaC. Functions using HandlerWrapper::handleRequest directly, as template.yml does on java8, never prime.
+ */
+public abstract class PrimingHandlerWrapper implements RequestStreamHandler {
+
+    public static final String PRIME_ON_INIT = "S3OUTPOSTS_PRIME_ON_INIT";
+    static final String INITIALIZATION_TYPE = "AWS_LAMBDA_INITIALIZATION_TYPE";
+    static final String SNAP_START = "snap-start";
+
+    private final RequestStreamHandler handlerWrapper;
+    // The global CRaC context only keeps a weak reference, Lambda keeps the entry point for the life of the function.
+    private final Resource priming;
+
+    /**
+     * @param handlerWrapper HandlerWrapper of the module
+     * @param prime          Primes the handlers of the module, must never throw
+     */
+    protected PrimingHandlerWrapper(final RequestStreamHandler handlerWrapper, final Runnable prime) {
+        this(handlerWrapper, prime, System::getenv);
+    }
+
+    PrimingHandlerWrapper(final RequestStreamHandler handlerWrapper,
+                          final Runnable prime,
+                          final Function<String, String> environment) {
+        this.handlerWrapper = handlerWrapper;
+        this.priming = new Resource() {
+            @Override
+            public void beforeCheckpoint(final org.crac.Context<? extends Resource> context) {
+                prime.run();
+            }
+
+            @Override
+            public void afterRestore(final org.crac.Context<? extends Resource> context) {
+            }
+        };
+        if (SNAP_START.equals(environment.apply(INITIALIZATION_TYPE))) {
+            Core.getGlobalContext().register(priming);
+        } else if (Boolean.parseBoolean(environment.apply(PRIME_ON_INIT))) {
+            prime.run();
+        }
+    }
+
+    @Override
+    public void handleRequest(final InputStream inputStream,
+                              final OutputStream outputStream,
+                              final Context context) throws IOException {
+        handlerWrapper.handleRequest(inputStream, outputStream, context);
+    }
+
+}
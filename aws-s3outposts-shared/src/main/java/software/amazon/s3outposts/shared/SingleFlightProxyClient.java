@@ -0,0 +1,141 @@
+package software.amazon.s3outposts.shared;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * ProxyClient decorator for callers running many handler invocations at once in one JVM with the same credentials, such
+ * as the tools of aws-s3outposts-tools: concurrent identical reads (equal requests of one of the shared reads, e.g.
+ * GetBucket for the bucket handlers) share one call in flight. The callers arriving while a read is in flight get its
+ * response, or its exception, and the first caller after it completes makes a new call: nothing is cached.
+ *
+ * Every other call goes through as it is. The ones that are not reads (Create, Put, Delete...) end the flights of the
+ * reads in progress for the callers after them: a read started once a write has completed never shares a read started
+ * before, so it cannot miss the write. The flights are shared by all the decorators of a {@link Group}, which also
+ * counts the calls made and the ones shared. The Lambda entry point does not use it, as the credentials of its proxy
+ * are those of one invocation.
+ */
+public final class SingleFlightProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+    private final ProxyClient<ClientT> delegate;
+    private final Group group;
+    private final Set<Class<? extends AwsRequest>> sharedReads;
+
+    /**
+     * @param sharedReads Requests of the reads to share, those the handlers make again and again, e.g. the
+     *                    IDEMPOTENT_READS of the BaseHandlerStd of each handler module
+     */
+    public SingleFlightProxyClient(final ProxyClient<ClientT> delegate, final Group group,
+                                   final Set<Class<? extends AwsRequest>> sharedReads) {
+        this.delegate = delegate;
+        this.group = group;
+        this.sharedReads = sharedReads;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        if (!sharedReads.contains(request.getClass())) {
+            if (isRead(request)) {
+                return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            }
+            try {
+                return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            } finally {
+                // Even a failed write may have been applied.
+                group.generation.incrementAndGet();
+            }
+        }
+
+        final List<Object> key = Arrays.asList(group.generation.get(), request);
+        final CompletableFuture<AwsResponse> flight = new CompletableFuture<>();
+        final CompletableFuture<AwsResponse> inFlight = group.flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            group.coalesced.incrementAndGet();
+            return cast(await(inFlight));
+        }
+        group.calls.incrementAndGet();
+        try {
+            final ResponseT response = delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            flight.complete(response);
+            return response;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            group.flights.remove(key, flight);
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT injectCredentialsAndInvokeIterableV2(final RequestT request, final Function<RequestT, IterableT> requestFunction) {
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private static boolean isRead(final AwsRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.startsWith("Get") || name.startsWith("List");
+    }
+
+    private static AwsResponse await(final CompletableFuture<AwsResponse> flight) {
+        try {
+            return flight.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // The response of an equal request is of the same type.
+    @SuppressWarnings("unchecked")
+    private static <ResponseT extends AwsResponse> ResponseT cast(final AwsResponse response) {
+        return (ResponseT) response;
+    }
+
+    /**
+     * Reads in flight, shared by the decorators of the proxy clients of one set of credentials.
+     */
+    public static final class Group {
+        private final ConcurrentHashMap<List<Object>, CompletableFuture<AwsResponse>> flights = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+
+        /**
+         * @return Shared reads made, one for every flight
+         */
+        public long getCalls() {
+            return calls.get();
+        }
+
+        /**
+         * @return Shared reads answered by a flight made for another caller, without a call of their own
+         */
+        public long getCoalesced() {
+            return coalesced.get();
+        }
+    }
+
+}
@@ -0,0 +1,306 @@
+package software.amazon.s3outposts.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests of {@link CircuitBreakerProxyClient} run by every handler module: the module test extending it gives a read of
+ * its service, and the ReadHandler of its resource type.
+ */
+public abstract class AbstractCircuitBreakerProxyClientTest<ClientT, RequestT extends AwsRequest, ResponseT extends AwsResponse> {
+
+    protected static final int FAILURES = 3;
+    protected static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected final String typeName;
+    protected final String account;
+    protected final String region;
+    protected final String outpostId;
+    protected final String key;
+    protected final AtomicLong now = new AtomicLong();
+    protected final CircuitBreakerProxyClient.Circuits circuits = new CircuitBreakerProxyClient.Circuits(FAILURES, OPEN_NANOS, now::get);
+    protected final AtomicInteger backendCalls = new AtomicInteger();
+    protected final List<String> lines = new CopyOnWriteArrayList<>();
+    private final ProxyClient<ClientT> proxyClient;
+    private final Function<RequestT, ResponseT> ok = r -> response();
+    private final Function<RequestT, ResponseT> serverError = r -> {
+        throw error(500, "InternalError");
+    };
+
+    /**
+     * @param arn ARN of a resource of the outpost
+     */
+    protected AbstractCircuitBreakerProxyClientTest(final String typeName, final String account, final String region,
+                                                    final String outpostId, final String arn) {
+        this.typeName = typeName;
+        this.account = account;
+        this.region = region;
+        this.outpostId = outpostId;
+        this.key = CircuitBreakerProxyClient.key(account, region, arn);
+        this.proxyClient = breaker(new CountingProxyClient(), key);
+    }
+
+    /**
+     * @return A read of the service of the module
+     */
+    protected abstract RequestT request();
+
+    /**
+     * @return A response to {@link #request()}
+     */
+    protected abstract ResponseT response();
+
+    /**
+     * @return An error of the service of the module
+     */
+    protected abstract AwsServiceException error(int statusCode, String errorCode);
+
+    /**
+     * @return A proxy client of a mocked SDK client failing every call with a 500, counting them in {@link #backendCalls}
+     */
+    protected abstract ProxyClient<ClientT> failingServiceClient();
+
+    /**
+     * @return The event of the ReadHandler of the module reading the resource of the test
+     */
+    protected abstract ProgressEvent<?, ?> read(ProxyClient<ClientT> proxyClient, Logger logger);
+
+    /**
+     * @return A breaker in front of the proxy client on the circuits of the test, logging to its lines
+     */
+    protected ProxyClient<ClientT> breaker(final ProxyClient<ClientT> delegate, final String circuitKey) {
+        return new CircuitBreakerProxyClient<>(delegate, circuits, typeName, circuitKey, lines::add);
+    }
+
+    @Test
+    public void key_AccountRegionAndOutpost() {
+        assertThat(key).isEqualTo(String.join("/", account, region, outpostId));
+        assertThat(CircuitBreakerProxyClient.key(account, region, null, outpostId)).isEqualTo(key);
+        assertThat(CircuitBreakerProxyClient.key(account, region, (String) null))
+                .isEqualTo(String.join("/", account, region, CircuitBreakerProxyClient.NO_OUTPOST));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_OpensAfterARunOfServerErrors() {
+        for (int i = 0; i < FAILURES; i++) {
+            assertThatThrownBy(() -> call(serverError)).isInstanceOf(AwsServiceException.class);
+        }
+
+        assertThatThrownBy(() -> call(ok))
+                .isInstanceOf(CircuitBreakerProxyClient.OpenException.class)
+                .hasMessageContaining(key);
+        assertThat(backendCalls.get()).isEqualTo(FAILURES);
+        assertThat(circuits.getOpened()).isEqualTo(1);
+        assertThat(circuits.getRejected()).isEqualTo(1);
+        assertThat(lines).anyMatch(line -> line.contains(key + " open"));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_TimeoutsCount() {
+        for (int i = 0; i < FAILURES; i++) {
+            assertThatThrownBy(() -> call(r -> {
+                throw ApiCallTimeoutException.create(1000);
+            })).isInstanceOf(ApiCallTimeoutException.class);
+        }
+
+        assertThatThrownBy(() -> call(ok)).isInstanceOf(CircuitBreakerProxyClient.OpenException.class);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_AnswersOfTheServiceEndTheRun() {
+        for (int i = 0; i < 3; i++) {
+            for (int j = 1; j < FAILURES; j++) {
+                assertThatThrownBy(() -> call(serverError)).isInstanceOf(AwsServiceException.class);
+            }
+            if (i == 0) {
+                call(ok);
+            } else {
+                // Errors of the caller and throttling tell the service is up.
+                final AwsServiceException error = i == 1 ? error(404, "NotFound") : error(503, "SlowDown");
+                assertThatThrownBy(() -> call(r -> {
+                    throw error;
+                })).isInstanceOf(AwsServiceException.class);
+            }
+        }
+
+        call(ok);
+        assertThat(circuits.getOpened()).isZero();
+        assertThat(metrics()).isEmpty();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ProbeClosesTheCircuit() throws Exception {
+        open();
+        now.addAndGet(OPEN_NANOS);
+        final CountDownLatch probing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ResponseT> probe = executor.submit(() -> call(r -> {
+                probing.countDown();
+                await(release);
+                return ok.apply(r);
+            }));
+            await(probing);
+
+            // One probe at a time, the others still fail fast.
+            assertThatThrownBy(() -> call(ok)).isInstanceOf(CircuitBreakerProxyClient.OpenException.class);
+            release.countDown();
+            assertThat(probe.get(10, TimeUnit.SECONDS)).isEqualTo(response());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(call(ok)).isEqualTo(response());
+        assertThat(circuits.getClosed()).isEqualTo(1);
+        assertThat(lines).anyMatch(line -> line.contains(key + " closed"));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_FailedProbeOpensAgain() {
+        open();
+        now.addAndGet(OPEN_NANOS);
+
+        assertThatThrownBy(() -> call(serverError)).isInstanceOf(AwsServiceException.class);
+
+        assertThatThrownBy(() -> call(ok)).isInstanceOf(CircuitBreakerProxyClient.OpenException.class);
+        assertThat(circuits.getOpened()).isEqualTo(2);
+        now.addAndGet(OPEN_NANOS);
+        call(ok);
+        assertThat(circuits.getClosed()).isEqualTo(1);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_CircuitsAreByOutpost() {
+        open();
+
+        final ProxyClient<ClientT> otherOutpost = breaker(new CountingProxyClient(),
+                CircuitBreakerProxyClient.key(account, region, "op-00000000000000001"));
+        final ProxyClient<ClientT> otherAccount = breaker(new CountingProxyClient(),
+                CircuitBreakerProxyClient.key("111122223333", region, outpostId));
+
+        assertThat(otherOutpost.injectCredentialsAndInvokeV2(request(), ok)).isEqualTo(response());
+        assertThat(otherAccount.injectCredentialsAndInvokeV2(request(), ok)).isEqualTo(response());
+        assertThatThrownBy(() -> call(ok)).isInstanceOf(CircuitBreakerProxyClient.OpenException.class);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_PublishesOpeningsAndClosings() {
+        open();
+        now.addAndGet(OPEN_NANOS);
+        call(ok);
+
+        final List<JsonNode> metrics = metrics();
+        assertThat(metrics).extracting(line -> line.has(CircuitBreakerProxyClient.OPENED)).containsExactly(true, false);
+        assertThat(metrics).extracting(line -> line.has(CircuitBreakerProxyClient.CLOSED)).containsExactly(false, true);
+        for (final JsonNode metric : metrics) {
+            final JsonNode directive = metric.get("_aws").get("CloudWatchMetrics").get(0);
+            assertThat(directive.get("Namespace").asText()).isEqualTo(EmbeddedMetrics.NAMESPACE);
+            assertThat(directive.get("Dimensions").get(0).get(0).asText()).isEqualTo(EmbeddedMetrics.TYPE_NAME);
+            assertThat(directive.get("Metrics").get(0).get("Unit").asText()).isEqualTo("Count");
+            assertThat(metric.get(directive.get("Metrics").get(0).get("Name").asText()).asLong()).isEqualTo(1);
+            assertThat(metric.get(EmbeddedMetrics.TYPE_NAME).asText()).isEqualTo(typeName);
+            assertThat(metric.get(CircuitBreakerProxyClient.CIRCUIT).asText()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    public void readHandler_FailsFastWithServiceInternalError() {
+        final ProxyClient<ClientT> breaker = breaker(failingServiceClient(), key);
+        final Logger requestLogger = lines::add;
+
+        for (int i = 0; i < FAILURES; i++) {
+            read(breaker, requestLogger);
+        }
+        final int callsToOpen = backendCalls.get();
+        final ProgressEvent<?, ?> progress = read(breaker, requestLogger);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+        assertThat(progress.getMessage()).contains(key);
+        assertThat(backendCalls.get()).isEqualTo(callsToOpen);
+        assertThat(circuits.getOpened()).isEqualTo(1);
+    }
+
+    private void open() {
+        for (int i = 0; i < FAILURES; i++) {
+            assertThatThrownBy(() -> call(serverError)).isInstanceOf(AwsServiceException.class);
+        }
+        assertThat(circuits.getOpened()).isEqualTo(1);
+    }
+
+    private ResponseT call(final Function<RequestT, ResponseT> call) {
+        return proxyClient.injectCredentialsAndInvokeV2(request(), call);
+    }
+
+    /**
+     * @return The lines logged in the embedded metric format
+     */
+    private List<JsonNode> metrics() {
+        return lines.stream()
+                .filter(line -> line.startsWith("{"))
+                .map(line -> {
+                    try {
+                        return MAPPER.readTree(line);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Makes the calls as they are, as the proxy of the RPDK does once the credentials are injected, counting them.
+     */
+    private final class CountingProxyClient implements ProxyClient<ClientT> {
+        @Override
+        public <CallRequestT extends AwsRequest, CallResponseT extends AwsResponse> CallResponseT injectCredentialsAndInvokeV2(
+                final CallRequestT request, final Function<CallRequestT, CallResponseT> requestFunction) {
+            backendCalls.incrementAndGet();
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public ClientT client() {
+            return null;
+        }
+    }
+
+}
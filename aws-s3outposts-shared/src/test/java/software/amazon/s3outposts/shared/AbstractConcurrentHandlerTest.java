@@ -0,0 +1,109 @@
+package software.amazon.s3outposts.shared;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs thousands of requests at once on one instance of each handler of a module, as a runner invoking the handlers in
+ * one JVM does: every request must get the model of its own resource, and log to its own logger only. The module test
+ * extending it stubs its service and makes the request of every operation.
+ */
+public abstract class AbstractConcurrentHandlerTest {
+
+    protected static final int OPERATIONS = 3000;
+
+    private static final int THREADS = 16;
+    private static final Pattern ARN_PATTERN = Pattern.compile("arn:aws:s3-outposts:[^\\s/]+(/[\\w-]+)+");
+
+    /**
+     * Makes the request of an operation with the handlers shared by every operation, and checks the model it got.
+     *
+     * @param operation     Below {@value #OPERATIONS}, which picks the handler and the resource of the request
+     * @param requestLogger Logger of this request only
+     */
+    protected abstract ProgressEvent<?, ?> run(int operation, Logger requestLogger);
+
+    /**
+     * @return ARN of the resource of the operation, the only one the lines it logs may name, or null if they name none
+     */
+    protected abstract String arn(int operation);
+
+    /**
+     * @return Whether the handler of the operation logs lines naming its resource, as every handler does unless told
+     */
+    protected boolean logsArn(final int operation) {
+        return true;
+    }
+
+    /**
+     * Checks the state the service was left in once every operation is done.
+     */
+    protected void verifyService() {
+    }
+
+    @Test
+    public void handleRequest_InterleavedOperationsOnSharedHandlers() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < OPERATIONS; i++) {
+                final int operation = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    runAndCheck(operation);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verifyService();
+    }
+
+    private void runAndCheck(final int operation) {
+        final Collection<String> lines = new ConcurrentLinkedQueue<>();
+        final ProgressEvent<?, ?> progress = run(operation, lines::add);
+
+        assertThat(progress.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // The lines naming a resource name the resource of this request, none were logged to another request's logger.
+        final List<String> arns = new ArrayList<>();
+        lines.forEach(line -> {
+            final Matcher matcher = ARN_PATTERN.matcher(line);
+            while (matcher.find()) {
+                arns.add(matcher.group());
+            }
+        });
+        final String arn = arn(operation);
+        if (arn == null) {
+            assertThat(lines).isNotEmpty();
+            assertThat(arns).isEmpty();
+        } else if (logsArn(operation)) {
+            assertThat(arns).isNotEmpty().containsOnly(arn);
+        } else {
+            assertThat(arns).allMatch(arn::equals);
+        }
+    }
+
+}
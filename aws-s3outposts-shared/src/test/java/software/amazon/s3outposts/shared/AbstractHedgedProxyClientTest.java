@@ -0,0 +1,308 @@
+package software.amazon.s3outposts.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests of {@link HedgedProxyClient} run by every handler module hedging its reads: the module test extending it gives
+ * a read of its service and a write.
+ *
+ * No assertion depends on how long a call took. The calls of the service answer at once, so the hedge delay is
+ * {@value HedgedProxyClient#MIN_DELAY_MILLIS} ms, and a call stuck in the tail waits on a latch nothing releases: it
+ * only ends when the decorator cancels it, or fails after {@value #STUCK_MILLIS} ms if the read was not hedged.
+ */
+public abstract class AbstractHedgedProxyClientTest<ClientT, RequestT extends AwsRequest, ResponseT extends AwsResponse> {
+
+    protected static final long STUCK_MILLIS = 100;
+
+    private static final int READS = 200;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected final String typeName;
+    protected final HedgedProxyClient.Hedging hedging = new HedgedProxyClient.Hedging();
+    protected final AtomicInteger backendCalls = new AtomicInteger();
+    protected final List<String> lines = new CopyOnWriteArrayList<>();
+    private final ProxyClient<ClientT> proxyClient;
+    private final CountDownLatch unanswered = new CountDownLatch(1);
+    private final AtomicBoolean stuckNext = new AtomicBoolean();
+    private final Semaphore cancelled = new Semaphore(0);
+    private final Set<Thread> callers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param hedgedReads The requests the module hedges, the IDEMPOTENT_READS of its BaseHandlerStd
+     */
+    protected AbstractHedgedProxyClientTest(final String typeName, final Set<Class<? extends AwsRequest>> hedgedReads) {
+        this.typeName = typeName;
+        this.proxyClient = new HedgedProxyClient<>(new CountingProxyClient(), hedging, typeName, hedgedReads, lines::add);
+    }
+
+    /**
+     * @return A read of the service of the module, one of its hedged reads
+     */
+    protected abstract RequestT request();
+
+    /**
+     * @return A response to {@link #request()}
+     */
+    protected abstract ResponseT response();
+
+    /**
+     * @return A write of the service of the module, which is never hedged
+     */
+    protected abstract AwsRequest write();
+
+    /**
+     * @return A response to {@link #write()}
+     */
+    protected abstract AwsResponse writeResponse();
+
+    @Test
+    public void injectCredentialsAndInvokeV2_HedgesTheReadsStuckInTheTail() throws InterruptedException {
+        // One read in 50 is stuck: it only ends once its hedge answered.
+        int stuck = 0;
+        for (int i = 0; i < READS; i++) {
+            if (i % 50 == 49) {
+                stuckNext.set(true);
+                stuck++;
+            }
+            assertThat(call()).isEqualTo(response());
+        }
+
+        assertThat(hedging.getReads()).isEqualTo(READS);
+        assertThat(hedging.getHedges()).isEqualTo(stuck);
+        assertThat(hedging.getHedgeWins()).isEqualTo(stuck);
+        assertThat(hedging.getBudgetExhausted()).isZero();
+        // The hedges are calls of their own through the delegate, as a rate limiter under the decorator sees them.
+        assertThat(backendCalls.get()).isEqualTo(READS + stuck);
+        // Each stuck call is cancelled once its hedge answered.
+        assertThat(cancelled.tryAcquire(stuck, 10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_DoesNotHedgeBeforeEnoughSamples() {
+        for (int i = 0; i < HedgedProxyClient.MIN_SAMPLES; i++) {
+            call();
+        }
+
+        // Made on the thread of the caller, there is nothing a hedge could have raced.
+        assertThat(callers).containsExactly(Thread.currentThread());
+        assertThat(hedging.getHedges()).isZero();
+        assertThat(backendCalls.get()).isEqualTo(HedgedProxyClient.MIN_SAMPLES);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_HedgesWithinBudget() {
+        warmUp();
+        // Every read is stuck from now on, so every read could be hedged: the budget must not let it. The warm-up
+        // earned 20 credits, each read earns one, and a hedge costs 10: reads 1, 2, 10, 20 and 30 are hedged.
+        int failed = 0;
+        for (int i = 0; i < 30; i++) {
+            stuckNext.set(true);
+            try {
+                call();
+            } catch (final ApiCallTimeoutException e) {
+                failed++;
+            }
+        }
+
+        assertThat(hedging.getHedges()).isEqualTo(5).isLessThanOrEqualTo(hedging.getReads() / HedgedProxyClient.HEDGE_COST);
+        assertThat(hedging.getBudgetExhausted()).isEqualTo(25);
+        assertThat(failed).isEqualTo(25);
+        assertThat(backendCalls.get()).isEqualTo(hedging.getReads() + hedging.getHedges());
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_DoesNotHedgeWrites() {
+        warmUp();
+        backendCalls.set(0);
+        callers.clear();
+
+        proxyClient.injectCredentialsAndInvokeV2(write(), r -> {
+            callers.add(Thread.currentThread());
+            return writeResponse();
+        });
+
+        assertThat(callers).containsExactly(Thread.currentThread());
+        assertThat(backendCalls.get()).isEqualTo(1);
+        assertThat(hedging.getReads()).isEqualTo(HedgedProxyClient.MIN_SAMPLES);
+        assertThat(hedging.getHedges()).isZero();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_FailedHedgeWaitsForTheFirstCall() {
+        warmUp();
+        final CountDownLatch hedgeFailed = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        final ResponseT response = proxyClient.injectCredentialsAndInvokeV2(request(), r -> {
+            if (calls.getAndIncrement() == 0) {
+                await(hedgeFailed);
+                return response();
+            }
+            hedgeFailed.countDown();
+            throw SdkClientException.create("hedge failed");
+        });
+
+        assertThat(response).isEqualTo(response());
+        assertThat(hedging.getHedges()).isEqualTo(1);
+        assertThat(hedging.getHedgeWins()).isZero();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_FastFailureIsNotHedged() {
+        warmUp();
+        backendCalls.set(0);
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(request(), r -> {
+            throw SdkClientException.create("boom");
+        })).isInstanceOf(SdkClientException.class).hasMessageContaining("boom");
+        assertThat(backendCalls.get()).isEqualTo(1);
+        assertThat(hedging.getHedges()).isZero();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_FailsOnceEveryCallFailed() {
+        warmUp();
+        final AtomicInteger calls = new AtomicInteger();
+
+        // The stuck call fails after the hedge did: the read fails with the first failure, the hedge's.
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(request(), r -> {
+            if (calls.getAndIncrement() == 0) {
+                stuck();
+            }
+            throw SdkClientException.create("boom");
+        })).isInstanceOf(SdkClientException.class).hasMessageContaining("boom");
+        assertThat(hedging.getHedges()).isEqualTo(1);
+        assertThat(hedging.getHedgeWins()).isZero();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_PublishesHedgesWinsAndExhaustedBudget() {
+        warmUp();
+        // 21 credits: two hedges, then the third stuck read finds 3 credits left.
+        for (int i = 0; i < 3; i++) {
+            stuckNext.set(true);
+            try {
+                call();
+            } catch (final ApiCallTimeoutException e) {
+                assertThat(i).isEqualTo(2);
+            }
+        }
+
+        final List<JsonNode> metrics = metrics();
+        assertThat(metrics).filteredOn(line -> line.has(HedgedProxyClient.HEDGED)).hasSize(2);
+        assertThat(metrics).filteredOn(line -> line.has(HedgedProxyClient.HEDGE_WON)).hasSize(2);
+        assertThat(metrics).filteredOn(line -> line.has(HedgedProxyClient.BUDGET_EXHAUSTED)).hasSize(1);
+        for (final JsonNode metric : metrics) {
+            final JsonNode directive = metric.get("_aws").get("CloudWatchMetrics").get(0);
+            assertThat(directive.get("Namespace").asText()).isEqualTo(EmbeddedMetrics.NAMESPACE);
+            assertThat(metric.get(directive.get("Metrics").get(0).get("Name").asText()).asLong()).isEqualTo(1);
+            assertThat(metric.get(EmbeddedMetrics.TYPE_NAME).asText()).isEqualTo(typeName);
+            assertThat(metric.get(HedgedProxyClient.READ).asText()).isEqualTo(request().getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Makes enough reads answered at once for the decorator to hedge the next ones.
+     */
+    private void warmUp() {
+        for (int i = 0; i < HedgedProxyClient.MIN_SAMPLES; i++) {
+            call();
+        }
+    }
+
+    /**
+     * @return The response of a read of the service, stuck if {@link #stuckNext} was set, answered at once otherwise
+     */
+    private ResponseT call() {
+        return proxyClient.injectCredentialsAndInvokeV2(request(), r -> {
+            callers.add(Thread.currentThread());
+            if (stuckNext.getAndSet(false)) {
+                stuck();
+            }
+            return response();
+        });
+    }
+
+    /**
+     * A call stuck in the tail: it waits for an answer that never comes, and ends as the SDK ends an interrupted call
+     * if it is cancelled, timing out after {@value #STUCK_MILLIS} ms otherwise.
+     */
+    private void stuck() {
+        try {
+            if (!unanswered.await(STUCK_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw ApiCallTimeoutException.create(STUCK_MILLIS);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.release();
+            throw AbortedException.builder().message("Thread was interrupted").build();
+        }
+    }
+
+    /**
+     * @return The lines logged in the embedded metric format
+     */
+    private List<JsonNode> metrics() {
+        return lines.stream()
+                .filter(line -> line.startsWith("{"))
+                .map(line -> {
+                    try {
+                        return MAPPER.readTree(line);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Makes the calls as they are, as the proxy of the RPDK does once the credentials are injected, counting them.
+     */
+    private final class CountingProxyClient implements ProxyClient<ClientT> {
+        @Override
+        public <CallRequestT extends AwsRequest, CallResponseT extends AwsResponse> CallResponseT injectCredentialsAndInvokeV2(
+                final CallRequestT request, final Function<CallRequestT, CallResponseT> requestFunction) {
+            backendCalls.incrementAndGet();
+            return requestFunction.apply(request);
+        }
+
+        @Override
+        public ClientT client() {
+            return null;
+        }
+    }
+
+}
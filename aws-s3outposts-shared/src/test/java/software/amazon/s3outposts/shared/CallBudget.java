@@ -0,0 +1,183 @@
+package software.amazon.s3outposts.shared;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Declared API call budget for a handler scenario.
+ *
+ * The budget is the exact, ordered sequence of service operations a scenario is allowed to issue. A regression (an
+ * extra, missing or reordered call) fails with a line diff of the expected and actual call sequences. Only the calls
+ * declared with {@link #thenInAnyOrder}, made at the same time by concurrent pipeline stages, may come in any order
+ * among themselves.
+ */
+public final class CallBudget {
+
+    private final List<String> expected;
+    private final List<int[]> unordered;
+
+    private CallBudget(final List<String> expected, final List<int[]> unordered) {
+        this.expected = expected;
+        this.unordered = unordered;
+    }
+
+    /**
+     * @param operations Operation names, e.g. "GetBucket", in the order they are expected to be issued.
+     * @return CallBudget
+     */
+    public static CallBudget of(final String... operations) {
+        return new CallBudget(Collections.unmodifiableList(Arrays.asList(operations)), Collections.emptyList());
+    }
+
+    /**
+     * @param operations Operation names expected next, in this order.
+     * @return CallBudget
+     */
+    public CallBudget then(final String... operations) {
+        final List<String> next = new ArrayList<>(expected);
+        next.addAll(Arrays.asList(operations));
+        return new CallBudget(Collections.unmodifiableList(next), unordered);
+    }
+
+    /**
+     * @param operations Operation names expected next, in any order among themselves.
+     * @return CallBudget
+     */
+    public CallBudget thenInAnyOrder(final String... operations) {
+        final List<int[]> ranges = new ArrayList<>(unordered);
+        ranges.add(new int[]{expected.size(), expected.size() + operations.length});
+        return new CallBudget(then(operations).expected, Collections.unmodifiableList(ranges));
+    }
+
+    /**
+     * Wrap a ProxyClient so that every service call made through it is recorded by operation name.
+     *
+     * @param delegate ProxyClient that actually performs the call
+     * @return RecordingProxyClient
+     */
+    public static <ClientT> RecordingProxyClient<ClientT> record(final ProxyClient<ClientT> delegate) {
+        return new RecordingProxyClient<>(delegate);
+    }
+
+    /**
+     * Operation name of a request, e.g. "GetBucketTagging" for GetBucketTaggingRequest.
+     *
+     * @param request AwsRequest
+     * @return String
+     */
+    public static String operationName(final AwsRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+
+    /**
+     * Fail the test if the recorded calls do not match the budget.
+     *
+     * @param scenario Scenario name, used in the failure message
+     * @param recorder RecordingProxyClient used by the scenario
+     */
+    public void assertSatisfiedBy(final String scenario, final RecordingProxyClient<?> recorder) {
+        final List<String> actual = recorder.calls();
+        if (!canonical(expected).equals(canonical(actual))) {
+            fail(String.format("API call budget for [%s] violated: expected %d call(s), got %d.%n%s",
+                    scenario, expected.size(), actual.size(), diff(expected, actual)));
+        }
+    }
+
+    /**
+     * @return The calls with those of every unordered range sorted by name
+     */
+    private List<String> canonical(final List<String> calls) {
+        final List<String> sorted = new ArrayList<>(calls);
+        for (final int[] range : unordered) {
+            if (range[1] <= sorted.size()) {
+                Collections.sort(sorted.subList(range[0], range[1]));
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Line diff of two call sequences based on their longest common subsequence. Unchanged calls are prefixed with
+     * two spaces, missing calls with "- " and unexpected calls with "+ ".
+     *
+     * @param expected Budgeted call sequence
+     * @param actual   Recorded call sequence
+     * @return String
+     */
+    public static String diff(final List<String> expected, final List<String> actual) {
+        final int[][] lcs = new int[expected.size() + 1][actual.size() + 1];
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            for (int j = actual.size() - 1; j >= 0; j--) {
+                lcs[i][j] = expected.get(i).equals(actual.get(j))
+                        ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        final StringBuilder sb = new StringBuilder("--- expected\n+++ actual\n");
+        int i = 0;
+        int j = 0;
+        while (i < expected.size() || j < actual.size()) {
+            if (i < expected.size() && j < actual.size() && expected.get(i).equals(actual.get(j))) {
+                sb.append("  ").append(expected.get(i++)).append('\n');
+                j++;
+            } else if (j < actual.size() && (i == expected.size() || lcs[i][j + 1] >= lcs[i + 1][j])) {
+                sb.append("+ ").append(actual.get(j++)).append('\n');
+            } else {
+                sb.append("- ").append(expected.get(i++)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * ProxyClient decorator recording the operation name of every call before delegating it.
+     */
+    public static final class RecordingProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+        private final ProxyClient<ClientT> delegate;
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        private RecordingProxyClient(final ProxyClient<ClientT> delegate) {
+            this.delegate = delegate;
+        }
+
+        public List<String> calls() {
+            synchronized (calls) {
+                return new ArrayList<>(calls);
+            }
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+        injectCredentialsAndInvokeV2(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+            calls.add(operationName(request));
+            return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+        }
+
+        @Override
+        public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+        IterableT
+        injectCredentialsAndInvokeIterableV2(RequestT request, Function<RequestT, IterableT> requestFunction) {
+            calls.add(operationName(request));
+            return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+        }
+
+        @Override
+        public ClientT client() {
+            return delegate.client();
+        }
+    }
+
+}
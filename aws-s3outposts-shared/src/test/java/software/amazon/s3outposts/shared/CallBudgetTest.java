@@ -0,0 +1,35 @@
+package software.amazon.s3outposts.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CallBudgetTest {
+
+    @Test
+    public void diff_ReportsMissingAndUnexpectedCalls() {
+        final String diff = CallBudget.diff(
+                Arrays.asList("GetBucket", "PutBucketTagging", "GetBucketTagging"),
+                Arrays.asList("GetBucket", "GetBucket", "GetBucketTagging"));
+
+        assertThat(diff).isEqualTo("--- expected\n+++ actual\n"
+                + "  GetBucket\n"
+                + "+ GetBucket\n"
+                + "- PutBucketTagging\n"
+                + "  GetBucketTagging\n");
+    }
+
+    @Test
+    public void diff_OfEqualSequencesHasNoChange() {
+        final String diff = CallBudget.diff(
+                Arrays.asList("CreateEndpoint", "ListEndpoints"),
+                Arrays.asList("CreateEndpoint", "ListEndpoints"));
+
+        assertThat(diff).isEqualTo("--- expected\n+++ actual\n"
+                + "  CreateEndpoint\n"
+                + "  ListEndpoints\n");
+    }
+
+}
@@ -0,0 +1,58 @@
+package software.amazon.s3outposts.shared;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContextSizePolicyTest {
+
+    private static final String TYPE_NAME = "AWS::S3Outposts::Test";
+    private static final String COMPLETED = "AWS-S3Outposts-Test::Create";
+    private static final String IN_FLIGHT = "AWS-S3Outposts-Test::Create::PutPolicy";
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-12345678901234567/bucket/test";
+    private static final String MODEL = "model";
+
+    private final Logger logger = message -> { };
+
+    private static StdCallbackContext context() {
+        final StdCallbackContext callbackContext = new StdCallbackContext();
+        // Completed call graph: request and response memoized.
+        final String request = callbackContext.request(COMPLETED, (Function<String, String>) model -> "CreateRequest of " + model)
+                .apply(MODEL);
+        callbackContext.<String, StdCallbackContext, String>response(COMPLETED, (sdkRequest, cbContext) -> ARN)
+                .apply(request, callbackContext);
+        // Call graph still in flight: only the request memoized.
+        callbackContext.request(IN_FLIGHT, (Function<String, String>) model -> "PutPolicyRequest of " + model)
+                .apply(MODEL);
+        return callbackContext;
+    }
+
+    @Test
+    public void apply_InProgress_EvictsRequestsOfCompletedCallGraphs() {
+        final StdCallbackContext callbackContext = context();
+        final int before = ContextSizePolicy.serializedSize(callbackContext);
+
+        ContextSizePolicy.apply(ProgressEvent.defaultInProgressHandler(callbackContext, 20, MODEL), TYPE_NAME, logger);
+
+        assertThat(callbackContext.callGraphs()).doesNotContainKey(COMPLETED + ".request");
+        assertThat(callbackContext.callGraphs()).containsKey(COMPLETED + ".response");
+        assertThat(callbackContext.callGraphs()).containsKey(IN_FLIGHT + ".request");
+        assertThat(callbackContext.<String>response(COMPLETED)).isEqualTo(ARN);
+        assertThat(ContextSizePolicy.serializedSize(callbackContext)).isLessThan(before);
+    }
+
+    @Test
+    public void apply_Success_LeavesContextAsIs() {
+        final StdCallbackContext callbackContext = context();
+
+        ContextSizePolicy.apply(ProgressEvent.success(MODEL, callbackContext), TYPE_NAME, logger);
+
+        assertThat(callbackContext.callGraphs()).containsKey(COMPLETED + ".request");
+    }
+
+}
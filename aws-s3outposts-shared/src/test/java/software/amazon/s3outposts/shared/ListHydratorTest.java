@@ -0,0 +1,91 @@
+package software.amazon.s3outposts.shared;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ListHydratorTest {
+
+    private static final String TYPE_NAME = "AWS::S3Outposts::Test";
+
+    private final Logger logger = message -> { };
+
+    private static final class Model {
+        private final String name;
+        private String arn;
+
+        private Model(final String name) {
+            this.name = name;
+        }
+    }
+
+    private static List<Model> models(final int count) {
+        final List<Model> resourceModels = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            resourceModels.add(new Model("bucket" + i));
+        }
+        return resourceModels;
+    }
+
+    @Test
+    public void hydrate_RunsAtMostMaxConcurrentReads() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Model> resourceModels = models(4 * ListHydrator.MAX_CONCURRENT_READS);
+
+        ListHydrator.hydrate(TYPE_NAME, "ListRegionalBuckets", resourceModels, Collections.<ListHydrator.Read<Model>>singletonList(resourceModel -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            resourceModel.arn = "arn-" + resourceModel.name;
+            running.decrementAndGet();
+        }), logger);
+
+        assertThat(resourceModels).allMatch(resourceModel -> resourceModel.arn != null);
+        assertThat(maxRunning.get()).isBetween(1, ListHydrator.MAX_CONCURRENT_READS);
+    }
+
+    @Test
+    public void hydrate_RetriesThrottledReads() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<Model> resourceModels = models(1);
+
+        ListHydrator.hydrate(TYPE_NAME, "ListRegionalBuckets", resourceModels, Collections.<ListHydrator.Read<Model>>singletonList(resourceModel -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw AwsServiceException.builder().statusCode(400)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("TooManyRequestsException").build()).build();
+            }
+            resourceModel.arn = "arn";
+        }), logger);
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(resourceModels.get(0).arn).isEqualTo("arn");
+    }
+
+    @Test
+    public void hydrate_OtherFailure_NotRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(AwsServiceException.class, () ->
+                ListHydrator.hydrate(TYPE_NAME, "ListRegionalBuckets", models(1), Collections.<ListHydrator.Read<Model>>singletonList(resourceModel -> {
+                    attempts.incrementAndGet();
+                    throw AwsServiceException.builder().statusCode(500).build();
+                }), logger));
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,235 @@
+package software.amazon.s3outposts.shared;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ListPagerTest {
+
+    private static final String TYPE_NAME = "AWS::S3Outposts::Test";
+
+    public static final class Model {
+        private final String id;
+        private String detail;
+
+        private Model(final String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+    }
+
+    private static final class Page {
+        private final List<String> ids;
+        private final String nextToken;
+
+        private Page(final String nextToken, final String... ids) {
+            this.ids = Arrays.asList(ids);
+            this.nextToken = nextToken;
+        }
+    }
+
+    private final Map<String, Page> pages = new HashMap<>();
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> translated = new ArrayList<>();
+    private final List<String> hydrated = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    private ListPager<Page, String, Model> pager(final int serviceMaxResults, final int budgetBytes) {
+        return pager(serviceMaxResults, budgetBytes, id -> true);
+    }
+
+    private ListPager<Page, String, Model> pager(final int serviceMaxResults, final int budgetBytes, final Predicate<String> filter) {
+        return new ListPager<>(TYPE_NAME, "ListThings", serviceMaxResults, budgetBytes,
+                (nextToken, maxResults) -> {
+                    calls.add(nextToken + "/" + maxResults);
+                    if (!pages.containsKey(nextToken)) {
+                        throw SdkClientException.create("no page " + nextToken);
+                    }
+                    return pages.get(nextToken);
+                },
+                page -> page.ids,
+                page -> page.nextToken,
+                filter,
+                id -> {
+                    translated.add(id);
+                    return new Model(id);
+                });
+    }
+
+    @Test
+    public void collect_PrefetchesFullPagesUntilTheLastPage() {
+        pages.put("t1", new Page("t2", "e3", "e4"));
+        pages.put("t2", new Page(null, "e5"));
+
+        final ListPager.Result<Model> result = pager(3, ListPager.RESPONSE_BUDGET_BYTES)
+                .collect(new Page("t1", "e1", "e2"), 2, logger);
+
+        assertThat(result.getResourceModels()).extracting(Model::getId)
+                .containsExactly("e1", "e2", "e3", "e4", "e5");
+        assertThat(result.getNextToken()).isNull();
+        // The second page is asked for before any model size is known, the third one at the service maximum.
+        assertThat(calls).containsExactly("t1/2", "t2/3");
+    }
+
+    @Test
+    public void collect_ShortPage_ReturnsItsNextToken() {
+        final ListPager.Result<Model> result = pager(3, ListPager.RESPONSE_BUDGET_BYTES)
+                .collect(new Page("t1", "e1"), 2, logger);
+
+        assertThat(result.getResourceModels()).hasSize(1);
+        assertThat(result.getNextToken()).isEqualTo("t1");
+        assertThat(calls).isEmpty();
+    }
+
+    @Test
+    public void collect_StopsAtTheResponseBudget() throws JsonProcessingException {
+        pages.put("t1", new Page("t2", "e3", "e4"));
+        pages.put("t2", new Page(null, "e5"));
+        final int modelBytes = new Serializer().serialize(new Model("e1"))
+                .getBytes(StandardCharsets.UTF_8).length;
+
+        final ListPager.Result<Model> result = pager(3, 3 * modelBytes).collect(new Page("t1", "e1", "e2"), 2, logger);
+
+        assertThat(result.getResourceModels()).extracting(Model::getId).containsExactly("e1", "e2", "e3", "e4");
+        assertThat(result.getNextToken()).isEqualTo("t2");
+        assertThat(calls).containsExactly("t1/2");
+    }
+
+    @Test
+    public void collect_WithinOnePageOfTheBudget_DoesNotPrefetch() throws JsonProcessingException {
+        pages.put("t1", new Page("t2", "e3", "e4"));
+        pages.put("t2", new Page(null, "e5"));
+        final int modelBytes = new Serializer().serialize(new Model("e1"))
+                .getBytes(StandardCharsets.UTF_8).length;
+
+        // After the second page one more model fits, less than another page of two: the third page is not asked for.
+        final ListPager.Result<Model> result = pager(3, 6 * modelBytes).collect(new Page("t1", "e1", "e2"), 2, logger);
+
+        assertThat(result.getResourceModels()).extracting(Model::getId).containsExactly("e1", "e2", "e3", "e4");
+        assertThat(result.getNextToken()).isEqualTo("t2");
+        assertThat(calls).containsExactly("t1/2");
+    }
+
+    @Test
+    public void collect_FailedPrefetch_ReturnsThePagesCollectedAndTheTokenOfThePageThatFailed() {
+        pages.put("t1", new Page("t2", "e3", "e4"));
+
+        final ListPager.Result<Model> result = pager(3, ListPager.RESPONSE_BUDGET_BYTES)
+                .collect(new Page("t1", "e1", "e2"), 2, logger);
+
+        assertThat(result.getResourceModels()).extracting(Model::getId).containsExactly("e1", "e2", "e3", "e4");
+        assertThat(result.getNextToken()).isEqualTo("t2");
+        assertThat(calls).containsExactly("t1/2", "t2/3");
+        assertThat(logged).anyMatch(message -> message.contains("prefetch of the page at nextToken t2 failed"));
+    }
+
+    @Test
+    public void collect_TranslatesOnlyTheEntriesKeptByTheFilter() {
+        pages.put("t1", new Page(null, "e3", "e4"));
+
+        final ListPager.Result<Model> result = pager(3, ListPager.RESPONSE_BUDGET_BYTES, id -> !id.equals("e3"))
+                .collect(new Page("t1", "e1", "e2"), 2, logger);
+
+        assertThat(result.getResourceModels()).extracting(Model::getId).containsExactly("e1", "e2", "e4");
+        assertThat(translated).containsExactly("e1", "e2", "e4");
+        assertThat(calls).containsExactly("t1/2");
+    }
+
+    @Test
+    public void collect_Hydrating_KeepsTheHydratedModelsWithinTheBudget() throws JsonProcessingException {
+        // Hydration makes every model about 20 KB, the budget holds about 50 of them: 5 of the pages of 10.
+        for (int page = 1; page < 10; page++) {
+            pages.put("t" + page, new Page("t" + (page + 1), ids(page)));
+        }
+        final ListPager<Page, String, Model> pager = pager(10, ListPager.RESPONSE_BUDGET_BYTES)
+                .hydrating(hydration(20000));
+
+        final ListPager.Result<Model> result = pager.collect(new Page("t1", ids(0)), pager.firstMaxResults(), logger);
+
+        assertThat(pager.firstMaxResults()).isEqualTo(ListPager.FIRST_HYDRATED_PAGE);
+        assertThat(result.getResourceModels()).hasSize(50);
+        assertThat(new Serializer().serialize(result.getResourceModels()).getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(ListPager.RESPONSE_BUDGET_BYTES);
+        assertThat(result.getNextToken()).isEqualTo("t5");
+        assertThat(calls).containsExactly("t1/10", "t2/10", "t3/10", "t4/10");
+        // Only the models returned are hydrated.
+        assertThat(hydrated).hasSize(50);
+    }
+
+    @Test
+    public void collect_Hydrating_ReturnsAtMostTheMaxModels() {
+        pages.put("t1", new Page("t2", ids(1)));
+        pages.put("t2", new Page("t3", "e20", "e21", "e22", "e23", "e24"));
+        final ListPager<Page, String, Model> pager = pager(1000, ListPager.RESPONSE_BUDGET_BYTES)
+                .hydrating(hydration(1), 10, 25);
+
+        final ListPager.Result<Model> result = pager.collect(new Page("t1", ids(0)), pager.firstMaxResults(), logger);
+
+        // The second page asks for what is left once the first two may be kept whole.
+        assertThat(pager.firstMaxResults()).isEqualTo(10);
+        assertThat(result.getResourceModels()).hasSize(25);
+        assertThat(result.getNextToken()).isEqualTo("t3");
+        assertThat(calls).containsExactly("t1/10", "t2/5");
+        assertThat(hydrated).hasSize(25);
+    }
+
+    @Test
+    public void collect_FailedHydration_FailsTheListing() {
+        pages.put("t1", new Page(null, "e3", "e4"));
+
+        assertThatThrownBy(() -> pager(3, ListPager.RESPONSE_BUDGET_BYTES)
+                .hydrating(models -> {
+                    throw SdkClientException.create("no hydration");
+                })
+                .collect(new Page("t1", "e1", "e2"), 2, logger))
+                .isInstanceOf(SdkClientException.class).hasMessageContaining("no hydration");
+    }
+
+    /**
+     * @return Hydration setting the detail of every model to as many characters
+     */
+    private ListPager.Hydration<Model> hydration(final int detailLength) {
+        final StringBuilder detail = new StringBuilder();
+        for (int i = 0; i < detailLength; i++) {
+            detail.append('x');
+        }
+        return models -> models.forEach(model -> {
+            model.detail = detail.toString();
+            hydrated.add(model.id);
+        });
+    }
+
+    /**
+     * @return The ten entries of a page, all of the same length
+     */
+    private static String[] ids(final int page) {
+        final String[] ids = new String[10];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = String.format("e%02d", page * 10 + i);
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,296 @@
+package software.amazon.s3outposts.shared;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.s3outposts.shared.Pipeline.Field;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PipelineTest {
+
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-12345678901234567/bucket/test";
+
+    private static final Field<Model> ARN_FIELD = Field.of(Model::getArn, Model::setArn);
+    private static final Field<Model> TAGS_FIELD = Field.of(Model::getTags, Model::setTags);
+    private static final Field<Model> POLICY_FIELD = Field.of(Model::getPolicy, Model::setPolicy);
+
+    private final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+    private final Logger logger = message -> { };
+
+    static final class Model {
+        private String arn;
+        private String tags;
+        private String policy;
+
+        String getArn() {
+            return arn;
+        }
+
+        void setArn(final String arn) {
+            this.arn = arn;
+        }
+
+        String getTags() {
+            return tags;
+        }
+
+        void setTags(final String tags) {
+            this.tags = tags;
+        }
+
+        String getPolicy() {
+            return policy;
+        }
+
+        void setPolicy(final String policy) {
+            this.policy = policy;
+        }
+    }
+
+    static final class Context implements Pipeline.Resumable<Model> {
+        private final Set<String> completedStages = new HashSet<>();
+        private Model stageOutputs;
+        private boolean propagated;
+
+        @Override
+        public Set<String> getCompletedStages() {
+            return completedStages;
+        }
+
+        @Override
+        public Model getStageOutputs() {
+            return stageOutputs;
+        }
+
+        @Override
+        public void setStageOutputs(final Model stageOutputs) {
+            this.stageOutputs = stageOutputs;
+        }
+    }
+
+    private static Pipeline<Model, Context> pipeline(final String name) {
+        return Pipeline.named("Test::Type", name, Model::new);
+    }
+
+    private Function<ProgressEvent<Model, Context>, ProgressEvent<Model, Context>> record(final String name) {
+        return progress -> {
+            ran.add(name);
+            return progress;
+        };
+    }
+
+    @Test
+    public void run_StagesRunInOrderOnTheModelOfTheStageBefore() {
+        final Model replaced = new Model();
+        final Context context = new Context();
+        final Pipeline<Model, Context> pipeline = pipeline("Test")
+                .stage("Create", progress -> {
+                    ran.add("Create");
+                    replaced.setArn(ARN);
+                    return ProgressEvent.progress(replaced, progress.getCallbackContext());
+                })
+                .stage("Tag", progress -> {
+                    ran.add("Tag");
+                    assertThat(progress.getResourceModel()).isSameAs(replaced);
+                    assertThat(progress.getCallbackContext()).isSameAs(context);
+                    progress.getResourceModel().setTags("tags");
+                    return progress;
+                })
+                .stage("Read", record("Read"));
+
+        final ProgressEvent<Model, Context> result = pipeline.run(ProgressEvent.progress(new Model(), context), null, logger);
+
+        assertThat(result.canContinueProgress()).isTrue();
+        assertThat(result.getResourceModel()).isSameAs(replaced);
+        assertThat(replaced.getTags()).isEqualTo("tags");
+        assertThat(ran).containsExactly("Create", "Tag", "Read");
+    }
+
+    @Test
+    public void run_SkipsUnchangedStages() {
+        final Pipeline<Model, Context> pipeline = pipeline("Update")
+                .stage("UpdateArn", record("UpdateArn"))
+                .onlyIfChanged(ARN_FIELD)
+                .stage("UpdateTags", record("UpdateTags"))
+                .onlyIfChanged(TAGS_FIELD);
+
+        final Model previous = new Model();
+        previous.setArn(ARN);
+        final Model desired = new Model();
+        desired.setArn(ARN);
+        desired.setTags("tags");
+        final Context context = new Context();
+
+        pipeline.run(ProgressEvent.progress(desired, context), previous, logger);
+
+        assertThat(ran).containsExactly("UpdateTags");
+        assertThat(context.getCompletedStages()).containsExactly("Update::UpdateTags");
+    }
+
+    @Test
+    public void run_ResumesAfterCallbackDelay() {
+        final Pipeline<Model, Context> pipeline = pipeline("Create")
+                .stage("Create", progress -> {
+                    ran.add("Create");
+                    progress.getResourceModel().setArn(ARN);
+                    return progress;
+                })
+                .writes(ARN_FIELD)
+                .stage("Propagate", progress -> {
+                    ran.add("Propagate");
+                    final Context context = progress.getCallbackContext();
+                    if (context.propagated) {
+                        return progress;
+                    }
+                    context.propagated = true;
+                    return ProgressEvent.defaultInProgressHandler(context, 20, progress.getResourceModel());
+                })
+                .stage("Read", record("Read"));
+
+        final ProgressEvent<Model, Context> first = pipeline.run(ProgressEvent.progress(new Model(), new Context()), null, logger);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getCallbackDelaySeconds()).isEqualTo(20);
+        assertThat(ran).containsExactly("Create", "Propagate");
+
+        // The next invocation gets the original desired state again, the ARN comes back from the CallbackContext.
+        final Model desired = new Model();
+        final ProgressEvent<Model, Context> second =
+                pipeline.run(ProgressEvent.progress(desired, first.getCallbackContext()), null, logger);
+
+        assertThat(second.canContinueProgress()).isTrue();
+        assertThat(desired.getArn()).isEqualTo(ARN);
+        assertThat(ran).containsExactly("Create", "Propagate", "Propagate", "Read");
+    }
+
+    @Test
+    public void run_StopsAtFirstFailure() {
+        final Pipeline<Model, Context> pipeline = pipeline("Test")
+                .stage("Ok", record("Ok"))
+                .stage("Fails", progress -> ProgressEvent.failed(progress.getResourceModel(),
+                        progress.getCallbackContext(), HandlerErrorCode.NotFound, "gone"))
+                .stage("Never", record("Never"));
+
+        final Context context = new Context();
+        final ProgressEvent<Model, Context> result = pipeline.run(ProgressEvent.progress(new Model(), context), null, logger);
+
+        assertThat(result.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(ran).containsExactly("Ok");
+        assertThat(context.getCompletedStages()).containsExactly("Test::Ok");
+    }
+
+    @Test
+    public void run_ConcurrentStagesOverlap() {
+        // Each stage waits for the other to have started: run one after the other, the first would time out.
+        final CountDownLatch started = new CountDownLatch(2);
+        final Pipeline<Model, Context> pipeline = pipeline("Read")
+                .stage("GetTags", progress -> {
+                    assertThat(bothStarted(started)).isTrue();
+                    assertThat(progress.getResourceModel().getPolicy()).isNull();
+                    progress.getResourceModel().setTags(progress.getResourceModel().getArn() + "/tags");
+                    return progress;
+                })
+                .reads(ARN_FIELD)
+                .writes(TAGS_FIELD)
+                .concurrent()
+                .stage("GetPolicy", progress -> {
+                    assertThat(bothStarted(started)).isTrue();
+                    assertThat(progress.getResourceModel().getTags()).isNull();
+                    progress.getResourceModel().setPolicy("policy");
+                    return progress;
+                })
+                .reads(ARN_FIELD)
+                .writes(POLICY_FIELD)
+                .concurrent();
+
+        final Model model = new Model();
+        model.setArn(ARN);
+        final Context context = new Context();
+        final ProgressEvent<Model, Context> result = pipeline.run(ProgressEvent.progress(model, context), null, logger);
+
+        assertThat(result.canContinueProgress()).isTrue();
+        assertThat(result.getResourceModel()).isSameAs(model);
+        assertThat(model.getTags()).isEqualTo(ARN + "/tags");
+        assertThat(model.getPolicy()).isEqualTo("policy");
+        assertThat(context.getCompletedStages()).containsExactlyInAnyOrder("Read::GetTags", "Read::GetPolicy");
+    }
+
+    @Test
+    public void run_ConcurrentStageWaitsForTheFieldsItReads() {
+        final Pipeline<Model, Context> pipeline = pipeline("Test")
+                .stage("WriteTags", progress -> {
+                    ran.add("WriteTags");
+                    progress.getResourceModel().setTags("tags");
+                    return progress;
+                })
+                .writes(TAGS_FIELD)
+                .concurrent()
+                .stage("ReadTags", progress -> {
+                    ran.add("ReadTags");
+                    progress.getResourceModel().setPolicy("policy of " + progress.getResourceModel().getTags());
+                    return progress;
+                })
+                .reads(TAGS_FIELD)
+                .writes(POLICY_FIELD)
+                .concurrent();
+
+        final Model model = new Model();
+        pipeline.run(ProgressEvent.progress(model, new Context()), null, logger);
+
+        assertThat(ran).containsExactly("WriteTags", "ReadTags");
+        assertThat(model.getPolicy()).isEqualTo("policy of tags");
+    }
+
+    @Test
+    public void run_ConcurrentFailureReturnsTheWholeModel() {
+        final Pipeline<Model, Context> pipeline = pipeline("Read")
+                .stage("GetTags", progress -> ProgressEvent.failed(progress.getResourceModel(),
+                        progress.getCallbackContext(), HandlerErrorCode.AccessDenied, "denied"))
+                .reads(ARN_FIELD)
+                .writes(TAGS_FIELD)
+                .concurrent()
+                .stage("GetPolicy", progress -> {
+                    progress.getResourceModel().setPolicy("policy");
+                    return progress;
+                })
+                .reads(ARN_FIELD)
+                .writes(POLICY_FIELD)
+                .concurrent();
+
+        final Model model = new Model();
+        model.setArn(ARN);
+        final Context context = new Context();
+        final ProgressEvent<Model, Context> result = pipeline.run(ProgressEvent.progress(model, context), null, logger);
+
+        assertThat(result.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        assertThat(result.getResourceModel()).isSameAs(model);
+        assertThat(model.getPolicy()).isEqualTo("policy");
+        // The stage that completed is not run again on the next invocation.
+        assertThat(context.getCompletedStages()).containsExactly("Read::GetPolicy");
+    }
+
+    private static boolean bothStarted(final CountDownLatch started) {
+        started.countDown();
+        try {
+            return started.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package software.amazon.s3outposts.shared;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PrimingHandlerWrapperTest {
+
+    private final AtomicInteger primed = new AtomicInteger();
+    private final Map<String, String> environment = new HashMap<>();
+
+    private PrimingHandlerWrapper wrapper(final RequestStreamHandler handlerWrapper) {
+        return new PrimingHandlerWrapper(handlerWrapper, primed::incrementAndGet, environment::get) {
+        };
+    }
+
+    @Test
+    public void construct_OnDemandInit_DoesNotPrime() {
+        wrapper(mock(RequestStreamHandler.class));
+
+        assertThat(primed.get()).isZero();
+    }
+
+    @Test
+    public void construct_SnapStartInit_PrimesAtCheckpointOnly() {
+        environment.put(PrimingHandlerWrapper.INITIALIZATION_TYPE, PrimingHandlerWrapper.SNAP_START);
+
+        wrapper(mock(RequestStreamHandler.class));
+
+        assertThat(primed.get()).isZero();
+    }
+
+    @Test
+    public void construct_PrimeOnInit_PrimesOnce() {
+        environment.put(PrimingHandlerWrapper.PRIME_ON_INIT, "true");
+
+        wrapper(mock(RequestStreamHandler.class));
+
+        assertThat(primed.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_DelegatesToHandlerWrapper() throws IOException {
+        final RequestStreamHandler handlerWrapper = mock(RequestStreamHandler.class);
+        final InputStream input = new ByteArrayInputStream(new byte[0]);
+        final OutputStream output = new ByteArrayOutputStream();
+        final Context context = mock(Context.class);
+
+        wrapper(handlerWrapper).handleRequest(input, output, context);
+
+        verify(handlerWrapper).handleRequest(input, output, context);
+        assertThat(primed.get()).isZero();
+    }
+
+}
@@ -0,0 +1,102 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetAccessPointRequest;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.accesspoint.CallbackContext;
+import software.amazon.s3outposts.accesspoint.DeleteHandler;
+import software.amazon.s3outposts.accesspoint.ResourceModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletion of an access point with the access point DeleteHandler, for the OutpostTeardown of the tools. Once the
+ * handler has made the DeleteAccessPoint call, every attempt is a GetAccessPoint call until the access point is not
+ * found, as the handler would check with the GetAccessPoint response recorded in its callback context. That call is made
+ * with the ProxyClient of the tools, as the handler would make it, a throttled one being made again at the next attempt.
+ *
+ * The access point is then reported deleted only once the propagation delay the handler waits for is over, 80 seconds
+ * in 4 callbacks: until the deletion has propagated, the bucket may not be in a state to be deleted, and the teardown
+ * does not count on the bucket DeleteHandler retrying DeleteBucket until it is.
+ */
+public final class AccessPointTeardown {
+
+    /**
+     * Propagation delay the access point DeleteHandler waits for after the access point is not found.
+     */
+    public static final long PROPAGATION_MILLIS = TimeUnit.SECONDS.toMillis(80);
+
+    private static final String DELETE_CALL = "AWS-S3Outposts-AccessPoint::Delete";
+
+    private AccessPointTeardown() {
+    }
+
+    /**
+     * @param propagationMillis Time to wait once the access point is not found, normally {@link #PROPAGATION_MILLIS}
+     */
+    public static Deletion delete(final ProxyClient<S3ControlClient> proxyClient,
+                                  final String accountId,
+                                  final String arn,
+                                  final long propagationMillis,
+                                  final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                .awsAccountId(accountId)
+                .build();
+        final AmazonWebServicesClientProxy proxy = Clients.callbackProxy(proxyClient);
+        final DeleteHandler handler = new DeleteHandler();
+        final boolean[] deleting = {false};
+        final Deletion gone = () -> {
+            if (deleting[0]) {
+                return isGone(proxyClient, accountId, arn);
+            }
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    handler.handleRequest(proxy, request, new CallbackContext(), logger);
+            if (progress.getStatus() == OperationStatus.IN_PROGRESS) {
+                // Not deleting yet if the access point was not in a state to be deleted: the next attempt tries again.
+                deleting[0] = progress.getCallbackContext().findFirstResponseByContains(DELETE_CALL) != null;
+                return progress.getCallbackContext().isStabilized();
+            }
+            return Deletion.isDone(progress);
+        };
+        final long[] goneMillis = {-1};
+        return () -> {
+            if (goneMillis[0] < 0) {
+                if (!gone.attempt()) {
+                    return false;
+                }
+                goneMillis[0] = System.currentTimeMillis();
+                logger.log(String.format("%s is not found, waiting %d ms for the deletion to propagate",
+                        arn, propagationMillis));
+            }
+            return System.currentTimeMillis() - goneMillis[0] >= propagationMillis;
+        };
+    }
+
+    /**
+     * @return Whether GetAccessPoint does not find the access point, false if it still does or the call was throttled
+     * @throws S3ControlException if the call failed otherwise
+     */
+    private static boolean isGone(final ProxyClient<S3ControlClient> proxyClient, final String accountId, final String arn) {
+        try {
+            proxyClient.injectCredentialsAndInvokeV2(GetAccessPointRequest.builder().accountId(accountId).name(arn).build(),
+                    proxyClient.client()::getAccessPoint);
+            return false;
+        } catch (final S3ControlException e) {
+            if (e.statusCode() == 404) {
+                return true;
+            }
+            if (e.isThrottlingException()) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+}
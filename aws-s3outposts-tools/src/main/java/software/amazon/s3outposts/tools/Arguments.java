@@ -0,0 +1,38 @@
+package software.amazon.s3outposts.tools;
+
+/**
+ * Option values of the command lines of the tools.
+ */
+final class Arguments {
+
+    private Arguments() {
+    }
+
+    /**
+     * @param i Index of the value, following its option
+     * @throws IllegalArgumentException if the option is the last argument
+     */
+    static String value(final String[] args, final int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(args[i - 1] + " needs a value");
+        }
+        return args[i];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a positive number
+     */
+    static int positive(final String[] args, final int i) {
+        final String value = value(args, i);
+        try {
+            final int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (final NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(args[i - 1] + " needs a positive number, not " + value);
+    }
+
+}
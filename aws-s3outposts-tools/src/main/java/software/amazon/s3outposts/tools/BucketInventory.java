@@ -0,0 +1,68 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.bucket.CallbackContext;
+import software.amazon.s3outposts.bucket.ListHandler;
+import software.amazon.s3outposts.bucket.ReadHandler;
+import software.amazon.s3outposts.bucket.ResourceModel;
+
+import java.io.IOException;
+
+/**
+ * Buckets of an outpost in the inventory, listed with the bucket ListHandler, hydrated with their tags and lifecycle
+ * configuration if listings are (see {@link software.amazon.s3outposts.shared.ListHydrator}). The children of a bucket
+ * are its ARN, whose access points and policy are listed next.
+ *
+ * The live state of a bucket is read with the ReadHandler, for the DriftDetector of the tools.
+ */
+public final class BucketInventory {
+
+    public static final String TYPE_NAME = ResourceModel.TYPE_NAME;
+
+    private static final Serializer SERIALIZER = new Serializer();
+
+    private BucketInventory() {
+    }
+
+    public static InventoryPage list(final ProxyClient<S3ControlClient> proxyClient,
+                                     final String accountId,
+                                     final String outpostId,
+                                     final String nextToken,
+                                     final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().outpostId(outpostId).build())
+                .awsAccountId(accountId)
+                .nextToken(nextToken)
+                .build();
+        return InventoryPage.of(TYPE_NAME,
+                new ListHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), logger),
+                ResourceModel::getArn);
+    }
+
+    /**
+     * Live state of a desired model, read with the bucket ReadHandler, with its tags and lifecycle configuration.
+     *
+     * @param properties Desired model, serialized as CloudFormation does
+     * @throws IOException if the properties are not a model of the resource type
+     */
+    public static LiveState readLive(final ProxyClient<S3ControlClient> proxyClient,
+                                     final String accountId,
+                                     final String properties,
+                                     final Logger logger) throws IOException {
+        final TypeReference<ResourceModel> type = new TypeReference<ResourceModel>() {
+        };
+        // The handler is given a copy, as it may fill in the model it reads.
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(SERIALIZER.deserializeStrict(properties, type))
+                .awsAccountId(accountId)
+                .build();
+        return LiveState.of(SERIALIZER.deserializeStrict(properties, type),
+                new ReadHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), logger));
+    }
+
+}
@@ -0,0 +1,33 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.bucketpolicy.CallbackContext;
+import software.amazon.s3outposts.bucketpolicy.DeleteHandler;
+import software.amazon.s3outposts.bucketpolicy.ResourceModel;
+
+/**
+ * Deletion of the policy of a bucket with the bucket policy DeleteHandler, for the OutpostTeardown of the tools. The
+ * handler deletes the policy in one call, so there is nothing to wait for.
+ */
+public final class BucketPolicyTeardown {
+
+    private BucketPolicyTeardown() {
+    }
+
+    public static Deletion delete(final ProxyClient<S3ControlClient> proxyClient,
+                                  final String accountId,
+                                  final String bucketArn,
+                                  final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().bucket(bucketArn).build())
+                .awsAccountId(accountId)
+                .build();
+        final AmazonWebServicesClientProxy proxy = Clients.callbackProxy(proxyClient);
+        return () -> Deletion.isDone(new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), logger));
+    }
+
+}
@@ -0,0 +1,370 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.shared.SingleFlightProxyClient;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies mandatory tags and lifecycle rules to the buckets of outposts, without a stack update per bucket: every
+ * bucket is read with the bucket ReadHandler, its desired state is its live state with the mandatory tags and rules
+ * (see {@link BucketReconciliation}), and only the buckets whose desired state differs are written with the bucket
+ * UpdateHandler, the tags with PutBucketTagging and the lifecycle configuration with PutBucketLifecycleConfiguration,
+ * each only if it differs.
+ *
+ * The buckets are read and written by a fixed pool of workers under one rate limit for all SDK calls, throttled reads
+ * being retried with backoff. Every bucket is reported as a line of JSON once it is done:
+ *
+ * {"Identifier":"arn:...","Status":"WRITTEN","Writes":["PutBucketTagging"],
+ *  "Differences":[{"PropertyPath":"/Tags/cost-center","ExpectedValue":"42","DifferenceType":"ADD"}]}
+ *
+ * The status is WRITTEN, PLANNED without --confirm, SKIPPED for a bucket already in its desired state or gone since it
+ * was listed, or FAILED with a Message. The differences are those of {@link ModelDiff}.
+ *
+ * Usage: java -cp target/tools.jar software.amazon.s3outposts.tools.BucketReconciler --account-id ID --outpost-id ID...
+ * [--tag KEY=VALUE...] [--lifecycle-configuration FILE] [--region REGION] [--endpoint-url URL] [--output FILE]
+ * [--confirm] [--concurrency N] [--calls-per-second N] [--verbose]
+ */
+public final class BucketReconciler {
+
+    private static final String USAGE = "Usage: java -cp tools.jar software.amazon.s3outposts.tools.BucketReconciler"
+            + " --account-id ID --outpost-id ID... [--tag KEY=VALUE...] [--lifecycle-configuration FILE] [--region REGION]"
+            + " [--endpoint-url URL] [--output FILE] [--confirm] [--concurrency N] [--calls-per-second N] [--verbose]";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String TAGS = "/Tags";
+    private static final String LIFECYCLE_CONFIGURATION = "/LifecycleConfiguration";
+
+    enum Status {
+        WRITTEN, PLANNED, SKIPPED, FAILED
+    }
+
+    private final Serializer serializer = new Serializer();
+    private final ResourceSchema schema = ResourceSchema.of(BucketInventory.TYPE_NAME);
+    private final BucketReconciliation reconciliation;
+    private final ProxyClient<S3ControlClient> s3ControlClient;
+    private final SingleFlightProxyClient.Group reads = new SingleFlightProxyClient.Group();
+    private final String accountId;
+    private final int concurrency;
+    private final Logger logger;
+
+    BucketReconciler(final BucketReconciliation reconciliation,
+                     final String accountId,
+                     final int concurrency,
+                     final int callsPerSecond,
+                     final boolean verbose,
+                     final S3ControlClient s3ControlClient) {
+        this.reconciliation = reconciliation;
+        this.s3ControlClient = Clients.s3Control(s3ControlClient,
+                new RateLimitedProxyClient.RateLimit(callsPerSecond), reads);
+        this.accountId = accountId;
+        this.concurrency = concurrency;
+        this.logger = verbose ? System.err::println : message -> { };
+    }
+
+    public static void main(final String[] args) throws Exception {
+        System.exit(run(args));
+    }
+
+    /**
+     * @return Exit status: 0 if every bucket is written, planned or skipped, 1 if some failed, 2 on a usage error
+     */
+    static int run(final String[] args) throws IOException, InterruptedException {
+        final Options options;
+        final BucketReconciliation reconciliation;
+        try {
+            options = Options.parse(args);
+            reconciliation = new BucketReconciliation(options.tags, options.lifecycleConfiguration == null ? null
+                    : new String(Files.readAllBytes(Paths.get(options.lifecycleConfiguration)), StandardCharsets.UTF_8));
+        } catch (final IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try (Writer report = options.output == null
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Paths.get(options.output), StandardCharsets.UTF_8);
+             S3ControlClient s3ControlClient = Clients.configure(S3ControlClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build()) {
+            final Summary summary;
+            try {
+                summary = new BucketReconciler(reconciliation, options.accountId, options.concurrency,
+                        options.callsPerSecond, options.verbose, s3ControlClient)
+                        .reconcile(options.outpostIds, options.confirm, report);
+            } catch (final RuntimeException e) {
+                System.err.println("Could not list the buckets: " + e);
+                return 1;
+            }
+            System.err.println(summary);
+            return summary.count(Status.FAILED) > 0 ? 1 : 0;
+        }
+    }
+
+    /**
+     * Reconciles the buckets of the outposts as they are listed, or only reports the writes without confirm.
+     *
+     * @throws InventoryException if the buckets of an outpost could not be listed, in which case the buckets listed
+     *                            before are still reconciled
+     */
+    Summary reconcile(final List<String> outpostIds, final boolean confirm, final Writer report)
+            throws InterruptedException {
+        final long start = System.currentTimeMillis();
+        final Summary summary = new Summary();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-tools-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Semaphore inFlight = new Semaphore(2 * concurrency);
+        try {
+            for (final String outpostId : outpostIds) {
+                String nextToken = null;
+                do {
+                    final String token = nextToken;
+                    final InventoryPage page = Clients.withBackoff(() ->
+                            BucketInventory.list(s3ControlClient, accountId, outpostId, token, logger));
+                    for (final String arn : page.getChildren()) {
+                        inFlight.acquire();
+                        executor.execute(() -> {
+                            try {
+                                final ObjectNode result = reconcile(arn, confirm);
+                                summary.add(Status.valueOf(result.get("Status").asText()));
+                                write(report, result);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    }
+                    nextToken = page.getNextToken();
+                } while (nextToken != null);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        summary.elapsedMillis = System.currentTimeMillis() - start;
+        summary.reads = reads.getCalls();
+        summary.coalescedReads = reads.getCoalesced();
+        return summary;
+    }
+
+    private ObjectNode reconcile(final String arn, final boolean confirm) {
+        final ObjectNode result = MAPPER.createObjectNode();
+        result.put("Identifier", arn);
+        try {
+            final BucketReconciliation.Bucket bucket = Clients.withBackoff(() ->
+                    reconciliation.read(s3ControlClient, accountId, arn, logger));
+            final LiveState state = bucket.getState();
+            if (state.getLive() == null) {
+                result.put("Status", Status.SKIPPED.name());
+                result.put("Message", "The bucket no longer exists");
+                return result;
+            }
+            final List<ModelDiff.Difference> differences = ModelDiff.compare(
+                    MAPPER.readTree(serializer.serialize(state.getDesired())),
+                    MAPPER.readTree(serializer.serialize(state.getLive())),
+                    schema.getReadOnlyProperties());
+            if (differences.isEmpty()) {
+                result.put("Status", Status.SKIPPED.name());
+                return result;
+            }
+            final boolean tags = differences.stream().anyMatch(difference -> isUnder(difference, TAGS));
+            final boolean lifecycleConfiguration = differences.stream()
+                    .anyMatch(difference -> isUnder(difference, LIFECYCLE_CONFIGURATION));
+            final ArrayNode writes = result.putArray("Writes");
+            if (tags) {
+                writes.add("PutBucketTagging");
+            }
+            if (lifecycleConfiguration) {
+                writes.add("PutBucketLifecycleConfiguration");
+            }
+            final ArrayNode array = result.putArray("Differences");
+            for (final ModelDiff.Difference difference : differences) {
+                final ObjectNode node = array.addObject();
+                node.put("PropertyPath", difference.getPropertyPath());
+                node.set("ExpectedValue", difference.getExpectedValue());
+                node.set("ActualValue", difference.getActualValue());
+                node.put("DifferenceType", difference.getDifferenceType().name());
+            }
+            if (!confirm) {
+                result.put("Status", Status.PLANNED.name());
+                return result;
+            }
+            // The handler writes the tags first: a bucket whose lifecycle configuration then fails is written again next time.
+            bucket.write(logger);
+            result.put("Status", Status.WRITTEN.name());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed(result, e);
+        } catch (final IOException | RuntimeException e) {
+            failed(result, e);
+        }
+        return result;
+    }
+
+    private static boolean isUnder(final ModelDiff.Difference difference, final String path) {
+        return difference.getPropertyPath().equals(path) || difference.getPropertyPath().startsWith(path + "/");
+    }
+
+    private static void failed(final ObjectNode result, final Exception e) {
+        result.put("Status", Status.FAILED.name());
+        result.put("Message", e.getMessage());
+    }
+
+    private static void write(final Writer report, final ObjectNode line) {
+        synchronized (report) {
+            try {
+                report.write(line.toString());
+                report.write('\n');
+                report.flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Buckets reconciled, by status, and the reads the handlers made for them.
+     */
+    static final class Summary {
+        private final Map<Status, AtomicLong> counts = new EnumMap<>(Status.class);
+        private long elapsedMillis;
+        private long reads;
+        private long coalescedReads;
+
+        private Summary() {
+            for (final Status status : Status.values()) {
+                counts.put(status, new AtomicLong());
+            }
+        }
+
+        private void add(final Status status) {
+            counts.get(status).incrementAndGet();
+        }
+
+        long count(final Status status) {
+            return counts.get(status).get();
+        }
+
+        /**
+         * @return Reads the single-flight decorator of {@link Clients} let through to the service
+         */
+        long getReads() {
+            return reads;
+        }
+
+        /**
+         * @return Reads answered by an identical read in flight for another bucket, without a call of their own
+         */
+        long getCoalescedReads() {
+            return coalescedReads;
+        }
+
+        @Override
+        public String toString() {
+            long total = 0;
+            for (final AtomicLong count : counts.values()) {
+                total += count.get();
+            }
+            return String.format("Reconciled %d buckets in %d ms: %d written, %d planned, %d skipped, %d failed; "
+                            + "%d reads made, %d more answered by a read in flight",
+                    total, elapsedMillis, count(Status.WRITTEN), count(Status.PLANNED), count(Status.SKIPPED),
+                    count(Status.FAILED), reads, coalescedReads);
+        }
+    }
+
+    private static final class Options {
+        private String accountId;
+        private final List<String> outpostIds = new ArrayList<>();
+        private final Map<String, String> tags = new LinkedHashMap<>();
+        private String lifecycleConfiguration;
+        private String region;
+        private String endpointUrl;
+        private String output;
+        private boolean confirm;
+        private int concurrency = 8;
+        private int callsPerSecond = 10;
+        private boolean verbose;
+
+        private static Options parse(final String[] args) {
+            final Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--account-id":
+                        options.accountId = Arguments.value(args, ++i);
+                        break;
+                    case "--outpost-id":
+                        options.outpostIds.add(Arguments.value(args, ++i));
+                        break;
+                    case "--tag":
+                        final String tag = Arguments.value(args, ++i);
+                        final int equals = tag.indexOf('=');
+                        if (equals <= 0) {
+                            throw new IllegalArgumentException("--tag needs KEY=VALUE, not " + tag);
+                        }
+                        options.tags.put(tag.substring(0, equals), tag.substring(equals + 1));
+                        break;
+                    case "--lifecycle-configuration":
+                        options.lifecycleConfiguration = Arguments.value(args, ++i);
+                        break;
+                    case "--region":
+                        options.region = Arguments.value(args, ++i);
+                        break;
+                    case "--endpoint-url":
+                        options.endpointUrl = Arguments.value(args, ++i);
+                        break;
+                    case "--output":
+                        options.output = Arguments.value(args, ++i);
+                        break;
+                    case "--confirm":
+                        options.confirm = true;
+                        break;
+                    case "--concurrency":
+                        options.concurrency = Arguments.positive(args, ++i);
+                        break;
+                    case "--calls-per-second":
+                        options.callsPerSecond = Arguments.positive(args, ++i);
+                        break;
+                    case "--verbose":
+                        options.verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (options.accountId == null) {
+                throw new IllegalArgumentException("--account-id is required");
+            }
+            if (options.outpostIds.isEmpty()) {
+                throw new IllegalArgumentException("--outpost-id is required");
+            }
+            if (options.tags.isEmpty() && options.lifecycleConfiguration == null) {
+                throw new IllegalArgumentException("--tag or --lifecycle-configuration is required");
+            }
+            return options;
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.commons.lang3.StringUtils;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.S3ControlException;
+import software.amazon.awssdk.services.s3control.model.S3Tag;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.bucket.CallbackContext;
+import software.amazon.s3outposts.bucket.LifecycleConfiguration;
+import software.amazon.s3outposts.bucket.ReadHandler;
+import software.amazon.s3outposts.bucket.ResourceModel;
+import software.amazon.s3outposts.bucket.Rule;
+import software.amazon.s3outposts.bucket.Tag;
+import software.amazon.s3outposts.bucket.UpdateHandler;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mandatory tags and lifecycle rules of buckets, for the BucketReconciler of the tools. The live state of a bucket is
+ * read with the bucket ReadHandler, and its desired state is the live one with the mandatory tags set over the tags of
+ * the same key, and the mandatory rules in place of the rules of the same Id. The other tags and rules of the bucket are
+ * left as they are.
+ *
+ * The tags and lifecycle configuration are then written with the bucket UpdateHandler, called as CloudFormation calls
+ * it, which makes its GetBucket before and its Read after.
+ */
+public final class BucketReconciliation {
+
+    private static final Serializer SERIALIZER = new Serializer();
+    // Tags the ReadHandler leaves out of the model, and PutBucketTagging would remove if they were not sent again.
+    private static final String SYSTEM_TAG_PREFIX = "aws:";
+    // Error code of GetBucketTagging for a bucket without tags.
+    private static final String NO_SUCH_TAGSET = "NoSuchTagSet";
+
+    private final Map<String, String> tags;
+    private final Set<Rule> rules;
+
+    /**
+     * @param tags  Mandatory tags, by key
+     * @param rules Mandatory lifecycle rules, as the LifecycleConfiguration property of a bucket, null for none
+     * @throws IOException              if the rules are not a LifecycleConfiguration of the resource type
+     * @throws IllegalArgumentException if a rule has no Id, which it is matched with the rules of the buckets by
+     */
+    public BucketReconciliation(final Map<String, String> tags, final String rules) throws IOException {
+        this.tags = new LinkedHashMap<>(tags);
+        this.rules = rules == null ? Collections.emptySet()
+                : Optional.ofNullable(SERIALIZER.deserializeStrict(rules, new TypeReference<LifecycleConfiguration>() {
+        }).getRules()).orElse(Collections.emptySet());
+        for (final Rule rule : this.rules) {
+            if (StringUtils.isEmpty(rule.getId())) {
+                throw new IllegalArgumentException("Every lifecycle rule needs an Id");
+            }
+        }
+    }
+
+    /**
+     * Reads a bucket with the bucket ReadHandler.
+     *
+     * @throws software.amazon.s3outposts.tools.InventoryException if the handler failed
+     */
+    public Bucket read(final ProxyClient<S3ControlClient> proxyClient,
+                       final String accountId,
+                       final String arn,
+                       final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                .awsAccountId(accountId)
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> progress =
+                new ReadHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), logger);
+        final ResourceModel live = progress.getResourceModel();
+        final ResourceModel desired = live == null ? null : desired(live);
+        return new Bucket(proxyClient, accountId, desired, LiveState.of(desired, progress));
+    }
+
+    private ResourceModel desired(final ResourceModel live) {
+        final ResourceModel desired = ResourceModel.builder()
+                .arn(live.getArn())
+                .bucketName(live.getBucketName())
+                .outpostId(live.getOutpostId())
+                .tags(live.getTags())
+                .lifecycleConfiguration(live.getLifecycleConfiguration())
+                .build();
+        if (!tags.isEmpty()) {
+            final Map<String, String> merged = new LinkedHashMap<>();
+            Optional.ofNullable(live.getTags()).orElse(Collections.emptySet())
+                    .forEach(tag -> merged.put(tag.getKey(), tag.getValue()));
+            merged.putAll(tags);
+            desired.setTags(merged.entrySet().stream()
+                    .map(entry -> Tag.builder().key(entry.getKey()).value(entry.getValue()).build())
+                    .collect(Collectors.toSet()));
+        }
+        if (!rules.isEmpty()) {
+            final Set<String> ids = rules.stream().map(Rule::getId).collect(Collectors.toSet());
+            final Set<Rule> merged = Optional.ofNullable(live.getLifecycleConfiguration())
+                    .map(LifecycleConfiguration::getRules)
+                    .orElse(Collections.emptySet())
+                    .stream()
+                    .filter(rule -> !ids.contains(rule.getId()))
+                    .collect(Collectors.toCollection(HashSet::new));
+            merged.addAll(rules);
+            desired.setLifecycleConfiguration(LifecycleConfiguration.builder().rules(merged).build());
+        }
+        return desired;
+    }
+
+    /**
+     * A bucket read, and the write that brings it to its desired state.
+     */
+    public static final class Bucket {
+        private final ProxyClient<S3ControlClient> proxyClient;
+        private final String accountId;
+        private final ResourceModel desired;
+        private final LiveState state;
+
+        private Bucket(final ProxyClient<S3ControlClient> proxyClient,
+                       final String accountId,
+                       final ResourceModel desired,
+                       final LiveState state) {
+            this.proxyClient = proxyClient;
+            this.accountId = accountId;
+            this.desired = desired;
+            this.state = state;
+        }
+
+        /**
+         * @return Desired and live state of the bucket, the live model being null if the bucket no longer exists
+         */
+        public LiveState getState() {
+            return state;
+        }
+
+        /**
+         * Writes the desired state with the bucket UpdateHandler, the live state being the previous one: the tags are
+         * written only if they differ from the tags on the bucket, and the lifecycle configuration only if it differs
+         * from the live one. The system tags the bucket has now, such as the ones of CloudFormation, are read first and
+         * sent as the system tags of the request, which PutBucketTagging would remove otherwise.
+         *
+         * @throws InventoryException if the handler failed
+         * @throws software.amazon.awssdk.core.exception.SdkException if the tags could not be read
+         */
+        public void write(final Logger logger) {
+            final Map<String, String> systemTags = new HashMap<>();
+            try {
+                final List<S3Tag> tagSet = proxyClient.injectCredentialsAndInvokeV2(
+                        GetBucketTaggingRequest.builder().accountId(accountId).bucket(desired.getArn()).build(),
+                        proxyClient.client()::getBucketTagging).tagSet();
+                tagSet.stream()
+                        .filter(tag -> tag.key().startsWith(SYSTEM_TAG_PREFIX))
+                        .forEach(tag -> systemTags.put(tag.key(), tag.value()));
+            } catch (final S3ControlException e) {
+                if (!StringUtils.equals(e.awsErrorDetails().errorCode(), NO_SUCH_TAGSET)) {
+                    throw e;
+                }
+            }
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .desiredResourceState(desired)
+                    .previousResourceState((ResourceModel) state.getLive())
+                    .systemTags(systemTags)
+                    .awsAccountId(accountId)
+                    .build();
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    new UpdateHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), logger);
+            if (InventoryException.notFound(progress)) {
+                throw new InventoryException(progress.getErrorCode(), progress.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.bucket.CallbackContext;
+import software.amazon.s3outposts.bucket.DeleteHandler;
+import software.amazon.s3outposts.bucket.ResourceModel;
+
+/**
+ * Deletion of a bucket with the bucket DeleteHandler, for the OutpostTeardown of the tools. The handler answers
+ * IN_PROGRESS as long as the bucket is not in a state to be deleted (InvalidBucketState), such as while its access
+ * points are being deleted, and every attempt makes the DeleteBucket call again.
+ */
+public final class BucketTeardown {
+
+    private BucketTeardown() {
+    }
+
+    public static Deletion delete(final ProxyClient<S3ControlClient> proxyClient,
+                                  final String accountId,
+                                  final String arn,
+                                  final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                .awsAccountId(accountId)
+                .build();
+        final AmazonWebServicesClientProxy proxy = Clients.callbackProxy(proxyClient);
+        return () -> Deletion.isDone(new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), logger));
+    }
+
+}
@@ -0,0 +1,156 @@
+package software.amazon.s3outposts.tools;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Journal of the progress of an export, appended to as it goes so that an interrupted export can be resumed. A task is
+ * one listing, such as the buckets of an outpost, and the journal records, one tab-separated line each, that a task was
+ * discovered (D), that it exported the pages before a nextToken (P), and that it finished (F). Tokens are base64url
+ * encoded, as the services give no guarantee about their characters.
+ *
+ * Only task keys are held in memory, never resource models. A line is flushed as soon as it is written, and a line cut
+ * short by a crash is dropped when the journal is opened again.
+ */
+final class Checkpoint implements AutoCloseable {
+
+    private static final String DISCOVERED = "D";
+    private static final String PAGE = "P";
+    private static final String FINISHED = "F";
+
+    private final Set<String> discovered = new HashSet<>();
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private final boolean resumed;
+    private final Writer writer;
+
+    private Checkpoint(final Path path) throws IOException {
+        resumed = Files.exists(path) && truncateToLastLine(path) > 0;
+        if (resumed) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    replay(line.split("\t", -1));
+                }
+            }
+        }
+        writer = new OutputStreamWriter(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                StandardCharsets.UTF_8);
+    }
+
+    static Checkpoint open(final Path path) throws IOException {
+        return new Checkpoint(path);
+    }
+
+    /**
+     * Drops a trailing line cut short by a crash, in the journal or in the output of the export.
+     *
+     * @return Size of the file once truncated
+     */
+    static long truncateToLastLine(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(1);
+            long size = channel.size();
+            while (size > 0) {
+                buffer.clear();
+                channel.read(buffer, size - 1);
+                if (buffer.get(0) == '\n') {
+                    break;
+                }
+                size--;
+            }
+            channel.truncate(size);
+            return size;
+        }
+    }
+
+    private void replay(final String[] fields) {
+        final String task = fields[1];
+        switch (fields[0]) {
+            case DISCOVERED:
+                if (discovered.add(task)) {
+                    pending.put(task, null);
+                }
+                break;
+            case PAGE:
+                pending.put(task, decode(fields[2]));
+                break;
+            case FINISHED:
+                pending.remove(task);
+                break;
+            default:
+                throw new IllegalStateException("Not a checkpoint line: " + String.join("\t", fields));
+        }
+    }
+
+    /**
+     * @return Whether the journal had entries when opened
+     */
+    boolean isResumed() {
+        return resumed;
+    }
+
+    /**
+     * @return Tasks discovered but not finished when the journal was opened, with the nextToken to resume them from,
+     *         null to start from the first page
+     */
+    Map<String, String> pending() {
+        return pending;
+    }
+
+    /**
+     * Records a task.
+     *
+     * @return Whether the task is new, false if it was already discovered, by this export or by the one resumed
+     */
+    synchronized boolean discover(final String task) {
+        if (!discovered.add(task)) {
+            return false;
+        }
+        append(DISCOVERED + "\t" + task);
+        return true;
+    }
+
+    /**
+     * Records that the pages of a task before nextToken are exported, and that the task is finished when nextToken is null.
+     */
+    synchronized void page(final String task, final String nextToken) {
+        append(nextToken == null ? FINISHED + "\t" + task : PAGE + "\t" + task + "\t" + encode(nextToken));
+    }
+
+    private void append(final String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(final String token) {
+        return Base64.getUrlEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(final String token) {
+        return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+}
@@ -0,0 +1,155 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.core.client.builder.SdkSyncClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.WaitStrategy;
+import software.amazon.s3outposts.shared.SingleFlightProxyClient;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * SDK clients and proxy shared by the tools, which call the handlers outside of CloudFormation.
+ */
+final class Clients {
+
+    // Only the lifetime of the credentials matters to the proxy, and the handlers never run out of it here.
+    private static final long REMAINING_TIME_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final Credentials NO_CREDENTIALS = new Credentials("", "", "");
+    private static final int MIN_CONNECTIONS = 50;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 10000;
+
+    private Clients() {
+    }
+
+    /**
+     * Proxy handed to the handlers, through the entry point CloudFormation calls them by. The ProxyClient the handler
+     * asks the proxy for is the one of the tools, {@link #s3Outposts} or {@link #s3Control}, whose SDK client makes the
+     * calls with its own credentials: the client the handler would build is never built, and the credentials of the
+     * proxy are never used.
+     */
+    static AmazonWebServicesClientProxy proxy(final ProxyClient<?> proxyClient) {
+        return new AmazonWebServicesClientProxy(new LoggerProxy(), NO_CREDENTIALS, () -> REMAINING_TIME_MILLIS) {
+            @Override
+            public <ClientT> ProxyClient<ClientT> newProxy(final Supplier<ClientT> client) {
+                return handing(proxyClient);
+            }
+        };
+    }
+
+    /**
+     * Proxy that never waits for a resource to stabilize: where CloudFormation would be asked to call the handler back
+     * later, the handler returns IN_PROGRESS at once, and the tool decides when to call it again. The handler is handed
+     * the ProxyClient of the tools, as by {@link #proxy}.
+     */
+    static AmazonWebServicesClientProxy callbackProxy(final ProxyClient<?> proxyClient) {
+        return new AmazonWebServicesClientProxy(new LoggerProxy(), NO_CREDENTIALS,
+                DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY, WaitStrategy.scheduleForCallbackStrategy()) {
+            @Override
+            public <ClientT> ProxyClient<ClientT> newProxy(final Supplier<ClientT> client) {
+                return handing(proxyClient);
+            }
+        };
+    }
+
+    // Every handler of a module asks for the client of its module, the one the ProxyClient of the tools was made for.
+    @SuppressWarnings("unchecked")
+    private static <ClientT> ProxyClient<ClientT> handing(final ProxyClient<?> proxyClient) {
+        return (ProxyClient<ClientT>) proxyClient;
+    }
+
+    /**
+     * ProxyClient handed to the endpoint handlers. Identical reads in flight at the same time, such as the first
+     * ListEndpoints page of concurrent Reads, share one call, and every call made waits for the rate limit.
+     *
+     * @param reads Reads in flight, which count the reads made and shared for the summary of the tool
+     */
+    static ProxyClient<S3OutpostsClient> s3Outposts(final S3OutpostsClient client,
+                                                    final RateLimitedProxyClient.RateLimit rateLimit,
+                                                    final SingleFlightProxyClient.Group reads) {
+        return new SingleFlightProxyClient<>(new RateLimitedProxyClient<>(client, rateLimit),
+                reads, software.amazon.s3outposts.endpoint.BaseHandlerStd.IDEMPOTENT_READS);
+    }
+
+    /**
+     * ProxyClient handed to the bucket, access point and bucket policy handlers. Identical reads in flight at the same
+     * time, of any of the three, share one call, a write of any of them ending the flights of all, and every call made
+     * waits for the rate limit.
+     *
+     * @param reads Reads in flight, which count the reads made and shared for the summary of the tool
+     */
+    static ProxyClient<S3ControlClient> s3Control(final S3ControlClient client,
+                                                  final RateLimitedProxyClient.RateLimit rateLimit,
+                                                  final SingleFlightProxyClient.Group reads) {
+        final Set<Class<? extends AwsRequest>> sharedReads = new HashSet<>();
+        sharedReads.addAll(software.amazon.s3outposts.bucket.BaseHandlerStd.IDEMPOTENT_READS);
+        sharedReads.addAll(software.amazon.s3outposts.accesspoint.BaseHandlerStd.IDEMPOTENT_READS);
+        sharedReads.addAll(software.amazon.s3outposts.bucketpolicy.BaseHandlerStd.IDEMPOTENT_READS);
+        return new SingleFlightProxyClient<>(new RateLimitedProxyClient<>(client, rateLimit),
+                reads, Collections.unmodifiableSet(sharedReads));
+    }
+
+    /**
+     * Configures a client for the region, or the default one, with the default credentials. With an endpoint URL, every
+     * call goes there instead, with dummy credentials, see {@link EndpointOverrideInterceptor}.
+     */
+    static <BuilderT extends AwsClientBuilder<BuilderT, ?> & SdkSyncClientBuilder<BuilderT, ?>> BuilderT configure(
+            final BuilderT builder, final String region, final String endpointUrl, final int concurrency) {
+        builder.httpClientBuilder(ApacheHttpClient.builder().maxConnections(Math.max(MIN_CONNECTIONS, concurrency)));
+        if (region != null) {
+            builder.region(Region.of(region));
+        }
+        if (endpointUrl != null) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")))
+                    .overrideConfiguration(ClientOverrideConfiguration.builder()
+                            .addExecutionInterceptor(new EndpointOverrideInterceptor(URI.create(endpointUrl)))
+                            .build());
+            if (region == null) {
+                builder.region(Region.US_EAST_1);
+            }
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        return builder;
+    }
+
+    /**
+     * Calls a handler until it is not throttled, at most 5 times, with exponential backoff and full jitter.
+     */
+    static <T> T withBackoff(final Supplier<T> call) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (final InventoryException e) {
+                if (e.getErrorCode() != HandlerErrorCode.Throttling || attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                final long cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            }
+        }
+    }
+
+}
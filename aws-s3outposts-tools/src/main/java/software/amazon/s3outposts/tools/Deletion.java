@@ -0,0 +1,54 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Deletion of one resource with its DeleteHandler, an attempt at a time. The handler is called with a proxy that does
+ * not wait for the resource to stabilize (see {@link Clients#callbackProxy}), and the attempt tells whether the resource
+ * is gone. If not, the next attempt calls the handler again, or checks whether the resource is gone once the handler
+ * has asked for it to be deleted.
+ */
+@FunctionalInterface
+public interface Deletion {
+
+    /**
+     * @return Whether the resource is gone, false if the handler has to be called again
+     * @throws InventoryException if the handler failed
+     */
+    boolean attempt();
+
+    /**
+     * Checks the response of a DeleteHandler.
+     *
+     * @return Whether the resource is gone: the handler succeeded, or the resource was not found
+     * @throws InventoryException if the handler failed, throttling excepted: the attempt is made again
+     */
+    static boolean isDone(final ProgressEvent<?, ?> progress) {
+        if (progress.getStatus() == OperationStatus.FAILED) {
+            if (progress.getErrorCode() == HandlerErrorCode.NotFound) {
+                return true;
+            }
+            if (progress.getErrorCode() == HandlerErrorCode.Throttling) {
+                return false;
+            }
+            throw new InventoryException(progress.getErrorCode(), progress.getMessage());
+        }
+        return progress.getStatus() == OperationStatus.SUCCESS;
+    }
+
+    /**
+     * Checks the response of a read of a resource being deleted.
+     *
+     * @return Whether the resource is gone: it was not found
+     * @throws InventoryException if the read failed, throttling excepted: the attempt is made again
+     */
+    static boolean isGone(final ProgressEvent<?, ?> progress) {
+        if (progress.getStatus() == OperationStatus.FAILED) {
+            return isDone(progress);
+        }
+        return false;
+    }
+
+}
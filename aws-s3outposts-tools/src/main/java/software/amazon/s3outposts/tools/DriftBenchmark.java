@@ -0,0 +1,169 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the {@link DriftDetector} over synthetic resources served by a {@link SyntheticS3OutpostsServer}: by default
+ * 5000 buckets, access points and bucket policies, one in ten drifted and one in fifty deleted, at several
+ * concurrencies. Reports the time taken and the resources checked per second, and fails if a resource is not reported
+ * with the expected status.
+ *
+ * Usage: java -cp target/tools.jar software.amazon.s3outposts.tools.DriftBenchmark [--resources N] [--concurrency N,N...]
+ * [--latency-ms N] [--calls-per-second N]
+ */
+public final class DriftBenchmark {
+
+    private static final String USAGE = "Usage: java -cp tools.jar software.amazon.s3outposts.tools.DriftBenchmark"
+            + " [--resources N] [--concurrency N,N...] [--latency-ms N] [--calls-per-second N]";
+    private static final int DRIFTED_EVERY = 10;
+    private static final int DELETED_EVERY = 50;
+
+    private DriftBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        int resources = 5000;
+        final List<Integer> concurrencies = new ArrayList<>();
+        int latencyMillis = 10;
+        // High enough not to be the limit: the benchmark measures the detector and the handlers.
+        int callsPerSecond = 100000;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--resources":
+                        resources = Arguments.positive(args, ++i);
+                        break;
+                    case "--concurrency":
+                        for (final String concurrency : Arguments.value(args, ++i).split(",")) {
+                            concurrencies.add(Arguments.positive(new String[]{args[i - 1], concurrency}, 1));
+                        }
+                        break;
+                    case "--latency-ms":
+                        latencyMillis = Arguments.positive(args, ++i);
+                        break;
+                    case "--calls-per-second":
+                        callsPerSecond = Arguments.positive(args, ++i);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (concurrencies.isEmpty()) {
+            concurrencies.add(1);
+            concurrencies.add(8);
+            concurrencies.add(32);
+        }
+
+        final Expected expected = new Expected();
+        final String input = desiredModels(resources, expected);
+        boolean failed = false;
+        System.out.println(String.format("%11s %9s %9s %11s %9s %s", "concurrency", "resources", "ms", "resources/s", "requests", "result"));
+        try (SyntheticS3OutpostsServer server = new SyntheticS3OutpostsServer(latencyMillis)) {
+            for (final int concurrency : concurrencies) {
+                final long requestsBefore = server.getRequestCount();
+                final DriftDetector.Summary summary;
+                try (S3OutpostsClient s3OutpostsClient = Clients.configure(S3OutpostsClient.builder(),
+                        null, server.endpoint(), concurrency).build();
+                     S3ControlClient s3ControlClient = Clients.configure(S3ControlClient.builder(),
+                             null, server.endpoint(), concurrency).build()) {
+                    summary = new DriftDetector(SyntheticS3OutpostsServer.ACCOUNT_ID, concurrency, callsPerSecond, false,
+                            s3OutpostsClient, s3ControlClient).detect(new BufferedReader(new StringReader(input)), new NullWriter());
+                }
+                final boolean matches = expected.matches(summary);
+                failed |= !matches;
+                System.out.println(String.format("%11d %9d %9d %11.1f %9d %s", concurrency, resources, summary.getElapsedMillis(),
+                        resources * 1000.0 / Math.max(1, summary.getElapsedMillis()), server.getRequestCount() - requestsBefore,
+                        matches ? "ok" : "unexpected: " + summary + ", expected " + expected));
+            }
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    /**
+     * @return One desired model per line: buckets, access points and bucket policies in turn
+     */
+    private static String desiredModels(final int resources, final Expected expected) {
+        final StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < resources; i++) {
+            final boolean deleted = i % DELETED_EVERY == DELETED_EVERY - 1;
+            final boolean drifted = !deleted && i % DRIFTED_EVERY == DRIFTED_EVERY - 1;
+            final String name = (deleted ? SyntheticS3OutpostsServer.GONE : "") + "resource-" + i;
+            switch (i % 3) {
+                case 0:
+                    lines.append(line(BucketInventory.TYPE_NAME, drifted
+                            ? SyntheticS3OutpostsServer.bucket(name).replace("\"storage\"", "\"compute\"")
+                            : SyntheticS3OutpostsServer.bucket(name)));
+                    break;
+                case 1:
+                    lines.append(line(AccessPointInventory.TYPE_NAME, drifted
+                            ? SyntheticS3OutpostsServer.accessPoint(name).replace("\"Allow\"", "\"Deny\"")
+                            : SyntheticS3OutpostsServer.accessPoint(name)));
+                    break;
+                default:
+                    lines.append(line(BucketPolicyInventory.TYPE_NAME, drifted
+                            ? SyntheticS3OutpostsServer.bucketPolicy(name).replace(",\"s3-outposts:PutObject\"", "")
+                            : SyntheticS3OutpostsServer.bucketPolicy(name)));
+            }
+            expected.add(deleted ? DriftDetector.Status.DELETED
+                    : drifted ? DriftDetector.Status.MODIFIED : DriftDetector.Status.IN_SYNC);
+        }
+        return lines.toString();
+    }
+
+    private static String line(final String typeName, final String properties) {
+        return "{\"TypeName\":\"" + typeName + "\",\"Properties\":" + properties + "}\n";
+    }
+
+    private static final class Expected {
+        private final long[] counts = new long[DriftDetector.Status.values().length];
+
+        private void add(final DriftDetector.Status status) {
+            counts[status.ordinal()]++;
+        }
+
+        private boolean matches(final DriftDetector.Summary summary) {
+            for (final DriftDetector.Status status : DriftDetector.Status.values()) {
+                if (summary.count(status) != counts[status.ordinal()]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d in sync, %d modified, %d deleted", counts[DriftDetector.Status.IN_SYNC.ordinal()],
+                    counts[DriftDetector.Status.MODIFIED.ordinal()], counts[DriftDetector.Status.DELETED.ordinal()]);
+        }
+    }
+
+    /**
+     * The reports are not kept: their number is checked against the expected one.
+     */
+    private static final class NullWriter extends Writer {
+        @Override
+        public void write(final char[] buffer, final int offset, final int length) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,332 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.shared.SingleFlightProxyClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects the drift of many resources at once: reads the desired models of the resources, one {"TypeName": ...,
+ * "Properties": ...} object per line as written by {@link InventoryExporter}, reads their live state with the
+ * ReadHandler of their type, and reports the differences of every resource as a line of JSON:
+ *
+ * {"Line":1,"TypeName":"AWS::S3Outposts::Bucket","Identifier":"arn:...","Status":"MODIFIED",
+ *  "Differences":[{"PropertyPath":"/Tags/team","ExpectedValue":"storage","ActualValue":"compute","DifferenceType":"NOT_EQUAL"}]}
+ *
+ * The status is IN_SYNC, MODIFIED, DELETED or FAILED, with a Message for the latter, and the differences are those of
+ * {@link ModelDiff}. Reports come in the order the reads complete. The resources are read by a fixed pool of workers
+ * under one rate limit for all SDK calls, throttled reads being retried with backoff, and at most twice as many
+ * resources as workers are held in memory at any time.
+ *
+ * Usage: java -cp target/tools.jar software.amazon.s3outposts.tools.DriftDetector --account-id ID [--region REGION]
+ * [--endpoint-url URL] [--input FILE] [--output FILE] [--concurrency N] [--calls-per-second N] [--verbose]
+ */
+public final class DriftDetector {
+
+    private static final String USAGE = "Usage: java -cp tools.jar software.amazon.s3outposts.tools.DriftDetector --account-id ID"
+            + " [--region REGION] [--endpoint-url URL] [--input FILE] [--output FILE] [--concurrency N] [--calls-per-second N] [--verbose]";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Status {
+        IN_SYNC, MODIFIED, DELETED, FAILED
+    }
+
+    /**
+     * Reads the live state of a desired model of one resource type.
+     */
+    private interface LiveReader {
+        LiveState read(String properties) throws IOException;
+    }
+
+    private final Serializer serializer = new Serializer();
+    private final Map<String, LiveReader> readers = new HashMap<>();
+    private final SingleFlightProxyClient.Group s3OutpostsReads = new SingleFlightProxyClient.Group();
+    private final SingleFlightProxyClient.Group s3ControlReads = new SingleFlightProxyClient.Group();
+    private final int concurrency;
+
+    DriftDetector(final String accountId,
+                  final int concurrency,
+                  final int callsPerSecond,
+                  final boolean verbose,
+                  final S3OutpostsClient s3OutpostsClient,
+                  final S3ControlClient s3ControlClient) {
+        final RateLimitedProxyClient.RateLimit rateLimit = new RateLimitedProxyClient.RateLimit(callsPerSecond);
+        final ProxyClient<S3OutpostsClient> s3Outposts = Clients.s3Outposts(s3OutpostsClient, rateLimit, s3OutpostsReads);
+        final ProxyClient<S3ControlClient> s3Control = Clients.s3Control(s3ControlClient, rateLimit, s3ControlReads);
+        final Logger logger = verbose ? System.err::println : message -> { };
+        readers.put(EndpointInventory.TYPE_NAME,
+                properties -> EndpointInventory.readLive(s3Outposts, accountId, properties, logger));
+        readers.put(BucketInventory.TYPE_NAME,
+                properties -> BucketInventory.readLive(s3Control, accountId, properties, logger));
+        readers.put(AccessPointInventory.TYPE_NAME,
+                properties -> AccessPointInventory.readLive(s3Control, accountId, properties, logger));
+        readers.put(BucketPolicyInventory.TYPE_NAME,
+                properties -> BucketPolicyInventory.readLive(s3Control, accountId, properties, logger));
+        this.concurrency = concurrency;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        System.exit(run(args));
+    }
+
+    /**
+     * @return Exit status: 0 if every resource is in sync, 1 if some drifted, 2 if some could not be read or on a usage error
+     */
+    static int run(final String[] args) throws IOException, InterruptedException {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try (BufferedReader input = options.input == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(options.input), StandardCharsets.UTF_8);
+             Writer report = options.output == null
+                     ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                     : Files.newBufferedWriter(Paths.get(options.output), StandardCharsets.UTF_8);
+             S3OutpostsClient s3OutpostsClient = Clients.configure(S3OutpostsClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build();
+             S3ControlClient s3ControlClient = Clients.configure(S3ControlClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build()) {
+            final Summary summary = new DriftDetector(options.accountId, options.concurrency, options.callsPerSecond,
+                    options.verbose, s3OutpostsClient, s3ControlClient).detect(input, report);
+            System.err.println(summary);
+            if (summary.count(Status.FAILED) > 0) {
+                return 2;
+            }
+            return summary.count(Status.MODIFIED) + summary.count(Status.DELETED) > 0 ? 1 : 0;
+        }
+    }
+
+    /**
+     * Reports the drift of every desired model of the input.
+     */
+    Summary detect(final BufferedReader input, final Writer report) throws IOException, InterruptedException {
+        final long start = System.currentTimeMillis();
+        final Summary summary = new Summary();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-tools-drift");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Semaphore inFlight = new Semaphore(2 * concurrency);
+        try {
+            long number = 0;
+            for (String line = input.readLine(); line != null; line = input.readLine()) {
+                number++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                final long lineNumber = number;
+                final String desired = line;
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        final ObjectNode result = detect(lineNumber, desired);
+                        summary.add(Status.valueOf(result.get("Status").asText()));
+                        synchronized (report) {
+                            report.write(result.toString());
+                            report.write('\n');
+                            report.flush();
+                        }
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        summary.elapsedMillis = System.currentTimeMillis() - start;
+        summary.reads = s3OutpostsReads.getCalls() + s3ControlReads.getCalls();
+        summary.coalescedReads = s3OutpostsReads.getCoalesced() + s3ControlReads.getCoalesced();
+        return summary;
+    }
+
+    private ObjectNode detect(final long lineNumber, final String line) {
+        final ObjectNode result = MAPPER.createObjectNode();
+        result.put("Line", lineNumber);
+        try {
+            final JsonNode desired = MAPPER.readTree(line);
+            final String typeName = desired.path("TypeName").asText();
+            final JsonNode properties = desired.path("Properties");
+            result.put("TypeName", typeName);
+            final ResourceSchema schema = ResourceSchema.of(typeName);
+            result.put("Identifier", schema.identifier(properties));
+            final LiveReader reader = readers.get(typeName);
+            final LiveState state = Clients.withBackoff(() -> {
+                try {
+                    return reader.read(properties.toString());
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (state.getLive() == null) {
+                result.put("Status", Status.DELETED.name());
+                return result;
+            }
+            final List<ModelDiff.Difference> differences = ModelDiff.compare(
+                    MAPPER.readTree(serializer.serialize(state.getDesired())),
+                    MAPPER.readTree(serializer.serialize(state.getLive())),
+                    schema.getReadOnlyProperties());
+            result.put("Status", differences.isEmpty() ? Status.IN_SYNC.name() : Status.MODIFIED.name());
+            if (!differences.isEmpty()) {
+                final ArrayNode array = result.putArray("Differences");
+                for (final ModelDiff.Difference difference : differences) {
+                    final ObjectNode node = array.addObject();
+                    node.put("PropertyPath", difference.getPropertyPath());
+                    node.set("ExpectedValue", difference.getExpectedValue());
+                    node.set("ActualValue", difference.getActualValue());
+                    node.put("DifferenceType", difference.getDifferenceType().name());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed(result, e);
+        } catch (final IOException | RuntimeException e) {
+            failed(result, e);
+        }
+        return result;
+    }
+
+    private static void failed(final ObjectNode result, final Exception e) {
+        result.put("Status", Status.FAILED.name());
+        result.put("Message", e.getCause() instanceof IOException ? e.getCause().toString() : e.toString());
+    }
+
+    /**
+     * Resources checked, by status, and the reads the handlers made for them.
+     */
+    static final class Summary {
+        private final Map<Status, AtomicLong> counts = new EnumMap<>(Status.class);
+        private long elapsedMillis;
+        private long reads;
+        private long coalescedReads;
+
+        private Summary() {
+            for (final Status status : Status.values()) {
+                counts.put(status, new AtomicLong());
+            }
+        }
+
+        private void add(final Status status) {
+            counts.get(status).incrementAndGet();
+        }
+
+        long count(final Status status) {
+            return counts.get(status).get();
+        }
+
+        long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return Reads the single-flight decorators of {@link Clients} let through to the service
+         */
+        long getReads() {
+            return reads;
+        }
+
+        /**
+         * @return Reads answered by an identical read in flight for another resource, without a call of their own
+         */
+        long getCoalescedReads() {
+            return coalescedReads;
+        }
+
+        @Override
+        public String toString() {
+            long total = 0;
+            for (final AtomicLong count : counts.values()) {
+                total += count.get();
+            }
+            return String.format("Checked %d resources in %d ms: %d in sync, %d modified, %d deleted, %d failed; "
+                            + "%d reads made, %d more answered by a read in flight",
+                    total, elapsedMillis, count(Status.IN_SYNC), count(Status.MODIFIED), count(Status.DELETED),
+                    count(Status.FAILED), reads, coalescedReads);
+        }
+    }
+
+    private static final class Options {
+        private String accountId;
+        private String region;
+        private String endpointUrl;
+        private String input;
+        private String output;
+        private int concurrency = 8;
+        private int callsPerSecond = 10;
+        private boolean verbose;
+
+        private static Options parse(final String[] args) {
+            final Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--account-id":
+                        options.accountId = Arguments.value(args, ++i);
+                        break;
+                    case "--region":
+                        options.region = Arguments.value(args, ++i);
+                        break;
+                    case "--endpoint-url":
+                        options.endpointUrl = Arguments.value(args, ++i);
+                        break;
+                    case "--input":
+                        options.input = Arguments.value(args, ++i);
+                        break;
+                    case "--output":
+                        options.output = Arguments.value(args, ++i);
+                        break;
+                    case "--concurrency":
+                        options.concurrency = Arguments.positive(args, ++i);
+                        break;
+                    case "--calls-per-second":
+                        options.callsPerSecond = Arguments.positive(args, ++i);
+                        break;
+                    case "--verbose":
+                        options.verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (options.accountId == null) {
+                throw new IllegalArgumentException("--account-id is required");
+            }
+            return options;
+        }
+    }
+
+}
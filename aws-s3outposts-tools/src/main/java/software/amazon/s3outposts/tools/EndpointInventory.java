@@ -0,0 +1,67 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.endpoint.CallbackContext;
+import software.amazon.s3outposts.endpoint.ListHandler;
+import software.amazon.s3outposts.endpoint.ReadHandler;
+import software.amazon.s3outposts.endpoint.ResourceModel;
+
+import java.io.IOException;
+
+/**
+ * Endpoints of the inventory, listed with the endpoint ListHandler. The children of an endpoint are its outpost, whose
+ * buckets are listed next; endpoints on EC2 outposts report "ec2" as outpost, which no bucket listing accepts.
+ *
+ * The live state of an endpoint is read with the ReadHandler, for the DriftDetector of the tools.
+ */
+public final class EndpointInventory {
+
+    public static final String TYPE_NAME = ResourceModel.TYPE_NAME;
+
+    private static final Serializer SERIALIZER = new Serializer();
+    private static final String EC2_OUTPOST = "ec2";
+
+    private EndpointInventory() {
+    }
+
+    public static InventoryPage list(final ProxyClient<S3OutpostsClient> proxyClient,
+                                     final String accountId,
+                                     final String nextToken,
+                                     final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .awsAccountId(accountId)
+                .nextToken(nextToken)
+                .build();
+        return InventoryPage.of(TYPE_NAME,
+                new ListHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), logger),
+                resourceModel -> EC2_OUTPOST.equals(resourceModel.getOutpostId()) ? null : resourceModel.getOutpostId());
+    }
+
+    /**
+     * Live state of a desired model, read with the endpoint ReadHandler.
+     *
+     * @param properties Desired model, serialized as CloudFormation does
+     * @throws IOException if the properties are not a model of the resource type
+     */
+    public static LiveState readLive(final ProxyClient<S3OutpostsClient> proxyClient,
+                                     final String accountId,
+                                     final String properties,
+                                     final Logger logger) throws IOException {
+        final TypeReference<ResourceModel> type = new TypeReference<ResourceModel>() {
+        };
+        // The handler is given a copy, as it may fill in the model it reads.
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(SERIALIZER.deserializeStrict(properties, type))
+                .awsAccountId(accountId)
+                .build();
+        return LiveState.of(SERIALIZER.deserializeStrict(properties, type),
+                new ReadHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), logger));
+    }
+
+}
@@ -0,0 +1,35 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+import java.net.URI;
+
+/**
+ * Sends every request of a client to the --endpoint-url of the exporter, such as a local fake of the services.
+ *
+ * The endpoint is not set as the endpointOverride of the client: S3Control derives the host of outposts ARN requests
+ * from the ARN and rejects some combinations with an override. Interceptors added to the client configuration run after
+ * the ones of the service, so the host is only replaced once the service is done with it.
+ */
+final class EndpointOverrideInterceptor implements ExecutionInterceptor {
+
+    private final URI endpoint;
+
+    EndpointOverrideInterceptor(final URI endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public SdkHttpRequest modifyHttpRequest(final Context.ModifyHttpRequest context,
+                                            final ExecutionAttributes executionAttributes) {
+        return context.httpRequest().toBuilder()
+                .protocol(endpoint.getScheme())
+                .host(endpoint.getHost())
+                .port(endpoint.getPort())
+                .build();
+    }
+
+}
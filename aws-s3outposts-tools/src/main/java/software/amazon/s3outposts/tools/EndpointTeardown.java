@@ -0,0 +1,42 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.endpoint.CallbackContext;
+import software.amazon.s3outposts.endpoint.DeleteHandler;
+import software.amazon.s3outposts.endpoint.ResourceModel;
+
+/**
+ * Deletion of an endpoint with the endpoint DeleteHandler, for the OutpostTeardown of the tools. Every attempt after
+ * the DeleteEndpoint call lists the endpoints of the account to check whether the endpoint is gone.
+ */
+public final class EndpointTeardown {
+
+    private EndpointTeardown() {
+    }
+
+    public static Deletion delete(final ProxyClient<S3OutpostsClient> proxyClient,
+                                  final String accountId,
+                                  final String arn,
+                                  final Logger logger) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(arn).build())
+                .awsAccountId(accountId)
+                .build();
+        final AmazonWebServicesClientProxy proxy = Clients.callbackProxy(proxyClient);
+        final CallbackContext[] context = {new CallbackContext()};
+        return () -> {
+            final ProgressEvent<ResourceModel, CallbackContext> progress =
+                    new DeleteHandler().handleRequest(proxy, request, context[0], logger);
+            if (progress.getCallbackContext() != null) {
+                context[0] = progress.getCallbackContext();
+            }
+            return Deletion.isDone(progress);
+        };
+    }
+
+}
@@ -0,0 +1,46 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * A handler called by one of the tools returned FAILED.
+ */
+public final class InventoryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HandlerErrorCode errorCode;
+
+    public InventoryException(final HandlerErrorCode errorCode, final String message) {
+        super(errorCode + ": " + message);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Checks the response of a handler.
+     *
+     * @return Whether the resource was not found, false if the handler succeeded
+     * @throws InventoryException if the handler failed, or asked to be called back, which the proxy of the RPDK does
+     *         when a call is throttled
+     */
+    static boolean notFound(final ProgressEvent<?, ?> progress) {
+        if (progress.getStatus() == OperationStatus.FAILED) {
+            if (progress.getErrorCode() == HandlerErrorCode.NotFound) {
+                return true;
+            }
+            throw new InventoryException(progress.getErrorCode(), progress.getMessage());
+        }
+        if (progress.getStatus() == OperationStatus.IN_PROGRESS) {
+            throw new InventoryException(HandlerErrorCode.Throttling,
+                    String.format("Callback requested in %d seconds", progress.getCallbackDelaySeconds()));
+        }
+        return false;
+    }
+
+    HandlerErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+}
@@ -0,0 +1,296 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.s3outposts.shared.ListHydrator;
+import software.amazon.s3outposts.shared.SingleFlightProxyClient;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exports the S3 on Outposts resources of an account as newline-delimited JSON: the endpoints, the buckets of every
+ * outpost with an endpoint or given with --outpost-id, and the access points and policy of every bucket, read with the
+ * List and Read handlers of the resource types so that every line is the model CloudFormation would report.
+ *
+ * Every listing is a task run by a fixed pool of workers, a page at a time, so memory does not grow with the number of
+ * resources: a page is written out before the next one is requested, and the buckets of a page are handed to other
+ * workers as new tasks. All the SDK calls share one rate limit, and throttled pages are retried with backoff. With
+ * --checkpoint, the progress of every task is journaled (see {@link Checkpoint}) and an interrupted export started again
+ * with the same options resumes where it stopped. A page is written before it is journaled, so a resumed export may
+ * repeat the pages that were in flight when it stopped: the output is at-least-once, unique on TypeName and Arn.
+ *
+ * Usage: java -jar target/tools.jar --account-id ID [--region REGION] [--endpoint-url URL] [--output FILE]
+ * [--checkpoint FILE] [--outpost-id ID]... [--concurrency N] [--calls-per-second N] [--hydrate] [--verbose]
+ */
+public final class InventoryExporter {
+
+    private static final String USAGE = "Usage: java -jar tools.jar --account-id ID [--region REGION] [--endpoint-url URL]"
+            + " [--output FILE] [--checkpoint FILE] [--outpost-id ID]... [--concurrency N] [--calls-per-second N] [--hydrate] [--verbose]";
+
+    private enum Kind {
+        ENDPOINTS, BUCKETS, ACCESS_POINTS, BUCKET_POLICY
+    }
+
+    private final ProxyClient<S3OutpostsClient> s3OutpostsClient;
+    private final ProxyClient<S3ControlClient> s3ControlClient;
+    private final SingleFlightProxyClient.Group s3OutpostsReads = new SingleFlightProxyClient.Group();
+    private final SingleFlightProxyClient.Group s3ControlReads = new SingleFlightProxyClient.Group();
+    private final String accountId;
+    private final Logger logger;
+    private final NdjsonWriter writer;
+    private final Checkpoint checkpoint;
+    private final ExecutorService executor;
+    // Tasks submitted and not done, plus one while the first ones are being submitted.
+    private final AtomicInteger outstanding = new AtomicInteger(1);
+    private final AtomicInteger failed = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private InventoryExporter(final Options options,
+                              final S3OutpostsClient s3OutpostsClient,
+                              final S3ControlClient s3ControlClient,
+                              final NdjsonWriter writer,
+                              final Checkpoint checkpoint) {
+        final RateLimitedProxyClient.RateLimit rateLimit = new RateLimitedProxyClient.RateLimit(options.callsPerSecond);
+        this.s3OutpostsClient = Clients.s3Outposts(s3OutpostsClient, rateLimit, s3OutpostsReads);
+        this.s3ControlClient = Clients.s3Control(s3ControlClient, rateLimit, s3ControlReads);
+        this.accountId = options.accountId;
+        if (options.hydrate) {
+            // The list handlers are called as CloudFormation calls them, and hydrate their listings once this is set.
+            System.setProperty(ListHydrator.HYDRATE, Boolean.TRUE.toString());
+        }
+        this.logger = options.verbose ? System.err::println : message -> { };
+        this.writer = writer;
+        this.checkpoint = checkpoint;
+        this.executor = Executors.newFixedThreadPool(options.concurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-tools-inventory");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void main(final String[] args) throws Exception {
+        System.exit(run(args));
+    }
+
+    /**
+     * @return Exit status: 0 once everything is exported, 1 if a listing failed, 2 on a usage error
+     */
+    static int run(final String[] args) throws IOException, InterruptedException {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        final Path checkpointPath = options.checkpoint != null
+                ? Paths.get(options.checkpoint) : Files.createTempFile("inventory", ".checkpoint");
+        if (options.checkpoint == null) {
+            checkpointPath.toFile().deleteOnExit();
+        }
+        try (Checkpoint checkpoint = Checkpoint.open(checkpointPath);
+             NdjsonWriter writer = new NdjsonWriter(output(options.output, checkpoint.isResumed()));
+             S3OutpostsClient s3OutpostsClient = Clients.configure(S3OutpostsClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build();
+             S3ControlClient s3ControlClient = Clients.configure(S3ControlClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build()) {
+            return new InventoryExporter(options, s3OutpostsClient, s3ControlClient, writer, checkpoint).export(options.outpostIds);
+        }
+    }
+
+    private static Writer output(final String output, final boolean resumed) throws IOException {
+        if (output == null) {
+            return new OutputStreamWriter(System.out, StandardCharsets.UTF_8) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+        final Path path = Paths.get(output);
+        if (resumed && Files.exists(path)) {
+            Checkpoint.truncateToLastLine(path);
+            return Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    private int export(final List<String> outpostIds) throws InterruptedException {
+        final long start = System.currentTimeMillis();
+        for (final Map.Entry<String, String> task : checkpoint.pending().entrySet()) {
+            submit(task.getKey(), task.getValue());
+        }
+        discover(Kind.ENDPOINTS, accountId);
+        for (final String outpostId : outpostIds) {
+            discover(Kind.BUCKETS, outpostId);
+        }
+        if (outstanding.decrementAndGet() > 0) {
+            done.await();
+        }
+        executor.shutdown();
+
+        System.err.println(String.format("Exported %d resources in %d ms, %d listings failed%s; "
+                        + "%d reads made, %d more answered by a read in flight",
+                writer.getCount(), System.currentTimeMillis() - start, failed.get(),
+                failed.get() > 0 ? ": run again with the same --checkpoint to retry them" : "",
+                s3OutpostsReads.getCalls() + s3ControlReads.getCalls(),
+                s3OutpostsReads.getCoalesced() + s3ControlReads.getCoalesced()));
+        return failed.get() > 0 ? 1 : 0;
+    }
+
+    private void discover(final Kind kind, final String parent) {
+        final String task = kind + " " + parent;
+        if (checkpoint.discover(task)) {
+            submit(task, null);
+        }
+    }
+
+    private void submit(final String task, final String nextToken) {
+        outstanding.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                export(task, nextToken);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(task, e);
+            } catch (final RuntimeException e) {
+                fail(task, e);
+            } finally {
+                if (outstanding.decrementAndGet() == 0) {
+                    done.countDown();
+                }
+            }
+        });
+    }
+
+    private void fail(final String task, final Exception e) {
+        failed.incrementAndGet();
+        System.err.println(String.format("%s failed: %s", task, e));
+    }
+
+    /**
+     * Exports the pages of a task from nextToken on, handing out the children of every page before writing it.
+     */
+    private void export(final String task, final String from) throws InterruptedException {
+        final int separator = task.indexOf(' ');
+        final Kind kind = Kind.valueOf(task.substring(0, separator));
+        final String parent = task.substring(separator + 1);
+        String nextToken = from;
+        do {
+            final String token = nextToken;
+            final InventoryPage page = Clients.withBackoff(() -> page(kind, parent, token));
+            for (final String child : page.getChildren()) {
+                for (final Kind childKind : children(kind)) {
+                    discover(childKind, child);
+                }
+            }
+            writer.write(page);
+            nextToken = page.getNextToken();
+            checkpoint.page(task, nextToken);
+        } while (nextToken != null);
+    }
+
+    private InventoryPage page(final Kind kind, final String parent, final String nextToken) {
+        switch (kind) {
+            case ENDPOINTS:
+                return EndpointInventory.list(s3OutpostsClient, accountId, nextToken, logger);
+            case BUCKETS:
+                return BucketInventory.list(s3ControlClient, accountId, parent, nextToken, logger);
+            case ACCESS_POINTS:
+                return AccessPointInventory.list(s3ControlClient, accountId, parent, nextToken, logger);
+            case BUCKET_POLICY:
+                return BucketPolicyInventory.read(s3ControlClient, accountId, parent, logger);
+            default:
+                throw new IllegalStateException("Unknown kind of listing: " + kind);
+        }
+    }
+
+    private static List<Kind> children(final Kind kind) {
+        switch (kind) {
+            case ENDPOINTS:
+                return Collections.singletonList(Kind.BUCKETS);
+            case BUCKETS:
+                return Arrays.asList(Kind.ACCESS_POINTS, Kind.BUCKET_POLICY);
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private static final class Options {
+        private String accountId;
+        private String region;
+        private String endpointUrl;
+        private String output;
+        private String checkpoint;
+        private final List<String> outpostIds = new ArrayList<>();
+        private int concurrency = 8;
+        private int callsPerSecond = 10;
+        private boolean hydrate;
+        private boolean verbose;
+
+        private static Options parse(final String[] args) {
+            final Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--account-id":
+                        options.accountId = Arguments.value(args, ++i);
+                        break;
+                    case "--region":
+                        options.region = Arguments.value(args, ++i);
+                        break;
+                    case "--endpoint-url":
+                        options.endpointUrl = Arguments.value(args, ++i);
+                        break;
+                    case "--output":
+                        options.output = Arguments.value(args, ++i);
+                        break;
+                    case "--checkpoint":
+                        options.checkpoint = Arguments.value(args, ++i);
+                        break;
+                    case "--outpost-id":
+                        options.outpostIds.add(Arguments.value(args, ++i));
+                        break;
+                    case "--concurrency":
+                        options.concurrency = Arguments.positive(args, ++i);
+                        break;
+                    case "--calls-per-second":
+                        options.callsPerSecond = Arguments.positive(args, ++i);
+                        break;
+                    case "--hydrate":
+                        options.hydrate = true;
+                        break;
+                    case "--verbose":
+                        options.verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (options.accountId == null) {
+                throw new IllegalArgumentException("--account-id is required");
+            }
+            return options;
+        }
+    }
+
+}
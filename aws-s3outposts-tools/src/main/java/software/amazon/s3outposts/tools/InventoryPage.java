@@ -0,0 +1,73 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing: the resource models to export, the children they lead to (outpost IDs for the endpoints,
+ * bucket ARNs for the buckets) and the nextToken of the following page, null after the last one.
+ */
+public final class InventoryPage {
+
+    private final String typeName;
+    private final List<?> resourceModels;
+    private final List<String> children;
+    private final String nextToken;
+
+    private InventoryPage(final String typeName,
+                          final List<?> resourceModels,
+                          final List<String> children,
+                          final String nextToken) {
+        this.typeName = typeName;
+        this.resourceModels = resourceModels;
+        this.children = children;
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Page of the response of a ListHandler, or of a ReadHandler for a single model. A resource that is not found, such as
+     * a bucket deleted since it was listed, is an empty page.
+     *
+     * @param child Child of a model, null if the model leads to none
+     * @throws InventoryException if the handler failed, see {@link InventoryException#notFound}
+     */
+    public static <ModelT> InventoryPage of(final String typeName,
+                                            final ProgressEvent<ModelT, ?> progress,
+                                            final Function<ModelT, String> child) {
+        if (InventoryException.notFound(progress)) {
+            return new InventoryPage(typeName, Collections.emptyList(), Collections.emptyList(), null);
+        }
+
+        final List<ModelT> resourceModels = progress.getResourceModels() != null
+                ? progress.getResourceModels() : Collections.singletonList(progress.getResourceModel());
+        final List<String> children = new ArrayList<>();
+        for (final ModelT resourceModel : resourceModels) {
+            final String value = child.apply(resourceModel);
+            if (value != null) {
+                children.add(value);
+            }
+        }
+        return new InventoryPage(typeName, resourceModels, children, progress.getNextToken());
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    List<?> getResourceModels() {
+        return resourceModels;
+    }
+
+    List<String> getChildren() {
+        return children;
+    }
+
+    String getNextToken() {
+        return nextToken;
+    }
+
+}
@@ -0,0 +1,37 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Desired model of a resource and its live state, as read by the ReadHandler of the resource type.
+ */
+public final class LiveState {
+
+    private final Object desired;
+    private final Object live;
+
+    private LiveState(final Object desired, final Object live) {
+        this.desired = desired;
+        this.live = live;
+    }
+
+    /**
+     * @param progress Response of the ReadHandler, for a copy of the desired model
+     * @throws InventoryException if the handler failed, see {@link InventoryException#notFound}
+     */
+    public static <ModelT> LiveState of(final ModelT desired, final ProgressEvent<ModelT, ?> progress) {
+        return new LiveState(desired, InventoryException.notFound(progress) ? null : progress.getResourceModel());
+    }
+
+    Object getDesired() {
+        return desired;
+    }
+
+    /**
+     * @return Live model, null if the resource no longer exists
+     */
+    Object getLive() {
+        return live;
+    }
+
+}
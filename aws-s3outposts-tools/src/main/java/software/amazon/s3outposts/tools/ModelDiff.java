@@ -0,0 +1,269 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Differences between the desired and the live properties of a resource, the way CloudFormation reports drift: only the
+ * properties set in the desired model are compared, read-only properties excepted, and every difference is reported
+ * with the JSON pointer of the property, its expected and actual values and whether it was added, removed or changed.
+ *
+ * Both sides are normalized first, so that only semantic differences are reported:
+ * - Tags are compared as a map from key to value, so each tag is a property of its own (/Tags/key).
+ * - Lifecycle rules with an Id are compared as a map from Id to rule (/LifecycleConfiguration/Rules/id).
+ * - Policies may be a JSON document or its text. A single statement, and a single Action, Resource or Principal, are
+ *   the same as a list of one, and the order of statements and of the values of a list does not matter.
+ * - No property of these resource types is an ordered list, so all lists are compared as sets.
+ * - Numbers are compared by value, 30 being equal to 30.0.
+ */
+final class ModelDiff {
+
+    enum DifferenceType {
+        ADD, REMOVE, NOT_EQUAL
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String TAGS = "Tags";
+    private static final String RULES = "Rules";
+    private static final Set<String> POLICIES = new HashSet<>(Arrays.asList("Policy", "PolicyDocument"));
+    private static final Set<String> POLICY_LISTS = new HashSet<>(Arrays.asList(
+            "Statement", "Action", "NotAction", "Resource", "NotResource"));
+    private static final Set<String> POLICY_MAPS_OF_LISTS = new HashSet<>(Arrays.asList("Principal", "NotPrincipal"));
+    private static final String CONDITION = "Condition";
+    private static final Comparator<JsonNode> BY_VALUE = (left, right) -> {
+        if (left.isNumber() && right.isNumber()) {
+            return left.decimalValue().compareTo(right.decimalValue());
+        }
+        return left.equals(right) ? 0 : 1;
+    };
+
+    private ModelDiff() {
+    }
+
+    /**
+     * @param live Live properties, which are expected to exist
+     */
+    static List<Difference> compare(final JsonNode desired, final JsonNode live, final Set<String> readOnlyProperties) {
+        final List<Difference> differences = new ArrayList<>();
+        final Iterator<String> names = desired.fieldNames();
+        while (names.hasNext()) {
+            final String name = names.next();
+            if (!readOnlyProperties.contains(name)) {
+                compare("/" + escape(name), normalize(name, desired.get(name)), normalize(name, live.get(name)), differences);
+            }
+        }
+        return differences;
+    }
+
+    private static void compare(final String path,
+                                final JsonNode expected,
+                                final JsonNode actual,
+                                final List<Difference> differences) {
+        if (isMissing(expected) && isMissing(actual)) {
+            return;
+        }
+        if (isMissing(actual)) {
+            differences.add(new Difference(path, expected, null, DifferenceType.REMOVE));
+        } else if (isMissing(expected)) {
+            differences.add(new Difference(path, null, actual, DifferenceType.ADD));
+        } else if (expected.isObject() && actual.isObject()) {
+            final Set<String> names = new TreeSet<>();
+            expected.fieldNames().forEachRemaining(names::add);
+            actual.fieldNames().forEachRemaining(names::add);
+            for (final String name : names) {
+                compare(path + "/" + escape(name), expected.get(name), actual.get(name), differences);
+            }
+        } else if (!expected.equals(BY_VALUE, actual)) {
+            differences.add(new Difference(path, expected, actual, DifferenceType.NOT_EQUAL));
+        }
+    }
+
+    private static boolean isMissing(final JsonNode node) {
+        return node == null || node.isNull();
+    }
+
+    /**
+     * @return Normalized copy of the value of a property, with the fields of every object sorted by name so that equal
+     *         values have the same text
+     */
+    static JsonNode normalize(final String name, final JsonNode value) {
+        if (isMissing(value)) {
+            return null;
+        }
+        if (TAGS.equals(name) && value.isArray() && hasAll(value, "Key")) {
+            final ObjectNode tags = NODES.objectNode();
+            value.forEach(tag -> tags.set(tag.get("Key").asText(), normalize(null, tag.get("Value"))));
+            return sorted(tags);
+        }
+        if (RULES.equals(name) && value.isArray() && hasAll(value, "Id")) {
+            final ObjectNode rules = NODES.objectNode();
+            value.forEach(rule -> rules.set(rule.get("Id").asText(), normalize(null, rule)));
+            return sorted(rules);
+        }
+        if (POLICIES.contains(name)) {
+            return normalizePolicy(value.isTextual() ? parse(value.asText()) : value);
+        }
+        if (value.isObject()) {
+            final ObjectNode object = NODES.objectNode();
+            value.fields().forEachRemaining(field -> object.set(field.getKey(), normalize(field.getKey(), field.getValue())));
+            return sorted(object);
+        }
+        if (value.isArray()) {
+            final List<JsonNode> elements = new ArrayList<>();
+            value.forEach(element -> elements.add(normalize(null, element)));
+            return sortedArray(elements);
+        }
+        return value;
+    }
+
+    private static JsonNode normalizePolicy(final JsonNode policy) {
+        if (!policy.isObject()) {
+            return policy;
+        }
+        final ObjectNode document = ((ObjectNode) policy).deepCopy();
+        final ArrayNode statements = asArray(document.get("Statement"));
+        if (statements != null) {
+            for (final JsonNode statement : statements) {
+                if (statement.isObject()) {
+                    normalizeStatement((ObjectNode) statement);
+                }
+            }
+            document.set("Statement", statements);
+        }
+        return normalize(null, document);
+    }
+
+    private static void normalizeStatement(final ObjectNode statement) {
+        for (final String name : new ArrayList<>(asList(statement.fieldNames()))) {
+            final JsonNode value = statement.get(name);
+            if (POLICY_LISTS.contains(name)) {
+                statement.set(name, asArray(value));
+            } else if (POLICY_MAPS_OF_LISTS.contains(name) && value.isObject()) {
+                statement.set(name, valuesAsArrays(value));
+            } else if (CONDITION.equals(name) && value.isObject()) {
+                final ObjectNode operators = NODES.objectNode();
+                value.fields().forEachRemaining(operator -> operators.set(operator.getKey(), valuesAsArrays(operator.getValue())));
+                statement.set(name, operators);
+            }
+        }
+    }
+
+    private static JsonNode valuesAsArrays(final JsonNode object) {
+        if (!object.isObject()) {
+            return object;
+        }
+        final ObjectNode copy = NODES.objectNode();
+        object.fields().forEachRemaining(field -> copy.set(field.getKey(), asArray(field.getValue())));
+        return copy;
+    }
+
+    private static ArrayNode asArray(final JsonNode value) {
+        if (isMissing(value)) {
+            return null;
+        }
+        if (value.isArray()) {
+            return ((ArrayNode) value).deepCopy();
+        }
+        return NODES.arrayNode().add(value);
+    }
+
+    private static boolean hasAll(final JsonNode array, final String field) {
+        for (final JsonNode element : array) {
+            if (!element.hasNonNull(field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ObjectNode sorted(final ObjectNode object) {
+        final ObjectNode sorted = NODES.objectNode();
+        final Set<String> names = new TreeSet<>();
+        object.fieldNames().forEachRemaining(names::add);
+        names.forEach(name -> sorted.set(name, object.get(name)));
+        return sorted;
+    }
+
+    private static ArrayNode sortedArray(final List<JsonNode> elements) {
+        elements.sort(Comparator.comparing(JsonNode::toString));
+        final ArrayNode array = NODES.arrayNode();
+        elements.forEach(array::add);
+        return array;
+    }
+
+    private static <T> List<T> asList(final Iterator<T> iterator) {
+        final List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static JsonNode parse(final String text) {
+        try {
+            return MAPPER.readTree(text);
+        } catch (final IOException e) {
+            // Not JSON: compared as text.
+            return NODES.textNode(text);
+        }
+    }
+
+    /**
+     * RFC 6901 escape of a property name in a JSON pointer.
+     */
+    private static String escape(final String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    static final class Difference {
+        private final String propertyPath;
+        private final JsonNode expectedValue;
+        private final JsonNode actualValue;
+        private final DifferenceType differenceType;
+
+        private Difference(final String propertyPath,
+                           final JsonNode expectedValue,
+                           final JsonNode actualValue,
+                           final DifferenceType differenceType) {
+            this.propertyPath = propertyPath;
+            this.expectedValue = expectedValue;
+            this.actualValue = actualValue;
+            this.differenceType = differenceType;
+        }
+
+        String getPropertyPath() {
+            return propertyPath;
+        }
+
+        /**
+         * @return Expected value, null when the property was added
+         */
+        JsonNode getExpectedValue() {
+            return expectedValue;
+        }
+
+        /**
+         * @return Actual value, null when the property was removed
+         */
+        JsonNode getActualValue() {
+            return actualValue;
+        }
+
+        DifferenceType getDifferenceType() {
+            return differenceType;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes the resource models as newline-delimited JSON, one {"TypeName": ..., "Properties": ...} object per line, the
+ * properties serialized the way the RPDK serializes them for CloudFormation. The lines of a page are serialized by the
+ * worker that listed it and written together, then flushed, so a page is on disk before its checkpoint is.
+ */
+final class NdjsonWriter implements AutoCloseable {
+
+    private final Serializer serializer = new Serializer();
+    private final Writer writer;
+    private long count;
+
+    NdjsonWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    void write(final InventoryPage page) {
+        if (page.getResourceModels().isEmpty()) {
+            return;
+        }
+        final StringBuilder lines = new StringBuilder();
+        for (final Object resourceModel : page.getResourceModels()) {
+            final String properties;
+            try {
+                properties = serializer.serialize(resourceModel);
+            } catch (final JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            lines.append("{\"TypeName\":\"").append(page.getTypeName())
+                    .append("\",\"Properties\":").append(properties).append("}\n");
+        }
+        synchronized (this) {
+            try {
+                writer.write(lines.toString());
+                writer.flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count += page.getResourceModels().size();
+        }
+    }
+
+    /**
+     * @return number of resource models written
+     */
+    synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+}
@@ -0,0 +1,547 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.s3outposts.shared.SingleFlightProxyClient;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Deletes the storage resources of outposts: the buckets, their access points and policies, and with --endpoints the
+ * endpoints, with the DeleteHandlers of the resource types.
+ *
+ * The resources are found with the List and Read handlers, and deleted in the order of their dependencies: the policy
+ * and the access points of a bucket before the bucket, the endpoints on their own. A resource is deleted as soon as the
+ * resources it depends on are gone, so the buckets of one outpost do not wait for the access points of another, and all
+ * the deletions share a pool of workers and one rate limit. The handlers are called with a proxy that does not wait
+ * for resources to stabilize (see {@link Deletion}): where CloudFormation would call a handler back in 20 seconds, it
+ * is called again after a poll interval, starting at --poll-ms and doubling up to 8 times that, until the resource is
+ * gone or --timeout-minutes is up. The propagation delay of a deleted access point is still waited for before its
+ * bucket is deleted (see {@link AccessPointTeardown}).
+ *
+ * Every resource is reported as a line of JSON once it is deleted, failed, or skipped because a resource it depends on
+ * was not deleted, with the time its deletion started and took. The summary gives the critical path: the chain of
+ * dependent deletions that took the longest, which is the shortest the teardown could take with unlimited workers.
+ * Without --confirm, only the resources that would be deleted are reported.
+ *
+ * Usage: java -cp target/tools.jar software.amazon.s3outposts.tools.OutpostTeardown --account-id ID --outpost-id ID...
+ * [--region REGION] [--endpoint-url URL] [--output FILE] [--endpoints] [--confirm] [--concurrency N]
+ * [--calls-per-second N] [--poll-ms N] [--timeout-minutes N] [--verbose]
+ */
+public final class OutpostTeardown {
+
+    private static final String USAGE = "Usage: java -cp tools.jar software.amazon.s3outposts.tools.OutpostTeardown"
+            + " --account-id ID --outpost-id ID... [--region REGION] [--endpoint-url URL] [--output FILE] [--endpoints]"
+            + " [--confirm] [--concurrency N] [--calls-per-second N] [--poll-ms N] [--timeout-minutes N] [--verbose]";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_POLL_DOUBLINGS = 3;
+
+    enum Status {
+        PLANNED, DELETED, FAILED, SKIPPED
+    }
+
+    private final Serializer serializer = new Serializer();
+    private final ProxyClient<S3OutpostsClient> s3OutpostsClient;
+    private final ProxyClient<S3ControlClient> s3ControlClient;
+    private final SingleFlightProxyClient.Group s3OutpostsReads = new SingleFlightProxyClient.Group();
+    private final SingleFlightProxyClient.Group s3ControlReads = new SingleFlightProxyClient.Group();
+    private final String accountId;
+    private final boolean endpoints;
+    private final long pollMillis;
+    private final long timeoutMillis;
+    private final long propagationMillis;
+    private final Logger logger;
+    private final ScheduledExecutorService executor;
+    private long start;
+
+    OutpostTeardown(final String accountId,
+                    final boolean endpoints,
+                    final int concurrency,
+                    final int callsPerSecond,
+                    final long pollMillis,
+                    final long timeoutMillis,
+                    final long propagationMillis,
+                    final boolean verbose,
+                    final S3OutpostsClient s3OutpostsClient,
+                    final S3ControlClient s3ControlClient) {
+        final RateLimitedProxyClient.RateLimit rateLimit = new RateLimitedProxyClient.RateLimit(callsPerSecond);
+        this.s3OutpostsClient = Clients.s3Outposts(s3OutpostsClient, rateLimit, s3OutpostsReads);
+        this.s3ControlClient = Clients.s3Control(s3ControlClient, rateLimit, s3ControlReads);
+        this.accountId = accountId;
+        this.endpoints = endpoints;
+        this.pollMillis = pollMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.propagationMillis = propagationMillis;
+        this.logger = verbose ? System.err::println : message -> { };
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(concurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-tools-teardown");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.executor = executor;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        System.exit(run(args));
+    }
+
+    /**
+     * @return Exit status: 0 once every resource is deleted, or planned without --confirm, 1 if some were not, 2 on a
+     *         usage error
+     */
+    static int run(final String[] args) throws IOException, InterruptedException {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try (Writer report = options.output == null
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Paths.get(options.output), StandardCharsets.UTF_8);
+             S3OutpostsClient s3OutpostsClient = Clients.configure(S3OutpostsClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build();
+             S3ControlClient s3ControlClient = Clients.configure(S3ControlClient.builder(),
+                     options.region, options.endpointUrl, options.concurrency).build()) {
+            final OutpostTeardown teardown = new OutpostTeardown(options.accountId, options.endpoints,
+                    options.concurrency, options.callsPerSecond, options.pollMillis,
+                    TimeUnit.MINUTES.toMillis(options.timeoutMinutes), AccessPointTeardown.PROPAGATION_MILLIS,
+                    options.verbose, s3OutpostsClient, s3ControlClient);
+            final Summary summary;
+            try {
+                summary = teardown.teardown(options.outpostIds, options.confirm, report);
+            } catch (final ExecutionException | RuntimeException e) {
+                System.err.println("Could not find the resources to delete: "
+                        + (e instanceof ExecutionException ? e.getCause() : e));
+                return 1;
+            }
+            System.err.println(summary);
+            return summary.count(Status.FAILED) + summary.count(Status.SKIPPED) > 0 ? 1 : 0;
+        }
+    }
+
+    /**
+     * Finds the resources of the outposts and deletes them, or only reports them without confirm.
+     *
+     * @throws ExecutionException if the resources could not all be found, in which case none is deleted
+     */
+    Summary teardown(final List<String> outpostIds, final boolean confirm, final Writer report)
+            throws InterruptedException, ExecutionException {
+        try {
+            start = System.currentTimeMillis();
+            final List<Node> nodes = plan(outpostIds);
+            if (!confirm) {
+                for (final Node node : nodes) {
+                    node.status = Status.PLANNED;
+                    write(report, node);
+                }
+                return summary(nodes);
+            }
+            delete(nodes, report);
+            return summary(nodes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Summary summary(final List<Node> nodes) {
+        return new Summary(nodes, System.currentTimeMillis() - start,
+                s3OutpostsReads.getCalls() + s3ControlReads.getCalls(),
+                s3OutpostsReads.getCoalesced() + s3ControlReads.getCoalesced());
+    }
+
+    /**
+     * @return Resources of the outposts, every resource after the ones it depends on
+     */
+    private List<Node> plan(final List<String> outpostIds) throws InterruptedException, ExecutionException {
+        final List<Node> nodes = new ArrayList<>();
+        if (endpoints) {
+            String nextToken = null;
+            do {
+                final String token = nextToken;
+                final InventoryPage page = Clients.withBackoff(() ->
+                        EndpointInventory.list(s3OutpostsClient, accountId, token, logger));
+                for (final Object resourceModel : page.getResourceModels()) {
+                    final JsonNode properties = properties(resourceModel);
+                    if (outpostIds.contains(properties.path("OutpostId").asText())) {
+                        nodes.add(node(EndpointInventory.TYPE_NAME, properties,
+                                arn -> EndpointTeardown.delete(s3OutpostsClient, accountId, arn, logger)));
+                    }
+                }
+                nextToken = page.getNextToken();
+            } while (nextToken != null);
+        }
+
+        final List<String> bucketArns = new ArrayList<>();
+        for (final String outpostId : outpostIds) {
+            String nextToken = null;
+            do {
+                final String token = nextToken;
+                final InventoryPage page = Clients.withBackoff(() ->
+                        BucketInventory.list(s3ControlClient, accountId, outpostId, token, logger));
+                bucketArns.addAll(page.getChildren());
+                nextToken = page.getNextToken();
+            } while (nextToken != null);
+        }
+        // The access points and policy of every bucket are found by the workers.
+        final List<Future<List<Node>>> dependencies = new ArrayList<>();
+        for (final String bucketArn : bucketArns) {
+            dependencies.add(executor.submit(() -> dependencies(bucketArn)));
+        }
+        for (int i = 0; i < bucketArns.size(); i++) {
+            final String bucketArn = bucketArns.get(i);
+            final Node bucket = new Node(BucketInventory.TYPE_NAME, bucketArn,
+                    BucketTeardown.delete(s3ControlClient, accountId, bucketArn, logger));
+            for (final Node dependency : dependencies.get(i).get()) {
+                dependency.dependants.add(bucket);
+                bucket.dependencies.add(dependency);
+                nodes.add(dependency);
+            }
+            nodes.add(bucket);
+        }
+        return nodes;
+    }
+
+    /**
+     * @return Policy and access points of a bucket, to delete before it
+     */
+    private List<Node> dependencies(final String bucketArn) throws InterruptedException {
+        final List<Node> nodes = new ArrayList<>();
+        final InventoryPage policy = Clients.withBackoff(() ->
+                BucketPolicyInventory.read(s3ControlClient, accountId, bucketArn, logger));
+        if (!policy.getResourceModels().isEmpty()) {
+            nodes.add(new Node(BucketPolicyInventory.TYPE_NAME, bucketArn,
+                    BucketPolicyTeardown.delete(s3ControlClient, accountId, bucketArn, logger)));
+        }
+        String nextToken = null;
+        do {
+            final String token = nextToken;
+            final InventoryPage page = Clients.withBackoff(() ->
+                    AccessPointInventory.list(s3ControlClient, accountId, bucketArn, token, logger));
+            for (final Object resourceModel : page.getResourceModels()) {
+                nodes.add(node(AccessPointInventory.TYPE_NAME, properties(resourceModel),
+                        arn -> AccessPointTeardown.delete(s3ControlClient, accountId, arn, propagationMillis,
+                                logger)));
+            }
+            nextToken = page.getNextToken();
+        } while (nextToken != null);
+        return nodes;
+    }
+
+    private JsonNode properties(final Object resourceModel) {
+        try {
+            return MAPPER.readTree(serializer.serialize(resourceModel));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Node node(final String typeName, final JsonNode properties, final Function<String, Deletion> deletion) {
+        final String identifier = ResourceSchema.of(typeName).identifier(properties);
+        return new Node(typeName, identifier, deletion.apply(identifier));
+    }
+
+    /**
+     * Deletes the resources, each once the ones it depends on are gone, and waits until every one is reported.
+     */
+    private void delete(final List<Node> nodes, final Writer report) throws InterruptedException {
+        final CountDownLatch reported = new CountDownLatch(nodes.size());
+        for (final Node node : nodes) {
+            node.waitingFor.set(node.dependencies.size());
+        }
+        for (final Node node : nodes) {
+            if (node.dependencies.isEmpty()) {
+                executor.execute(() -> attempt(node, report, reported));
+            }
+        }
+        reported.await();
+    }
+
+    private void attempt(final Node node, final Writer report, final CountDownLatch reported) {
+        if (node.finished.get()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        if (node.attempts == 0) {
+            node.startMillis = now;
+        }
+        node.attempts++;
+        try {
+            if (node.deletion.attempt()) {
+                finish(node, Status.DELETED, null, report, reported);
+            } else if (now - node.startMillis >= timeoutMillis) {
+                finish(node, Status.FAILED, String.format("Still not deleted after %d ms", now - node.startMillis),
+                        report, reported);
+            } else {
+                final long delay = pollMillis << Math.min(node.attempts - 1, MAX_POLL_DOUBLINGS);
+                executor.schedule(() -> attempt(node, report, reported), delay, TimeUnit.MILLISECONDS);
+            }
+        } catch (final RuntimeException e) {
+            finish(node, Status.FAILED, e.getMessage(), report, reported);
+        }
+    }
+
+    private void finish(final Node node,
+                        final Status status,
+                        final String message,
+                        final Writer report,
+                        final CountDownLatch reported) {
+        if (!node.finished.compareAndSet(false, true)) {
+            return;
+        }
+        node.endMillis = System.currentTimeMillis();
+        node.status = status;
+        node.message = message;
+        write(report, node);
+        reported.countDown();
+        for (final Node dependant : node.dependants) {
+            if (status != Status.DELETED) {
+                finish(dependant, Status.SKIPPED, String.format("%s %s was not deleted", node.typeName, node.identifier),
+                        report, reported);
+            } else if (dependant.waitingFor.decrementAndGet() == 0) {
+                executor.execute(() -> attempt(dependant, report, reported));
+            }
+        }
+    }
+
+    private void write(final Writer report, final Node node) {
+        final ObjectNode line = MAPPER.createObjectNode();
+        line.put("TypeName", node.typeName);
+        line.put("Identifier", node.identifier);
+        line.put("Status", node.status.name());
+        if (node.status == Status.PLANNED) {
+            node.dependencies.forEach(dependency -> line.withArray("DependsOn").add(dependency.identifier));
+        }
+        if (node.attempts > 0) {
+            line.put("Attempts", node.attempts);
+            line.put("StartMillis", node.startMillis - start);
+            line.put("ElapsedMillis", node.elapsedMillis());
+        }
+        if (node.message != null) {
+            line.put("Message", node.message);
+        }
+        synchronized (report) {
+            try {
+                report.write(line.toString());
+                report.write('\n');
+                report.flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * A resource to delete, and the resources deleted before and after it.
+     */
+    private static final class Node {
+        private final String typeName;
+        private final String identifier;
+        private final Deletion deletion;
+        private final List<Node> dependencies = new ArrayList<>();
+        private final List<Node> dependants = new ArrayList<>();
+        private final AtomicInteger waitingFor = new AtomicInteger();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        // Written by the worker of an attempt, read by the next one, which the executor orders after it.
+        private volatile int attempts;
+        private volatile long startMillis;
+        private volatile long endMillis;
+        private volatile Status status;
+        private volatile String message;
+
+        private Node(final String typeName, final String identifier, final Deletion deletion) {
+            this.typeName = typeName;
+            this.identifier = identifier;
+            this.deletion = deletion;
+        }
+
+        private long elapsedMillis() {
+            return attempts > 0 ? endMillis - startMillis : 0;
+        }
+    }
+
+    /**
+     * Resources by status, and the critical path of their deletion.
+     */
+    static final class Summary {
+        private final Map<Status, Integer> counts = new HashMap<>();
+        private final List<Node> criticalPath = new ArrayList<>();
+        private final long elapsedMillis;
+        private final long reads;
+        private final long coalescedReads;
+
+        private Summary(final List<Node> nodes, final long elapsedMillis, final long reads, final long coalescedReads) {
+            this.elapsedMillis = elapsedMillis;
+            this.reads = reads;
+            this.coalescedReads = coalescedReads;
+            // Every node comes after its dependencies, so their paths are known when it is reached.
+            final Map<Node, Long> pathMillis = new HashMap<>();
+            final Map<Node, Node> previous = new HashMap<>();
+            Node last = null;
+            for (final Node node : nodes) {
+                counts.merge(node.status, 1, Integer::sum);
+                Node before = null;
+                for (final Node dependency : node.dependencies) {
+                    if (before == null || pathMillis.get(dependency) > pathMillis.get(before)) {
+                        before = dependency;
+                    }
+                }
+                previous.put(node, before);
+                pathMillis.put(node, (before == null ? 0 : pathMillis.get(before)) + node.elapsedMillis());
+                if (last == null || pathMillis.get(node) > pathMillis.get(last)) {
+                    last = node;
+                }
+            }
+            for (Node node = last; node != null; node = previous.get(node)) {
+                criticalPath.add(node);
+            }
+            Collections.reverse(criticalPath);
+        }
+
+        int count(final Status status) {
+            return counts.getOrDefault(status, 0);
+        }
+
+        long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return Time taken by the longest chain of dependent deletions
+         */
+        long getCriticalPathMillis() {
+            long total = 0;
+            for (final Node node : criticalPath) {
+                total += node.elapsedMillis();
+            }
+            return total;
+        }
+
+        /**
+         * @return Type and identifier of the resources of the critical path, in the order they were deleted
+         */
+        List<String> getCriticalPath() {
+            final List<String> path = new ArrayList<>();
+            for (final Node node : criticalPath) {
+                path.add(node.typeName + " " + node.identifier);
+            }
+            return path;
+        }
+
+        @Override
+        public String toString() {
+            if (count(Status.PLANNED) > 0) {
+                return String.format("Found %d resources to delete in %d ms: run again with --confirm to delete them",
+                        count(Status.PLANNED), elapsedMillis);
+            }
+            final StringBuilder path = new StringBuilder();
+            for (final Node node : criticalPath) {
+                path.append(path.length() == 0 ? "" : " -> ").append(String.format("%s %s (%d ms)",
+                        node.typeName, node.identifier, node.elapsedMillis()));
+            }
+            return String.format("Deleted %d resources in %d ms, %d failed, %d skipped, %d reads made, %d more answered"
+                            + " by a read in flight. Critical path of %d ms: %s",
+                    count(Status.DELETED), elapsedMillis, count(Status.FAILED), count(Status.SKIPPED), reads,
+                    coalescedReads, getCriticalPathMillis(), path.length() == 0 ? "none" : path);
+        }
+    }
+
+    private static final class Options {
+        private String accountId;
+        private final List<String> outpostIds = new ArrayList<>();
+        private String region;
+        private String endpointUrl;
+        private String output;
+        private boolean endpoints;
+        private boolean confirm;
+        private int concurrency = 8;
+        private int callsPerSecond = 10;
+        private int pollMillis = 1000;
+        private int timeoutMinutes = 30;
+        private boolean verbose;
+
+        private static Options parse(final String[] args) {
+            final Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--account-id":
+                        options.accountId = Arguments.value(args, ++i);
+                        break;
+                    case "--outpost-id":
+                        options.outpostIds.add(Arguments.value(args, ++i));
+                        break;
+                    case "--region":
+                        options.region = Arguments.value(args, ++i);
+                        break;
+                    case "--endpoint-url":
+                        options.endpointUrl = Arguments.value(args, ++i);
+                        break;
+                    case "--output":
+                        options.output = Arguments.value(args, ++i);
+                        break;
+                    case "--endpoints":
+                        options.endpoints = true;
+                        break;
+                    case "--confirm":
+                        options.confirm = true;
+                        break;
+                    case "--concurrency":
+                        options.concurrency = Arguments.positive(args, ++i);
+                        break;
+                    case "--calls-per-second":
+                        options.callsPerSecond = Arguments.positive(args, ++i);
+                        break;
+                    case "--poll-ms":
+                        options.pollMillis = Arguments.positive(args, ++i);
+                        break;
+                    case "--timeout-minutes":
+                        options.timeoutMinutes = Arguments.positive(args, ++i);
+                        break;
+                    case "--verbose":
+                        options.verbose = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (options.accountId == null) {
+                throw new IllegalArgumentException("--account-id is required");
+            }
+            if (options.outpostIds.isEmpty()) {
+                throw new IllegalArgumentException("--outpost-id is required");
+            }
+            return options;
+        }
+    }
+
+}
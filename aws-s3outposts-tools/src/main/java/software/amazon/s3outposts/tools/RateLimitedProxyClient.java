@@ -0,0 +1,66 @@
+package software.amazon.s3outposts.tools;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Innermost ProxyClient handed to the handlers by the tools, under the single-flight decorators of {@link Clients}. The
+ * SDK client already has its credentials, so calls are made as they are, after waiting for a slot of the rate limit
+ * shared by all the clients of the run. Every SDK call of the handlers that is not answered by a flight already in
+ * progress goes through here, including the ones they make from their own threads.
+ */
+final class RateLimitedProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+    private final ClientT client;
+    private final RateLimit rateLimit;
+
+    RateLimitedProxyClient(final ClientT client, final RateLimit rateLimit) {
+        this.client = client;
+        this.rateLimit = rateLimit;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+            final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        try {
+            rateLimit.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("Interrupted waiting for the rate limit").cause(e).build();
+        }
+        return requestFunction.apply(request);
+    }
+
+    @Override
+    public ClientT client() {
+        return client;
+    }
+
+    /**
+     * Spaces the calls evenly, at most the given number per second.
+     */
+    static final class RateLimit {
+        private final long intervalNanos;
+        private long nextCallNanos = System.nanoTime();
+
+        RateLimit(final int callsPerSecond) {
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / callsPerSecond;
+        }
+
+        void acquire() throws InterruptedException {
+            final long waitNanos;
+            synchronized (this) {
+                final long now = System.nanoTime();
+                waitNanos = Math.max(0, nextCallNanos - now);
+                nextCallNanos = Math.max(nextCallNanos, now) + intervalNanos;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+}
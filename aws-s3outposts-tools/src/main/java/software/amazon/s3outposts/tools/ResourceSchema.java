@@ -0,0 +1,85 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What the tools need from the schema of a resource type, read from the handler jar it is packaged in.
+ */
+final class ResourceSchema {
+
+    private static final String PROPERTIES = "/properties/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, ResourceSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private final List<String> primaryIdentifier;
+    private final Set<String> readOnlyProperties;
+
+    private ResourceSchema(final List<String> primaryIdentifier, final Set<String> readOnlyProperties) {
+        this.primaryIdentifier = primaryIdentifier;
+        this.readOnlyProperties = readOnlyProperties;
+    }
+
+    /**
+     * @param typeName Such as AWS::S3Outposts::Bucket, whose schema is aws-s3outposts-bucket.json
+     * @throws IllegalArgumentException if there is no such schema on the classpath
+     */
+    static ResourceSchema of(final String typeName) {
+        return SCHEMAS.computeIfAbsent(typeName, ResourceSchema::load);
+    }
+
+    private static ResourceSchema load(final String typeName) {
+        final String name = "/" + typeName.toLowerCase(Locale.ROOT).replace("::", "-") + ".json";
+        final JsonNode schema;
+        try (InputStream in = ResourceSchema.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown resource type: " + typeName);
+            }
+            schema = MAPPER.readTree(in);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final List<String> primaryIdentifier = new ArrayList<>();
+        schema.path("primaryIdentifier").forEach(pointer -> primaryIdentifier.add(property(pointer)));
+        final Set<String> readOnlyProperties = new HashSet<>();
+        schema.path("readOnlyProperties").forEach(pointer -> readOnlyProperties.add(property(pointer)));
+        return new ResourceSchema(Collections.unmodifiableList(primaryIdentifier), Collections.unmodifiableSet(readOnlyProperties));
+    }
+
+    /**
+     * @return Top-level property of a /properties/... pointer
+     */
+    private static String property(final JsonNode pointer) {
+        final String path = pointer.asText().substring(PROPERTIES.length());
+        final int separator = path.indexOf('/');
+        return separator == -1 ? path : path.substring(0, separator);
+    }
+
+    /**
+     * @return Value of the primary identifier in the properties, its parts joined with | as CloudFormation does
+     */
+    String identifier(final JsonNode properties) {
+        final List<String> values = new ArrayList<>();
+        for (final String property : primaryIdentifier) {
+            values.add(properties.path(property).asText());
+        }
+        return String.join("|", values);
+    }
+
+    Set<String> getReadOnlyProperties() {
+        return readOnlyProperties;
+    }
+
+}
@@ -0,0 +1,206 @@
+package software.amazon.s3outposts.tools;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the S3Control Read calls of buckets, access points and bucket policies, answering for any name
+ * with a live state derived from the name, so that any number of resources can be checked by {@link DriftBenchmark}:
+ * see {@link #bucket}, {@link #accessPoint} and {@link #bucketPolicy} for the desired models that are in sync. Names
+ * starting with {@link #GONE} do not exist. Every response is delayed by the given latency, to stand for the network.
+ */
+final class SyntheticS3OutpostsServer implements AutoCloseable {
+
+    static final String ACCOUNT_ID = "123456789012";
+    static final String OUTPOST_ID = "op-01234567890123456";
+    static final String GONE = "gone-";
+
+    private static final String ARN_PREFIX = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/" + OUTPOST_ID;
+    private static final String XML = "application/xml";
+    private static final Pattern BUCKET = Pattern.compile(".*/bucket/([^/]+)(/tagging|/lifecycleconfiguration|/policy)?");
+    private static final Pattern ACCESS_POINT = Pattern.compile(".*/accesspoint/([^/]+)(/policy)?");
+
+    static {
+        // Headers and body are written separately: without it every response waits for a delayed ACK.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final long latencyMillis;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    SyntheticS3OutpostsServer(final long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "s3outposts-tools-synthetic");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String endpoint() {
+        return String.format("http://127.0.0.1:%d", server.getAddress().getPort());
+    }
+
+    long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    static String bucketArn(final String name) {
+        return ARN_PREFIX + "/bucket/" + name;
+    }
+
+    static String accessPointArn(final String name) {
+        return ARN_PREFIX + "/accesspoint/" + name;
+    }
+
+    /**
+     * @return Desired properties of a bucket in sync with its live state
+     */
+    static String bucket(final String name) {
+        return String.format("{\"Arn\":\"%s\",\"BucketName\":\"%s\",\"OutpostId\":\"%s\","
+                        + "\"Tags\":[{\"Key\":\"team\",\"Value\":\"storage\"},{\"Key\":\"name\",\"Value\":\"%s\"}],"
+                        + "\"LifecycleConfiguration\":{\"Rules\":["
+                        + "{\"Id\":\"expire-logs\",\"Status\":\"Enabled\",\"Filter\":{\"Prefix\":\"logs/\"},\"ExpirationInDays\":30},"
+                        + "{\"Id\":\"abort-uploads\",\"Status\":\"Enabled\",\"AbortIncompleteMultipartUpload\":{\"DaysAfterInitiation\":7}}]}}",
+                bucketArn(name), name, OUTPOST_ID, name);
+    }
+
+    /**
+     * @return Desired properties of an access point in sync with its live state
+     */
+    static String accessPoint(final String name) {
+        return String.format("{\"Arn\":\"%s\",\"Bucket\":\"%s\",\"Name\":\"%s\",\"VpcConfiguration\":{\"VpcId\":\"vpc-12345678\"},"
+                        + "\"Policy\":%s}",
+                accessPointArn(name), bucketArn("bucket-" + name), name, policy(accessPointArn(name)));
+    }
+
+    /**
+     * @return Desired properties of a bucket policy in sync with its live state
+     */
+    static String bucketPolicy(final String name) {
+        return String.format("{\"Bucket\":\"%s\",\"PolicyDocument\":%s}", bucketArn(name), policy(bucketArn(name)));
+    }
+
+    private static String policy(final String resource) {
+        return String.format("{\"Version\":\"2012-10-17\",\"Statement\":[{\"Sid\":\"st1\",\"Effect\":\"Allow\","
+                + "\"Principal\":{\"AWS\":\"arn:aws:iam::%s:root\"},\"Action\":[\"s3-outposts:GetObject\",\"s3-outposts:PutObject\"],"
+                + "\"Resource\":\"%s\"}]}", ACCOUNT_ID, resource);
+    }
+
+    /**
+     * @return The policy the way the service returns it: the same statement, with its lists in another order
+     */
+    private static String livePolicy(final String resource) {
+        return String.format("{\"Statement\":[{\"Resource\":[\"%s\"],\"Action\":[\"s3-outposts:PutObject\",\"s3-outposts:GetObject\"],"
+                + "\"Principal\":{\"AWS\":[\"arn:aws:iam::%s:root\"]},\"Effect\":\"Allow\",\"Sid\":\"st1\"}],\"Version\":\"2012-10-17\"}",
+                resource, ACCOUNT_ID);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final String path = decode(exchange.getRequestURI().getRawPath());
+        final Matcher accessPoint = ACCESS_POINT.matcher(path);
+        final Matcher bucket = BUCKET.matcher(path);
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, error("MethodNotAllowed"));
+        } else if (accessPoint.matches()) {
+            final String name = name(accessPoint.group(1));
+            if (name.startsWith(GONE)) {
+                respond(exchange, 404, error("NoSuchAccessPoint"));
+            } else if (accessPoint.group(2) == null) {
+                respond(exchange, 200, "<GetAccessPointResult><Name>" + name + "</Name><Bucket>bucket-" + name + "</Bucket>"
+                        + "<NetworkOrigin>Vpc</NetworkOrigin><VpcConfiguration><VpcId>vpc-12345678</VpcId></VpcConfiguration>"
+                        + "<CreationDate>2020-01-01T10:00:00Z</CreationDate></GetAccessPointResult>");
+            } else {
+                respond(exchange, 200, "<GetAccessPointPolicyResult><Policy>" + escape(livePolicy(accessPointArn(name)))
+                        + "</Policy></GetAccessPointPolicyResult>");
+            }
+        } else if (bucket.matches()) {
+            final String name = name(bucket.group(1));
+            final String operation = bucket.group(2);
+            if (name.startsWith(GONE)) {
+                respond(exchange, 404, error(operation == null ? "NoSuchBucket" : "NoSuchBucketPolicy"));
+            } else if (operation == null) {
+                respond(exchange, 200, "<GetBucketResult><Bucket>" + name + "</Bucket><PublicAccessBlockEnabled>true</PublicAccessBlockEnabled>"
+                        + "<CreationDate>2020-01-01T10:00:00Z</CreationDate></GetBucketResult>");
+            } else if (operation.equals("/tagging")) {
+                respond(exchange, 200, "<GetBucketTaggingResult><TagSet><member><Key>name</Key><Value>" + name + "</Value></member>"
+                        + "<member><Key>team</Key><Value>storage</Value></member></TagSet></GetBucketTaggingResult>");
+            } else if (operation.equals("/lifecycleconfiguration")) {
+                respond(exchange, 200, "<GetBucketLifecycleConfigurationResult><Rules>"
+                        + "<Rule><ID>abort-uploads</ID><Status>Enabled</Status>"
+                        + "<AbortIncompleteMultipartUpload><DaysAfterInitiation>7</DaysAfterInitiation></AbortIncompleteMultipartUpload></Rule>"
+                        + "<Rule><ID>expire-logs</ID><Filter><Prefix>logs/</Prefix></Filter><Status>Enabled</Status>"
+                        + "<Expiration><Days>30</Days></Expiration></Rule>"
+                        + "</Rules></GetBucketLifecycleConfigurationResult>");
+            } else {
+                respond(exchange, 200, "<GetBucketPolicyResult><Policy>" + escape(livePolicy(bucketArn(name)))
+                        + "</Policy></GetBucketPolicyResult>");
+            }
+        } else {
+            respond(exchange, 404, error("NoSuchResource"));
+        }
+    }
+
+    /**
+     * @return Name of a bucket or access point, given by name or by ARN
+     */
+    private static String name(final String nameOrArn) {
+        return nameOrArn.substring(nameOrArn.lastIndexOf('/') + 1);
+    }
+
+    private static String decode(final String path) throws UnsupportedEncodingException {
+        // Only the ARN is percent-encoded, there is no + for a space in a path.
+        return URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8.name());
+    }
+
+    private static String escape(final String text) {
+        return text.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String error(final String code) {
+        return "<ErrorResponse><Error><Code>" + code + "</Code><Message>" + code + "</Message></Error></ErrorResponse>";
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", XML);
+        exchange.getResponseHeaders().add("x-amz-request-id", "synthetic");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
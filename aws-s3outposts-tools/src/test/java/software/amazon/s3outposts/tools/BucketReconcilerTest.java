@@ -0,0 +1,262 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class BucketReconcilerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OUTPOST_ID = "op-01234567890123456";
+    private static final String ARN_PREFIX = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/" + OUTPOST_ID;
+    private static final Pattern BUCKET = Pattern.compile(".*/bucket/([^/]+)(/tagging|/lifecycleconfiguration)?");
+    private static final Pattern TAG = Pattern.compile("<Key>([^<]*)</Key><Value>([^<]*)</Value>");
+    private static final Pattern RULES = Pattern.compile("<Rules>.*</Rules>", Pattern.DOTALL);
+    private static final String ABORT_UPLOADS = "<Rules><Rule><ID>abort-uploads</ID><Status>Enabled</Status>"
+            + "<AbortIncompleteMultipartUpload><DaysAfterInitiation>7</DaysAfterInitiation></AbortIncompleteMultipartUpload>"
+            + "</Rule></Rules>";
+    private static final String RULE = "{\"Rules\":[{\"Id\":\"abort-uploads\",\"Status\":\"Enabled\","
+            + "\"AbortIncompleteMultipartUpload\":{\"DaysAfterInitiation\":7}}]}";
+
+    // Live buckets: their tags, and the rules of their lifecycle configuration if they have one.
+    private final Map<String, Map<String, String>> tags = new ConcurrentHashMap<>();
+    private final Map<String, String> rules = new ConcurrentHashMap<>();
+    private volatile boolean putDenied;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private S3ControlClient s3ControlClient;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        // Without the mandatory tag and rule.
+        tags.put("bucket1", tagMap("team", "storage"));
+        // Already reconciled.
+        tags.put("bucket2", tagMap("cost-center", "42"));
+        rules.put("bucket2", ABORT_UPLOADS);
+        // Created by a stack, with the mandatory rule but another cost center.
+        tags.put("bucket3", tagMap("cost-center", "41"));
+        tags.get("bucket3").put("aws:cloudformation:stack-name", "stack3");
+        rules.put("bucket3", ABORT_UPLOADS);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        s3ControlClient = Clients.configure(S3ControlClient.builder(), null,
+                String.format("http://127.0.0.1:%d", server.getAddress().getPort()), 4).build();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        s3ControlClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void reconcile_WritesOnlyWhatDiffers() throws Exception {
+        final StringWriter report = new StringWriter();
+
+        final BucketReconciler.Summary summary = reconciler().reconcile(Collections.singletonList(OUTPOST_ID), true, report);
+
+        final List<JsonNode> lines = lines(report);
+        assertThat(lines).hasSize(3);
+        assertThat(summary.count(BucketReconciler.Status.WRITTEN)).isEqualTo(2);
+        assertThat(summary.count(BucketReconciler.Status.SKIPPED)).isEqualTo(1);
+        assertThat(summary.count(BucketReconciler.Status.FAILED)).isEqualTo(0);
+
+        assertThat(writes(line(lines, "bucket1"))).containsExactly("PutBucketTagging", "PutBucketLifecycleConfiguration");
+        assertThat(tags.get("bucket1")).containsOnly(entry("team", "storage"), entry("cost-center", "42"));
+        assertThat(rules.get("bucket1")).contains("<ID>abort-uploads</ID>").contains("<DaysAfterInitiation>7</DaysAfterInitiation>");
+
+        assertThat(line(lines, "bucket2").get("Status").asText()).isEqualTo("SKIPPED");
+        assertThat(line(lines, "bucket2").has("Differences")).isFalse();
+
+        // The tags of CloudFormation are kept, and the lifecycle configuration, already in its desired state, left alone.
+        final JsonNode bucket3 = line(lines, "bucket3");
+        assertThat(writes(bucket3)).containsExactly("PutBucketTagging");
+        assertThat(bucket3.get("Differences").get(0).get("PropertyPath").asText()).isEqualTo("/Tags/cost-center");
+        assertThat(tags.get("bucket3")).containsOnly(entry("cost-center", "42"), entry("aws:cloudformation:stack-name", "stack3"));
+
+        assertThat(requests).containsOnlyOnce("PUT bucket1/tagging", "PUT bucket1/lifecycleconfiguration", "PUT bucket3/tagging");
+        assertThat(requests.stream().filter(request -> request.startsWith("PUT"))).hasSize(3);
+    }
+
+    @Test
+    public void reconcile_WithoutConfirmOnlyPlans() throws Exception {
+        final StringWriter report = new StringWriter();
+
+        final BucketReconciler.Summary summary = reconciler().reconcile(Collections.singletonList(OUTPOST_ID), false, report);
+
+        assertThat(summary.count(BucketReconciler.Status.PLANNED)).isEqualTo(2);
+        assertThat(summary.count(BucketReconciler.Status.SKIPPED)).isEqualTo(1);
+        assertThat(line(lines(report), "bucket1").get("Status").asText()).isEqualTo("PLANNED");
+        assertThat(requests).noneMatch(request -> request.startsWith("PUT"));
+        assertThat(tags.get("bucket1")).doesNotContainKey("cost-center");
+    }
+
+    @Test
+    public void reconcile_ReportsFailedWrites() throws Exception {
+        putDenied = true;
+        final StringWriter report = new StringWriter();
+
+        final BucketReconciler.Summary summary = reconciler().reconcile(Collections.singletonList(OUTPOST_ID), true, report);
+
+        assertThat(summary.count(BucketReconciler.Status.FAILED)).isEqualTo(2);
+        assertThat(summary.count(BucketReconciler.Status.SKIPPED)).isEqualTo(1);
+        assertThat(line(lines(report), "bucket1").get("Message").asText()).contains("AccessDenied");
+    }
+
+    @Test
+    public void reconciliation_RuleWithoutId() {
+        assertThatThrownBy(() ->
+                new BucketReconciliation(Collections.emptyMap(), "{\"Rules\":[{\"Status\":\"Enabled\",\"ExpirationInDays\":30}]}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void run_UsageError() throws Exception {
+        assertThat(BucketReconciler.run(new String[]{"--account-id", ACCOUNT_ID, "--outpost-id", OUTPOST_ID})).isEqualTo(2);
+        assertThat(BucketReconciler.run(new String[]{"--account-id", ACCOUNT_ID, "--outpost-id", OUTPOST_ID, "--tag", "=1"}))
+                .isEqualTo(2);
+        assertThat(requests).isEmpty();
+    }
+
+    private BucketReconciler reconciler() throws IOException {
+        return new BucketReconciler(new BucketReconciliation(Collections.singletonMap("cost-center", "42"), RULE),
+                ACCOUNT_ID, 4, 1000, false, s3ControlClient);
+    }
+
+    private static Map<String, String> tagMap(final String key, final String value) {
+        final Map<String, String> map = new ConcurrentHashMap<>();
+        map.put(key, value);
+        return map;
+    }
+
+    private static List<String> writes(final JsonNode line) {
+        final List<String> writes = new ArrayList<>();
+        line.get("Writes").forEach(write -> writes.add(write.asText()));
+        return writes;
+    }
+
+    private static List<JsonNode> lines(final StringWriter report) throws IOException {
+        final List<JsonNode> lines = new ArrayList<>();
+        for (final String line : report.toString().split("\n")) {
+            lines.add(MAPPER.readTree(line));
+        }
+        return lines;
+    }
+
+    private static JsonNode line(final List<JsonNode> lines, final String name) {
+        return lines.stream()
+                .filter(line -> line.get("Identifier").asText().equals(ARN_PREFIX + "/bucket/" + name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name + " not reported"));
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String method = exchange.getRequestMethod();
+        final String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8.name());
+        final String body = read(exchange.getRequestBody());
+        final Matcher bucket = BUCKET.matcher(path);
+
+        if (path.equals("/v20180820/bucket")) {
+            final StringBuilder list = new StringBuilder("<ListRegionalBucketsResult><RegionalBucketList>");
+            tags.keySet().stream().sorted().forEach(name -> list.append("<RegionalBucket><Bucket>").append(name)
+                    .append("</Bucket><BucketArn>").append(ARN_PREFIX).append("/bucket/").append(name)
+                    .append("</BucketArn><PublicAccessBlockEnabled>false</PublicAccessBlockEnabled>")
+                    .append("<CreationDate>2020-01-01T00:00:00Z</CreationDate><OutpostId>").append(OUTPOST_ID)
+                    .append("</OutpostId></RegionalBucket>"));
+            respond(exchange, 200, list.append("</RegionalBucketList></ListRegionalBucketsResult>").toString());
+        } else if (bucket.matches()) {
+            final String name = bucket.group(1).substring(bucket.group(1).lastIndexOf('/') + 1);
+            final String operation = bucket.group(2) == null ? "" : bucket.group(2);
+            requests.add(method + " " + name + operation);
+            if (!tags.containsKey(name)) {
+                respond(exchange, 404, error("NoSuchBucket"));
+            } else if (method.equals("PUT") && putDenied) {
+                respond(exchange, 403, error("AccessDenied"));
+            } else if (operation.equals("/tagging") && method.equals("PUT")) {
+                final Map<String, String> tagSet = new ConcurrentHashMap<>();
+                final Matcher tag = TAG.matcher(body);
+                while (tag.find()) {
+                    tagSet.put(tag.group(1), tag.group(2));
+                }
+                tags.put(name, tagSet);
+                respond(exchange, 200, "");
+            } else if (operation.equals("/tagging")) {
+                final StringBuilder tagSet = new StringBuilder("<GetBucketTaggingResult><TagSet>");
+                new LinkedHashMap<>(tags.get(name)).forEach((key, value) -> tagSet.append("<member><Key>").append(key)
+                        .append("</Key><Value>").append(value).append("</Value></member>"));
+                respond(exchange, 200, tagSet.append("</TagSet></GetBucketTaggingResult>").toString());
+            } else if (operation.equals("/lifecycleconfiguration") && method.equals("PUT")) {
+                final Matcher configuration = RULES.matcher(body);
+                rules.put(name, configuration.find() ? configuration.group() : "");
+                respond(exchange, 200, "");
+            } else if (operation.equals("/lifecycleconfiguration")) {
+                if (rules.containsKey(name)) {
+                    respond(exchange, 200, "<GetBucketLifecycleConfigurationResult>" + rules.get(name)
+                            + "</GetBucketLifecycleConfigurationResult>");
+                } else {
+                    respond(exchange, 404, error("NoSuchLifecycleConfiguration"));
+                }
+            } else {
+                respond(exchange, 200, "<GetBucketResult><Bucket>" + name + "</Bucket>"
+                        + "<PublicAccessBlockEnabled>true</PublicAccessBlockEnabled>"
+                        + "<CreationDate>2020-01-01T10:00:00Z</CreationDate></GetBucketResult>");
+            }
+        } else {
+            respond(exchange, 404, error("NoSuchResource"));
+        }
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        for (int count = in.read(buffer); count > 0; count = in.read(buffer)) {
+            bytes.write(buffer, 0, count);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String error(final String code) {
+        return "<ErrorResponse><Error><Code>" + code + "</Code><Message>" + code + "</Message></Error></ErrorResponse>";
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.getResponseHeaders().add("x-amz-request-id", "reconcile");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
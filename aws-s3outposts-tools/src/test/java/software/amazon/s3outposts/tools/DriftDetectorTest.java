@@ -0,0 +1,134 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DriftDetectorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SyntheticS3OutpostsServer server;
+    private S3OutpostsClient s3OutpostsClient;
+    private S3ControlClient s3ControlClient;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = new SyntheticS3OutpostsServer(0);
+        s3OutpostsClient = Clients.configure(S3OutpostsClient.builder(), null, server.endpoint(), 4).build();
+        s3ControlClient = Clients.configure(S3ControlClient.builder(), null, server.endpoint(), 4).build();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        s3OutpostsClient.close();
+        s3ControlClient.close();
+        server.close();
+    }
+
+    @Test
+    public void detect_InSync() throws Exception {
+        final List<JsonNode> reports = detect(
+                line(BucketInventory.TYPE_NAME, SyntheticS3OutpostsServer.bucket("bucket1")),
+                line(AccessPointInventory.TYPE_NAME, SyntheticS3OutpostsServer.accessPoint("ap1")),
+                line(BucketPolicyInventory.TYPE_NAME, SyntheticS3OutpostsServer.bucketPolicy("bucket1")));
+
+        assertThat(reports).hasSize(3);
+        assertThat(reports).allMatch(report -> report.get("Status").asText().equals("IN_SYNC"));
+        assertThat(reports).noneMatch(report -> report.has("Differences"));
+        assertThat(reports.get(0).get("Identifier").asText()).isEqualTo(SyntheticS3OutpostsServer.bucketArn("bucket1"));
+    }
+
+    @Test
+    public void detect_Modified() throws Exception {
+        final List<JsonNode> reports = detect(
+                line(BucketInventory.TYPE_NAME, SyntheticS3OutpostsServer.bucket("bucket1").replace("\"storage\"", "\"compute\"")),
+                line(BucketPolicyInventory.TYPE_NAME, SyntheticS3OutpostsServer.bucketPolicy("bucket1").replace("\"Allow\"", "\"Deny\"")));
+
+        assertThat(reports).hasSize(2);
+        assertThat(reports).allMatch(report -> report.get("Status").asText().equals("MODIFIED"));
+
+        final JsonNode tag = reports.get(0).get("Differences").get(0);
+        assertThat(tag.get("PropertyPath").asText()).isEqualTo("/Tags/team");
+        assertThat(tag.get("ExpectedValue").asText()).isEqualTo("compute");
+        assertThat(tag.get("ActualValue").asText()).isEqualTo("storage");
+        assertThat(tag.get("DifferenceType").asText()).isEqualTo("NOT_EQUAL");
+
+        assertThat(reports.get(1).get("Differences").get(0).get("PropertyPath").asText()).isEqualTo("/PolicyDocument/Statement");
+    }
+
+    @Test
+    public void detect_Deleted() throws Exception {
+        final List<JsonNode> reports = detect(
+                line(BucketInventory.TYPE_NAME, SyntheticS3OutpostsServer.bucket(SyntheticS3OutpostsServer.GONE + "bucket1")),
+                line(AccessPointInventory.TYPE_NAME, SyntheticS3OutpostsServer.accessPoint(SyntheticS3OutpostsServer.GONE + "ap1")));
+
+        assertThat(reports).hasSize(2);
+        assertThat(reports).allMatch(report -> report.get("Status").asText().equals("DELETED"));
+    }
+
+    @Test
+    public void detect_Failed() throws Exception {
+        final List<JsonNode> reports = detect(
+                line("AWS::S3Outposts::Unknown", "{}"),
+                "not json");
+
+        assertThat(reports).hasSize(2);
+        assertThat(reports).allMatch(report -> report.get("Status").asText().equals("FAILED"));
+        assertThat(reports).allMatch(report -> report.has("Message"));
+    }
+
+    @Test
+    public void run_UsageError() throws Exception {
+        assertThat(DriftDetector.run(new String[]{"--concurrency", "0"})).isEqualTo(2);
+    }
+
+    /**
+     * @return Reports in the order of the input lines
+     */
+    private List<JsonNode> detect(final String... lines) throws Exception {
+        final StringWriter report = new StringWriter();
+        final DriftDetector.Summary summary = new DriftDetector(SyntheticS3OutpostsServer.ACCOUNT_ID, 4, 1000, false,
+                s3OutpostsClient, s3ControlClient)
+                .detect(new BufferedReader(new StringReader(String.join("\n", lines))), report);
+
+        final List<JsonNode> reports = Stream.of(report.toString().split("\n"))
+                .map(DriftDetectorTest::parse)
+                .sorted(Comparator.comparingLong(node -> node.get("Line").asLong()))
+                .collect(Collectors.toList());
+        long total = 0;
+        for (final DriftDetector.Status status : DriftDetector.Status.values()) {
+            total += summary.count(status);
+        }
+        assertThat(total).isEqualTo(reports.size());
+        return reports;
+    }
+
+    private static String line(final String typeName, final String properties) {
+        return "{\"TypeName\":\"" + typeName + "\",\"Properties\":" + properties + "}";
+    }
+
+    private static JsonNode parse(final String line) {
+        try {
+            return MAPPER.readTree(line);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package software.amazon.s3outposts.tools;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InventoryExporterTest {
+
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OUTPOST_ID = "op-01234567890123456";
+    private static final String BUCKET1_ARN = "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/bucket/bucket1";
+    private static final String BUCKET2_ARN = "arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/bucket/bucket2";
+    // Not URL safe, so the checkpoint has to encode it.
+    private static final String NEXT_TOKEN = "page/2+";
+
+    private static final String LIST_ENDPOINTS = "{\"Endpoints\":["
+            + endpoint(OUTPOST_ID, "12abcd3efghij4kl5m6") + "," + endpoint("ec2", "12abcd3efghij4kl5m7") + "]}";
+    private static final String LIST_REGIONAL_BUCKETS_PAGE1 = listRegionalBuckets("bucket1", BUCKET1_ARN, NEXT_TOKEN);
+    private static final String LIST_REGIONAL_BUCKETS_PAGE2 = listRegionalBuckets("bucket2", BUCKET2_ARN, null);
+    private static final String LIST_ACCESS_POINTS = "<ListAccessPointsResult><AccessPointList><AccessPoint>"
+            + "<Name>ap1</Name><NetworkOrigin>VPC</NetworkOrigin><VpcConfiguration><VpcId>vpc-12345678</VpcId></VpcConfiguration>"
+            + "<Bucket>bucket1</Bucket><AccessPointArn>arn:aws:s3-outposts:us-east-1:123456789012:outpost/op-01234567890123456/accesspoint/ap1</AccessPointArn>"
+            + "</AccessPoint></AccessPointList></ListAccessPointsResult>";
+    private static final String NO_ACCESS_POINTS = "<ListAccessPointsResult><AccessPointList></AccessPointList></ListAccessPointsResult>";
+    private static final String GET_BUCKET_POLICY = "<GetBucketPolicyResult><Policy>{&quot;Version&quot;:&quot;2012-10-17&quot;}</Policy></GetBucketPolicyResult>";
+    private static final String NO_SUCH_BUCKET_POLICY = "<ErrorResponse><Error><Code>NoSuchBucketPolicy</Code>"
+            + "<Message>The bucket policy does not exist</Message></Error></ErrorResponse>";
+
+    @TempDir
+    Path directory;
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        server.stop(0);
+    }
+
+    @Test
+    public void run_ExportsEveryResourceType() throws Exception {
+        final Path output = directory.resolve("inventory.ndjson");
+        final Path checkpoint = directory.resolve("inventory.checkpoint");
+
+        assertThat(InventoryExporter.run(args(output, checkpoint))).isEqualTo(0);
+
+        final List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(6);
+        assertThat(lines.stream().filter(line -> line.startsWith("{\"TypeName\":\"AWS::S3Outposts::Endpoint\""))).hasSize(2);
+        assertThat(lines.stream().filter(line -> line.startsWith("{\"TypeName\":\"AWS::S3Outposts::Bucket\""))).hasSize(2);
+        assertThat(lines.stream().filter(line -> line.startsWith("{\"TypeName\":\"AWS::S3Outposts::AccessPoint\""))).hasSize(1);
+        assertThat(lines.stream().filter(line -> line.startsWith("{\"TypeName\":\"AWS::S3Outposts::BucketPolicy\""))).hasSize(1);
+        assertThat(lines).anyMatch(line -> line.contains("\"Arn\":\"" + BUCKET2_ARN + "\""));
+        // The ec2 outpost of the second endpoint has no bucket listing of its own.
+        assertThat(requests).noneMatch(request -> request.contains("outpost-id=ec2"));
+
+        final List<String> journal = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        assertThat(journal.stream().filter(line -> line.startsWith("D\t"))).hasSize(6);
+        assertThat(journal.stream().filter(line -> line.startsWith("F\t"))).hasSize(6);
+        assertThat(journal).contains("P\tBUCKETS " + OUTPOST_ID + "\t" + encode(NEXT_TOKEN));
+    }
+
+    @Test
+    public void run_ResumesFromTheCheckpoint() throws Exception {
+        final Path output = directory.resolve("inventory.ndjson");
+        final Path checkpoint = directory.resolve("inventory.checkpoint");
+        // Interrupted after the first page of buckets, while writing the policy of bucket2.
+        Files.write(checkpoint, String.join("\n",
+                "D\tENDPOINTS " + ACCOUNT_ID,
+                "D\tBUCKETS " + OUTPOST_ID,
+                "F\tENDPOINTS " + ACCOUNT_ID,
+                "D\tACCESS_POINTS " + BUCKET1_ARN,
+                "D\tBUCKET_POLICY " + BUCKET1_ARN,
+                "P\tBUCKETS " + OUTPOST_ID + "\t" + encode(NEXT_TOKEN),
+                "F\tACCESS_POINTS " + BUCKET1_ARN,
+                "F\tBUCKET_POLICY " + BUCKET1_ARN,
+                "D\tACCESS_PO").getBytes(StandardCharsets.UTF_8));
+        Files.write(output, "{\"TypeName\":\"AWS::S3Outposts::Endpoint\"}\n{\"TypeName\":\"AWS::S3Out".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(InventoryExporter.run(args(output, checkpoint))).isEqualTo(0);
+
+        final List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).isEqualTo("{\"TypeName\":\"AWS::S3Outposts::Endpoint\"}");
+        assertThat(lines.get(1)).contains("\"Arn\":\"" + BUCKET2_ARN + "\"");
+        assertThat(requests).noneMatch(request -> request.startsWith("GET /S3Outposts/ListEndpoints"));
+        assertThat(requests).noneMatch(request -> request.contains("bucket1"));
+        assertThat(requests).filteredOn(request -> request.startsWith("GET /v20180820/bucket?"))
+                .allMatch(request -> request.contains("nextToken="));
+    }
+
+    @Test
+    public void run_UsageError() throws Exception {
+        assertThat(InventoryExporter.run(new String[]{"--concurrency", "0"})).isEqualTo(2);
+        assertThat(requests).isEmpty();
+    }
+
+    private String[] args(final Path output, final Path checkpoint) {
+        return new String[]{
+                "--account-id", ACCOUNT_ID,
+                "--endpoint-url", String.format("http://127.0.0.1:%d", server.getAddress().getPort()),
+                "--output", output.toString(),
+                "--checkpoint", checkpoint.toString(),
+                "--concurrency", "4",
+                "--calls-per-second", "1000"};
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getRawPath();
+        final String query = exchange.getRequestURI().getRawQuery() == null ? "" : exchange.getRequestURI().getRawQuery();
+        final String outpostId = exchange.getRequestHeaders().getFirst("x-amz-outpost-id");
+        requests.add(String.format("%s %s?%s outpost-id=%s", exchange.getRequestMethod(), path, query, outpostId));
+
+        if (path.equals("/S3Outposts/ListEndpoints")) {
+            respond(exchange, 200, "application/json", LIST_ENDPOINTS);
+        } else if (path.equals("/v20180820/bucket")) {
+            respond(exchange, 200, "application/xml",
+                    query.contains("nextToken=") ? LIST_REGIONAL_BUCKETS_PAGE2 : LIST_REGIONAL_BUCKETS_PAGE1);
+        } else if (path.equals("/v20180820/accesspoint")) {
+            respond(exchange, 200, "application/xml", query.contains("bucket1") ? LIST_ACCESS_POINTS : NO_ACCESS_POINTS);
+        } else if (path.startsWith("/v20180820/bucket/") && path.endsWith("/policy")) {
+            if (path.contains("bucket1")) {
+                respond(exchange, 200, "application/xml", GET_BUCKET_POLICY);
+            } else {
+                respond(exchange, 404, "application/xml", NO_SUCH_BUCKET_POLICY);
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        }
+    }
+
+    private static void respond(final HttpExchange exchange,
+                                final int status,
+                                final String contentType,
+                                final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("x-amz-request-id", "inventory");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String endpoint(final String outpostId, final String id) {
+        return String.format("{\"EndpointArn\":\"arn:aws:s3-outposts:us-east-1:123456789012:outpost/%s/endpoint/%s\","
+                + "\"OutpostsId\":\"%s\",\"CidrBlock\":\"172.31.0.0/16\",\"Status\":\"Available\",\"CreationTime\":1577872800,"
+                + "\"SubnetId\":\"subnet-12345678\",\"SecurityGroupId\":\"sg-12345678\",\"AccessType\":\"Private\"}", outpostId, id, outpostId);
+    }
+
+    private static String listRegionalBuckets(final String bucket, final String arn, final String nextToken) {
+        return "<ListRegionalBucketsResult><RegionalBucketList><RegionalBucket>"
+                + "<Bucket>" + bucket + "</Bucket><BucketArn>" + arn + "</BucketArn><PublicAccessBlockEnabled>false</PublicAccessBlockEnabled>"
+                + "<CreationDate>2020-01-01T00:00:00Z</CreationDate><OutpostId>" + OUTPOST_ID + "</OutpostId>"
+                + "</RegionalBucket></RegionalBucketList>"
+                + (nextToken == null ? "" : "<NextToken>" + nextToken + "</NextToken>")
+                + "</ListRegionalBucketsResult>";
+    }
+
+    private static String encode(final String token) {
+        return Base64.getUrlEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
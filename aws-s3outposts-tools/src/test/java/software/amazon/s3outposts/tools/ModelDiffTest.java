@@ -0,0 +1,109 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModelDiffTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void compare_TagsInAnotherOrder() throws IOException {
+        final List<ModelDiff.Difference> differences = compare(
+                "{\"Tags\":[{\"Key\":\"a\",\"Value\":\"1\"},{\"Key\":\"b\",\"Value\":\"2\"}]}",
+                "{\"Tags\":[{\"Key\":\"b\",\"Value\":\"2\"},{\"Key\":\"a\",\"Value\":\"1\"}]}");
+
+        assertThat(differences).isEmpty();
+    }
+
+    @Test
+    public void compare_TagsChanged() throws IOException {
+        final List<ModelDiff.Difference> differences = compare(
+                "{\"Tags\":[{\"Key\":\"a\",\"Value\":\"1\"},{\"Key\":\"b\",\"Value\":\"2\"}]}",
+                "{\"Tags\":[{\"Key\":\"a\",\"Value\":\"3\"},{\"Key\":\"c\",\"Value\":\"4\"}]}");
+
+        assertThat(differences).hasSize(3);
+        assertDifference(differences.get(0), "/Tags/a", "\"1\"", "\"3\"", ModelDiff.DifferenceType.NOT_EQUAL);
+        assertDifference(differences.get(1), "/Tags/b", "\"2\"", null, ModelDiff.DifferenceType.REMOVE);
+        assertDifference(differences.get(2), "/Tags/c", null, "\"4\"", ModelDiff.DifferenceType.ADD);
+    }
+
+    @Test
+    public void compare_LifecycleRulesById() throws IOException {
+        final List<ModelDiff.Difference> differences = compare(
+                "{\"LifecycleConfiguration\":{\"Rules\":[{\"Id\":\"r1\",\"Status\":\"Enabled\",\"ExpirationInDays\":30},"
+                        + "{\"Id\":\"r2\",\"Status\":\"Enabled\",\"ExpirationInDays\":7}]}}",
+                "{\"LifecycleConfiguration\":{\"Rules\":[{\"Id\":\"r2\",\"Status\":\"Disabled\",\"ExpirationInDays\":7.0},"
+                        + "{\"Id\":\"r1\",\"Status\":\"Enabled\",\"ExpirationInDays\":30}]}}");
+
+        assertThat(differences).hasSize(1);
+        assertDifference(differences.get(0), "/LifecycleConfiguration/Rules/r2/Status", "\"Enabled\"", "\"Disabled\"",
+                ModelDiff.DifferenceType.NOT_EQUAL);
+    }
+
+    @Test
+    public void compare_EquivalentPolicies() throws IOException {
+        final List<ModelDiff.Difference> differences = compare(
+                "{\"PolicyDocument\":{\"Version\":\"2012-10-17\",\"Statement\":{\"Effect\":\"Allow\",\"Principal\":{\"AWS\":\"arn:aws:iam::123456789012:root\"},"
+                        + "\"Action\":[\"s3-outposts:GetObject\",\"s3-outposts:PutObject\"],\"Resource\":\"arn:b\"}}}",
+                "{\"PolicyDocument\":\"{\\\"Statement\\\":[{\\\"Resource\\\":[\\\"arn:b\\\"],\\\"Principal\\\":{\\\"AWS\\\":[\\\"arn:aws:iam::123456789012:root\\\"]},"
+                        + "\\\"Effect\\\":\\\"Allow\\\",\\\"Action\\\":[\\\"s3-outposts:PutObject\\\",\\\"s3-outposts:GetObject\\\"]}],\\\"Version\\\":\\\"2012-10-17\\\"}\"}");
+
+        assertThat(differences).isEmpty();
+    }
+
+    @Test
+    public void compare_PolicyChanged() throws IOException {
+        final List<ModelDiff.Difference> differences = compare(
+                "{\"Policy\":{\"Statement\":[{\"Effect\":\"Allow\",\"Action\":\"s3-outposts:*\"}]}}",
+                "{\"Policy\":{\"Statement\":[{\"Effect\":\"Deny\",\"Action\":\"s3-outposts:*\"}]}}");
+
+        assertThat(differences).hasSize(1);
+        assertThat(differences.get(0).getPropertyPath()).isEqualTo("/Policy/Statement");
+        assertThat(differences.get(0).getDifferenceType()).isEqualTo(ModelDiff.DifferenceType.NOT_EQUAL);
+    }
+
+    @Test
+    public void compare_OnlyDesiredPropertiesThatAreNotReadOnly() throws IOException {
+        final List<ModelDiff.Difference> differences = ModelDiff.compare(
+                MAPPER.readTree("{\"Arn\":\"arn:a\",\"Status\":\"Available\",\"SubnetId\":\"subnet-1\"}"),
+                MAPPER.readTree("{\"Arn\":\"arn:a\",\"Status\":\"Pending\",\"SubnetId\":\"subnet-2\",\"CidrBlock\":\"10.0.0.0/16\"}"),
+                Collections.singleton("Status"));
+
+        assertThat(differences).hasSize(1);
+        assertDifference(differences.get(0), "/SubnetId", "\"subnet-1\"", "\"subnet-2\"", ModelDiff.DifferenceType.NOT_EQUAL);
+    }
+
+    @Test
+    public void compare_PropertyRemoved() throws IOException {
+        final List<ModelDiff.Difference> differences = compare(
+                "{\"LifecycleConfiguration\":{\"Rules\":[{\"Id\":\"r1\",\"Status\":\"Enabled\",\"ExpirationInDays\":30}]}}",
+                "{}");
+
+        assertThat(differences).hasSize(1);
+        assertThat(differences.get(0).getPropertyPath()).isEqualTo("/LifecycleConfiguration");
+        assertThat(differences.get(0).getDifferenceType()).isEqualTo(ModelDiff.DifferenceType.REMOVE);
+    }
+
+    private static List<ModelDiff.Difference> compare(final String desired, final String live) throws IOException {
+        return ModelDiff.compare(MAPPER.readTree(desired), MAPPER.readTree(live), Collections.emptySet());
+    }
+
+    private static void assertDifference(final ModelDiff.Difference difference,
+                                         final String path,
+                                         final String expected,
+                                         final String actual,
+                                         final ModelDiff.DifferenceType type) throws IOException {
+        assertThat(difference.getPropertyPath()).isEqualTo(path);
+        assertThat(difference.getExpectedValue()).isEqualTo(expected == null ? null : MAPPER.readTree(expected));
+        assertThat(difference.getActualValue()).isEqualTo(actual == null ? null : MAPPER.readTree(actual));
+        assertThat(difference.getDifferenceType()).isEqualTo(type);
+    }
+
+}
@@ -0,0 +1,306 @@
+package software.amazon.s3outposts.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3outposts.S3OutpostsClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutpostTeardownTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String OUTPOST_ID = "op-01234567890123456";
+    private static final String ARN_PREFIX = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID + ":outpost/" + OUTPOST_ID;
+    private static final String ENDPOINT_ID = "12abcd3efghij4kl5m6";
+    private static final Pattern BUCKET = Pattern.compile(".*/bucket/([^/]+)(/policy)?");
+    private static final Pattern ACCESS_POINT = Pattern.compile(".*/accesspoint/([^/]+)");
+    // GetAccessPoint calls an access point is still found for once it is being deleted.
+    private static final int ACCESS_POINT_DELETING_READS = 2;
+    // Propagation delay of a deleted access point, 80 seconds outside of tests.
+    private static final long PROPAGATION_MILLIS = 200;
+
+    // Live resources: the access points of a bucket, and the buckets with a policy.
+    private final Map<String, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final Set<String> policies = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> deletingAccessPoints = new ConcurrentHashMap<>();
+    private final Set<String> settlingBuckets = ConcurrentHashMap.newKeySet();
+    private final Set<String> endpoints = ConcurrentHashMap.newKeySet();
+    private volatile boolean policyDeleteDenied;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private S3OutpostsClient s3OutpostsClient;
+    private S3ControlClient s3ControlClient;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        buckets.put("bucket1", ConcurrentHashMap.newKeySet());
+        buckets.get("bucket1").addAll(Arrays.asList("ap1", "ap2"));
+        buckets.put("bucket2", ConcurrentHashMap.newKeySet());
+        policies.add("bucket1");
+        endpoints.add(ENDPOINT_ID);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        final String endpoint = String.format("http://127.0.0.1:%d", server.getAddress().getPort());
+        s3OutpostsClient = Clients.configure(S3OutpostsClient.builder(), null, endpoint, 4).build();
+        s3ControlClient = Clients.configure(S3ControlClient.builder(), null, endpoint, 4).build();
+    }
+
+    @AfterEach
+    public void tear_down() {
+        s3OutpostsClient.close();
+        s3ControlClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void teardown_DeletesInDependencyOrder() throws Exception {
+        final StringWriter report = new StringWriter();
+
+        final OutpostTeardown.Summary summary = teardown(true).teardown(
+                Collections.singletonList(OUTPOST_ID), true, report);
+
+        final List<JsonNode> lines = lines(report);
+        assertThat(lines).hasSize(6);
+        assertThat(lines).allMatch(line -> line.get("Status").asText().equals("DELETED"));
+        assertThat(summary.count(OutpostTeardown.Status.DELETED)).isEqualTo(6);
+        assertThat(buckets).isEmpty();
+        assertThat(policies).isEmpty();
+        assertThat(endpoints).isEmpty();
+
+        // The bucket is deleted once its policy and access points are gone, and again once it is in a state to be.
+        final int bucketDeleted = requests.lastIndexOf("DELETE bucket1");
+        assertThat(requests.indexOf("DELETE bucket1")).isGreaterThan(requests.indexOf("DELETE bucket1/policy"));
+        assertThat(requests.indexOf("DELETE bucket1")).isGreaterThan(requests.lastIndexOf("GET ap1"));
+        assertThat(requests.indexOf("DELETE bucket1")).isGreaterThan(requests.lastIndexOf("GET ap2"));
+        // The access points are deleted once their deletion has propagated, before the bucket.
+        for (final String accessPoint : Arrays.asList("ap1", "ap2")) {
+            assertThat(line(lines, ARN_PREFIX + "/accesspoint/" + accessPoint, "AWS::S3Outposts::AccessPoint")
+                    .get("ElapsedMillis").asLong()).isGreaterThanOrEqualTo(PROPAGATION_MILLIS);
+        }
+        assertThat(requests.stream().filter("DELETE bucket1"::equals)).hasSize(2);
+        assertThat(bucketDeleted).isGreaterThan(requests.indexOf("DELETE bucket1"));
+        assertThat(line(lines, ARN_PREFIX + "/bucket/bucket1", "AWS::S3Outposts::Bucket").get("Attempts").asInt()).isEqualTo(2);
+        // The bucket without dependencies does not wait for the others.
+        assertThat(requests.indexOf("DELETE bucket2")).isLessThan(requests.indexOf("DELETE bucket1"));
+
+        final List<String> criticalPath = summary.getCriticalPath();
+        assertThat(criticalPath).hasSize(2);
+        assertThat(criticalPath.get(1)).isEqualTo("AWS::S3Outposts::Bucket " + ARN_PREFIX + "/bucket/bucket1");
+        assertThat(summary.getCriticalPathMillis()).isLessThanOrEqualTo(summary.getElapsedMillis());
+    }
+
+    @Test
+    public void teardown_WithoutConfirmOnlyPlans() throws Exception {
+        final StringWriter report = new StringWriter();
+
+        final OutpostTeardown.Summary summary = teardown(false).teardown(
+                Collections.singletonList(OUTPOST_ID), false, report);
+
+        final List<JsonNode> lines = lines(report);
+        assertThat(lines).hasSize(5);
+        assertThat(lines).allMatch(line -> line.get("Status").asText().equals("PLANNED"));
+        assertThat(summary.count(OutpostTeardown.Status.PLANNED)).isEqualTo(5);
+        final JsonNode bucket = line(lines, ARN_PREFIX + "/bucket/bucket1", "AWS::S3Outposts::Bucket");
+        final List<String> dependsOn = new ArrayList<>();
+        bucket.get("DependsOn").forEach(identifier -> dependsOn.add(identifier.asText()));
+        assertThat(dependsOn).containsExactlyInAnyOrder(ARN_PREFIX + "/bucket/bucket1",
+                ARN_PREFIX + "/accesspoint/ap1", ARN_PREFIX + "/accesspoint/ap2");
+        assertThat(requests).noneMatch(request -> request.startsWith("DELETE"));
+        assertThat(buckets).hasSize(2);
+    }
+
+    @Test
+    public void teardown_SkipsWhatDependsOnAFailure() throws Exception {
+        policyDeleteDenied = true;
+        final StringWriter report = new StringWriter();
+
+        final OutpostTeardown.Summary summary = teardown(false).teardown(
+                Collections.singletonList(OUTPOST_ID), true, report);
+
+        final List<JsonNode> lines = lines(report);
+        assertThat(line(lines, ARN_PREFIX + "/bucket/bucket1", "AWS::S3Outposts::BucketPolicy").get("Status").asText())
+                .isEqualTo("FAILED");
+        assertThat(line(lines, ARN_PREFIX + "/bucket/bucket1", "AWS::S3Outposts::Bucket").get("Status").asText())
+                .isEqualTo("SKIPPED");
+        assertThat(summary.count(OutpostTeardown.Status.DELETED)).isEqualTo(3);
+        assertThat(requests).doesNotContain("DELETE bucket1");
+        assertThat(buckets).containsOnlyKeys("bucket1");
+    }
+
+    @Test
+    public void run_UsageError() throws Exception {
+        assertThat(OutpostTeardown.run(new String[]{"--account-id", ACCOUNT_ID})).isEqualTo(2);
+        assertThat(requests).isEmpty();
+    }
+
+    private OutpostTeardown teardown(final boolean endpoints) {
+        return new OutpostTeardown(ACCOUNT_ID, endpoints, 4, 1000, 10, TimeUnit.MINUTES.toMillis(1), PROPAGATION_MILLIS,
+                false, s3OutpostsClient, s3ControlClient);
+    }
+
+    private static List<JsonNode> lines(final StringWriter report) throws IOException {
+        final List<JsonNode> lines = new ArrayList<>();
+        for (final String line : report.toString().split("\n")) {
+            lines.add(MAPPER.readTree(line));
+        }
+        return lines;
+    }
+
+    private static JsonNode line(final List<JsonNode> lines, final String identifier, final String typeName) {
+        return lines.stream()
+                .filter(line -> line.get("Identifier").asText().equals(identifier) && line.get("TypeName").asText().equals(typeName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(typeName + " " + identifier + " not reported"));
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String method = exchange.getRequestMethod();
+        final String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8.name());
+        final String query = exchange.getRequestURI().getQuery() == null ? "" : exchange.getRequestURI().getQuery();
+        final Matcher bucket = BUCKET.matcher(path);
+        final Matcher accessPoint = ACCESS_POINT.matcher(path);
+
+        if (path.equals("/S3Outposts/ListEndpoints")) {
+            final StringBuilder list = new StringBuilder();
+            endpoints.forEach(id -> list.append(list.length() == 0 ? "" : ",").append(endpoint(id)));
+            respond(exchange, 200, "application/json", "{\"Endpoints\":[" + list + "]}");
+        } else if (path.equals("/S3Outposts/DeleteEndpoint")) {
+            requests.add("DELETE endpoint");
+            endpoints.remove(ENDPOINT_ID);
+            respond(exchange, 200, "application/json", "{}");
+        } else if (path.equals("/v20180820/bucket")) {
+            final StringBuilder list = new StringBuilder("<ListRegionalBucketsResult><RegionalBucketList>");
+            buckets.keySet().stream().sorted().forEach(name -> list.append("<RegionalBucket><Bucket>").append(name)
+                    .append("</Bucket><BucketArn>").append(ARN_PREFIX).append("/bucket/").append(name)
+                    .append("</BucketArn><PublicAccessBlockEnabled>false</PublicAccessBlockEnabled>")
+                    .append("<CreationDate>2020-01-01T00:00:00Z</CreationDate><OutpostId>").append(OUTPOST_ID)
+                    .append("</OutpostId></RegionalBucket>"));
+            respond(exchange, 200, "application/xml", list.append("</RegionalBucketList></ListRegionalBucketsResult>").toString());
+        } else if (path.equals("/v20180820/accesspoint")) {
+            final Matcher parameter = Pattern.compile("(?:^|&)bucket=([^&]+)").matcher(query);
+            final String name = parameter.find() ? name(parameter.group(1)) : "";
+            final StringBuilder list = new StringBuilder("<ListAccessPointsResult><AccessPointList>");
+            buckets.getOrDefault(name, Collections.emptySet()).stream().sorted().forEach(ap -> list
+                    .append("<AccessPoint><Name>").append(ap).append("</Name><NetworkOrigin>VPC</NetworkOrigin>")
+                    .append("<VpcConfiguration><VpcId>vpc-12345678</VpcId></VpcConfiguration><Bucket>").append(name)
+                    .append("</Bucket><AccessPointArn>").append(ARN_PREFIX).append("/accesspoint/").append(ap)
+                    .append("</AccessPointArn></AccessPoint>"));
+            respond(exchange, 200, "application/xml", list.append("</AccessPointList></ListAccessPointsResult>").toString());
+        } else if (accessPoint.matches()) {
+            handleAccessPoint(exchange, method, name(accessPoint.group(1)));
+        } else if (bucket.matches()) {
+            handleBucket(exchange, method, name(bucket.group(1)), bucket.group(2) != null);
+        } else {
+            respond(exchange, 404, "application/xml", error("NoSuchResource"));
+        }
+    }
+
+    private void handleAccessPoint(final HttpExchange exchange, final String method, final String name) throws IOException {
+        requests.add(method + " " + name);
+        final String bucket = buckets.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(name)).map(Map.Entry::getKey).findFirst().orElse(null);
+        if (bucket == null) {
+            respond(exchange, 404, "application/xml", error("NoSuchAccessPoint"));
+        } else if (method.equals("DELETE")) {
+            deletingAccessPoints.putIfAbsent(name, ACCESS_POINT_DELETING_READS);
+            respond(exchange, 204, "application/xml", "");
+        } else if (deletingAccessPoints.containsKey(name) && deletingAccessPoints.merge(name, -1, Integer::sum) < 0) {
+            // Gone: the bucket is not in a state to be deleted right away.
+            buckets.get(bucket).remove(name);
+            settlingBuckets.add(bucket);
+            respond(exchange, 404, "application/xml", error("NoSuchAccessPoint"));
+        } else {
+            respond(exchange, 200, "application/xml", "<GetAccessPointResult><Name>" + name + "</Name><Bucket>" + bucket
+                    + "</Bucket><NetworkOrigin>Vpc</NetworkOrigin><VpcConfiguration><VpcId>vpc-12345678</VpcId></VpcConfiguration>"
+                    + "<CreationDate>2020-01-01T10:00:00Z</CreationDate></GetAccessPointResult>");
+        }
+    }
+
+    private void handleBucket(final HttpExchange exchange,
+                              final String method,
+                              final String name,
+                              final boolean policy) throws IOException {
+        requests.add(method + " " + name + (policy ? "/policy" : ""));
+        if (!buckets.containsKey(name)) {
+            respond(exchange, 404, "application/xml", error("NoSuchBucket"));
+        } else if (policy) {
+            if (!policies.contains(name)) {
+                respond(exchange, 404, "application/xml", error("NoSuchBucketPolicy"));
+            } else if (method.equals("DELETE") && policyDeleteDenied) {
+                respond(exchange, 403, "application/xml", error("AccessDenied"));
+            } else if (method.equals("DELETE")) {
+                policies.remove(name);
+                respond(exchange, 204, "application/xml", "");
+            } else {
+                respond(exchange, 200, "application/xml", "<GetBucketPolicyResult><Policy>{&quot;Version&quot;:&quot;2012-10-17&quot;}"
+                        + "</Policy></GetBucketPolicyResult>");
+            }
+        } else if (method.equals("DELETE")) {
+            if (!buckets.get(name).isEmpty() || policies.contains(name) || settlingBuckets.remove(name)) {
+                respond(exchange, 409, "application/xml", error("InvalidBucketState"));
+            } else {
+                buckets.remove(name);
+                respond(exchange, 204, "application/xml", "");
+            }
+        } else {
+            respond(exchange, 200, "application/xml", "<GetBucketResult><Bucket>" + name + "</Bucket>"
+                    + "<PublicAccessBlockEnabled>true</PublicAccessBlockEnabled>"
+                    + "<CreationDate>2020-01-01T10:00:00Z</CreationDate></GetBucketResult>");
+        }
+    }
+
+    private static String name(final String nameOrArn) {
+        return nameOrArn.substring(nameOrArn.lastIndexOf('/') + 1);
+    }
+
+    private static String endpoint(final String id) {
+        return String.format("{\"EndpointArn\":\"%s\",\"OutpostsId\":\"%s\",\"CidrBlock\":\"172.31.0.0/16\",\"Status\":\"Available\","
+                + "\"CreationTime\":1577872800,\"SubnetId\":\"subnet-12345678\",\"SecurityGroupId\":\"sg-12345678\","
+                + "\"AccessType\":\"Private\"}", ARN_PREFIX + "/endpoint/" + id, OUTPOST_ID);
+    }
+
+    private static String error(final String code) {
+        return "<ErrorResponse><Error><Code>" + code + "</Code><Message>" + code + "</Message></Error></ErrorResponse>";
+    }
+
+    private static void respond(final HttpExchange exchange,
+                                final int status,
+                                final String contentType,
+                                final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("x-amz-request-id", "teardown");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,309 @@
+package software.amazon.s3outposts.tools;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.services.s3control.S3ControlClient;
+import software.amazon.awssdk.services.s3control.model.AbortIncompleteMultipartUpload;
+import software.amazon.awssdk.services.s3control.model.GetBucketLifecycleConfigurationRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketLifecycleConfigurationResponse;
+import software.amazon.awssdk.services.s3control.model.GetBucketRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketResponse;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.GetBucketTaggingResponse;
+import software.amazon.awssdk.services.s3control.model.InternalServiceException;
+import software.amazon.awssdk.services.s3control.model.LifecycleRule;
+import software.amazon.awssdk.services.s3control.model.PutAccessPointPolicyRequest;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingRequest;
+import software.amazon.awssdk.services.s3control.model.PutBucketTaggingResponse;
+import software.amazon.awssdk.services.s3control.model.S3Tag;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.s3outposts.bucket.CallbackContext;
+import software.amazon.s3outposts.bucket.ReadHandler;
+import software.amazon.s3outposts.bucket.ResourceModel;
+import software.amazon.s3outposts.shared.SingleFlightProxyClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of the {@link SingleFlightProxyClient} the tools hand to the handlers, through {@link Clients#s3Control}: the
+ * decorator is the same for every service and module, so it is tested once, with the reads of the bucket, access point
+ * and bucket policy handlers sharing one group.
+ */
+public class SingleFlightProxyClientTest {
+
+    private static final int CALLERS = 32;
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String BUCKET_NAME = "bucket1";
+    private static final String ARN = "arn:aws:s3-outposts:us-east-1:" + ACCOUNT_ID
+            + ":outpost/op-01234567890123456/bucket/" + BUCKET_NAME;
+
+    private final SingleFlightProxyClient.Group group = new SingleFlightProxyClient.Group();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    @Test
+    public void injectCredentialsAndInvokeV2_SharesConcurrentIdenticalReads() throws Exception {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(null);
+
+        final List<GetBucketResponse> responses = concurrently(() -> proxyClient.injectCredentialsAndInvokeV2(
+                GetBucketRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build(), slowly(r -> {
+                    backendCalls.incrementAndGet();
+                    return GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+                })));
+
+        assertThat(responses).hasSize(CALLERS).allMatch(response -> BUCKET_NAME.equals(response.bucket()));
+        assertThat(backendCalls.get()).isLessThan(CALLERS);
+        assertThat(group.getCalls()).isEqualTo(backendCalls.get());
+        assertThat(group.getCalls() + group.getCoalesced()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_DoesNotShareDifferentReads() throws Exception {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(null);
+        final AtomicInteger next = new AtomicInteger();
+
+        concurrently(() -> proxyClient.injectCredentialsAndInvokeV2(
+                GetBucketRequest.builder().accountId(ACCOUNT_ID).bucket(ARN + next.incrementAndGet()).build(), slowly(r -> {
+                    backendCalls.incrementAndGet();
+                    return GetBucketResponse.builder().bucket(r.bucket()).build();
+                })));
+
+        assertThat(backendCalls.get()).isEqualTo(CALLERS);
+        assertThat(group.getCoalesced()).isZero();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_SharesFailures() throws Exception {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(null);
+        final AtomicInteger failures = new AtomicInteger();
+
+        concurrently(() -> {
+            try {
+                return proxyClient.injectCredentialsAndInvokeV2(
+                        GetBucketRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build(), slowly(r -> {
+                            backendCalls.incrementAndGet();
+                            throw InternalServiceException.builder().statusCode(500).message("boom").build();
+                        }));
+            } catch (final InternalServiceException e) {
+                failures.incrementAndGet();
+                return null;
+            }
+        });
+
+        assertThat(failures.get()).isEqualTo(CALLERS);
+        assertThat(backendCalls.get()).isLessThan(CALLERS);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ReadAfterWriteIsNotStale() throws Exception {
+        readAfter(PutBucketTaggingRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build());
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_ReadAfterWriteOfAnotherTypeIsNotStale() throws Exception {
+        // The handlers of the three types share the group: a write of an access point ends the reads of its bucket.
+        readAfter(PutAccessPointPolicyRequest.builder().accountId(ACCOUNT_ID).name(ARN + "/accesspoint/ap1").build());
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_WritesAreNeverShared() throws Exception {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(null);
+
+        concurrently(() -> proxyClient.injectCredentialsAndInvokeV2(
+                PutBucketTaggingRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build(), slowly(r -> {
+                    backendCalls.incrementAndGet();
+                    return PutBucketTaggingResponse.builder().build();
+                })));
+
+        assertThat(backendCalls.get()).isEqualTo(CALLERS);
+        assertThat(group.getCalls()).isZero();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_SequentialReadsAreNotCached() {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(null);
+        for (int i = 0; i < 3; i++) {
+            proxyClient.injectCredentialsAndInvokeV2(tagging(), r -> {
+                backendCalls.incrementAndGet();
+                return taggingResponse("value");
+            });
+        }
+
+        assertThat(backendCalls.get()).isEqualTo(3);
+        assertThat(group.getCoalesced()).isZero();
+    }
+
+    @Test
+    public void readHandler_ConcurrentReadsOfOneBucket() throws Exception {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(new S3ControlClient() {
+            @Override
+            public GetBucketResponse getBucket(final GetBucketRequest request) {
+                return slowly((GetBucketRequest r) -> {
+                    backendCalls.incrementAndGet();
+                    return GetBucketResponse.builder().bucket(BUCKET_NAME).build();
+                }).apply(request);
+            }
+
+            @Override
+            public GetBucketTaggingResponse getBucketTagging(final GetBucketTaggingRequest request) {
+                return slowly((GetBucketTaggingRequest r) -> {
+                    backendCalls.incrementAndGet();
+                    return taggingResponse("value");
+                }).apply(request);
+            }
+
+            @Override
+            public GetBucketLifecycleConfigurationResponse getBucketLifecycleConfiguration(
+                    final GetBucketLifecycleConfigurationRequest request) {
+                return slowly((GetBucketLifecycleConfigurationRequest r) -> {
+                    backendCalls.incrementAndGet();
+                    return GetBucketLifecycleConfigurationResponse.builder().rules(LifecycleRule.builder()
+                            .id("1")
+                            .abortIncompleteMultipartUpload(
+                                    AbortIncompleteMultipartUpload.builder().daysAfterInitiation(2).build())
+                            .status("Enabled")
+                            .build()).build();
+                }).apply(request);
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().arn(ARN).build())
+                .awsAccountId(ACCOUNT_ID)
+                .build();
+
+        final List<ProgressEvent<ResourceModel, CallbackContext>> progresses = concurrently(() ->
+                new ReadHandler().handleRequest(Clients.proxy(proxyClient), request, new CallbackContext(), message -> { }));
+
+        assertThat(progresses).allMatch(progress -> progress.getStatus() == OperationStatus.SUCCESS);
+        assertThat(progresses).allMatch(progress -> progress.getResourceModel().equals(progresses.get(0).getResourceModel()));
+        assertThat(progresses.get(0).getResourceModel().getTags()).hasSize(1);
+        assertThat(backendCalls.get()).isLessThan(3 * CALLERS);
+        assertThat(group.getCalls() + group.getCoalesced()).isEqualTo(3 * CALLERS);
+    }
+
+    /**
+     * A read in flight since before the write is answered with the state before it, and a read made after the write
+     * is a call of its own, which sees it.
+     */
+    private void readAfter(final AwsRequest write) throws Exception {
+        final ProxyClient<S3ControlClient> proxyClient = proxyClient(null);
+        final AtomicReference<String> liveValue = new AtomicReference<>("old");
+        final CountDownLatch readStarted = new CountDownLatch(1);
+        final CountDownLatch writeDone = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<GetBucketTaggingResponse> before = executor.submit(() -> proxyClient.injectCredentialsAndInvokeV2(
+                    tagging(), r -> {
+                        backendCalls.incrementAndGet();
+                        final String value = liveValue.get();
+                        readStarted.countDown();
+                        await(writeDone);
+                        return taggingResponse(value);
+                    }));
+            await(readStarted);
+
+            proxyClient.injectCredentialsAndInvokeV2(write, r -> {
+                liveValue.set("new");
+                return PutBucketTaggingResponse.builder().build();
+            });
+            final GetBucketTaggingResponse after = proxyClient.injectCredentialsAndInvokeV2(tagging(), r -> {
+                backendCalls.incrementAndGet();
+                return taggingResponse(liveValue.get());
+            });
+            writeDone.countDown();
+
+            assertThat(after.tagSet().get(0).value()).isEqualTo("new");
+            assertThat(before.get(10, TimeUnit.SECONDS).tagSet().get(0).value()).isEqualTo("old");
+            assertThat(backendCalls.get()).isEqualTo(2);
+            assertThat(group.getCoalesced()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The ProxyClient of the tools, with a rate limit no test reaches
+     */
+    private ProxyClient<S3ControlClient> proxyClient(final S3ControlClient client) {
+        return Clients.s3Control(client, new RateLimitedProxyClient.RateLimit(1_000_000), group);
+    }
+
+    private static GetBucketTaggingRequest tagging() {
+        return GetBucketTaggingRequest.builder().accountId(ACCOUNT_ID).bucket(ARN).build();
+    }
+
+    private static GetBucketTaggingResponse taggingResponse(final String value) {
+        return GetBucketTaggingResponse.builder().tagSet(S3Tag.builder().key("key").value(value).build()).build();
+    }
+
+    /**
+     * The call, taking long enough for the other callers to arrive while it is in flight.
+     */
+    private static <RequestT, ResponseT> Function<RequestT, ResponseT> slowly(final Function<RequestT, ResponseT> call) {
+        return request -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return call.apply(request);
+        };
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the call on {@value #CALLERS} threads released at once.
+     */
+    private static <T> List<T> concurrently(final Callable<T> call) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            final List<T> results = new ArrayList<>();
+            for (final Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}